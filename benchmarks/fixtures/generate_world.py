@@ -0,0 +1,254 @@
+#!/usr/bin/env python3
+# Generates the benchmark fixture world in fixtures/world.
+#
+# The world is a single region of 8x8 chunks in the 1.20 chunk format with
+# terrain, water, trees and plants. The generator uses a fixed seed, so the
+# output only changes if this script changes. The generated files are checked
+# in so that benchmark results can be compared across commits.
+import gzip
+import os
+import random
+import struct
+import zlib
+
+SEED = 20261019
+DATA_VERSION = 3700
+NBT_VERSION = 19133
+CHUNKS = 8
+MIN_SECTION = -4
+MAX_SECTION = 7
+SEA_LEVEL = 62
+
+TAG_END, TAG_BYTE, TAG_INT, TAG_LONG, TAG_STRING, TAG_LIST, TAG_COMPOUND, TAG_LONG_ARRAY = \
+    0, 1, 3, 4, 8, 9, 10, 12
+
+
+class Byte(int):
+    pass
+
+
+class Long(int):
+    pass
+
+
+class LongArray(list):
+    pass
+
+
+def tag_type(value):
+    if isinstance(value, Byte):
+        return TAG_BYTE
+    if isinstance(value, Long):
+        return TAG_LONG
+    if isinstance(value, int):
+        return TAG_INT
+    if isinstance(value, str):
+        return TAG_STRING
+    if isinstance(value, LongArray):
+        return TAG_LONG_ARRAY
+    if isinstance(value, list):
+        return TAG_LIST
+    if isinstance(value, dict):
+        return TAG_COMPOUND
+    raise TypeError(value)
+
+
+def write_string(out, value):
+    data = value.encode('utf-8')
+    out += struct.pack('>H', len(data)) + data
+
+
+def write_payload(out, value):
+    kind = tag_type(value)
+    if kind == TAG_BYTE:
+        out += struct.pack('>b', value)
+    elif kind == TAG_INT:
+        out += struct.pack('>i', value)
+    elif kind == TAG_LONG:
+        out += struct.pack('>q', value)
+    elif kind == TAG_STRING:
+        write_string(out, value)
+    elif kind == TAG_LONG_ARRAY:
+        out += struct.pack('>i', len(value))
+        for item in value:
+            out += struct.pack('>q', item)
+    elif kind == TAG_LIST:
+        out += struct.pack('>bi', tag_type(value[0]) if value else TAG_END, len(value))
+        for item in value:
+            write_payload(out, item)
+    else:
+        for name, item in value.items():
+            out += struct.pack('>b', tag_type(item))
+            write_string(out, name)
+            write_payload(out, item)
+        out += struct.pack('>b', TAG_END)
+
+
+def write_root(value):
+    out = bytearray(struct.pack('>b', TAG_COMPOUND))
+    write_string(out, '')
+    write_payload(out, value)
+    return bytes(out)
+
+
+def block(name, **properties):
+    spec = {'Name': 'minecraft:' + name}
+    if properties:
+        spec['Properties'] = {key: str(value) for key, value in properties.items()}
+    return spec
+
+
+def value_noise(random_source, size, cell):
+    grid = [[random_source.random() for _ in range(size // cell + 2)]
+            for _ in range(size // cell + 2)]
+
+    def sample(x, z):
+        gx, fx = divmod(x / cell, 1)
+        gz, fz = divmod(z / cell, 1)
+        gx, gz = int(gx), int(gz)
+        fx = fx * fx * (3 - 2 * fx)
+        fz = fz * fz * (3 - 2 * fz)
+        top = grid[gx][gz] * (1 - fx) + grid[gx + 1][gz] * fx
+        bottom = grid[gx][gz + 1] * (1 - fx) + grid[gx + 1][gz + 1] * fx
+        return top * (1 - fz) + bottom * fz
+
+    return sample
+
+
+def generate_blocks(random_source):
+    size = CHUNKS * 16
+    large = value_noise(random_source, size, 32)
+    small = value_noise(random_source, size, 8)
+    height = [[int(50 + 24 * large(x, z) + 6 * small(x, z)) for z in range(size)]
+              for x in range(size)]
+    blocks = {}
+    for x in range(size):
+        for z in range(size):
+            h = height[x][z]
+            blocks[(x, MIN_SECTION * 16, z)] = block('bedrock')
+            for y in range(MIN_SECTION * 16 + 1, h + 1):
+                if y < 0:
+                    name = 'deepslate'
+                elif y < h - 3:
+                    name = 'stone'
+                elif y < h:
+                    name = 'dirt'
+                else:
+                    name = 'grass_block' if h >= SEA_LEVEL else 'sand'
+                blocks[(x, y, z)] = block(name, snowy='false') if name == 'grass_block' \
+                    else block(name)
+            for y in range(h + 1, SEA_LEVEL + 1):
+                blocks[(x, y, z)] = block('water', level=0)
+
+    for x in range(2, size - 2):
+        for z in range(2, size - 2):
+            h = height[x][z]
+            if h < SEA_LEVEL:
+                continue
+            roll = random_source.random()
+            if roll < 0.012:
+                for y in range(h + 1, h + 6):
+                    blocks[(x, y, z)] = block('oak_log', axis='y')
+                for dx in range(-2, 3):
+                    for dz in range(-2, 3):
+                        for y in range(h + 4, h + 8):
+                            if abs(dx) + abs(dz) + max(0, y - h - 6) * 2 > 3:
+                                continue
+                            key = (x + dx, y, z + dz)
+                            if key not in blocks:
+                                blocks[key] = block('oak_leaves', distance=1,
+                                    persistent='true', waterlogged='false')
+            elif roll < 0.2 and (x, h + 1, z) not in blocks:
+                blocks[(x, h + 1, z)] = block('short_grass')
+            elif roll < 0.23 and (x, h + 1, z) not in blocks:
+                blocks[(x, h + 1, z)] = block(random_source.choice(
+                    ['poppy', 'dandelion', 'oxeye_daisy', 'cornflower']))
+    return blocks
+
+
+def encode_section(blocks, cx, cz, sy):
+    air = block('air')
+    palette = []
+    indexes = []
+    keys = {}
+    for y in range(16):
+        for z in range(16):
+            for x in range(16):
+                spec = blocks.get((cx * 16 + x, sy * 16 + y, cz * 16 + z), air)
+                key = repr(spec)
+                if key not in keys:
+                    keys[key] = len(palette)
+                    palette.append(spec)
+                indexes.append(keys[key])
+    section = {'Y': Byte(sy), 'biomes': {'palette': ['minecraft:plains']}}
+    states = {'palette': palette}
+    if len(palette) > 1:
+        bits = max(4, (len(palette) - 1).bit_length())
+        per_long = 64 // bits
+        data = []
+        for start in range(0, 4096, per_long):
+            value = 0
+            for i, index in enumerate(indexes[start:start + per_long]):
+                value |= index << (i * bits)
+            data.append(value - (1 << 64) if value >= 1 << 63 else value)
+        states['data'] = LongArray(data)
+    section['block_states'] = states
+    return section
+
+
+def write_region(path, blocks):
+    header = bytearray(8192)
+    body = bytearray()
+    for cz in range(CHUNKS):
+        for cx in range(CHUNKS):
+            chunk = {
+                'DataVersion': DATA_VERSION,
+                'xPos': cx,
+                'yPos': MIN_SECTION,
+                'zPos': cz,
+                'Status': 'minecraft:full',
+                'sections': [encode_section(blocks, cx, cz, sy)
+                             for sy in range(MIN_SECTION, MAX_SECTION + 1)],
+                'block_entities': [],
+            }
+            data = zlib.compress(write_root(chunk), 9)
+            payload = struct.pack('>ib', len(data) + 1, 2) + data
+            payload += bytes(-len(payload) % 4096)
+            sector = 2 + len(body) // 4096
+            index = cx + cz * 32
+            header[index * 4:index * 4 + 4] = struct.pack('>i', sector << 8 | len(payload) // 4096)
+            header[4096 + index * 4:4096 + index * 4 + 4] = struct.pack('>i', 1)
+            body += payload
+    with open(path, 'wb') as out:
+        out.write(header)
+        out.write(body)
+
+
+def write_level(path):
+    level = {'Data': {
+        'version': NBT_VERSION,
+        'DataVersion': DATA_VERSION,
+        'Version': {'Id': DATA_VERSION, 'Name': '1.20.4'},
+        'LevelName': 'benchmark',
+        'RandomSeed': Long(SEED),
+        'GameType': 1,
+        'SpawnX': 64,
+        'SpawnY': 80,
+        'SpawnZ': 64,
+    }}
+    with open(path, 'wb') as raw:
+        # Fixed modification time, so that the output is reproducible.
+        with gzip.GzipFile(fileobj=raw, mode='wb', mtime=0) as out:
+            out.write(write_root(level))
+
+
+def main():
+    root = os.path.join(os.path.dirname(os.path.abspath(__file__)), 'world')
+    os.makedirs(os.path.join(root, 'region'), exist_ok=True)
+    blocks = generate_blocks(random.Random(SEED))
+    write_region(os.path.join(root, 'region', 'r.0.0.mca'), blocks)
+    write_level(os.path.join(root, 'level.dat'))
+
+
+if __name__ == '__main__':
+    main()
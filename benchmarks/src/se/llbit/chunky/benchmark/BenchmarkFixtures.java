@@ -0,0 +1,203 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.benchmark;
+
+import se.llbit.chunky.chunk.BlockPalette;
+import se.llbit.chunky.main.Chunky;
+import se.llbit.chunky.main.ChunkyOptions;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.chunky.world.ChunkPosition;
+import se.llbit.chunky.world.EmptyWorld;
+import se.llbit.chunky.world.World;
+import se.llbit.math.Octree;
+import se.llbit.math.Ray;
+import se.llbit.math.Vector3;
+import se.llbit.math.Vector3i;
+import se.llbit.nbt.CompoundTag;
+import se.llbit.nbt.StringTag;
+import se.llbit.util.TaskTracker;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared setup for the benchmarks.
+ *
+ * <p>All random inputs are generated from fixed seeds so that every run measures the same work.
+ * The fixture world in {@code fixtures/world} is generated by {@code fixtures/generate_world.py}
+ * and is an 8x8 chunk area with terrain, water, trees and plants.
+ */
+final class BenchmarkFixtures {
+  static final long SEED = 20261019L;
+
+  /** Size of the fixture world, in chunks along each axis. */
+  static final int FIXTURE_CHUNKS = 8;
+
+  private static Chunky chunky;
+
+  private BenchmarkFixtures() {
+  }
+
+  /**
+   * The Chunky instance registers the block providers, which are needed to turn block states
+   * into blocks.
+   */
+  static synchronized Chunky chunky() {
+    if (chunky == null) {
+      ChunkyOptions options = ChunkyOptions.getDefaults();
+      options.renderThreads = 1;
+      chunky = new Chunky(options);
+    }
+    return chunky;
+  }
+
+  /**
+   * The fixtures directory is passed by the Gradle task; the default works when running from
+   * the project root.
+   */
+  static File fixtureDirectory() {
+    return new File(System.getProperty("chunky.benchmark.fixtures", "benchmarks/fixtures"));
+  }
+
+  static World loadFixtureWorld() {
+    chunky();
+    File directory = new File(fixtureDirectory(), "world");
+    World world = World.loadWorld(directory, World.OVERWORLD_DIMENSION, World.LoggedWarnings.SILENT);
+    if (world == EmptyWorld.INSTANCE) {
+      throw new IllegalStateException("Could not load the fixture world from " + directory);
+    }
+    return world;
+  }
+
+  static List<ChunkPosition> fixtureChunks() {
+    List<ChunkPosition> chunks = new ArrayList<>();
+    for (int x = 0; x < FIXTURE_CHUNKS; ++x) {
+      for (int z = 0; z < FIXTURE_CHUNKS; ++z) {
+        chunks.add(ChunkPosition.get(x, z));
+      }
+    }
+    return chunks;
+  }
+
+  /**
+   * Load the whole fixture world into a new scene.
+   */
+  static Scene loadFixtureScene() {
+    World world = loadFixtureWorld();
+    Scene scene = new Scene();
+    scene.loadChunks(TaskTracker.NONE, world, fixtureChunks());
+    return scene;
+  }
+
+  static CompoundTag blockTag(String name, String... properties) {
+    CompoundTag tag = new CompoundTag();
+    tag.add("Name", new StringTag(name));
+    if (properties.length > 0) {
+      CompoundTag props = new CompoundTag();
+      for (int i = 0; i + 1 < properties.length; i += 2) {
+        props.add(properties[i], new StringTag(properties[i + 1]));
+      }
+      tag.add("Properties", props);
+    }
+    return tag;
+  }
+
+  /**
+   * Build a 128x128x128 octree with rolling stone and grass terrain, a lake and scattered
+   * glass and leaf blocks.
+   */
+  static Octree syntheticOctree(BlockPalette palette) {
+    chunky();
+    int stone = palette.put(blockTag("minecraft:stone"));
+    int dirt = palette.put(blockTag("minecraft:dirt"));
+    int grass = palette.put(blockTag("minecraft:grass_block", "snowy", "false"));
+    int leaves = palette.put(blockTag("minecraft:oak_leaves",
+        "distance", "1", "persistent", "true", "waterlogged", "false"));
+    int glass = palette.put(blockTag("minecraft:glass"));
+    int water = palette.waterId;
+
+    int size = 128;
+    int waterLevel = 52;
+    Octree octree = new Octree(Octree.DEFAULT_IMPLEMENTATION, 7);
+    Random random = new Random(SEED);
+    double phase1 = random.nextDouble() * Math.PI * 2;
+    double phase2 = random.nextDouble() * Math.PI * 2;
+    for (int x = 0; x < size; ++x) {
+      for (int z = 0; z < size; ++z) {
+        int height = (int) (56 + 10 * Math.sin(x * 0.07 + phase1) * Math.cos(z * 0.05 + phase2)
+            + 4 * Math.sin((x + z) * 0.13));
+        for (int y = 0; y < height; ++y) {
+          int type = y < height - 4 ? stone : (y < height - 1 ? dirt : grass);
+          octree.set(type, x, y, z);
+        }
+        for (int y = height; y < waterLevel; ++y) {
+          octree.set(water, x, y, z);
+        }
+        if (height > waterLevel && random.nextInt(40) == 0) {
+          int type = random.nextBoolean() ? leaves : glass;
+          for (int y = height; y < height + 1 + random.nextInt(4); ++y) {
+            octree.set(type, x, y, z);
+          }
+        }
+      }
+    }
+    return octree;
+  }
+
+  /**
+   * Create rays starting in the given box, pointing in random directions below the horizon.
+   */
+  static Ray[] downwardRays(Random random, int count, Vector3 min, Vector3 max) {
+    Ray[] rays = new Ray[count];
+    for (int i = 0; i < count; ++i) {
+      Ray ray = new Ray();
+      ray.setDefault();
+      ray.o.set(
+          min.x + random.nextDouble() * (max.x - min.x),
+          min.y + random.nextDouble() * (max.y - min.y),
+          min.z + random.nextDouble() * (max.z - min.z));
+      double theta = random.nextDouble() * Math.PI * 2;
+      double dy = -0.1 - random.nextDouble() * 0.9;
+      double r = Math.sqrt(1 - dy * dy);
+      ray.d.set(r * Math.cos(theta), dy, r * Math.sin(theta));
+      rays[i] = ray;
+    }
+    return rays;
+  }
+
+  /**
+   * Create rays with uniformly distributed random directions.
+   */
+  static Ray[] randomRays(Random random, int count, Vector3 min, Vector3 max) {
+    Ray[] rays = downwardRays(random, count, min, max);
+    for (Ray ray : rays) {
+      ray.d.set(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+      ray.d.normalize();
+    }
+    return rays;
+  }
+
+  /**
+   * Convert a world position to the octree coordinates of the scene.
+   */
+  static Vector3 toOctreeSpace(Scene scene, double x, double y, double z) {
+    Vector3i origin = scene.getOrigin();
+    return new Vector3(x - origin.x, y - origin.y, z - origin.z);
+  }
+}
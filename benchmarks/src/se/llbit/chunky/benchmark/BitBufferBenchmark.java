@@ -0,0 +1,79 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.llbit.util.BitBuffer;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of the packed block state indexes of a chunk section.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitBufferBenchmark {
+  private static final int SECTION_BLOCKS = 16 * 16 * 16;
+
+  /** Bits per block state index. */
+  @Param({"4", "6", "9"})
+  public int bits;
+
+  /** {@code true} for the 1.16+ layout where indexes do not cross long boundaries. */
+  @Param({"true", "false"})
+  public boolean aligned;
+
+  private long[] packedStates;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(BenchmarkFixtures.SEED);
+    int longs = aligned
+        ? (SECTION_BLOCKS + 64 / bits - 1) / (64 / bits)
+        : (SECTION_BLOCKS * bits + 63) / 64;
+    packedStates = new long[longs];
+    for (int i = 0; i < longs; ++i) {
+      packedStates[i] = random.nextLong();
+    }
+  }
+
+  @Benchmark
+  public int decodeSection() {
+    BitBuffer buffer = new BitBuffer(packedStates, bits, aligned);
+    int sum = 0;
+    for (int i = 0; i < SECTION_BLOCKS; ++i) {
+      sum += buffer.read();
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,107 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import se.llbit.chunky.chunk.BlockPalette;
+import se.llbit.nbt.CompoundTag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Block palette lookups for the kind of block states found in chunk section palettes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockPaletteBenchmark {
+  private CompoundTag[] states;
+  private BlockPalette palette;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    BenchmarkFixtures.chunky();
+    List<CompoundTag> list = new ArrayList<>();
+    for (String name : new String[] {"stone", "dirt", "sand", "gravel", "deepslate"}) {
+      list.add(BenchmarkFixtures.blockTag("minecraft:" + name));
+    }
+    for (String axis : new String[] {"x", "y", "z"}) {
+      list.add(BenchmarkFixtures.blockTag("minecraft:oak_log", "axis", axis));
+    }
+    for (int distance = 1; distance <= 7; ++distance) {
+      list.add(BenchmarkFixtures.blockTag("minecraft:oak_leaves", "distance", "" + distance,
+          "persistent", "false", "waterlogged", "false"));
+    }
+    for (String facing : new String[] {"north", "south", "east", "west"}) {
+      for (String half : new String[] {"top", "bottom"}) {
+        list.add(BenchmarkFixtures.blockTag("minecraft:oak_stairs", "facing", facing,
+            "half", half, "shape", "straight", "waterlogged", "false"));
+      }
+    }
+    for (int level = 0; level < 8; ++level) {
+      list.add(BenchmarkFixtures.blockTag("minecraft:water", "level", "" + level));
+    }
+    Collections.shuffle(list, new Random(BenchmarkFixtures.SEED));
+    states = list.toArray(new CompoundTag[0]);
+
+    palette = new BlockPalette();
+    for (CompoundTag state : states) {
+      palette.put(state);
+    }
+  }
+
+  /**
+   * Look up block states that are already in the palette, as for every section after the
+   * first few when loading a scene.
+   */
+  @Benchmark
+  public void putExisting(Blackhole blackhole) {
+    for (CompoundTag state : states) {
+      blackhole.consume(palette.put(state));
+    }
+  }
+
+  /**
+   * Add all block states to a new palette, which also creates the blocks.
+   */
+  @Benchmark
+  public BlockPalette fillPalette() {
+    BlockPalette palette = new BlockPalette();
+    for (CompoundTag state : states) {
+      palette.put(state);
+    }
+    return palette;
+  }
+}
@@ -0,0 +1,99 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import se.llbit.chunky.resources.Texture;
+import se.llbit.chunky.world.material.TextureMaterial;
+import se.llbit.math.Ray;
+import se.llbit.math.Vector2;
+import se.llbit.math.Vector3;
+import se.llbit.math.bvh.BinaryBVH;
+import se.llbit.math.bvh.SahMaBVH;
+import se.llbit.math.primitive.Primitive;
+import se.llbit.math.primitive.TexturedTriangle;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closest hit queries against a BVH of small triangles scattered in a box, similar to the
+ * entity geometry of a scene.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BvhBenchmark {
+  private static final int RAYS = 4096;
+  private static final double BOX = 64;
+
+  @Param({"1000", "50000"})
+  public int triangles;
+
+  private BinaryBVH bvh;
+  private Ray[] rays;
+  private final Ray ray = new Ray();
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(BenchmarkFixtures.SEED);
+    TextureMaterial material = new TextureMaterial(new Texture());
+    Vector2 t1 = new Vector2(0, 0);
+    Vector2 t2 = new Vector2(1, 0);
+    Vector2 t3 = new Vector2(0, 1);
+    Primitive[] primitives = new Primitive[triangles];
+    for (int i = 0; i < triangles; ++i) {
+      Vector3 c1 = new Vector3(
+          random.nextDouble() * BOX, random.nextDouble() * BOX, random.nextDouble() * BOX);
+      Vector3 c2 = new Vector3(c1.x + random.nextDouble() - 0.5, c1.y + random.nextDouble() - 0.5,
+          c1.z + random.nextDouble() - 0.5);
+      Vector3 c3 = new Vector3(c1.x + random.nextDouble() - 0.5, c1.y + random.nextDouble() - 0.5,
+          c1.z + random.nextDouble() - 0.5);
+      primitives[i] = new TexturedTriangle(c1, c2, c3, t1, t2, t3, material);
+    }
+    bvh = new SahMaBVH(primitives, progress -> {});
+    rays = BenchmarkFixtures.randomRays(random, RAYS,
+        new Vector3(0, 0, 0), new Vector3(BOX, BOX, BOX));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RAYS)
+  public void closestIntersection(Blackhole blackhole) {
+    for (Ray source : rays) {
+      ray.set(source);
+      ray.t = Double.POSITIVE_INFINITY;
+      blackhole.consume(bvh.closestIntersection(ray));
+      blackhole.consume(ray.t);
+    }
+  }
+}
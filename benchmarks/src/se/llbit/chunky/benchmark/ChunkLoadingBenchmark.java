@@ -0,0 +1,91 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import se.llbit.chunky.chunk.BlockPalette;
+import se.llbit.chunky.chunk.ChunkData;
+import se.llbit.chunky.chunk.ChunkLoadingException;
+import se.llbit.chunky.world.Chunk;
+import se.llbit.chunky.world.ChunkPosition;
+import se.llbit.chunky.world.Dimension;
+import se.llbit.chunky.world.World;
+import se.llbit.chunky.world.biome.ArrayBiomePalette;
+import se.llbit.chunky.world.biome.BiomePalette;
+import se.llbit.util.Mutable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chunk loading from the fixture world.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkLoadingBenchmark {
+  private static final int MIN_Y = -64;
+  private static final int MAX_Y = 320;
+
+  private Chunk[] chunks;
+  private BlockPalette palette;
+  private BiomePalette biomePalette;
+  private final Mutable<ChunkData> chunkData = new Mutable<>(null);
+
+  @Setup(Level.Trial)
+  public void setup() {
+    World world = BenchmarkFixtures.loadFixtureWorld();
+    Dimension dimension = world.currentDimension();
+    List<ChunkPosition> positions = BenchmarkFixtures.fixtureChunks();
+    chunks = new Chunk[positions.size()];
+    for (int i = 0; i < chunks.length; ++i) {
+      ChunkPosition position = positions.get(i);
+      dimension.getRegion(position.getRegionPosition()).parse(MIN_Y, MAX_Y);
+      chunks[i] = dimension.getChunk(position);
+    }
+    palette = new BlockPalette();
+    biomePalette = new ArrayBiomePalette();
+  }
+
+  /**
+   * Read, decompress and parse a chunk from the region file and decode its block data. The
+   * palette is shared between invocations, as it is when loading a scene.
+   */
+  @Benchmark
+  @OperationsPerInvocation(BenchmarkFixtures.FIXTURE_CHUNKS * BenchmarkFixtures.FIXTURE_CHUNKS)
+  public void loadChunkData(Blackhole blackhole) throws ChunkLoadingException {
+    for (Chunk chunk : chunks) {
+      chunk.getChunkData(chunkData, palette, biomePalette, MIN_Y, MAX_Y);
+      blackhole.consume(chunkData.get());
+    }
+  }
+}
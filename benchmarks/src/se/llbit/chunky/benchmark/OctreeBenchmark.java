@@ -0,0 +1,97 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import se.llbit.chunky.chunk.BlockPalette;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.math.Octree;
+import se.llbit.math.Ray;
+import se.llbit.math.Vector3;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Octree traversal of primary-like rays until the first non-air block.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OctreeBenchmark {
+  private static final int RAYS = 4096;
+
+  /**
+   * {@code synthetic} is a generated height map, {@code fixture} is the recorded fixture
+   * world loaded through the normal chunk loading path.
+   */
+  @Param({"synthetic", "fixture"})
+  public String scene;
+
+  private Scene sceneInstance;
+  private Octree octree;
+  private BlockPalette palette;
+  private Ray[] rays;
+  private final Ray ray = new Ray();
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(BenchmarkFixtures.SEED);
+    if (scene.equals("fixture")) {
+      sceneInstance = BenchmarkFixtures.loadFixtureScene();
+      octree = sceneInstance.getWorldOctree();
+      palette = sceneInstance.getPalette();
+      int size = BenchmarkFixtures.FIXTURE_CHUNKS * 16;
+      rays = BenchmarkFixtures.downwardRays(random, RAYS,
+          BenchmarkFixtures.toOctreeSpace(sceneInstance, 8, 90, 8),
+          BenchmarkFixtures.toOctreeSpace(sceneInstance, size - 8, 110, size - 8));
+    } else {
+      sceneInstance = new Scene();
+      palette = new BlockPalette();
+      octree = BenchmarkFixtures.syntheticOctree(palette);
+      rays = BenchmarkFixtures.downwardRays(random, RAYS,
+          new Vector3(4, 75, 4), new Vector3(124, 100, 124));
+    }
+    palette.unsynchronize();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RAYS)
+  public void enterBlock(Blackhole blackhole) {
+    for (Ray source : rays) {
+      ray.set(source);
+      blackhole.consume(octree.enterBlock(sceneInstance, ray, palette));
+      blackhole.consume(ray.distance);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.llbit.chunky.main.Chunky;
+import se.llbit.chunky.renderer.DefaultRenderManager;
+import se.llbit.chunky.renderer.RenderContext;
+import se.llbit.chunky.renderer.RenderMode;
+import se.llbit.chunky.renderer.RenderWorkerPool;
+import se.llbit.chunky.renderer.benchmark.FixedSceneProvider;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.chunky.renderer.scene.sky.Sky;
+import se.llbit.math.QuickMath;
+import se.llbit.math.Vector3;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full frame of the fixture world with the path tracing renderer, including scene state
+ * copying and post processing.
+ *
+ * <p>A single render thread with a fixed seed is used so that every run traces the same paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PathTracingBenchmark {
+  private static final int WIDTH = 320;
+  private static final int HEIGHT = 180;
+  private static final int SPP = 2;
+
+  private Scene scene;
+  private RenderContext context;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Chunky chunky = BenchmarkFixtures.chunky();
+    context = new RenderContext(chunky);
+    context.renderPoolFactory = (threads, seed) ->
+        new RenderWorkerPool(1, BenchmarkFixtures.SEED);
+
+    scene = BenchmarkFixtures.loadFixtureScene();
+    scene.setName("benchmark");
+    scene.setCanvasSize(WIDTH, HEIGHT);
+    scene.setTargetSpp(SPP);
+    scene.setDumpFrequency(0);
+    scene.setSaveSnapshots(false);
+    scene.sky().setSkyMode(Sky.SkyMode.SIMULATED);
+    // Look over the fixture area from its north edge, slightly downwards.
+    scene.camera().setPosition(new Vector3(64, 100, -16));
+    scene.camera().setView(0, -QuickMath.HALF_PI + 0.6, 0);
+  }
+
+  @Benchmark
+  public void renderFrame() throws InterruptedException {
+    scene.setRenderMode(RenderMode.RENDERING);
+    DefaultRenderManager renderer = new DefaultRenderManager(context, true);
+    renderer.setSceneProvider(new FixedSceneProvider(scene));
+    renderer.start();
+    renderer.join();
+    renderer.shutdown();
+  }
+}
@@ -0,0 +1,98 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.llbit.chunky.renderer.renderdump.RenderDump;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.util.TaskTracker;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading render dumps in each dump format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderDumpBenchmark {
+  private static final int WIDTH = 640;
+  private static final int HEIGHT = 360;
+
+  /** Dump format version. */
+  @Param({"0", "1", "2", "3", "4"})
+  public int format;
+
+  private Scene scene;
+  private Scene loadScene;
+  private byte[] dump;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    scene = new Scene();
+    scene.setCanvasSize(WIDTH, HEIGHT);
+    scene.spp = 64;
+    scene.renderTime = 123456;
+    // Smooth gradients with sampling noise, which compresses roughly like a real render.
+    Random random = new Random(BenchmarkFixtures.SEED);
+    double[] samples = scene.getSampleBuffer();
+    for (int y = 0; y < HEIGHT; ++y) {
+      for (int x = 0; x < WIDTH; ++x) {
+        int i = (y * WIDTH + x) * 3;
+        double base = 0.2 + 0.6 * y / HEIGHT;
+        samples[i] = base * (0.9 + 0.2 * random.nextDouble());
+        samples[i + 1] = base * (0.8 + 0.2 * random.nextDouble()) + 0.1 * x / WIDTH;
+        samples[i + 2] = (1 - base) * (0.9 + 0.2 * random.nextDouble());
+      }
+    }
+
+    loadScene = new Scene();
+    loadScene.setCanvasSize(WIDTH, HEIGHT);
+    dump = save().toByteArray();
+  }
+
+  @Benchmark
+  public ByteArrayOutputStream save() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(WIDTH * HEIGHT * 3 * 8);
+    RenderDump.save(out, scene, TaskTracker.NONE, format);
+    return out;
+  }
+
+  @Benchmark
+  public Scene load() throws IOException {
+    RenderDump.load(new ByteArrayInputStream(dump), loadScene, TaskTracker.NONE);
+    return loadScene;
+  }
+}
@@ -0,0 +1,94 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import se.llbit.chunky.resources.BitmapImage;
+import se.llbit.chunky.resources.Texture;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Texture color lookups at random texture coordinates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextureBenchmark {
+  private static final int LOOKUPS = 4096;
+
+  /** Texture width and height in pixels. */
+  @Param({"16", "64"})
+  public int size;
+
+  private Texture texture;
+  private double[] u;
+  private double[] v;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(BenchmarkFixtures.SEED);
+    // Noise with some transparent pixels, like a leaves texture.
+    BitmapImage image = new BitmapImage(size, size);
+    for (int y = 0; y < size; ++y) {
+      for (int x = 0; x < size; ++x) {
+        int alpha = random.nextInt(4) == 0 ? 0 : 0xFF;
+        image.setPixel(x, y, alpha << 24 | (random.nextInt() & 0xFFFFFF));
+      }
+    }
+    texture = new Texture(image);
+    u = new double[LOOKUPS];
+    v = new double[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; ++i) {
+      u[i] = random.nextDouble();
+      v[i] = random.nextDouble();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public void getColor(Blackhole blackhole) {
+    for (int i = 0; i < LOOKUPS; ++i) {
+      blackhole.consume(texture.getColor(u[i], v[i]));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public void isOpaqueAt(Blackhole blackhole) {
+    for (int i = 0; i < LOOKUPS; ++i) {
+      blackhole.consume(texture.isOpaqueAt(u[i], v[i]));
+    }
+  }
+}
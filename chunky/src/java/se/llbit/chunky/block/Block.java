@@ -72,8 +72,8 @@ public abstract class Block extends Material {
   public boolean intersect(Ray ray, Scene scene) {
     ray.t = Double.POSITIVE_INFINITY;
     if (block.intersect(ray)) {
-      float[] color = texture.getColor(ray.u, ray.v);
-      if (color[3] > Ray.EPSILON) {
+      if (texture.isOpaqueAt(ray.u, ray.v)) {
+        float[] color = texture.getColor(ray.u, ray.v);
         ray.color.set(color);
         ray.distance += ray.tNext;
         ray.o.scaleAdd(ray.tNext, ray.d);
@@ -23,13 +23,18 @@ import se.llbit.chunky.block.BlockSpec;
 import se.llbit.chunky.block.MinecraftBlockProvider;
 import se.llbit.chunky.block.legacy.LegacyMinecraftBlockProvider;
 import se.llbit.chunky.main.CommandLineOptions.Mode;
+import se.llbit.chunky.map.WorldMapRenderer;
 import se.llbit.chunky.plugin.*;
 import se.llbit.chunky.plugin.loader.PluginManager;
 import se.llbit.chunky.plugin.loader.JarPluginLoader;
 import se.llbit.chunky.plugin.manifest.PluginManifest;
 import se.llbit.chunky.renderer.*;
 import se.llbit.chunky.renderer.RenderManager;
+import se.llbit.chunky.renderer.benchmark.RenderBenchmark;
 import se.llbit.chunky.renderer.export.PictureExportFormat;
+import se.llbit.chunky.renderer.farm.RenderFarmCoordinator;
+import se.llbit.chunky.renderer.farm.RenderFarmWorker;
+import se.llbit.chunky.renderer.metrics.RenderMetricsReporter;
 import se.llbit.chunky.renderer.scene.AsynchronousSceneManager;
 import se.llbit.chunky.renderer.scene.Scene;
 import se.llbit.chunky.renderer.scene.SceneFactory;
@@ -42,6 +47,7 @@ import se.llbit.chunky.ui.ChunkyFx;
 import se.llbit.chunky.ui.controller.CreditsController;
 import se.llbit.chunky.ui.render.RenderControlsTabTransformer;
 import se.llbit.chunky.world.MaterialStore;
+import se.llbit.chunky.world.World;
 import se.llbit.json.JsonArray;
 import se.llbit.log.ConsoleReceiver;
 import se.llbit.log.Level;
@@ -110,6 +116,15 @@ public class Chunky {
     registerBlockProvider(new LegacyMinecraftBlockProvider());
   }
 
+  /**
+   * Start collecting render metrics if a metrics file was given on the command line.
+   */
+  private void startMetrics() {
+    if (options.metricsFile != null) {
+      RenderMetricsReporter.start().writePeriodically(options.metricsFile, options.metricsInterval);
+    }
+  }
+
   /**
    * Start a headless (no GUI) render.
    *
@@ -122,6 +137,8 @@ public class Chunky {
     HeadlessErrorTrackingLogger logger = new HeadlessErrorTrackingLogger();
     Log.setReceiver(logger, Level.INFO, Level.WARNING, Level.ERROR);
 
+    startMetrics();
+
     SynchronousSceneManager sceneManager = (SynchronousSceneManager) getRenderController()
         .getSceneManager();
     RenderManager renderManager = getRenderController().getRenderManager();
@@ -219,8 +236,13 @@ public class Chunky {
       getCommonThreads();
 
       Chunky chunky = new Chunky(cmdline.options);
-      chunky.headless = cmdline.mode == Mode.HEADLESS_RENDER || cmdline.mode == Mode.CREATE_SNAPSHOT;
-      chunky.loadPlugins();
+      chunky.headless = cmdline.mode == Mode.HEADLESS_RENDER || cmdline.mode == Mode.CREATE_SNAPSHOT
+          || cmdline.mode == Mode.FARM_COORDINATOR || cmdline.mode == Mode.FARM_WORKER
+          || cmdline.mode == Mode.RENDER_MAP || cmdline.mode == Mode.BENCHMARK;
+      if (cmdline.mode != Mode.BENCHMARK) {
+        // Benchmarks run without plugins so that the results are comparable.
+        chunky.loadPlugins();
+      }
 
       try {
         switch (cmdline.mode) {
@@ -230,7 +252,21 @@ public class Chunky {
           case CREATE_SNAPSHOT:
             exitCode = chunky.doSnapshot();
             break;
+          case FARM_COORDINATOR:
+            Log.setReceiver(HEADLESS_LOG_RECEIVER, Level.INFO, Level.WARNING, Level.ERROR);
+            exitCode = new RenderFarmCoordinator(chunky).run();
+            break;
+          case FARM_WORKER:
+            exitCode = new RenderFarmWorker(chunky).run();
+            break;
+          case RENDER_MAP:
+            exitCode = chunky.doRenderMap();
+            break;
+          case BENCHMARK:
+            exitCode = new RenderBenchmark(chunky).run();
+            break;
           case START_GUI:
+            chunky.startMetrics();
             ChunkyFx.startChunkyUI(chunky);
             break;
         }
@@ -335,6 +371,33 @@ public class Chunky {
     }
   }
 
+  /**
+   * Render the surface map of a world dimension to tiles and/or one PNG image.
+   *
+   * @return error code
+   */
+  private int doRenderMap() {
+    Log.setReceiver(HEADLESS_LOG_RECEIVER, Level.INFO, Level.WARNING, Level.ERROR);
+    if (!World.isWorldDir(options.worldDir)) {
+      System.err.println("Not a valid world directory: " + options.worldDir);
+      return 1;
+    }
+    World world = World.loadWorld(options.worldDir, options.mapDimension,
+        World.LoggedWarnings.NORMAL);
+    TaskTracker taskTracker = new TaskTracker(new ConsoleProgressListener());
+    try (TaskTracker.Task task = taskTracker.task("Rendering map")) {
+      long start = System.currentTimeMillis();
+      int regions = new WorldMapRenderer(world, options.mapTileDirectory)
+          .render(options.mapImageFile, options.renderThreads, task);
+      long time = System.currentTimeMillis() - start;
+      System.out.format("%nRendered %d regions in %d seconds%n", regions, time / 1000);
+      return 0;
+    } catch (IOException e) {
+      System.err.println("Failed to render map: " + e.getMessage());
+      return 1;
+    }
+  }
+
   /**
    * Get the common thread pool. This should only be used for parallelized processing, not for wait tasks.
    * Note: This is not guaranteed to return the same object on subsequent calls.
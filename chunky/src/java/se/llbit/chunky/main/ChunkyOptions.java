@@ -18,7 +18,10 @@ package se.llbit.chunky.main;
 
 import se.llbit.chunky.PersistentSettings;
 import se.llbit.chunky.renderer.RenderConstants;
+import se.llbit.chunky.renderer.benchmark.RenderBenchmark;
+import se.llbit.chunky.renderer.farm.RenderFarmProtocol;
 import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.chunky.world.World;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -50,6 +53,39 @@ public class ChunkyOptions {
   /** Reload chunks with headless render */
   public boolean reloadChunks;
 
+  /** Number of render farm workers the coordinator waits for. */
+  public int farmWorkers = 1;
+
+  /** Host of the render farm coordinator, used by workers. */
+  public String farmHost = "localhost";
+
+  /** Port of the render farm coordinator. */
+  public int farmPort = RenderFarmProtocol.DEFAULT_PORT;
+
+  /** Spawn the render farm workers as local processes. */
+  public boolean farmSpawnWorkers = false;
+
+  /** Seconds between render dumps sent by render farm workers. */
+  public int farmDumpInterval = 60;
+
+  /** JSON file that render metrics are written to in headless and GUI renders. */
+  public File metricsFile = null;
+
+  /** Seconds between writes of the render metrics file. */
+  public int metricsInterval = 10;
+
+  /** Directory that map tiles are written to when rendering a world map. */
+  public File mapTileDirectory = null;
+
+  /** PNG file that the whole world map is written to. */
+  public File mapImageFile = null;
+
+  /** Dimension to render the world map of. */
+  public int mapDimension = World.OVERWORLD_DIMENSION;
+
+  /** Name of the built-in scene rendered in benchmark mode. */
+  public String benchmarkScene = RenderBenchmark.DEFAULT_SCENE;
+
   private ChunkyOptions() {
   }
 
@@ -22,6 +22,8 @@ import se.llbit.chunky.PersistentSettings;
 import se.llbit.chunky.renderer.ConsoleProgressListener;
 import se.llbit.chunky.renderer.RenderContext;
 import se.llbit.chunky.renderer.SceneIOProvider;
+import se.llbit.chunky.renderer.benchmark.RenderBenchmark;
+import se.llbit.chunky.renderer.farm.RenderFarmProtocol;
 import se.llbit.chunky.renderer.scene.Scene;
 import se.llbit.chunky.resources.ResourcePackLoader;
 import se.llbit.json.JsonNumber;
@@ -73,6 +75,23 @@ public class CommandLineOptions {
      * Generates and saves a snapshot of a scene based on the scene's dump file.
      */
     CREATE_SNAPSHOT(false),
+    /**
+     * Coordinates a render farm: distributes the render of a scene to worker
+     * processes and merges their render dumps.
+     */
+    FARM_COORDINATOR(false),
+    /**
+     * Renders part of a scene for a render farm coordinator.
+     */
+    FARM_WORKER(true),
+    /**
+     * Renders the surface map of a whole world dimension.
+     */
+    RENDER_MAP(true),
+    /**
+     * Renders a bundled synthetic scene and prints a benchmark report.
+     */
+    BENCHMARK(false),
     ;
 
     Mode(boolean requiresTextures) {
@@ -108,6 +127,22 @@ public class CommandLineOptions {
           "  -list-scenes           print a list of all scenes in the scene directory",
           "  -merge-dump <SCENE> <PATH>",
           "                         merge a render dump into the given scene",
+          "  -farm <SCENE> <WORKERS> [PORT]",
+          "                         distribute the render of a scene to WORKERS render farm",
+          "                         workers and merge their results (default port " + RenderFarmProtocol.DEFAULT_PORT + ")",
+          "  -farm-worker <HOST[:PORT]>",
+          "                         render for the render farm coordinator at HOST",
+          "  -farm-spawn            spawn the render farm workers as local processes",
+          "  -farm-interval <SECONDS>",
+          "                         time between render dumps sent by render farm workers",
+          "  -metrics <FILE> [SECONDS]",
+          "                         collect render metrics and write them as JSON to FILE",
+          "                         every SECONDS seconds (default 10) in headless and GUI renders",
+          "  -render-map <DIR>      render the map of the selected world to tiles in DIR",
+          "  -render-map-png <PNG>  render the map of the selected world to one PNG image",
+          "  -map-dimension <ID>    dimension to render the map of (0, -1 or 1, default 0)",
+          "  -benchmark [SCENE]     render a built-in benchmark scene and print a JSON report",
+          "                         (terrain, city or foliage, default " + RenderBenchmark.DEFAULT_SCENE + ")",
           "  -help                  show this text", "", "Notes:",
           "<SCENE> can be either the path to a Scene Description File ("
               + Scene.EXTENSION + "),",
@@ -484,6 +519,61 @@ public class CommandLineOptions {
       }
     });
 
+    registerOption("-farm", new Range(2, 3), arguments -> {
+      mode = Mode.FARM_COORDINATOR;
+      options.sceneName = arguments.get(0);
+      options.farmWorkers = Math.max(1, Integer.parseInt(arguments.get(1)));
+      if (arguments.size() == 3) {
+        options.farmPort = Integer.parseInt(arguments.get(2));
+      }
+    });
+
+    registerOption("-farm-worker", new Range(1), arguments -> {
+      mode = Mode.FARM_WORKER;
+      String address = arguments.get(0);
+      int separator = address.lastIndexOf(':');
+      if (separator >= 0) {
+        options.farmHost = address.substring(0, separator);
+        options.farmPort = Integer.parseInt(address.substring(separator + 1));
+      } else {
+        options.farmHost = address;
+      }
+    });
+
+    registerOption("-farm-spawn", new Range(0), arguments -> {
+      options.farmSpawnWorkers = true;
+    });
+
+    registerOption("-farm-interval", new Range(1),
+        arguments -> options.farmDumpInterval = Math.max(1, Integer.parseInt(arguments.get(0))));
+
+    registerOption("-metrics", new Range(1, 2), arguments -> {
+      options.metricsFile = new File(arguments.get(0));
+      if (arguments.size() == 2) {
+        options.metricsInterval = Math.max(1, Integer.parseInt(arguments.get(1)));
+      }
+    });
+
+    registerOption("-render-map", new Range(1), arguments -> {
+      mode = Mode.RENDER_MAP;
+      options.mapTileDirectory = new File(arguments.get(0));
+    });
+
+    registerOption("-render-map-png", new Range(1), arguments -> {
+      mode = Mode.RENDER_MAP;
+      options.mapImageFile = new File(arguments.get(0));
+    });
+
+    registerOption("-map-dimension", new Range(1), new int[]{0},
+        arguments -> options.mapDimension = Integer.parseInt(arguments.get(0)));
+
+    registerOption("-benchmark", new Range(0, 1), arguments -> {
+      mode = Mode.BENCHMARK;
+      if (arguments.size() == 1) {
+        options.benchmarkScene = arguments.get(0);
+      }
+    });
+
     // When mode is set to Mode.CLI_OPERATION, then an option handler has performed
     // something and we should quit.
     // If configurationError is set to true then an option handler encountered an
@@ -510,6 +600,12 @@ public class CommandLineOptions {
       }
     }
 
+    if (!configurationError && mode == Mode.RENDER_MAP && options.worldDir == null) {
+      System.err.println("No world directory given for the map render.");
+      printUsage();
+      configurationError = true;
+    }
+
     if (options.sceneName != null
         && options.sceneName.endsWith(Scene.EXTENSION)) {
       File possibleSceneFile = new File(options.sceneName);
@@ -32,19 +32,21 @@ public class BiomeLayer extends BitmapLayer {
    * Load biome IDs into layer.
    */
   public BiomeLayer(ChunkData chunkData, BiomePalette biomePalette) {
-    biomes = new Biome[Chunk.X_MAX * Chunk.Z_MAX];
+    this(loadBiomes(chunkData, biomePalette));
+  }
+
+  /**
+   * @param biomes biome per column, indexed by {@link Chunk#chunkXZIndex}
+   */
+  public BiomeLayer(Biome[] biomes) {
+    this.biomes = biomes;
     double[] sum = new double[3];
     double[] rgb = new double[3];
-    BiomeData biomeData = chunkData.getBiomeData();
-    for(int x = 0; x < Chunk.X_MAX; x++) {
-      for(int z = 0; z < Chunk.Z_MAX; z++) {
-        Biome biome = biomePalette.get(biomeData.getBiome(x, 0, z));
-        biomes[Chunk.chunkXZIndex(x, z)] = biome;
-        ColorUtil.getRGBComponents(biome.mapColor, rgb);
-        sum[0] += rgb[0];
-        sum[1] += rgb[1];
-        sum[2] += rgb[2];
-      }
+    for (Biome biome : biomes) {
+      ColorUtil.getRGBComponents(biome.mapColor, rgb);
+      sum[0] += rgb[0];
+      sum[1] += rgb[1];
+      sum[2] += rgb[2];
     }
     sum[0] /= biomes.length;
     sum[1] /= biomes.length;
@@ -52,6 +54,24 @@ public class BiomeLayer extends BitmapLayer {
     avgColor = ColorUtil.getRGB(sum);
   }
 
+  private static Biome[] loadBiomes(ChunkData chunkData, BiomePalette biomePalette) {
+    Biome[] biomes = new Biome[Chunk.X_MAX * Chunk.Z_MAX];
+    BiomeData biomeData = chunkData.getBiomeData();
+    for(int x = 0; x < Chunk.X_MAX; x++) {
+      for(int z = 0; z < Chunk.Z_MAX; z++) {
+        biomes[Chunk.chunkXZIndex(x, z)] = biomePalette.get(biomeData.getBiome(x, 0, z));
+      }
+    }
+    return biomes;
+  }
+
+  /**
+   * @return the biome of the column, indexed by {@link Chunk#chunkXZIndex}
+   */
+  public Biome biomeAt(int index) {
+    return biomes[index];
+  }
+
   @Override public int colorAt(int x, int z) {
     return biomes[Chunk.chunkXZIndex(x, z)].mapColor;
   }
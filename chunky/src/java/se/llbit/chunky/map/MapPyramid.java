@@ -0,0 +1,229 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.map;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import se.llbit.chunky.world.ChunkPosition;
+import se.llbit.chunky.world.RegionPosition;
+
+/**
+ * Quadtree of downsampled map tiles for zoomed out map views.
+ *
+ * <p>Level 0 has one tile per region with one pixel per chunk, the same pixels as a region
+ * tile in the map view. Each tile on level {@code n} covers 2x2 tiles of level {@code n - 1}
+ * and is updated when one of them changes, so the pyramid is built incrementally as chunks
+ * are loaded.
+ *
+ * <p>A region tile is complete when all chunks of the region have been drawn into it. Complete
+ * tiles record the modification time of the region file and the y-range the chunks were
+ * loaded with, so that the chunks of a region only have to be loaded again if the region
+ * file or the y-range has changed.
+ *
+ * <p>Pyramids that are only used for region tiles can be created without the higher levels,
+ * so that changing a region tile does not have to update its parents.
+ *
+ * <p>The number of region tiles is bounded. The least recently used region tiles are dropped
+ * first, while the tiles on the higher levels are kept.
+ */
+public class MapPyramid {
+  /** Width of a tile in pixels. */
+  public static final int TILE_SIZE = 32;
+
+  /** Highest level of the pyramid. A tile on this level covers 256x256 regions. */
+  public static final int MAX_LEVEL = 8;
+
+  private static final int MAX_REGION_TILES = 16384;
+
+  private static class Tile {
+    final int[] pixels = new int[TILE_SIZE * TILE_SIZE];
+
+    /** Modification time of the region file, if the tile is complete. */
+    long timestamp = 0;
+    int yMin;
+    int yMax;
+    boolean complete = false;
+
+    boolean isValid(long timestamp, int yMin, int yMax) {
+      return complete && this.timestamp == timestamp && this.yMin == yMin && this.yMax == yMax;
+    }
+  }
+
+  private final Long2ObjectLinkedOpenHashMap<Tile> regionTiles = new Long2ObjectLinkedOpenHashMap<>();
+
+  private final int maxLevel;
+
+  /** Tiles of levels 1 to {@link #maxLevel}. */
+  private final Long2ObjectOpenHashMap<int[]>[] levels;
+
+  /**
+   * Create a pyramid with all levels up to {@link #MAX_LEVEL}.
+   */
+  public MapPyramid() {
+    this(MAX_LEVEL);
+  }
+
+  /**
+   * @param maxLevel highest level to keep, 0 to only keep region tiles
+   */
+  @SuppressWarnings("unchecked")
+  public MapPyramid(int maxLevel) {
+    if (maxLevel < 0 || maxLevel > MAX_LEVEL) {
+      throw new IllegalArgumentException("Invalid map pyramid level: " + maxLevel);
+    }
+    this.maxLevel = maxLevel;
+    levels = new Long2ObjectOpenHashMap[maxLevel + 1];
+    for (int level = 1; level <= maxLevel; ++level) {
+      levels[level] = new Long2ObjectOpenHashMap<>();
+    }
+  }
+
+  /**
+   * Copy the pixels of a complete region tile.
+   *
+   * @param timestamp current modification time of the region file
+   * @param out receives {@link #TILE_SIZE} * {@link #TILE_SIZE} pixels, indexed by x + z * 32
+   * @return {@code false} if the region tile is missing, incomplete or outdated
+   */
+  public synchronized boolean getRegion(RegionPosition pos, long timestamp, int yMin, int yMax,
+      int[] out) {
+    Tile tile = regionTiles.getAndMoveToLast(pos.getLong());
+    if (tile == null || !tile.isValid(timestamp, yMin, yMax)) {
+      return false;
+    }
+    System.arraycopy(tile.pixels, 0, out, 0, tile.pixels.length);
+    return true;
+  }
+
+  /**
+   * @return {@code true} if there is a complete region tile for the given region file
+   * modification time and y-range
+   */
+  public synchronized boolean isComplete(RegionPosition pos, long timestamp, int yMin,
+      int yMax) {
+    Tile tile = regionTiles.get(pos.getLong());
+    return tile != null && tile.isValid(timestamp, yMin, yMax);
+  }
+
+  /**
+   * Set all pixels of a region tile, marking it complete.
+   *
+   * @param pixels pixels indexed by x + z * 32
+   * @param timestamp modification time of the region file the pixels were loaded from
+   */
+  public synchronized void setRegion(RegionPosition pos, int[] pixels, long timestamp, int yMin,
+      int yMax) {
+    Tile tile = regionTile(pos.x, pos.z);
+    System.arraycopy(pixels, 0, tile.pixels, 0, tile.pixels.length);
+    tile.timestamp = timestamp;
+    tile.yMin = yMin;
+    tile.yMax = yMax;
+    tile.complete = true;
+    updateParents(pos.x, pos.z, tile.pixels);
+  }
+
+  /**
+   * Set the pixel of a single chunk. This does not make the region tile complete.
+   */
+  public synchronized void setChunk(ChunkPosition pos, int argb) {
+    Tile tile = regionTile(pos.x >> 5, pos.z >> 5);
+    int index = (pos.x & 31) + (pos.z & 31) * TILE_SIZE;
+    if (tile.pixels[index] != argb) {
+      tile.pixels[index] = argb;
+      updateParents(pos.x >> 5, pos.z >> 5, tile.pixels);
+    }
+  }
+
+  /**
+   * Get a copy of a tile.
+   *
+   * @param level pyramid level, 0 for region tiles
+   * @param x tile x coordinate on the given level
+   * @param z tile z coordinate on the given level
+   * @return the pixels of the tile, indexed by x + z * 32, or {@code null} if nothing has
+   * been drawn in the tile or the level is not kept by this pyramid
+   */
+  public synchronized int[] getTile(int level, int x, int z) {
+    long key = ChunkPosition.positionToLong(x, z);
+    int[] pixels;
+    if (level > maxLevel) {
+      pixels = null;
+    } else if (level == 0) {
+      Tile tile = regionTiles.get(key);
+      pixels = tile != null ? tile.pixels : null;
+    } else {
+      pixels = levels[level].get(key);
+    }
+    return pixels != null ? pixels.clone() : null;
+  }
+
+  /** Remove all tiles. */
+  public synchronized void clear() {
+    regionTiles.clear();
+    for (int level = 1; level <= maxLevel; ++level) {
+      levels[level].clear();
+    }
+  }
+
+  private Tile regionTile(int x, int z) {
+    long key = ChunkPosition.positionToLong(x, z);
+    Tile tile = regionTiles.getAndMoveToLast(key);
+    if (tile == null) {
+      tile = new Tile();
+      regionTiles.putAndMoveToLast(key, tile);
+      if (regionTiles.size() > MAX_REGION_TILES) {
+        regionTiles.removeFirst();
+      }
+    }
+    return tile;
+  }
+
+  /**
+   * Downsample a changed tile into the quadrant it covers in its parent tile, and so on up to
+   * the top level.
+   */
+  private void updateParents(int x, int z, int[] child) {
+    for (int level = 1; level <= maxLevel; ++level) {
+      int px = x >> 1;
+      int pz = z >> 1;
+      int[] parent = levels[level].computeIfAbsent(ChunkPosition.positionToLong(px, pz),
+          k -> new int[TILE_SIZE * TILE_SIZE]);
+      int half = TILE_SIZE / 2;
+      int x0 = (x & 1) * half;
+      int z0 = (z & 1) * half;
+      for (int j = 0; j < half; ++j) {
+        for (int i = 0; i < half; ++i) {
+          int src = 2 * i + 2 * j * TILE_SIZE;
+          parent[x0 + i + (z0 + j) * TILE_SIZE] = average(child[src], child[src + 1],
+              child[src + TILE_SIZE], child[src + TILE_SIZE + 1]);
+        }
+      }
+      x = px;
+      z = pz;
+      child = parent;
+    }
+  }
+
+  /** Average four ARGB colors per channel. */
+  static int average(int c0, int c1, int c2, int c3) {
+    int a = ((c0 >>> 24) + (c1 >>> 24) + (c2 >>> 24) + (c3 >>> 24) + 2) >> 2;
+    int r = (((c0 >> 16) & 0xFF) + ((c1 >> 16) & 0xFF) + ((c2 >> 16) & 0xFF) + ((c3 >> 16) & 0xFF) + 2) >> 2;
+    int g = (((c0 >> 8) & 0xFF) + ((c1 >> 8) & 0xFF) + ((c2 >> 8) & 0xFF) + ((c3 >> 8) & 0xFF) + 2) >> 2;
+    int b = ((c0 & 0xFF) + (c1 & 0xFF) + (c2 & 0xFF) + (c3 & 0xFF) + 2) >> 2;
+    return a << 24 | r << 16 | g << 8 | b;
+  }
+}
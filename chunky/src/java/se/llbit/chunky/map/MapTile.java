@@ -71,8 +71,25 @@ public class MapTile {
       }
     } else {
       RegionPosition regionPos = new RegionPosition(pos.x, pos.z); // intentionally don't convert, this position represented a region already.
-      boolean isValid = mapLoader.getWorld().currentDimension().regionExistsWithinRange(regionPos, view.yMin, view.yMax);
-      Region region = mapLoader.getWorld().currentDimension().getRegionWithinRange(regionPos, view.yMin, view.yMax);
+      Dimension dimension = mapLoader.getWorld().currentDimension();
+      if (mapLoader.getMapPyramid().getRegion(regionPos, dimension.regionTimestamp(regionPos),
+          view.yMin, view.yMax, pixels)) {
+        // The region was drawn before and has not changed since.
+        int pixelOffset = 0;
+        for (int z = 0; z < 32; ++z) {
+          for (int x = 0; x < 32; ++x) {
+            if (selection.isSelected(regionPos.asChunkPosition(x, z))) {
+              pixels[pixelOffset] = selectionTint(pixels[pixelOffset]);
+            }
+            pixelOffset += 1;
+          }
+        }
+        drawCached(buffer, view);
+        isCached = true;
+        return;
+      }
+      boolean isValid = dimension.regionExistsWithinRange(regionPos, view.yMin, view.yMax);
+      Region region = dimension.getRegionWithinRange(regionPos, view.yMin, view.yMax);
       int pixelOffset = 0;
       for (int z = 0; z < 32; ++z) {
         for (int x = 0; x < 32; ++x) {
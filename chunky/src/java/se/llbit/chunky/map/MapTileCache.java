@@ -0,0 +1,411 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.map;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import se.llbit.chunky.PersistentSettings;
+import se.llbit.chunky.world.Chunk;
+import se.llbit.chunky.world.ChunkVersion;
+import se.llbit.chunky.world.Dimension;
+import se.llbit.chunky.world.RegionPosition;
+import se.llbit.chunky.world.region.MCRegion;
+import se.llbit.log.Log;
+import se.llbit.util.Util;
+import se.llbit.util.io.DiskCacheLimit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Disk cache for the map layers of chunks, so that the map of a world that was viewed
+ * before can be drawn without decoding the chunks again.
+ *
+ * <p>The surface colors, heights and biomes of the loaded chunks in a region are stored in
+ * one file per region. A cache file is only used for the y-range it was rendered with, and
+ * each cached chunk is only used if its timestamp in the region file header has not changed
+ * since it was cached.
+ *
+ * <p>The zoomed out region tiles of the map, with one pixel per chunk, are stored in
+ * separate small files. They are used while the region file has the same modification time
+ * and the y-range is the same, so that zooming out does not have to parse the regions again.
+ *
+ * <p>The cache directory of a dimension is named by a hash of its region directory, so each
+ * file also stores the full path of the region directory and is only used for that
+ * directory. The least recently used files are deleted when the cache grows beyond
+ * {@link PersistentSettings#getMapTileCacheSize()}.
+ */
+public class MapTileCache {
+  private static final int MAGIC = 0x434D5443; // "CMTC"
+  private static final int VERSION = 2;
+  private static final int REGION_TILE_MAGIC = 0x434D5254; // "CMRT"
+  private static final int REGION_TILE_SIZE = MapPyramid.TILE_SIZE * MapPyramid.TILE_SIZE;
+
+  private static final int COLUMNS = Chunk.X_MAX * Chunk.Z_MAX;
+
+  private static final DiskCacheLimit LIMIT = new DiskCacheLimit(
+      new File(PersistentSettings.cacheDirectory(), "maps"),
+      () -> PersistentSettings.getMapTileCacheSize() * (1L << 20));
+
+  /**
+   * Cached map layers of a single chunk.
+   */
+  public static class Entry {
+    /** Index of the chunk in its region, x + z * 32. */
+    public final int index;
+    /** Timestamp of the chunk in the region file header. */
+    public final int timestamp;
+    public final ChunkVersion version;
+    /** Surface color per column, indexed by x * 16 + z, without the topography shading. */
+    public final int[] surface;
+    /** Height per column, indexed by x * 16 + z. */
+    public final int[] heights;
+    /** Biome resource location per column, indexed by {@link Chunk#chunkXZIndex}. */
+    public final String[] biomes;
+
+    public Entry(int index, int timestamp, ChunkVersion version, int[] surface, int[] heights,
+        String[] biomes) {
+      this.index = index;
+      this.timestamp = timestamp;
+      this.version = version;
+      this.surface = surface;
+      this.heights = heights;
+      this.biomes = biomes;
+    }
+  }
+
+  private MapTileCache() {
+  }
+
+  /**
+   * @return the cache directory for the given dimension
+   */
+  public static File cacheDirectory(Dimension dimension) {
+    String key = Util.cacheEncode(dimension.getRegionDirectory().getAbsolutePath().hashCode());
+    return new File(new File(PersistentSettings.cacheDirectory(), "maps"), key);
+  }
+
+  private static File cacheFile(Dimension dimension, RegionPosition pos) {
+    return new File(cacheDirectory(dimension), String.format("r.%d.%d.tiles", pos.x, pos.z));
+  }
+
+  private static File regionTileFile(Dimension dimension, RegionPosition pos) {
+    return new File(cacheDirectory(dimension), String.format("r.%d.%d.region", pos.x, pos.z));
+  }
+
+  /**
+   * @return the path stored in the cache files of the dimension
+   */
+  private static String source(Dimension dimension) {
+    return dimension.getRegionDirectory().getAbsolutePath();
+  }
+
+  private interface FileWriter {
+    void write(File file) throws IOException;
+  }
+
+  /**
+   * Restore the map layers of the chunks in a parsed region from the cache. Chunks that
+   * already have map layers are not modified.
+   *
+   * @return the number of restored chunks
+   */
+  public static int restore(Dimension dimension, MCRegion region, int yMin, int yMax) {
+    if (!PersistentSettings.getCacheMapTiles()) {
+      return 0;
+    }
+    File file = cacheFile(dimension, region.getPosition());
+    if (!file.isFile()) {
+      return 0;
+    }
+    List<Entry> entries;
+    try {
+      entries = read(file, source(dimension), yMin, yMax);
+    } catch (IOException e) {
+      Log.infof("Ignoring corrupt map tile cache file %s: %s", file.getName(), e.getMessage());
+      return 0;
+    }
+    int restored = 0;
+    for (Entry entry : entries) {
+      Chunk chunk = region.getChunk(entry.index & 31, entry.index >> 5);
+      if (!chunk.isEmpty() && !region.chunkChangedSince(chunk.getPosition(), entry.timestamp)
+          && chunk.loadCached(entry)) {
+        restored += 1;
+      }
+    }
+    if (restored > 0) {
+      DiskCacheLimit.used(file);
+    }
+    return restored;
+  }
+
+  /**
+   * Store the map layers of the loaded chunks in a region in the cache.
+   */
+  public static void store(Dimension dimension, MCRegion region, int yMin, int yMax) {
+    if (!PersistentSettings.getCacheMapTiles()) {
+      return;
+    }
+    List<Entry> entries = new ArrayList<>();
+    for (Chunk chunk : region) {
+      Entry entry = chunk.toCacheEntry();
+      if (entry != null) {
+        entries.add(entry);
+      }
+    }
+    if (entries.isEmpty()) {
+      return;
+    }
+    String source = source(dimension);
+    replace(cacheFile(dimension, region.getPosition()),
+        tmp -> write(tmp, source, yMin, yMax, entries));
+  }
+
+  /**
+   * Restore a zoomed out region tile from the cache.
+   *
+   * @param timestamp current modification time of the region file
+   * @param pixels receives one pixel per chunk, indexed by x + z * 32
+   * @return {@code false} if the tile is not cached, or was cached for a different region
+   * directory, region file modification time or y-range
+   */
+  public static boolean restoreRegionTile(Dimension dimension, RegionPosition pos,
+      long timestamp, int yMin, int yMax, int[] pixels) {
+    if (!PersistentSettings.getCacheMapTiles()) {
+      return false;
+    }
+    File file = regionTileFile(dimension, pos);
+    if (!file.isFile()) {
+      return false;
+    }
+    try {
+      if (readRegionTile(file, source(dimension), timestamp, yMin, yMax, pixels)) {
+        DiskCacheLimit.used(file);
+        return true;
+      }
+      return false;
+    } catch (IOException e) {
+      Log.infof("Ignoring corrupt map tile cache file %s: %s", file.getName(), e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Store a zoomed out region tile in the cache.
+   *
+   * @param timestamp modification time of the region file the tile was drawn from
+   * @param pixels one pixel per chunk, indexed by x + z * 32
+   */
+  public static void storeRegionTile(Dimension dimension, RegionPosition pos, long timestamp,
+      int yMin, int yMax, int[] pixels) {
+    if (PersistentSettings.getCacheMapTiles()) {
+      String source = source(dimension);
+      replace(regionTileFile(dimension, pos),
+          tmp -> writeRegionTile(tmp, source, timestamp, yMin, yMax, pixels));
+    }
+  }
+
+  /**
+   * Write a file through a temporary file, so that readers never see a partially written
+   * file.
+   */
+  private static void replace(File file, FileWriter writer) {
+    File directory = file.getParentFile();
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      return;
+    }
+    try {
+      File tmp = File.createTempFile(file.getName(), ".tmp", directory);
+      try {
+        writer.write(tmp);
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tmp.toPath());
+      }
+    } catch (IOException e) {
+      Log.infof("Failed to write map tile cache file %s: %s", file.getName(), e.getMessage());
+      return;
+    }
+    LIMIT.written(file);
+  }
+
+  /**
+   * Write a zoomed out region tile to a file.
+   *
+   * @param source path of the region directory
+   */
+  public static void writeRegionTile(File file, String source, long timestamp, int yMin,
+      int yMax, int[] pixels) throws IOException {
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(file)))) {
+      out.writeInt(REGION_TILE_MAGIC);
+      out.writeInt(VERSION);
+      out.writeUTF(source);
+      out.writeLong(timestamp);
+      out.writeInt(yMin);
+      out.writeInt(yMax);
+      for (int i = 0; i < REGION_TILE_SIZE; ++i) {
+        out.writeInt(pixels[i]);
+      }
+    }
+  }
+
+  /**
+   * Read a zoomed out region tile from a file.
+   *
+   * @return {@code false} if the file was written for a different region directory, region
+   * file modification time or y-range, or by a different version of the cache
+   */
+  public static boolean readRegionTile(File file, String source, long timestamp, int yMin,
+      int yMax, int[] pixels) throws IOException {
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != REGION_TILE_MAGIC) {
+        throw new IOException("Not a map region tile cache file");
+      }
+      if (in.readInt() != VERSION || !in.readUTF().equals(source) || in.readLong() != timestamp
+          || in.readInt() != yMin || in.readInt() != yMax) {
+        return false;
+      }
+      for (int i = 0; i < REGION_TILE_SIZE; ++i) {
+        pixels[i] = in.readInt();
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Write cache entries to a file. Biomes are stored as indices into a table of biome
+   * resource locations, and the whole file is compressed.
+   *
+   * @param source path of the region directory
+   */
+  public static void write(File file, String source, int yMin, int yMax, List<Entry> entries)
+      throws IOException {
+    try (DataOutputStream out = new DataOutputStream(
+        new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file))))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeUTF(source);
+      out.writeInt(yMin);
+      out.writeInt(yMax);
+
+      List<String> biomeTable = new ArrayList<>();
+      Object2IntMap<String> biomeIndex = new Object2IntOpenHashMap<>();
+      for (Entry entry : entries) {
+        for (String biome : entry.biomes) {
+          if (!biomeIndex.containsKey(biome)) {
+            biomeIndex.put(biome, biomeTable.size());
+            biomeTable.add(biome);
+          }
+        }
+      }
+      out.writeInt(biomeTable.size());
+      for (String biome : biomeTable) {
+        out.writeUTF(biome);
+      }
+
+      out.writeInt(entries.size());
+      for (Entry entry : entries) {
+        out.writeShort(entry.index);
+        out.writeInt(entry.timestamp);
+        out.writeByte(entry.version.ordinal());
+        for (int i = 0; i < COLUMNS; ++i) {
+          out.writeInt(entry.surface[i]);
+        }
+        for (int i = 0; i < COLUMNS; ++i) {
+          out.writeShort(entry.heights[i]);
+        }
+        for (int i = 0; i < COLUMNS; ++i) {
+          out.writeShort(biomeIndex.getInt(entry.biomes[i]));
+        }
+      }
+    }
+  }
+
+  /**
+   * Read cache entries from a file.
+   *
+   * @return the cached entries, or an empty list if the file was written for a different
+   * region directory or y-range, or by a different version of the cache
+   */
+  public static List<Entry> read(File file, String source, int yMin, int yMax)
+      throws IOException {
+    try (DataInputStream in = new DataInputStream(
+        new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a map tile cache file");
+      }
+      if (in.readInt() != VERSION || !in.readUTF().equals(source) || in.readInt() != yMin
+          || in.readInt() != yMax) {
+        return Collections.emptyList();
+      }
+
+      String[] biomeTable = new String[in.readInt()];
+      for (int i = 0; i < biomeTable.length; ++i) {
+        biomeTable[i] = in.readUTF();
+      }
+
+      ChunkVersion[] versions = ChunkVersion.values();
+      int numEntries = in.readInt();
+      if (numEntries < 0 || numEntries > MCRegion.CHUNKS_X * MCRegion.CHUNKS_Z) {
+        throw new IOException("Invalid number of chunks: " + numEntries);
+      }
+      List<Entry> entries = new ArrayList<>(numEntries);
+      for (int n = 0; n < numEntries; ++n) {
+        int index = in.readShort() & 0x3FF;
+        int timestamp = in.readInt();
+        int version = in.readByte();
+        if (version < 0 || version >= versions.length) {
+          throw new IOException("Invalid chunk version: " + version);
+        }
+        int[] surface = new int[COLUMNS];
+        for (int i = 0; i < COLUMNS; ++i) {
+          surface[i] = in.readInt();
+        }
+        int[] heights = new int[COLUMNS];
+        for (int i = 0; i < COLUMNS; ++i) {
+          heights[i] = in.readShort();
+        }
+        String[] biomes = new String[COLUMNS];
+        for (int i = 0; i < COLUMNS; ++i) {
+          int biome = in.readShort() & 0xFFFF;
+          if (biome >= biomeTable.length) {
+            throw new IOException("Invalid biome index: " + biome);
+          }
+          biomes[i] = biomeTable[biome];
+        }
+        entries.add(new Entry(index, timestamp, versions[version], surface, heights, biomes));
+      }
+      return entries;
+    }
+  }
+}
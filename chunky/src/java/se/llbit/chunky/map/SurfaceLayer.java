@@ -116,6 +116,24 @@ public class SurfaceLayer extends BitmapLayer {
     avgColor = avgBitmapColor();
   }
 
+  /**
+   * Create a surface layer from previously generated surface colors.
+   *
+   * @param bitmap surface colors without topographical gradient, indexed by x * 16 + z
+   */
+  public SurfaceLayer(int[] bitmap) {
+    this.bitmap = bitmap;
+    topo = bitmap.clone();
+    avgColor = avgBitmapColor();
+  }
+
+  /**
+   * @return the surface colors without topographical gradient, indexed by x * 16 + z
+   */
+  public int[] getBitmap() {
+    return bitmap;
+  }
+
   /**
    * Add topographical gradient to this chunk and calculate average color
    */
@@ -124,36 +142,50 @@ public class SurfaceLayer extends BitmapLayer {
     int cx = position.x * Chunk.X_MAX;
     int cz = position.z * Chunk.Z_MAX;
 
+    // Heights of the chunk with a one block border, indexed by (x + 1) + (z + 1) * 18.
+    int[] heights = new int[18 * 18];
+    heightmap.getArea(cx - 1, cz - 1, 18, 18, heights);
+
     float[] rgb = new float[3];
     for (int x = 0; x < 16; ++x) {
 
       for (int z = 0; z < 16; ++z) {
 
-        ColorUtil.getRGBComponents(bitmap[x * 16 + z], rgb);
-
-        float gradient =
-            (heightmap.get(cx + x, cz + z) + heightmap.get(cx + x + 1, cz + z) + heightmap
-                .get(cx + x, cz + z + 1) - heightmap.get(cx + x - 1, cz + z) - heightmap
-                .get(cx + x, cz + z - 1) - heightmap.get(cx + x - 1, cz + z - 1));
-        gradient = (float) ((FastMath.atan(gradient / 15) / (Math.PI / 1.7)) + 1);
-
-        rgb[0] *= gradient;
-        rgb[1] *= gradient;
-        rgb[2] *= gradient;
-
-        // clip the result
-        rgb[0] = QuickMath.max(0.f, rgb[0]);
-        rgb[0] = QuickMath.min(1.f, rgb[0]);
-        rgb[1] = QuickMath.max(0.f, rgb[1]);
-        rgb[1] = QuickMath.min(1.f, rgb[1]);
-        rgb[2] = QuickMath.max(0.f, rgb[2]);
-        rgb[2] = QuickMath.min(1.f, rgb[2]);
-
-        topo[x * 16 + z] = ColorUtil.getRGB(rgb[0], rgb[1], rgb[2]);
+        int i = (x + 1) + (z + 1) * 18;
+        float gradient = heights[i] + heights[i + 1] + heights[i + 18]
+            - heights[i - 1] - heights[i - 18] - heights[i - 19];
+        topo[x * 16 + z] = shade(bitmap[x * 16 + z], gradient, rgb);
       }
     }
   }
 
+  /**
+   * Apply a topographical gradient to a surface color.
+   *
+   * @param gradient sum of the heights of the column and its neighbours in the positive
+   * directions minus the heights of the neighbours in the negative directions
+   * @param rgb temporary storage for the color components
+   * @return the shaded color
+   */
+  static int shade(int argb, float gradient, float[] rgb) {
+    ColorUtil.getRGBComponents(argb, rgb);
+    gradient = (float) ((FastMath.atan(gradient / 15) / (Math.PI / 1.7)) + 1);
+
+    rgb[0] *= gradient;
+    rgb[1] *= gradient;
+    rgb[2] *= gradient;
+
+    // clip the result
+    rgb[0] = QuickMath.max(0.f, rgb[0]);
+    rgb[0] = QuickMath.min(1.f, rgb[0]);
+    rgb[1] = QuickMath.max(0.f, rgb[1]);
+    rgb[1] = QuickMath.min(1.f, rgb[1]);
+    rgb[2] = QuickMath.max(0.f, rgb[2]);
+    rgb[2] = QuickMath.min(1.f, rgb[2]);
+
+    return ColorUtil.getRGB(rgb[0], rgb[1], rgb[2]);
+  }
+
   /**
    * Blend the two argb colors a and b. Result is stored in the array a.
    */
@@ -45,6 +45,12 @@ public class WorldMapLoader implements ChunkTopographyListener, ChunkViewListene
 
   private final ChunkTopographyUpdater topographyUpdater = new ChunkTopographyUpdater();
 
+  /**
+   * Region tiles of the current dimension. The map view shows at least one pixel per chunk,
+   * so the downsampled levels above the region tiles are not kept.
+   */
+  private volatile MapPyramid mapPyramid = new MapPyramid(0);
+
   /** The dimension to load in the current world. */
   private int currentDimensionId = PersistentSettings.getDimension();
 
@@ -78,6 +84,9 @@ public class WorldMapLoader implements ChunkTopographyListener, ChunkViewListene
       synchronized (this) {
         world = newWorld;
         updateRegionChangeWatcher(newWorld.currentDimension());
+        if (!isSameWorld) {
+          mapPyramid = new MapPyramid(0);
+        }
 
         File newWorldDir = world.getWorldDirectory();
         if (newWorldDir != null && !newWorldDir.equals(PersistentSettings.getLastWorld())) {
@@ -98,6 +107,7 @@ public class WorldMapLoader implements ChunkTopographyListener, ChunkViewListene
     world.currentDimension().addChunkTopographyListener(this);
     synchronized (this) {
       updateRegionChangeWatcher(world.currentDimension());
+      mapPyramid = new MapPyramid(0);
     }
     worldLoadListeners.forEach(listener -> listener.accept(world, false));
   }
@@ -109,6 +119,8 @@ public class WorldMapLoader implements ChunkTopographyListener, ChunkViewListene
 
   /** Called when the map view has changed to load the visible chunks. */
   @Override public synchronized void viewUpdated(ChunkView mapView) {
+    topographyUpdater.setView(mapView);
+
     int rx0 = mapView.prx0;
     int rx1 = mapView.prx1;
     int rz0 = mapView.prz0;
@@ -131,6 +143,14 @@ public class WorldMapLoader implements ChunkTopographyListener, ChunkViewListene
     return world;
   }
 
+  /**
+   * Get the region tiles of the current dimension. The region tiles are validated against
+   * the region file timestamps, so they are kept when the world is reloaded.
+   */
+  public MapPyramid getMapPyramid() {
+    return mapPyramid;
+  }
+
   public synchronized void withWorld(Consumer<World> fun) {
     fun.accept(world);
   }
@@ -162,13 +182,21 @@ public class WorldMapLoader implements ChunkTopographyListener, ChunkViewListene
     viewUpdated(mapView.getMapView()); // update visible chunks immediately
   }
 
-  /** Stops the current RegionChangeWatcher, and creates a new one for the specified world */
+  /**
+   * Stops the current RegionChangeWatcher, and creates a new one for the specified world.
+   * Also starts indexing the region files of the dimension.
+   */
   private void updateRegionChangeWatcher(Dimension dimension) {
     if(regionChangeWatcher != null) {
       regionChangeWatcher.interrupt();
     }
     regionChangeWatcher = dimension.createRegionChangeWatcher(this, mapView);
     regionChangeWatcher.start();
+
+    // Read all region headers in the background, so that regions can be parsed quickly.
+    Thread indexer = new Thread(dimension::indexRegions, "Region Indexer");
+    indexer.setDaemon(true);
+    indexer.start();
   }
 
   /**
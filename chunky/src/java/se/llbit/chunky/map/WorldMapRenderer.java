@@ -0,0 +1,351 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.map;
+
+import se.llbit.chunky.chunk.ChunkData;
+import se.llbit.chunky.world.Chunk;
+import se.llbit.chunky.world.Dimension;
+import se.llbit.chunky.world.DimensionHeightRange;
+import se.llbit.chunky.world.RegionPosition;
+import se.llbit.chunky.world.World;
+import se.llbit.chunky.world.region.Region;
+import se.llbit.imageformats.png.PngFileWriter;
+import se.llbit.log.Log;
+import se.llbit.util.Mutable;
+import se.llbit.util.TaskTracker;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Renders the surface map of a whole dimension without the GUI.
+ *
+ * <p>Regions are rendered in parallel at one pixel per block, with the same colors and
+ * topographical shading as the interactive map. Each region is written to its own PNG tile,
+ * and overview tiles for zoomed out views are built from a {@link MapPyramid} of the
+ * average chunk colors. Optionally the whole dimension is written to one PNG image. The
+ * image is streamed one row of regions at a time, so it never has to be kept in memory.
+ *
+ * <p>The topographical shading at region borders only uses heights from within the region,
+ * so that regions can be rendered independently of each other.
+ */
+public class WorldMapRenderer {
+  /** Width of a region in pixels. */
+  public static final int REGION_SIZE = 512;
+
+  /**
+   * Memory used for rendered rows of regions while writing the full image. The PNG encoder
+   * works on several bands of scanlines in parallel, so a few rows have to be kept.
+   */
+  private static final long ROW_CACHE_BYTES = 256L * 1024 * 1024;
+
+  private final Dimension dimension;
+  private final int yMin;
+  private final int yMax;
+  private final File tileDirectory;
+  private final MapPyramid overview = new MapPyramid();
+
+  private int minX, maxX, minZ, maxZ;
+  private boolean[][] hasRegion;
+
+  /**
+   * Regions that have been rendered. Rows evicted from the row cache may be rendered again,
+   * so the rendered regions are counted as a set.
+   */
+  private final Set<RegionPosition> rendered = ConcurrentHashMap.newKeySet();
+  private int numRegions;
+
+  /**
+   * @param tileDirectory directory to write the region and overview tiles to, or
+   * {@code null} if only the full image should be written
+   */
+  public WorldMapRenderer(World world, File tileDirectory) {
+    this.dimension = world.currentDimension();
+    DimensionHeightRange heightRange = dimension.getHeightRange();
+    yMin = heightRange.minY;
+    yMax = heightRange.maxY;
+    this.tileDirectory = tileDirectory;
+  }
+
+  /**
+   * Render the map of the dimension.
+   *
+   * @param pngFile file to write the full map to, or {@code null} to only write tiles
+   * @param threads number of threads used to render regions
+   * @return the number of rendered regions
+   */
+  public int render(File pngFile, int threads, TaskTracker.Task task) throws IOException {
+    List<RegionPosition> regions = findRegions();
+    if (regions.isEmpty()) {
+      Log.warn("No region files found in " + dimension.getRegionDirectory());
+      return 0;
+    }
+    numRegions = regions.size();
+    if (tileDirectory != null && !tileDirectory.isDirectory() && !tileDirectory.mkdirs()) {
+      throw new IOException("Could not create directory " + tileDirectory);
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+    try {
+      task.update(numRegions, 0);
+      if (pngFile != null) {
+        writeImage(pngFile, pool, task);
+      } else {
+        pool.submit(() -> regions.parallelStream().forEach(region -> {
+          renderRegion(region);
+          regionRendered(region, task);
+        })).join();
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      pool.shutdown();
+    }
+
+    if (tileDirectory != null) {
+      writeOverview();
+    }
+    return rendered.size();
+  }
+
+  private void regionRendered(RegionPosition pos, TaskTracker.Task task) {
+    if (rendered.add(pos)) {
+      task.update(numRegions, rendered.size());
+    }
+  }
+
+  /**
+   * Find the region files of the dimension and the bounds of the map.
+   */
+  private List<RegionPosition> findRegions() {
+    List<RegionPosition> regions = new ArrayList<>();
+    String[] files = dimension.getRegionDirectory().list();
+    if (files != null) {
+      for (String file : files) {
+        RegionPosition pos = RegionPosition.fromMcaName(file);
+        if (pos != null) {
+          regions.add(pos);
+        }
+      }
+    }
+    if (regions.isEmpty()) {
+      return regions;
+    }
+    minX = minZ = Integer.MAX_VALUE;
+    maxX = maxZ = Integer.MIN_VALUE;
+    for (RegionPosition pos : regions) {
+      minX = Math.min(minX, pos.x);
+      maxX = Math.max(maxX, pos.x);
+      minZ = Math.min(minZ, pos.z);
+      maxZ = Math.max(maxZ, pos.z);
+    }
+    hasRegion = new boolean[maxZ - minZ + 1][maxX - minX + 1];
+    for (RegionPosition pos : regions) {
+      hasRegion[pos.z - minZ][pos.x - minX] = true;
+    }
+    return regions;
+  }
+
+  /**
+   * Stream the full map to a PNG file. Rows of regions are rendered when the PNG encoder
+   * first needs one of their scanlines.
+   */
+  private void writeImage(File pngFile, ForkJoinPool pool, TaskTracker.Task task)
+      throws IOException {
+    int regionsX = maxX - minX + 1;
+    int width = regionsX * REGION_SIZE;
+    int height = (maxZ - minZ + 1) * REGION_SIZE;
+    long rowBytes = 4L * width * REGION_SIZE;
+    int cacheSize = (int) Math.max(3, ROW_CACHE_BYTES / rowBytes);
+    Map<Integer, CompletableFuture<int[]>> rows =
+        new LinkedHashMap<Integer, CompletableFuture<int[]>>(16, 0.75f, true) {
+          @Override protected boolean removeEldestEntry(Map.Entry<Integer, CompletableFuture<int[]>> eldest) {
+            return size() > cacheSize;
+          }
+        };
+    try (PngFileWriter writer = new PngFileWriter(
+        new BufferedOutputStream(new FileOutputStream(pngFile)))) {
+      writer.write((y, scanline) -> {
+        int row = y / REGION_SIZE;
+        CompletableFuture<int[]> future;
+        synchronized (rows) {
+          future = rows.get(row);
+          if (future == null) {
+            future = CompletableFuture.supplyAsync(() -> renderRow(row, regionsX, task), pool);
+            rows.put(row, future);
+          }
+        }
+        // The scanlines are requested by the PNG encoder from the common thread pool, while
+        // the rows are rendered on the pool of this renderer. Waiting on a CompletableFuture
+        // lets the common pool compensate for the blocked threads.
+        int[] pixels = future.join();
+        int offset = (y % REGION_SIZE) * width;
+        for (int x = 0, j = 0; x < width; ++x) {
+          int rgb = pixels[offset + x];
+          scanline[j++] = (byte) (rgb >> 16);
+          scanline[j++] = (byte) (rgb >> 8);
+          scanline[j++] = (byte) rgb;
+        }
+      }, width, height, TaskTracker.Task.NONE);
+    }
+  }
+
+  /**
+   * Render one row of regions.
+   */
+  private int[] renderRow(int row, int regionsX, TaskTracker.Task task) {
+    int width = regionsX * REGION_SIZE;
+    int[] pixels = new int[width * REGION_SIZE];
+    IntStream.range(0, regionsX).parallel().forEach(i -> {
+      if (hasRegion[row][i]) {
+        RegionPosition pos = new RegionPosition(minX + i, minZ + row);
+        int[] region = renderRegion(pos);
+        for (int z = 0; z < REGION_SIZE; ++z) {
+          System.arraycopy(region, z * REGION_SIZE, pixels, z * width + i * REGION_SIZE,
+              REGION_SIZE);
+        }
+        regionRendered(pos, task);
+      }
+    });
+    return pixels;
+  }
+
+  /**
+   * Load the chunks of a region and render them. The region tile is written if a tile
+   * directory was given.
+   *
+   * @return the pixels of the region, indexed by x + z * 512
+   */
+  private int[] renderRegion(RegionPosition pos) {
+    int[] pixels = new int[REGION_SIZE * REGION_SIZE];
+    short[] heights = new short[REGION_SIZE * REGION_SIZE];
+    Arrays.fill(heights, (short) World.SEA_LEVEL);
+    int[] chunkColors = new int[MapPyramid.TILE_SIZE * MapPyramid.TILE_SIZE];
+
+    Region region = dimension.getRegion(pos);
+    region.parse(yMin, yMax);
+    Mutable<ChunkData> chunkData = new Mutable<>(null);
+    for (Chunk chunk : region) {
+      if (!chunk.isEmpty() && chunk.loadChunk(chunkData, yMin, yMax)) {
+        chunkData.get().clear();
+      }
+      MapTileCache.Entry entry = chunk.toCacheEntry();
+      if (entry == null) {
+        continue;
+      }
+      int x0 = (entry.index & 31) * Chunk.X_MAX;
+      int z0 = (entry.index >> 5) * Chunk.Z_MAX;
+      for (int x = 0; x < Chunk.X_MAX; ++x) {
+        for (int z = 0; z < Chunk.Z_MAX; ++z) {
+          int index = x0 + x + (z0 + z) * REGION_SIZE;
+          pixels[index] = entry.surface[x * 16 + z];
+          heights[index] = (short) entry.heights[x * 16 + z];
+        }
+      }
+    }
+    // The heights are copied, so they do not need to be kept in the dimension.
+    dimension.getHeightmap().removeRegion(pos);
+
+    int[] shaded = new int[REGION_SIZE * REGION_SIZE];
+    float[] rgb = new float[3];
+    for (int z = 0; z < REGION_SIZE; ++z) {
+      for (int x = 0; x < REGION_SIZE; ++x) {
+        int index = x + z * REGION_SIZE;
+        if (pixels[index] == 0) {
+          continue;
+        }
+        int xn = Math.max(0, x - 1);
+        int xp = Math.min(REGION_SIZE - 1, x + 1);
+        int zn = Math.max(0, z - 1) * REGION_SIZE;
+        int zp = Math.min(REGION_SIZE - 1, z + 1) * REGION_SIZE;
+        int zc = z * REGION_SIZE;
+        float gradient = heights[x + zc] + heights[xp + zc] + heights[x + zp]
+            - heights[xn + zc] - heights[x + zn] - heights[xn + zn];
+        shaded[index] = SurfaceLayer.shade(pixels[index], gradient, rgb);
+      }
+    }
+
+    for (int cz = 0; cz < 32; ++cz) {
+      for (int cx = 0; cx < 32; ++cx) {
+        int r = 0, g = 0, b = 0;
+        for (int z = 0; z < Chunk.Z_MAX; ++z) {
+          int offset = cx * Chunk.X_MAX + (cz * Chunk.Z_MAX + z) * REGION_SIZE;
+          for (int x = 0; x < Chunk.X_MAX; ++x) {
+            int argb = shaded[offset + x];
+            r += (argb >> 16) & 0xFF;
+            g += (argb >> 8) & 0xFF;
+            b += argb & 0xFF;
+          }
+        }
+        int n = Chunk.X_MAX * Chunk.Z_MAX;
+        chunkColors[cx + cz * 32] = 0xFF000000 | (r / n) << 16 | (g / n) << 8 | (b / n);
+      }
+    }
+    overview.setRegion(pos, chunkColors, 0, yMin, yMax);
+
+    if (tileDirectory != null) {
+      File file = new File(tileDirectory, String.format("r.%d.%d.png", pos.x, pos.z));
+      writePng(file, shaded, REGION_SIZE);
+    }
+    return shaded;
+  }
+
+  /**
+   * Write the overview tiles. Level {@code n} has one 32x32 tile per 2^n by 2^n regions and
+   * is written to the subdirectory {@code n} of the tile directory.
+   */
+  private void writeOverview() {
+    for (int level = 1; level <= MapPyramid.MAX_LEVEL; ++level) {
+      File directory = new File(tileDirectory, String.valueOf(level));
+      if (!directory.isDirectory() && !directory.mkdirs()) {
+        Log.warn("Could not create directory " + directory);
+        return;
+      }
+      for (int z = minZ >> level; z <= maxZ >> level; ++z) {
+        for (int x = minX >> level; x <= maxX >> level; ++x) {
+          int[] pixels = overview.getTile(level, x, z);
+          if (pixels != null) {
+            writePng(new File(directory, String.format("%d.%d.png", x, z)), pixels,
+                MapPyramid.TILE_SIZE);
+          }
+        }
+      }
+    }
+  }
+
+  private static void writePng(File file, int[] pixels, int size) {
+    try (PngFileWriter writer = new PngFileWriter(
+        new BufferedOutputStream(new FileOutputStream(file)))) {
+      writer.write(pixels, size, size, TaskTracker.Task.NONE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
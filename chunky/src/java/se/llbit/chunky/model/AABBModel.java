@@ -175,9 +175,8 @@ public abstract class AABBModel implements BlockModel {
       }
     }
 
-    float[] color = texture.getColor(ray.u, ray.v);
-    if (color[3] > Ray.EPSILON) {
-      ray.color.set(color);
+    if (texture.isOpaqueAt(ray.u, ray.v)) {
+      ray.color.set(texture.getColor(ray.u, ray.v));
       return true;
     }
     return false;
@@ -57,8 +57,8 @@ public abstract class AnimatedQuadModel extends QuadModel {
     for (int i = 0; i < quads.length; ++i) {
       Quad quad = quads[i];
       if (quad.intersect(ray)) {
-        float[] c = textures[i].getColor(ray.u, ray.v, j);
-        if (c[3] > Ray.EPSILON) {
+        if (textures[i].isOpaqueAt(ray.u, ray.v, j)) {
+          float[] c = textures[i].getColor(ray.u, ray.v, j);
           tint = tintedQuads == null ? Tint.NONE : tintedQuads[i];
           color = c;
           ray.t = ray.tNext;
@@ -23,6 +23,7 @@ import se.llbit.chunky.model.Tint;
 import se.llbit.chunky.plugin.PluginApi;
 import se.llbit.chunky.renderer.scene.Scene;
 import se.llbit.chunky.resources.Texture;
+import se.llbit.math.PackedQuads;
 import se.llbit.math.Quad;
 import se.llbit.math.Ray;
 import se.llbit.math.Vector3;
@@ -80,6 +81,27 @@ public abstract class QuadModel implements BlockModel {
   protected static final double E0 = -Ray.EPSILON;
   protected static final double E1 = 1 + Ray.EPSILON;
 
+  /** Packed copy of the quads, built on the first intersection test. */
+  private PackedQuads packedQuads;
+
+  /** Alpha test for the packed quads, kept so that it is not allocated for each ray. */
+  private AlphaFilter alphaFilter;
+
+  /**
+   * Accepts quad hits where the texture of the quad is opaque.
+   */
+  private static final class AlphaFilter implements PackedQuads.HitFilter {
+    final Texture[] textures;
+
+    AlphaFilter(Texture[] textures) {
+      this.textures = textures;
+    }
+
+    @Override public boolean accept(int quad, double u, double v) {
+      return textures[quad].isOpaqueAt(u, v);
+    }
+  }
+
   @PluginApi
   public abstract Quad[] getQuads();
 
@@ -108,20 +130,55 @@ public abstract class QuadModel implements BlockModel {
 
   @Override
   public boolean intersect(Ray ray, Scene scene) {
-    boolean hit = false;
     ray.t = Double.POSITIVE_INFINITY;
 
     Quad[] quads = getQuads();
     Texture[] textures = getTextures();
     Tint[] tintedQuads = getTints();
 
+    PackedQuads packed = packedQuads;
+    if (packed == null || !packed.packs(quads)) {
+      packed = PackedQuads.pack(quads);
+      packedQuads = packed;
+    }
+    if (!packed.isSupported()) {
+      return intersectQuads(ray, scene, quads, textures, tintedQuads);
+    }
+
+    // The alpha test uses the texture alpha masks, and the color is only looked up for the
+    // closest hit.
+    AlphaFilter filter = alphaFilter;
+    if (filter == null || filter.textures != textures) {
+      filter = new AlphaFilter(textures);
+      alphaFilter = filter;
+    }
+    int i = packed.closestHit(ray, filter);
+    if (i < 0) {
+      return false;
+    }
+    Quad quad = quads[i];
+    ray.t = ray.tNext;
+    if (quad.doubleSided)
+      ray.orientNormal(quad.n);
+    else
+      ray.setNormal(quad.n);
+    Tint tint = tintedQuads == null ? Tint.NONE : tintedQuads[i];
+    return finishHit(ray, scene, textures[i].getColor(ray.u, ray.v), tint);
+  }
+
+  /**
+   * Test the quads one by one. Used for quads with custom intersection code.
+   */
+  private boolean intersectQuads(Ray ray, Scene scene, Quad[] quads, Texture[] textures,
+      Tint[] tintedQuads) {
+    boolean hit = false;
     float[] color = null;
     Tint tint = Tint.NONE;
     for (int i = 0; i < quads.length; ++i) {
       Quad quad = quads[i];
       if (quad.intersect(ray)) {
-        float[] c = textures[i].getColor(ray.u, ray.v);
-        if (c[3] > Ray.EPSILON) {
+        if (textures[i].isOpaqueAt(ray.u, ray.v)) {
+          float[] c = textures[i].getColor(ray.u, ray.v);
           tint = tintedQuads == null ? Tint.NONE : tintedQuads[i];
           color = c;
           ray.t = ray.tNext;
@@ -133,22 +190,23 @@ public abstract class QuadModel implements BlockModel {
         }
       }
     }
+    return hit && finishHit(ray, scene, color, tint);
+  }
 
-    if (hit) {
-      double px = ray.o.x - Math.floor(ray.o.x + ray.d.x * Ray.OFFSET) + ray.d.x * ray.tNext;
-      double py = ray.o.y - Math.floor(ray.o.y + ray.d.y * Ray.OFFSET) + ray.d.y * ray.tNext;
-      double pz = ray.o.z - Math.floor(ray.o.z + ray.d.z * Ray.OFFSET) + ray.d.z * ray.tNext;
-      if (px < E0 || px > E1 || py < E0 || py > E1 || pz < E0 || pz > E1) {
-        // TODO this check is only really needed for wall torches
-        return false;
-      }
-
-      ray.color.set(color);
-      tint.tint(ray.color, ray, scene);
-      ray.distance += ray.t;
-      ray.o.scaleAdd(ray.t, ray.d);
+  private static boolean finishHit(Ray ray, Scene scene, float[] color, Tint tint) {
+    double px = ray.o.x - Math.floor(ray.o.x + ray.d.x * Ray.OFFSET) + ray.d.x * ray.tNext;
+    double py = ray.o.y - Math.floor(ray.o.y + ray.d.y * Ray.OFFSET) + ray.d.y * ray.tNext;
+    double pz = ray.o.z - Math.floor(ray.o.z + ray.d.z * Ray.OFFSET) + ray.d.z * ray.tNext;
+    if (px < E0 || px > E1 || py < E0 || py > E1 || pz < E0 || pz > E1) {
+      // TODO this check is only really needed for wall torches
+      return false;
     }
-    return hit;
+
+    ray.color.set(color);
+    tint.tint(ray.color, ray, scene);
+    ray.distance += ray.t;
+    ray.o.scaleAdd(ray.t, ray.d);
+    return true;
   }
 
   @Override
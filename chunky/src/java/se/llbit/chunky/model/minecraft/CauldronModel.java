@@ -367,8 +367,8 @@ public class CauldronModel {
     for (int i = 0; i < quads.length; ++i) {
       Quad quad = quads[i];
       if (quad.intersect(ray)) {
-        float[] color = tex[i].getColor(ray.u, ray.v);
-        if (color[3] > Ray.EPSILON) {
+        if (tex[i].isOpaqueAt(ray.u, ray.v)) {
+          float[] color = tex[i].getColor(ray.u, ray.v);
           ray.color.set(color);
           ray.t = ray.tNext;
           ray.setNormal(quad.n);
@@ -379,8 +379,8 @@ public class CauldronModel {
 
     Quad water = waterLevels[level];
     if (water != null && water.intersect(ray)) {
-      float[] color = contentTexture.getColor(ray.u, ray.v);
-      if (color[3] > Ray.EPSILON) {
+      if (contentTexture.isOpaqueAt(ray.u, ray.v)) {
+        float[] color = contentTexture.getColor(ray.u, ray.v);
         ray.color.set(color);
         ray.t = ray.tNext;
         ray.setNormal(water.n);
@@ -401,8 +401,8 @@ public class CauldronModel {
     for (int i = 0; i < quads.length; ++i) {
       Quad quad = quads[i];
       if (quad.intersect(ray)) {
-        float[] color = tex[i].getColor(ray.u, ray.v);
-        if (color[3] > Ray.EPSILON) {
+        if (tex[i].isOpaqueAt(ray.u, ray.v)) {
+          float[] color = tex[i].getColor(ray.u, ray.v);
           ray.color.set(color);
           ray.t = ray.tNext;
           ray.setNormal(quad.n);
@@ -437,8 +437,8 @@ public class CauldronModel {
     for (int i = 0; i < quads.length; ++i) {
       Quad quad = quads[i];
       if (quad.intersect(ray)) {
-        float[] color = tex[i].getColor(ray.u, ray.v);
-        if (color[3] > Ray.EPSILON) {
+        if (tex[i].isOpaqueAt(ray.u, ray.v)) {
+          float[] color = tex[i].getColor(ray.u, ray.v);
           ray.color.set(color);
           ray.t = ray.tNext;
           ray.setNormal(quad.n);
@@ -449,8 +449,8 @@ public class CauldronModel {
 
     Quad lava = waterLevels[3];
     if (lava.intersect(ray)) {
-      float[] color = Texture.lava.getColor(ray.u, ray.v);
-      if (color[3] > Ray.EPSILON) {
+      if (Texture.lava.isOpaqueAt(ray.u, ray.v)) {
+        float[] color = Texture.lava.getColor(ray.u, ray.v);
         ray.color.set(color);
         ray.t = ray.tNext;
         ray.setNormal(lava.n);
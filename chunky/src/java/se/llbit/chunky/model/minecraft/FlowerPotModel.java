@@ -674,8 +674,8 @@ public class FlowerPotModel extends QuadModel {
           for (int i = 0; i < quads.length; ++i) {
             Quad quad = quads[i];
             if (quad.intersect(ray)) {
-              float[] c = textures[i].getColor(ray.u, ray.v);
-              if (c[3] > Ray.EPSILON) {
+              if (textures[i].isOpaqueAt(ray.u, ray.v)) {
+                float[] c = textures[i].getColor(ray.u, ray.v);
                 tint = tintedQuads == null ? Tint.NONE : tintedQuads[i];
                 color = c;
                 ray.t = ray.tNext;
@@ -112,8 +112,8 @@ public class HoneyBlockModel {
         for (int i = 6; i < quads.length; ++i) {
             Quad quad = quads[i];
             if (quad.intersect(ray)) {
-                float[] color = tex[i].getColor(ray.u, ray.v);
-                if (color[3] > Ray.EPSILON) {
+                if (tex[i].isOpaqueAt(ray.u, ray.v)) {
+                    float[] color = tex[i].getColor(ray.u, ray.v);
                     ColorUtil.overlayColor(ray.color, color);
                     ray.setNormal(quad.n);
                     ray.t = ray.tNext;
@@ -130,8 +130,8 @@ public class HoneyBlockModel {
         for (int i = 0; i < 6; ++i) {
             Quad quad = quads[i];
             if (quad.intersect(ray)) {
-                float[] color = tex[i].getColor(ray.u, ray.v);
-                if (color[3] > Ray.EPSILON) {
+                if (tex[i].isOpaqueAt(ray.u, ray.v)) {
+                    float[] color = tex[i].getColor(ray.u, ray.v);
                     ColorUtil.overlayColor(ray.color, color);
                     ray.setNormal(quad.n);
                     ray.t = ray.tNext;
@@ -126,8 +126,8 @@ public class RedstoneTorchModel extends QuadModel {
             hitCount--;
           }
         }
-        float[] c = textures[i].getColor(ray.u, ray.v);
-        if (c[3] > Ray.EPSILON) {
+        if (textures[i].isOpaqueAt(ray.u, ray.v)) {
+          float[] c = textures[i].getColor(ray.u, ray.v);
           if (ray.d.dot(quad.n) < 0) {
             color = c;
             ray.t = ray.tNext;
@@ -80,8 +80,8 @@ public class SpriteModel extends QuadModel {
     ray.t = Double.POSITIVE_INFINITY;
     for (Quad quad : quads) {
       if (quad.intersect(ray)) {
-        float[] color = material.getColor(ray.u, ray.v);
-        if (color[3] > Ray.EPSILON) {
+        if (material.isOpaqueAt(ray.u, ray.v)) {
+          float[] color = material.getColor(ray.u, ray.v);
           ray.color.set(color);
           ray.t = ray.tNext;
           if (quad.doubleSided)
@@ -104,8 +104,8 @@ public class SpriteModel extends QuadModel {
     ray.t = Double.POSITIVE_INFINITY;
     for (Quad quad : orientedQuads[getOrientationIndex(facing)]) {
       if (quad.intersect(ray)) {
-        float[] color = material.getColor(ray.u, ray.v);
-        if (color[3] > Ray.EPSILON) {
+        if (material.isOpaqueAt(ray.u, ray.v)) {
+          float[] color = material.getColor(ray.u, ray.v);
           ray.color.set(color);
           ray.t = ray.tNext;
           if (quad.doubleSided)
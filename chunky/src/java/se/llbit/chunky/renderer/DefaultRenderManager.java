@@ -19,6 +19,7 @@ package se.llbit.chunky.renderer;
 
 import se.llbit.chunky.PersistentSettings;
 import se.llbit.chunky.plugin.PluginApi;
+import se.llbit.chunky.renderer.metrics.RenderMetrics;
 import se.llbit.chunky.renderer.postprocessing.PixelPostProcessingFilter;
 import se.llbit.chunky.renderer.postprocessing.PostProcessingFilter;
 import se.llbit.chunky.renderer.postprocessing.PreviewFilter;
@@ -27,7 +28,6 @@ import se.llbit.chunky.renderer.scene.PreviewRayTracer;
 import se.llbit.chunky.renderer.scene.Scene;
 import se.llbit.chunky.resources.BitmapImage;
 import se.llbit.log.Log;
-import se.llbit.math.ColorUtil;
 import se.llbit.util.TaskTracker;
 
 import java.time.Duration;
@@ -400,6 +400,9 @@ public class DefaultRenderManager extends Thread implements RenderManager {
       }
     }
 
+    RenderMetrics.setRenderStatus(bufferedScene.spp, samplesPerSecond(),
+        bufferedScene.renderTime);
+
     synchronized (this) {
       // Update render status display.
       renderStatusListeners.forEach(listener -> {
@@ -415,6 +418,7 @@ public class DefaultRenderManager extends Thread implements RenderManager {
    */
   protected void finalizeFrame(boolean force) {
     if (force || snapshotControl.saveSnapshot(bufferedScene, bufferedScene.spp)) {
+      RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.FINALIZE_FRAME);
       PostProcessingFilter filter = bufferedScene.getPostProcessingFilter();
       if (mode == RenderMode.PREVIEW) filter = PreviewFilter.INSTANCE;
 
@@ -436,18 +440,8 @@ public class DefaultRenderManager extends Thread implements RenderManager {
         for (int i = 0; i < totalPixelCount; i += pixelsPerTask) {
           int start = i;
           int end = Math.min(totalPixelCount, i + pixelsPerTask);
-          jobs.add(pool.submit(worker -> {
-            double[] pixelbuffer = new double[3];
-
-            for (int j = start; j < end; j++) {
-              int x = j % width;
-              int y = j / width;
-
-              pixelFilter.processPixel(width, height, sampleBuffer, x, y, exposure, pixelbuffer);
-              Arrays.setAll(pixelbuffer, k -> Math.min(1, pixelbuffer[k]));
-              bufferedScene.getBackBuffer().setPixel(x, y, ColorUtil.getRGB(pixelbuffer));
-            }
-          }));
+          jobs.add(pool.submit(worker -> pixelFilter.processSpan(width, height, sampleBuffer,
+              start, end - start, exposure, bufferedScene.getBackBuffer().data)));
         }
 
         try {
@@ -460,6 +454,7 @@ public class DefaultRenderManager extends Thread implements RenderManager {
       } else {
         bufferedScene.postProcessFrame(TaskTracker.Task.NONE);
       }
+      timer.close();
 
       redrawScreen();
     }
@@ -16,6 +16,8 @@
  */
 package se.llbit.chunky.renderer;
 
+import se.llbit.chunky.renderer.sampler.Sampler;
+import se.llbit.chunky.renderer.scene.AovBuffer;
 import se.llbit.chunky.renderer.scene.Camera;
 import se.llbit.chunky.renderer.scene.PathTracer;
 import se.llbit.chunky.renderer.scene.RayTracer;
@@ -67,12 +69,26 @@ public class PathTracingRenderer extends TileBasedRenderer {
     double invHeight = 1.0 / fullHeight;
 
     double[] sampleBuffer = scene.getSampleBuffer();
+    Sampler sampler = scene.getSampler();
 
     while (scene.spp < scene.getTargetSpp()) {
       int spp = scene.spp;
-      int branchCount = (tracer instanceof PathTracer) ? scene.getCurrentBranchCount() : 1;
+      boolean branched = tracer instanceof PathTracer;
+      int branchCount = branched ? scene.getCurrentBranchCount() : 1;
+      // The camera samples and the branches of each pass continue the sample sequences of the
+      // pixel, so that the samples rendered so far are always a prefix of the sequences.
+      int cameraSpp = branched ? scene.getCameraSpp(sppPerPass) : spp;
       double sinv = 1.0 / (sppPerPass * branchCount + spp);
 
+      // The feature buffers are only filled if the post processing filter uses them.
+      AovBuffer aovBuffer = scene.wantsAovs() ? scene.getAovBuffer() : null;
+      if (aovBuffer != null) {
+        aovBuffer.allocate();
+        if (spp == 0) {
+          aovBuffer.reset();
+        }
+      }
+
       submitTiles(manager, (state, pixel) -> {
         int x = pixel.firstInt();
         int y = pixel.secondInt();
@@ -82,9 +98,20 @@ public class PathTracingRenderer extends TileBasedRenderer {
         double sb = 0;
 
         for (int k = 0; k < sppPerPass; k++) {
+          state.random.startSample(sampler, x + cropX, y + cropY, cameraSpp + k,
+              spp + k * branchCount);
           double ox = state.random.nextDouble();
           double oy = state.random.nextDouble();
 
+          if (k == 0 && aovBuffer != null) {
+            // One feature sample per pass, traced through the same sub-pixel position.
+            cam.calcViewRay(state.ray,
+                -halfWidth + (x + ox + cropX) * invHeight,
+                -0.5 + (y + oy + cropY) * invHeight);
+            AovBuffer.traceFeatures(scene, state, state.features);
+            aovBuffer.accumulate(y * width + x, state.features, sppPerPass * branchCount);
+          }
+
           cam.calcViewRay(state.ray, state.random,
               -halfWidth + (x + ox + cropX) * invHeight,
               -0.5 + (y + oy + cropY) * invHeight);
@@ -94,6 +121,7 @@ public class PathTracingRenderer extends TileBasedRenderer {
           sg += state.ray.color.y * branchCount;
           sb += state.ray.color.z * branchCount;
         }
+        state.random.endSample();
 
         int offset = 3 * (y*width + x);
         sampleBuffer[offset + 0] = (sampleBuffer[offset + 0] * spp + sr) * sinv;
@@ -103,6 +131,9 @@ public class PathTracingRenderer extends TileBasedRenderer {
 
       manager.pool.awaitEmpty();
       scene.spp += sppPerPass * branchCount;
+      if (aovBuffer != null) {
+        aovBuffer.addSamples(sppPerPass * branchCount);
+      }
       if (postRender.getAsBoolean()) break;
     }
   }
@@ -0,0 +1,184 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer;
+
+import se.llbit.chunky.renderer.sampler.Sampler;
+import se.llbit.chunky.renderer.sampler.Samplers;
+
+import java.util.Random;
+
+/**
+ * Random number generator for render workers.
+ *
+ * <p>Each number is a hash of a 64-bit key and a counter (the SplitMix64 output function), so
+ * generating numbers is just a few multiplications on plain fields instead of the atomic
+ * update done by {@link Random}. An instance must only be used by one thread.
+ *
+ * <p>The stream can be restarted for each sample of a pixel with
+ * {@link #startSample(Sampler, int, int, int)}. The numbers of a sample then come from the
+ * {@link Sampler}, one dimension per number, and only depend on the seed, the pixel and the
+ * sample index. A render therefore gives the same result whichever worker renders each pixel
+ * and however many workers there are. {@link #endSample()} switches back to the plain stream.
+ *
+ * <p>When the first ray of a sample is reused for several branches, each branch is started
+ * with {@link #startBranch(int)}. The branches take their own sample indices and dimensions,
+ * so that they are stratified against each other like separate samples.
+ */
+public class RenderRandom extends Random {
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  /**
+   * First dimension used by the branches of a sample. The dimensions before it are left to
+   * the camera ray.
+   */
+  public static final int BRANCH_DIMENSION = 1 << 16;
+
+  // These fields are set by setSeed(), which is called from the Random constructor, so they
+  // must not have initializers.
+  private long seed;
+  private long key;
+  private long counter;
+
+  /** The sampler of the current sample, or {@code null} outside of samples. */
+  private Sampler sampler;
+  private int index;
+  private int dimension;
+  private int firstBranch;
+
+  /**
+   * @param seed seed used for the samples started by {@link #startSample(int, int, int)}
+   * @param stream selects the sequence used before the first sample is started, so that
+   * generators with the same seed give different numbers outside of samples
+   */
+  public RenderRandom(long seed, long stream) {
+    super(seed);
+    key = mix64(seed + mix64(stream * GOLDEN_GAMMA));
+  }
+
+  public RenderRandom(long seed) {
+    super(seed);
+  }
+
+  @Override public void setSeed(long seed) {
+    this.seed = seed;
+    key = mix64(seed);
+    counter = 0;
+    sampler = null;
+  }
+
+  /**
+   * Restart the sequence for one sample of a pixel, with independent random numbers.
+   */
+  public void startSample(int x, int y, int sample) {
+    startSample(Samplers.RANDOM, x, y, sample);
+  }
+
+  /**
+   * Restart the sequence for one sample of a pixel. The following numbers are the dimensions
+   * of the sample point generated by the sampler.
+   */
+  public void startSample(Sampler sampler, int x, int y, int sample) {
+    startSample(sampler, x, y, sample, sample);
+  }
+
+  /**
+   * Restart the sequence for one sample of a pixel whose first ray is reused for several
+   * branches.
+   *
+   * @param sample index of the camera sample
+   * @param firstBranch sample index of the first branch, see {@link #startBranch(int)}
+   */
+  public void startSample(Sampler sampler, int x, int y, int sample, int firstBranch) {
+    long pixel = ((long) x << 32) | (y & 0xFFFFFFFFL);
+    this.sampler = sampler;
+    key = mix64(seed + mix64(pixel));
+    index = sample;
+    dimension = 0;
+    this.firstBranch = firstBranch;
+  }
+
+  /**
+   * Start a branch of the current sample. The following numbers are the dimensions of the
+   * sample with index {@code firstBranch + branch}, starting at {@link #BRANCH_DIMENSION}.
+   * Does nothing outside of samples.
+   */
+  public void startBranch(int branch) {
+    if (sampler != null) {
+      index = firstBranch + branch;
+      dimension = BRANCH_DIMENSION;
+    }
+  }
+
+  /**
+   * End the current sample. The following numbers do not come from the sampler.
+   */
+  public void endSample() {
+    sampler = null;
+  }
+
+  @Override public long nextLong() {
+    if (sampler != null) {
+      return sampler.sample(key, index, dimension++);
+    }
+    counter += GOLDEN_GAMMA;
+    return mix64(key + counter);
+  }
+
+  @Override protected int next(int bits) {
+    return (int) (nextLong() >>> (64 - bits));
+  }
+
+  @Override public int nextInt() {
+    return (int) (nextLong() >>> 32);
+  }
+
+  @Override public boolean nextBoolean() {
+    return nextLong() < 0;
+  }
+
+  @Override public float nextFloat() {
+    return (nextLong() >>> 40) * 0x1.0p-24f;
+  }
+
+  @Override public double nextDouble() {
+    return (nextLong() >>> 11) * 0x1.0p-53;
+  }
+
+  /**
+   * Gaussian numbers by the polar method. Unlike {@link Random#nextGaussian()} the second
+   * value is not kept for the next call, so that the numbers only depend on the current
+   * sample.
+   */
+  @Override public double nextGaussian() {
+    double v1, v2, s;
+    do {
+      v1 = 2 * nextDouble() - 1;
+      v2 = 2 * nextDouble() - 1;
+      s = v1 * v1 + v2 * v2;
+    } while (s >= 1 || s == 0);
+    return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+  }
+
+  /**
+   * The SplitMix64 finalizer, a good 64-bit hash.
+   */
+  public static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -20,7 +20,6 @@ package se.llbit.chunky.renderer;
 import se.llbit.log.Log;
 
 import java.util.ArrayList;
-import java.util.Random;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -42,7 +41,7 @@ public class RenderWorkerPool {
   public static class RenderWorker extends Thread {
     private final RenderWorkerPool pool;
 
-    public final Random random;
+    public final RenderRandom random;
     public final int id;
 
     private long lastSleep;
@@ -50,12 +49,16 @@ public class RenderWorkerPool {
 
     private boolean running = true;
 
+    /**
+     * @param seed render seed, the same for all workers of a pool so that each sample gets
+     * the same random numbers whichever worker renders it
+     */
     public RenderWorker(RenderWorkerPool pool, int id, long seed) {
       super("3D Render Worker " + id);
 
       this.pool = pool;
       this.id = id;
-      this.random = new Random(seed);
+      this.random = new RenderRandom(seed, id);
 
       lastSleep = System.currentTimeMillis();
     }
@@ -122,7 +125,7 @@ public class RenderWorkerPool {
 
   protected final ArrayList<RenderWorker> workers = new ArrayList<>();
 
-  private long seed;
+  private final long seed;
   private int workerId = 0;
 
   public RenderWorkerPool(int threads, long seed) {
@@ -154,7 +157,7 @@ public class RenderWorkerPool {
 
       // Not enough workers
       while (workers.size() < threads) {
-        RenderWorker worker = new RenderWorker(this, workerId++, this.seed++);
+        RenderWorker worker = new RenderWorker(this, workerId++, seed);
         workers.add(worker);
         worker.start();
       }
@@ -16,16 +16,17 @@
  */
 package se.llbit.chunky.renderer;
 
+import se.llbit.chunky.renderer.scene.AovBuffer;
 import se.llbit.math.Ray;
 import se.llbit.math.Vector4;
 
-import java.util.Random;
-
 /**
  * State for a render worker.
  */
 public class WorkerState {
   public Ray ray;
   public Vector4 attenuation = new Vector4();
-  public Random random;
+  public RenderRandom random;
+  /** Scratch buffer for tracing denoiser features. */
+  public final double[] features = new double[AovBuffer.FEATURE_SIZE];
 }
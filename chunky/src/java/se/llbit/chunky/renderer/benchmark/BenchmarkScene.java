@@ -0,0 +1,390 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.benchmark;
+
+import se.llbit.chunky.chunk.BlockPalette;
+import se.llbit.chunky.chunk.ChunkData;
+import se.llbit.chunky.renderer.scene.Camera;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.math.QuickMath;
+import se.llbit.math.Vector3;
+import se.llbit.nbt.CompoundTag;
+import se.llbit.nbt.StringTag;
+
+/**
+ * The procedurally generated scenes used by the render benchmark.
+ *
+ * <p>The scenes only depend on the block models and the built-in textures, so the same scene
+ * is rendered by every machine running the same Chunky version.
+ */
+public enum BenchmarkScene {
+  TERRAIN("terrain", "hills with water, trees and grass", 16,
+      BenchmarkScene::generateTerrain, new Vector3(128, 120, -16), 0, 0.45, false),
+  CITY("city", "buildings with glass windows and light sources", 8,
+      BenchmarkScene::generateCity, new Vector3(-20, 70, -20), -Math.PI / 4, 0.35, true),
+  FOLIAGE("foliage", "dense forest with leaves, grass and flowers", 8,
+      BenchmarkScene::generateFoliage, new Vector3(20, 14, 20), -Math.PI / 4, 0.1, false);
+
+  public final String id;
+  public final String description;
+
+  /** Width of the scene in chunks. */
+  private final int size;
+  private final SyntheticWorld.ChunkGenerator generator;
+  private final Vector3 cameraPosition;
+  private final double cameraYaw;
+  /** Camera pitch below the horizon. */
+  private final double cameraDownAngle;
+  private final boolean emitters;
+
+  BenchmarkScene(String id, String description, int size,
+      SyntheticWorld.ChunkGenerator generator, Vector3 cameraPosition, double cameraYaw,
+      double cameraDownAngle, boolean emitters) {
+    this.id = id;
+    this.description = description;
+    this.size = size;
+    this.generator = generator;
+    this.cameraPosition = cameraPosition;
+    this.cameraYaw = cameraYaw;
+    this.cameraDownAngle = cameraDownAngle;
+    this.emitters = emitters;
+  }
+
+  /**
+   * @return the scene with the given id, or {@code null} if there is no such scene
+   */
+  public static BenchmarkScene get(String id) {
+    for (BenchmarkScene scene : values()) {
+      if (scene.id.equals(id)) {
+        return scene;
+      }
+    }
+    return null;
+  }
+
+  public SyntheticWorld createWorld() {
+    return new SyntheticWorld(id, size, generator);
+  }
+
+  /**
+   * Set up the camera and lighting of a scene that the world of this benchmark scene has
+   * been loaded into.
+   */
+  public void configure(Scene scene) {
+    Camera camera = scene.camera();
+    camera.setPosition(new Vector3(cameraPosition));
+    camera.setView(cameraYaw, -QuickMath.HALF_PI + cameraDownAngle, 0);
+    scene.setEmittersEnabled(emitters);
+  }
+
+  private static final int SEED = 0x5EED;
+
+  private static final CompoundTag BEDROCK = block("bedrock");
+  private static final CompoundTag STONE = block("stone");
+  private static final CompoundTag DIRT = block("dirt");
+  private static final CompoundTag GRASS_BLOCK = block("grass_block", "snowy", "false");
+  private static final CompoundTag SAND = block("sand");
+  private static final CompoundTag WATER = block("water", "level", "0");
+  private static final CompoundTag OAK_LOG = block("oak_log", "axis", "y");
+  private static final CompoundTag OAK_LEAVES = block("oak_leaves",
+      "distance", "1", "persistent", "true", "waterlogged", "false");
+  private static final CompoundTag BIRCH_LOG = block("birch_log", "axis", "y");
+  private static final CompoundTag BIRCH_LEAVES = block("birch_leaves",
+      "distance", "1", "persistent", "true", "waterlogged", "false");
+  private static final CompoundTag SHORT_GRASS = block("short_grass");
+  private static final CompoundTag FERN = block("fern");
+  private static final CompoundTag POPPY = block("poppy");
+  private static final CompoundTag DANDELION = block("dandelion");
+  private static final CompoundTag AZURE_BLUET = block("azure_bluet");
+  private static final CompoundTag ROAD = block("gray_concrete");
+  private static final CompoundTag PAVEMENT = block("smooth_stone");
+  private static final CompoundTag FLOOR = block("stone_bricks");
+  private static final CompoundTag GLASS = block("glass");
+  private static final CompoundTag GLOWSTONE = block("glowstone");
+  private static final CompoundTag SEA_LANTERN = block("sea_lantern");
+  private static final CompoundTag FENCE = block("oak_fence", "east", "false", "north", "false",
+      "south", "false", "waterlogged", "false", "west", "false");
+  private static final CompoundTag[] WALLS = {
+      block("bricks"), block("white_concrete"), block("quartz_block"), block("terracotta")
+  };
+
+  private static final int TERRAIN_WATER_LEVEL = 60;
+
+  private static void generateTerrain(int chunkX, int chunkZ, ChunkData data,
+      BlockPalette palette) {
+    int bedrock = palette.put(BEDROCK);
+    int stone = palette.put(STONE);
+    int dirt = palette.put(DIRT);
+    int grass = palette.put(GRASS_BLOCK);
+    int sand = palette.put(SAND);
+    int water = palette.put(WATER);
+    int log = palette.put(OAK_LOG);
+    int leaves = palette.put(OAK_LEAVES);
+    int shortGrass = palette.put(SHORT_GRASS);
+    int poppy = palette.put(POPPY);
+    for (int x = 0; x < 16; ++x) {
+      for (int z = 0; z < 16; ++z) {
+        int wx = chunkX * 16 + x;
+        int wz = chunkZ * 16 + z;
+        int height = terrainHeight(wx, wz);
+        boolean beach = height <= TERRAIN_WATER_LEVEL + 1;
+        data.setBlockAt(x, 0, z, bedrock);
+        for (int y = 1; y < height; ++y) {
+          int block;
+          if (y < height - 4) {
+            block = stone;
+          } else if (beach) {
+            block = sand;
+          } else {
+            block = y < height - 1 ? dirt : grass;
+          }
+          data.setBlockAt(x, y, z, block);
+        }
+        for (int y = height; y < TERRAIN_WATER_LEVEL; ++y) {
+          data.setBlockAt(x, y, z, water);
+        }
+      }
+    }
+    placeTrees(chunkX, chunkZ, data, 61, 5, 2, log, leaves, (wx, wz) -> {
+      int height = terrainHeight(wx, wz);
+      return height > TERRAIN_WATER_LEVEL + 1 ? height : -1;
+    });
+    for (int x = 0; x < 16; ++x) {
+      for (int z = 0; z < 16; ++z) {
+        int wx = chunkX * 16 + x;
+        int wz = chunkZ * 16 + z;
+        int height = terrainHeight(wx, wz);
+        if (height > TERRAIN_WATER_LEVEL + 1 && data.getBlockAt(x, height, z) == 0) {
+          int r = hash(SEED + 1, wx, 0, wz) & 63;
+          if (r < 8) {
+            data.setBlockAt(x, height, z, shortGrass);
+          } else if (r == 8) {
+            data.setBlockAt(x, height, z, poppy);
+          }
+        }
+      }
+    }
+  }
+
+  private static int terrainHeight(int wx, int wz) {
+    return 44 + (int) (44 * fractalNoise(SEED, wx / 48.0, wz / 48.0));
+  }
+
+  private static final int CITY_GROUND = 4;
+
+  private static void generateCity(int chunkX, int chunkZ, ChunkData data, BlockPalette palette) {
+    int bedrock = palette.put(BEDROCK);
+    int stone = palette.put(STONE);
+    int road = palette.put(ROAD);
+    int pavement = palette.put(PAVEMENT);
+    int floor = palette.put(FLOOR);
+    int glass = palette.put(GLASS);
+    int glowstone = palette.put(GLOWSTONE);
+    int seaLantern = palette.put(SEA_LANTERN);
+    int fence = palette.put(FENCE);
+    int lot = hash(SEED + 2, chunkX, 0, chunkZ);
+    int wall = palette.put(WALLS[(lot >>> 8) % WALLS.length]);
+    int floors = 3 + (lot & 0xFF) % 12;
+    int top = CITY_GROUND + 1 + floors * 4;
+
+    for (int x = 0; x < 16; ++x) {
+      for (int z = 0; z < 16; ++z) {
+        data.setBlockAt(x, 0, z, bedrock);
+        for (int y = 1; y < CITY_GROUND; ++y) {
+          data.setBlockAt(x, y, z, stone);
+        }
+        boolean street = x < 2 || x > 13 || z < 2 || z > 13;
+        data.setBlockAt(x, CITY_GROUND, z, street ? road : pavement);
+
+        if (x < 3 || x > 12 || z < 3 || z > 12) {
+          continue;
+        }
+        boolean edgeX = x == 3 || x == 12;
+        boolean edgeZ = z == 3 || z == 12;
+        int along = edgeX ? z : x;
+        for (int y = CITY_GROUND + 1; y <= top; ++y) {
+          int level = (y - CITY_GROUND - 1) % 4;
+          if (y == top) {
+            boolean corner = edgeX && edgeZ;
+            data.setBlockAt(x, y, z, corner ? seaLantern : floor);
+          } else if (edgeX || edgeZ) {
+            boolean window = !(edgeX && edgeZ) && (level == 1 || level == 2) && along % 3 != 0;
+            data.setBlockAt(x, y, z, window ? glass : wall);
+          } else if (level == 0) {
+            data.setBlockAt(x, y, z, floor);
+          } else if (level == 3 && (x == 7 || x == 8) && (z == 7 || z == 8)) {
+            data.setBlockAt(x, y, z, glowstone);
+          }
+        }
+      }
+    }
+
+    // Street light at the corner of the lot.
+    for (int y = CITY_GROUND + 1; y < CITY_GROUND + 4; ++y) {
+      data.setBlockAt(2, y, 2, fence);
+    }
+    data.setBlockAt(2, CITY_GROUND + 4, 2, glowstone);
+  }
+
+  private static void generateFoliage(int chunkX, int chunkZ, ChunkData data,
+      BlockPalette palette) {
+    int bedrock = palette.put(BEDROCK);
+    int dirt = palette.put(DIRT);
+    int grass = palette.put(GRASS_BLOCK);
+    int oakLog = palette.put(OAK_LOG);
+    int oakLeaves = palette.put(OAK_LEAVES);
+    int birchLog = palette.put(BIRCH_LOG);
+    int birchLeaves = palette.put(BIRCH_LEAVES);
+    int[] plants = {
+        palette.put(SHORT_GRASS), palette.put(FERN), palette.put(POPPY),
+        palette.put(DANDELION), palette.put(AZURE_BLUET)
+    };
+    for (int x = 0; x < 16; ++x) {
+      for (int z = 0; z < 16; ++z) {
+        int height = foliageHeight(chunkX * 16 + x, chunkZ * 16 + z);
+        data.setBlockAt(x, 0, z, bedrock);
+        for (int y = 1; y < height - 1; ++y) {
+          data.setBlockAt(x, y, z, dirt);
+        }
+        data.setBlockAt(x, height - 1, z, grass);
+      }
+    }
+    placeTrees(chunkX, chunkZ, data, 13, 7, 3, oakLog, oakLeaves,
+        (wx, wz) -> (hash(SEED + 3, wx, 0, wz) & 1) == 0 ? foliageHeight(wx, wz) : -1);
+    placeTrees(chunkX, chunkZ, data, 13, 8, 3, birchLog, birchLeaves,
+        (wx, wz) -> (hash(SEED + 3, wx, 0, wz) & 1) != 0 ? foliageHeight(wx, wz) : -1);
+    for (int x = 0; x < 16; ++x) {
+      for (int z = 0; z < 16; ++z) {
+        int wx = chunkX * 16 + x;
+        int wz = chunkZ * 16 + z;
+        int height = foliageHeight(wx, wz);
+        if (data.getBlockAt(x, height, z) == 0) {
+          int r = hash(SEED + 4, wx, 0, wz) & 31;
+          if (r < 18) {
+            data.setBlockAt(x, height, z, plants[0]);
+          } else if (r < 22) {
+            data.setBlockAt(x, height, z, plants[1 + r % 4]);
+          }
+        }
+      }
+    }
+  }
+
+  private static int foliageHeight(int wx, int wz) {
+    return 10 + (int) (5 * fractalNoise(SEED + 5, wx / 24.0, wz / 24.0));
+  }
+
+  private interface TreeBase {
+    /** @return the ground height at a tree position, or -1 if no tree can grow there */
+    int height(int wx, int wz);
+  }
+
+  /**
+   * Place the trees that overlap a chunk. A tree grows at a position with probability
+   * {@code 1 / rarity}, decided by a hash of the position so that trees crossing chunk
+   * borders are placed the same way in each chunk. Leaves do not replace other blocks.
+   */
+  private static void placeTrees(int chunkX, int chunkZ, ChunkData data, int rarity,
+      int trunkHeight, int radius, int log, int leaves, TreeBase base) {
+    int x0 = chunkX * 16;
+    int z0 = chunkZ * 16;
+    for (int tx = x0 - radius; tx < x0 + 16 + radius; ++tx) {
+      for (int tz = z0 - radius; tz < z0 + 16 + radius; ++tz) {
+        if (Integer.remainderUnsigned(hash(SEED + 6, tx, 0, tz), rarity) != 0) {
+          continue;
+        }
+        int ground = base.height(tx, tz);
+        if (ground < 0) {
+          continue;
+        }
+        int top = ground + trunkHeight;
+        for (int y = top - radius - 1; y <= top + 1; ++y) {
+          int r = y > top - 1 ? radius - 1 : radius;
+          for (int x = Math.max(x0, tx - r); x <= Math.min(x0 + 15, tx + r); ++x) {
+            for (int z = Math.max(z0, tz - r); z <= Math.min(z0 + 15, tz + r); ++z) {
+              boolean corner = Math.abs(x - tx) == r && Math.abs(z - tz) == r;
+              if (corner && (hash(SEED + 7, x, y, z) & 1) == 0) {
+                continue;
+              }
+              if (data.getBlockAt(x - x0, y, z - z0) == 0) {
+                data.setBlockAt(x - x0, y, z - z0, leaves);
+              }
+            }
+          }
+        }
+        if (tx >= x0 && tx < x0 + 16 && tz >= z0 && tz < z0 + 16) {
+          for (int y = ground; y < top; ++y) {
+            data.setBlockAt(tx - x0, y, tz - z0, log);
+          }
+        }
+      }
+    }
+  }
+
+  /** Value noise summed over three octaves, in the range [0, 1). */
+  private static double fractalNoise(int seed, double x, double z) {
+    return (4 * valueNoise(seed, x, z)
+        + 2 * valueNoise(seed + 1, x * 2, z * 2)
+        + valueNoise(seed + 2, x * 4, z * 4)) / 7;
+  }
+
+  private static double valueNoise(int seed, double x, double z) {
+    int x0 = (int) Math.floor(x);
+    int z0 = (int) Math.floor(z);
+    double fx = x - x0;
+    double fz = z - z0;
+    fx = fx * fx * (3 - 2 * fx);
+    fz = fz * fz * (3 - 2 * fz);
+    double v00 = unit(hash(seed, x0, 0, z0));
+    double v10 = unit(hash(seed, x0 + 1, 0, z0));
+    double v01 = unit(hash(seed, x0, 0, z0 + 1));
+    double v11 = unit(hash(seed, x0 + 1, 0, z0 + 1));
+    double v0 = v00 + (v10 - v00) * fx;
+    double v1 = v01 + (v11 - v01) * fx;
+    return v0 + (v1 - v0) * fz;
+  }
+
+  private static double unit(int hash) {
+    return (hash >>> 8) / (double) (1 << 24);
+  }
+
+  private static int hash(int seed, int x, int y, int z) {
+    int h = seed;
+    h = h * 0x27D4EB2D + x;
+    h = h * 0x27D4EB2D + y;
+    h = h * 0x27D4EB2D + z;
+    h ^= h >>> 15;
+    h *= 0x2C1B3C6D;
+    h ^= h >>> 12;
+    h *= 0x297A2D39;
+    h ^= h >>> 15;
+    return h;
+  }
+
+  private static CompoundTag block(String name, String... properties) {
+    CompoundTag tag = new CompoundTag();
+    tag.add("Name", new StringTag("minecraft:" + name));
+    if (properties.length > 0) {
+      CompoundTag props = new CompoundTag();
+      for (int i = 0; i + 1 < properties.length; i += 2) {
+        props.add(properties[i], new StringTag(properties[i + 1]));
+      }
+      tag.add("Properties", props);
+    }
+    return tag;
+  }
+}
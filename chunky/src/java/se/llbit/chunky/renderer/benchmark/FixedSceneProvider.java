@@ -0,0 +1,64 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.benchmark;
+
+import se.llbit.chunky.renderer.ResetReason;
+import se.llbit.chunky.renderer.SceneProvider;
+import se.llbit.chunky.renderer.scene.Scene;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Provides a benchmark scene once, like a freshly loaded scene. Used by the render benchmark
+ * and the JMH benchmarks.
+ */
+public class FixedSceneProvider implements SceneProvider {
+  private final Scene scene;
+  private boolean change = true;
+
+  public FixedSceneProvider(Scene scene) {
+    this.scene = scene;
+  }
+
+  @Override public synchronized ResetReason awaitSceneStateChange()
+      throws InterruptedException {
+    while (!change) {
+      wait();
+    }
+    change = false;
+    return ResetReason.SCENE_LOADED;
+  }
+
+  @Override public synchronized boolean pollSceneStateChange() {
+    return change;
+  }
+
+  @Override public synchronized void withSceneProtected(Consumer<Scene> fun) {
+    fun.accept(scene);
+  }
+
+  @Override public synchronized void withEditSceneProtected(Consumer<Scene> fun) {
+    // The benchmark scene is not edited.
+  }
+
+  @Override public void addChangeListener(BiConsumer<ResetReason, Scene> listener) {
+  }
+
+  @Override public void removeChangeListener(BiConsumer<ResetReason, Scene> listener) {
+  }
+}
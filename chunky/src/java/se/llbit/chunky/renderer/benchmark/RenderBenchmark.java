@@ -0,0 +1,260 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.benchmark;
+
+import se.llbit.chunky.main.Chunky;
+import se.llbit.chunky.main.ChunkyOptions;
+import se.llbit.chunky.main.Version;
+import se.llbit.chunky.renderer.DefaultRenderManager;
+import se.llbit.chunky.renderer.RenderContext;
+import se.llbit.chunky.renderer.RenderMode;
+import se.llbit.chunky.renderer.RenderWorkerPool;
+import se.llbit.chunky.renderer.metrics.RenderMetrics;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.chunky.renderer.scene.sky.Sky;
+import se.llbit.chunky.resources.BitmapImage;
+import se.llbit.chunky.resources.ResourcePackLoader;
+import se.llbit.json.JsonArray;
+import se.llbit.json.JsonObject;
+import se.llbit.json.JsonString;
+import se.llbit.json.PrettyPrinter;
+import se.llbit.log.Level;
+import se.llbit.log.Log;
+import se.llbit.log.Receiver;
+import se.llbit.util.TaskTracker;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.zip.CRC32;
+
+/**
+ * Headless render benchmark. Loads one of the bundled {@link BenchmarkScene synthetic scenes},
+ * renders a warmup pass and then a measured render with a fixed seed, and prints a JSON report
+ * to standard output. Log messages go to standard error so that the report can be piped
+ * directly to a file.
+ *
+ * <p>The report contains the time spent in each scene loading stage, the render time and
+ * samples per second, the peak heap usage and garbage collection time, and a checksum of the
+ * final image. The random numbers of each sample only depend on the seed, the pixel and the
+ * sample index, so the checksum does not depend on the number of render threads.
+ */
+public class RenderBenchmark {
+  public static final String DEFAULT_SCENE = BenchmarkScene.TERRAIN.id;
+
+  private static final int WIDTH = 400;
+  private static final int HEIGHT = 225;
+  private static final int DEFAULT_SPP = 32;
+  private static final int WARMUP_SPP = 4;
+  private static final long SEED = 20261019L;
+
+  /**
+   * Sends all log messages to standard error, leaving standard output for the report.
+   */
+  private static final Receiver STDERR_LOG_RECEIVER = new Receiver() {
+    @Override public void logEvent(Level level, String message) {
+      System.err.println(message);
+    }
+  };
+
+  private final Chunky chunky;
+  private final ChunkyOptions options;
+
+  private long imageChecksum;
+
+  public RenderBenchmark(Chunky chunky) {
+    this.chunky = chunky;
+    this.options = chunky.options;
+  }
+
+  /**
+   * Run the benchmark and print the report.
+   *
+   * @return error code
+   */
+  public int run() {
+    System.setProperty("java.awt.headless", "true");
+    Log.setReceiver(STDERR_LOG_RECEIVER, Level.INFO, Level.WARNING, Level.ERROR);
+
+    BenchmarkScene benchmarkScene = BenchmarkScene.get(options.benchmarkScene);
+    if (benchmarkScene == null) {
+      System.err.println("Unknown benchmark scene: " + options.benchmarkScene);
+      return 1;
+    }
+    int threads = Math.max(1, options.renderThreads);
+    int spp = options.target > 0 ? options.target : DEFAULT_SPP;
+
+    // Only the default resource pack is used so that all runs render the same textures.
+    ResourcePackLoader.loadDefaultResourcePack();
+
+    System.gc();
+    ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    long gcStartMillis = gcMillis();
+    long gcStartCount = gcCount();
+
+    Log.infof("Loading benchmark scene %s", benchmarkScene.id);
+    Scene scene = chunky.getSceneFactory().newScene();
+    scene.setName("benchmark-" + benchmarkScene.id);
+    scene.setYClipMin(0);
+    scene.setYClipMax(SyntheticWorld.HEIGHT);
+    SyntheticWorld world = benchmarkScene.createWorld();
+    RenderMetrics.reset();
+    RenderMetrics.setEnabled(true);
+    long loadStart = System.nanoTime();
+    scene.loadChunks(TaskTracker.NONE, world, world.getChunks());
+    long loadNanos = System.nanoTime() - loadStart;
+    JsonObject load = new JsonObject();
+    load.add("millis", loadNanos / 1000000);
+    JsonObject stages = new JsonObject();
+    for (RenderMetrics.Stage stage : RenderMetrics.Stage.values()) {
+      if (RenderMetrics.getStageCount(stage) > 0) {
+        JsonObject stageJson = new JsonObject();
+        stageJson.add("count", RenderMetrics.getStageCount(stage));
+        stageJson.add("millis", RenderMetrics.getStageNanos(stage) / 1000000);
+        stages.add(stage.key, stageJson);
+      }
+    }
+    load.add("stages", stages);
+    // The render itself is measured without the per-thread metrics counters.
+    RenderMetrics.setEnabled(false);
+
+    scene.setCanvasSize(WIDTH, HEIGHT);
+    scene.setDumpFrequency(0);
+    scene.setSaveSnapshots(false);
+    scene.sky().setSkyMode(Sky.SkyMode.SIMULATED);
+    benchmarkScene.configure(scene);
+
+    RenderContext context = new RenderContext(chunky);
+    context.renderPoolFactory = (numThreads, seed) -> new RenderWorkerPool(threads, SEED);
+    try {
+      Log.infof("Warming up: %d SPP", WARMUP_SPP);
+      render(context, scene, WARMUP_SPP);
+      Log.infof("Rendering %d SPP with %d threads", spp, threads);
+      long renderStart = System.nanoTime();
+      render(context, scene, spp);
+      long renderNanos = System.nanoTime() - renderStart;
+
+      JsonObject render = new JsonObject();
+      render.add("millis", renderNanos / 1000000);
+      render.add("samplesPerSecond", (double) WIDTH * HEIGHT * spp * 1e9 / renderNanos);
+
+      JsonObject memory = new JsonObject();
+      memory.add("peakHeapBytes", peakHeapUsage());
+      memory.add("maxHeapBytes", Runtime.getRuntime().maxMemory());
+      memory.add("gcMillis", gcMillis() - gcStartMillis);
+      memory.add("gcCount", gcCount() - gcStartCount);
+
+      JsonObject report = new JsonObject();
+      report.add("version", Version.getVersion());
+      report.add("commit", Version.getCommit());
+      report.add("java", System.getProperty("java.vm.name") + " "
+          + System.getProperty("java.runtime.version"));
+      report.add("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+      report.add("processors", Runtime.getRuntime().availableProcessors());
+      JsonArray resourcePacks = new JsonArray();
+      for (File pack : ResourcePackLoader.getLoadedResourcePacks()) {
+        resourcePacks.add(new JsonString(pack.getName()));
+      }
+      report.add("resourcePacks", resourcePacks);
+      report.add("scene", benchmarkScene.id);
+      report.add("width", WIDTH);
+      report.add("height", HEIGHT);
+      report.add("spp", spp);
+      report.add("warmupSpp", WARMUP_SPP);
+      report.add("threads", threads);
+      report.add("seed", SEED);
+      report.add("load", load);
+      report.add("render", render);
+      report.add("memory", memory);
+      report.add("imageChecksum", String.format("%08x", imageChecksum));
+
+      PrintStream out = System.out;
+      PrettyPrinter pp = new PrettyPrinter("  ", out);
+      pp.print(report);
+      out.println();
+      out.flush();
+      return 0;
+    } catch (InterruptedException e) {
+      System.err.println("Interrupted while rendering the benchmark scene");
+      return 1;
+    }
+  }
+
+  /**
+   * Render the scene from scratch to the given target SPP and store the checksum of the final
+   * image.
+   */
+  private void render(RenderContext context, Scene scene, int spp) throws InterruptedException {
+    scene.setTargetSpp(spp);
+    scene.setRenderMode(RenderMode.RENDERING);
+    scene.startHeadlessRender();
+    DefaultRenderManager renderer = new DefaultRenderManager(context, true);
+    // Ignore the CPU load limit from the user settings.
+    renderer.setCPULoad(100);
+    renderer.setSceneProvider(new FixedSceneProvider(scene));
+    renderer.setOnFrameCompleted((frame, frameSpp) -> {
+      if (frameSpp >= frame.getTargetSpp()) {
+        imageChecksum = checksum(frame.getBackBuffer());
+      }
+    });
+    try {
+      renderer.start();
+      renderer.join();
+    } finally {
+      renderer.shutdown();
+    }
+  }
+
+  private static long checksum(BitmapImage image) {
+    CRC32 crc = new CRC32();
+    for (int argb : image.data) {
+      crc.update(argb >>> 16);
+      crc.update(argb >>> 8);
+      crc.update(argb);
+    }
+    return crc.getValue();
+  }
+
+  private static long peakHeapUsage() {
+    long peak = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+    }
+    return peak;
+  }
+
+  private static long gcMillis() {
+    long millis = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      millis += Math.max(0, gc.getCollectionTime());
+    }
+    return millis;
+  }
+
+  private static long gcCount() {
+    long count = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(0, gc.getCollectionCount());
+    }
+    return count;
+  }
+}
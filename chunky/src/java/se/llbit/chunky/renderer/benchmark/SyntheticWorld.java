@@ -0,0 +1,181 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.benchmark;
+
+import se.llbit.chunky.chunk.BlockPalette;
+import se.llbit.chunky.chunk.ChunkData;
+import se.llbit.chunky.chunk.biome.UnknownBiomeData;
+import se.llbit.chunky.world.Chunk;
+import se.llbit.chunky.world.ChunkPosition;
+import se.llbit.chunky.world.ChunkVersion;
+import se.llbit.chunky.world.Dimension;
+import se.llbit.chunky.world.EmptyChunk;
+import se.llbit.chunky.world.RegionPosition;
+import se.llbit.chunky.world.World;
+import se.llbit.chunky.world.biome.BiomePalette;
+import se.llbit.chunky.world.region.Region;
+import se.llbit.util.Mutable;
+import se.llbit.util.annotation.NotNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A world that is generated on the fly instead of being read from region files.
+ *
+ * <p>The world is a square of chunks starting at chunk (0, 0). Chunks are loaded through the
+ * normal scene loading code, so the load stages are the same as for a Minecraft world except
+ * for the region file reading and decoding.
+ */
+public class SyntheticWorld extends World {
+  /** Height of the generated chunks. */
+  public static final int HEIGHT = 256;
+
+  /**
+   * Fills chunks with blocks. Generators must only depend on the chunk position, since chunks
+   * may be generated in any order and on any thread.
+   */
+  public interface ChunkGenerator {
+    /**
+     * Set the blocks of a chunk.
+     *
+     * @param chunkX chunk x coordinate
+     * @param chunkZ chunk z coordinate
+     * @param chunkData empty chunk data to fill, with block y coordinates from 0 to
+     * {@link #HEIGHT}
+     * @param palette palette to look up block ids in
+     */
+    void generate(int chunkX, int chunkZ, ChunkData chunkData, BlockPalette palette);
+  }
+
+  private final int size;
+  private final ChunkGenerator generator;
+
+  /**
+   * @param size width of the world in chunks
+   */
+  public SyntheticWorld(String name, int size, ChunkGenerator generator) {
+    super(name, new File("synthetic", name), 0, 0);
+    this.size = size;
+    this.generator = generator;
+    currentDimension = new SyntheticDimension(this);
+    currentDimensionId = OVERWORLD_DIMENSION;
+  }
+
+  /**
+   * @return the positions of all chunks in the world
+   */
+  public List<ChunkPosition> getChunks() {
+    List<ChunkPosition> chunks = new ArrayList<>(size * size);
+    for (int x = 0; x < size; ++x) {
+      for (int z = 0; z < size; ++z) {
+        chunks.add(ChunkPosition.get(x, z));
+      }
+    }
+    return chunks;
+  }
+
+  private boolean contains(int chunkX, int chunkZ) {
+    return chunkX >= 0 && chunkX < size && chunkZ >= 0 && chunkZ < size;
+  }
+
+  private static class SyntheticDimension extends Dimension {
+    private final SyntheticWorld world;
+
+    SyntheticDimension(SyntheticWorld world) {
+      super(world, OVERWORLD_DIMENSION, world.getWorldDirectory(), Collections.emptySet(), 0);
+      this.world = world;
+    }
+
+    @Override public Region createRegion(RegionPosition pos) {
+      return new SyntheticRegion(pos, this);
+    }
+
+    @Override public boolean regionExists(RegionPosition pos) {
+      return world.contains(pos.x << 5, pos.z << 5);
+    }
+
+    @Override public boolean regionExistsWithinRange(RegionPosition pos, int minY, int maxY) {
+      return regionExists(pos);
+    }
+  }
+
+  private static class SyntheticRegion implements Region {
+    private final RegionPosition position;
+    private final Chunk[] chunks = new Chunk[32 * 32];
+
+    SyntheticRegion(RegionPosition position, SyntheticDimension dimension) {
+      this.position = position;
+      for (int z = 0; z < 32; ++z) {
+        for (int x = 0; x < 32; ++x) {
+          ChunkPosition chunkPos = position.asChunkPosition(x, z);
+          chunks[x + z * 32] = dimension.world.contains(chunkPos.x, chunkPos.z)
+              ? new SyntheticChunk(chunkPos, dimension)
+              : EmptyChunk.INSTANCE;
+        }
+      }
+    }
+
+    @Override public Chunk getChunk(int x, int z) {
+      return chunks[(x & 31) + (z & 31) * 32];
+    }
+
+    @Override public void parse(int minY, int maxY) {
+      // All chunks are known when the region is created.
+    }
+
+    @Override public RegionPosition getPosition() {
+      return position;
+    }
+
+    @Override public boolean hasChanged() {
+      return false;
+    }
+
+    @Override public boolean chunkChangedSince(ChunkPosition chunkPos, int timestamp) {
+      return false;
+    }
+
+    @Override public Iterator<Chunk> iterator() {
+      return Arrays.asList(chunks).iterator();
+    }
+  }
+
+  private static class SyntheticChunk extends Chunk {
+    private final SyntheticDimension dimension;
+
+    SyntheticChunk(ChunkPosition pos, SyntheticDimension dimension) {
+      super(pos, dimension);
+      this.dimension = dimension;
+      version = ChunkVersion.POST_FLATTENING;
+    }
+
+    @Override
+    public synchronized void getChunkData(@NotNull Mutable<ChunkData> reuseChunkData,
+        BlockPalette palette, BiomePalette biomePalette, int minY, int maxY) {
+      ChunkData chunkData = dimension.createChunkData(reuseChunkData.get(), 0, HEIGHT - 1);
+      chunkData.clear();
+      reuseChunkData.set(chunkData);
+      chunkData.setBiomeData(UnknownBiomeData.instanceFor(biomePalette));
+      dimension.world.generator.generate(position.x, position.z, chunkData, palette);
+    }
+  }
+}
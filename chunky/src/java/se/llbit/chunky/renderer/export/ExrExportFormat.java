@@ -0,0 +1,85 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.export;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import se.llbit.chunky.renderer.scene.AlphaBuffer;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.imageformats.exr.ExrFileWriter;
+import se.llbit.util.TaskTracker;
+
+/**
+ * OpenEXR with 16-bit (half) floating point RGB channels and ZIP compression.
+ */
+public class ExrExportFormat implements PictureExportFormat {
+
+  @Override
+  public String getName() {
+    return "EXR";
+  }
+
+  @Override
+  public String getDescription() {
+    return "OpenEXR, 16-bit floating point";
+  }
+
+  @Override
+  public String getExtension() {
+    return ".exr";
+  }
+
+  @Override
+  public AlphaBuffer.Type getTransparencyType() {
+    return AlphaBuffer.Type.FP32;
+  }
+
+  @Override
+  public boolean wantsPostprocessing() {
+    return false;
+  }
+
+  @Override
+  public void write(OutputStream out, Scene scene, TaskTracker taskTracker) throws IOException {
+    try (TaskTracker.Task task = taskTracker.task("Writing EXR")) {
+      if (out instanceof FileOutputStream) {
+        new ExrFileWriter(((FileOutputStream) out).getChannel()).write(scene, task);
+      } else {
+        // The offset table is written after the image data, so a seekable file is needed.
+        Path tempFile = Files.createTempFile(scene.name + "-", getExtension());
+        try (FileChannel fileChannel = FileChannel.open(tempFile, StandardOpenOption.DELETE_ON_CLOSE,
+          StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+          StandardOpenOption.READ, StandardOpenOption.WRITE
+        )) {
+          new ExrFileWriter(fileChannel).write(scene, task);
+          fileChannel.position(0);
+          try (InputStream inputStream = Channels.newInputStream(fileChannel)) {
+            inputStream.transferTo(out);
+          }
+        }
+      }
+    }
+  }
+}
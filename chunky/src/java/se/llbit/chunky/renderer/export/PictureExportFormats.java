@@ -38,8 +38,10 @@ public abstract class PictureExportFormats {
     registerFormat(png);
     PNG = png;
 
+    registerFormat(new Png16ExportFormat());
     registerFormat(new Tiff32ExportFormat());
     registerFormat(new PfmExportFormat());
+    registerFormat(new ExrExportFormat());
   }
 
   /**
@@ -0,0 +1,115 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.FloatBuffer;
+
+import se.llbit.chunky.renderer.postprocessing.PixelPostProcessingFilter;
+import se.llbit.chunky.renderer.postprocessing.PostProcessingFilter;
+import se.llbit.chunky.renderer.postprocessing.PostProcessingFilters;
+import se.llbit.chunky.renderer.projection.ProjectionMode;
+import se.llbit.chunky.renderer.scene.AlphaBuffer;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.imageformats.png.PngFileWriter;
+import se.llbit.log.Log;
+import se.llbit.util.TaskTracker;
+
+/**
+ * PNG with 16-bit color channels. The pixels are post-processed directly from the sample
+ * buffer so that no precision is lost in the 8-bit frame buffer.
+ */
+public class Png16ExportFormat extends PngExportFormat {
+
+  @Override
+  public String getName() {
+    return "PNG_16";
+  }
+
+  @Override
+  public String getDescription() {
+    return "PNG, 16-bit";
+  }
+
+  @Override
+  public AlphaBuffer.Type getTransparencyType() {
+    return AlphaBuffer.Type.FP32;
+  }
+
+  @Override
+  public boolean wantsPostprocessing() {
+    return false;
+  }
+
+  @Override
+  public void write(OutputStream out, Scene scene, TaskTracker taskTracker) throws IOException {
+    try (TaskTracker.Task task = taskTracker.task("Writing PNG");
+        PngFileWriter writer = new PngFileWriter(out)) {
+      int width = scene.canvasConfig.getWidth();
+      int height = scene.canvasConfig.getHeight();
+      double[] samples = scene.getSampleBuffer();
+      double exposure = scene.getExposure();
+      PixelPostProcessingFilter filter = requirePixelPostProcessingFilter(scene);
+      AlphaBuffer alpha = scene.getAlphaBuffer();
+      boolean hasAlpha = alpha.getType() == getTransparencyType();
+      FloatBuffer alphaBuffer = hasAlpha ? alpha.getBuffer().asFloatBuffer() : null;
+
+      writer.write16((y, row) -> {
+        double[] pixel = new double[3];
+        int j = 0;
+        for (int x = 0; x < width; ++x) {
+          filter.processPixel(width, height, samples, x, y, exposure, pixel);
+          for (int i = 0; i < 3; ++i) {
+            j = putSample(row, j, pixel[i]);
+          }
+          if (hasAlpha) {
+            j = putSample(row, j, alphaBuffer.get(y * width + x));
+          }
+        }
+      }, hasAlpha, width, height, task);
+
+      if (scene.camera().getProjectionMode() == ProjectionMode.PANORAMIC
+          && scene.camera().getFov() >= 179
+          && scene.camera().getFov() <= 181) {
+        writePanoramaMetaData(scene, writer);
+      }
+    }
+  }
+
+  /**
+   * Store a value in [0, 1] as big-endian 16-bit sample.
+   */
+  private static int putSample(byte[] row, int offset, double value) {
+    int sample = (int) (65535 * Math.max(0, Math.min(1, value)) + .5);
+    row[offset] = (byte) (sample >> 8);
+    row[offset + 1] = (byte) sample;
+    return offset + 2;
+  }
+
+  private static PixelPostProcessingFilter requirePixelPostProcessingFilter(Scene scene) {
+    PostProcessingFilter filter = scene.getPostProcessingFilter();
+    if (filter instanceof PixelPostProcessingFilter) {
+      return (PixelPostProcessingFilter) filter;
+    } else {
+      Log.warn("The selected post processing filter (" + filter.getName()
+          + ") doesn't support pixel based processing and can't be used to export 16-bit PNG files. "
+          + "The PNG will be exported without post-processing instead.");
+      return PostProcessingFilters.NONE;
+    }
+  }
+}
@@ -83,7 +83,7 @@ public class PngExportFormat implements PictureExportFormat {
     " </rdf:Description>\n" +
     "</rdf:RDF>";
 
-  private void writePanoramaMetaData(Scene scene, PngFileWriter writer) throws IOException {
+  protected void writePanoramaMetaData(Scene scene, PngFileWriter writer) throws IOException {
     writer.writeChunk(new ITXT(
       "XML:com.adobe.xmp",
       String.format(
@@ -0,0 +1,274 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.farm;
+
+import se.llbit.chunky.main.Chunky;
+import se.llbit.chunky.main.ChunkyOptions;
+import se.llbit.chunky.renderer.ConsoleProgressListener;
+import se.llbit.chunky.renderer.RenderContext;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.log.Log;
+import se.llbit.util.TaskTracker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Coordinates a render farm: splits the remaining target SPP of a scene between a number of
+ * worker processes, merges the render dumps they stream back and periodically saves
+ * snapshots and the merged render dump of the scene.
+ *
+ * <p>Workers connect over plain TCP, so they can run on the same host or on other hosts
+ * which have access to the same scene and world files. The coordinator can also spawn the
+ * workers as local processes.
+ */
+public class RenderFarmCoordinator {
+  /** How often to check that spawned workers are still alive while waiting for them. */
+  private static final int ACCEPT_TIMEOUT_MILLIS = 1000;
+
+  private final Chunky chunky;
+  private final ChunkyOptions options;
+
+  private final AtomicBoolean failed = new AtomicBoolean(false);
+  private volatile long lastSave;
+
+  public RenderFarmCoordinator(Chunky chunky) {
+    this.chunky = chunky;
+    this.options = chunky.options;
+  }
+
+  /**
+   * Run the coordinator until all workers have finished.
+   *
+   * @return error code
+   */
+  public int run() {
+    File sceneFile = options.getSceneDescriptionFile();
+    if (!sceneFile.isFile()) {
+      Log.error("Not a valid scene: " + options.sceneName);
+      return 1;
+    }
+    TaskTracker taskTracker = new TaskTracker(new ConsoleProgressListener(),
+        TaskTracker.Task::new,
+        (tracker, previous, name, size) -> new TaskTracker.Task(tracker, previous, name, size) {
+          @Override public void update() {
+            // Don't report task state to progress listener.
+          }
+        });
+
+    try {
+      Scene scene = new Scene();
+      try (FileInputStream in = new FileInputStream(sceneFile)) {
+        scene.loadDescription(in);
+      }
+      RenderContext context = new RenderContext(chunky);
+      context.setSceneDirectory(sceneFile.getParentFile());
+      scene.loadDump(context, taskTracker);
+
+      int target = options.target != -1 ? options.target : scene.getTargetSpp();
+      int remaining = target - scene.spp;
+      if (remaining <= 0) {
+        Log.infof("Scene %s already has %d SPP (target %d).", scene.name(), scene.spp, target);
+        return 0;
+      }
+
+      int workers = RenderFarmProtocol.workerCount(remaining, options.farmWorkers);
+      if (workers < options.farmWorkers) {
+        Log.infof("Only %d SPP remaining, using %d render farm workers.", remaining, workers);
+      }
+      long seed = System.currentTimeMillis();
+      long dumpInterval = options.farmDumpInterval * 1000L;
+      RenderFarmMerger merger = new RenderFarmMerger(scene, workers);
+      lastSave = System.currentTimeMillis();
+
+      try (ServerSocket server = new ServerSocket(options.farmPort)) {
+        server.setSoTimeout(ACCEPT_TIMEOUT_MILLIS);
+        int port = server.getLocalPort();
+        Log.infof("Render farm coordinator for scene %s listening on port %d. Distributing %d SPP to %d workers.",
+            scene.name(), port, remaining, workers);
+
+        List<Process> localWorkers = new ArrayList<>();
+        if (options.farmSpawnWorkers) {
+          for (int i = 0; i < workers; ++i) {
+            localWorkers.add(spawnLocalWorker(port, i, workers, sceneFile.getParentFile()));
+          }
+        }
+
+        List<Thread> connections = new ArrayList<>(workers);
+        for (int i = 0; i < workers; ++i) {
+          Socket socket = accept(server, localWorkers, i);
+          if (socket == null) {
+            localWorkers.forEach(Process::destroy);
+            return 1;
+          }
+          RenderFarmProtocol.Assignment assignment = new RenderFarmProtocol.Assignment(
+              scene.name(), i, seed + i * RenderFarmProtocol.SEED_STRIDE,
+              RenderFarmProtocol.workerTargetSpp(remaining, workers, i), dumpInterval);
+          Log.infof("Render farm worker %d connected from %s (%d SPP)",
+              i, socket.getRemoteSocketAddress(), assignment.targetSpp);
+          Thread connection = new Thread(
+              () -> serve(socket, assignment, merger, scene, context, taskTracker),
+              "Render Farm Connection " + i);
+          connection.start();
+          connections.add(connection);
+        }
+        for (Thread connection : connections) {
+          connection.join();
+        }
+        for (Process process : localWorkers) {
+          process.waitFor();
+        }
+      }
+
+      save(scene, context, taskTracker);
+      Log.infof("Render farm finished: %d SPP", scene.spp);
+      return failed.get() ? 1 : 0;
+    } catch (IOException e) {
+      Log.error("Render farm coordinator failed.", e);
+      return 1;
+    } catch (InterruptedException e) {
+      Log.error("Render farm coordinator was interrupted.", e);
+      return 1;
+    }
+  }
+
+  /**
+   * Wait for the next worker to connect.
+   *
+   * @param connected the number of workers that have connected so far
+   * @return the worker connection, or {@code null} if a spawned worker exited before
+   * connecting
+   */
+  private static Socket accept(ServerSocket server, List<Process> localWorkers, int connected)
+      throws IOException {
+    while (true) {
+      try {
+        return server.accept();
+      } catch (SocketTimeoutException e) {
+        // Each worker that has not connected yet must still be running.
+        long alive = localWorkers.stream().filter(Process::isAlive).count();
+        if (!localWorkers.isEmpty() && alive < localWorkers.size() - connected) {
+          Log.error("A render farm worker exited before connecting to the coordinator. "
+              + "See the worker log files in the scene directory.");
+          return null;
+        }
+      }
+    }
+  }
+
+  private void serve(Socket socket, RenderFarmProtocol.Assignment assignment,
+      RenderFarmMerger merger, Scene scene, RenderContext context, TaskTracker taskTracker) {
+    int worker = assignment.workerIndex;
+    try (Socket ignored = socket;
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+      RenderFarmProtocol.readHeader(in);
+      RenderFarmProtocol.writeHeader(out);
+      assignment.write(out);
+      out.flush();
+
+      while (true) {
+        int message = in.readInt();
+        if (message == RenderFarmProtocol.MSG_DONE) {
+          break;
+        } else if (message != RenderFarmProtocol.MSG_DUMP) {
+          throw new IOException("Unknown render farm message: " + message);
+        }
+        // The dump is length-prefixed because the dump reader buffers its input.
+        byte[] dump = new byte[in.readInt()];
+        in.readFully(dump);
+        merger.merge(worker, new ByteArrayInputStream(dump), taskTracker);
+        Log.infof("Render farm worker %d: %d of %d SPP, merged scene: %d SPP",
+            worker, merger.getWorkerSpp(worker), assignment.targetSpp, scene.spp);
+
+        if (System.currentTimeMillis() - lastSave >= assignment.dumpIntervalMillis) {
+          save(scene, context, taskTracker);
+        }
+      }
+      Log.infof("Render farm worker %d finished.", worker);
+    } catch (IOException | IllegalStateException e) {
+      Log.error("Render farm worker " + worker + " failed.", e);
+      failed.set(true);
+    }
+  }
+
+  /**
+   * Save a snapshot, the merged render dump and the scene description.
+   */
+  private void save(Scene scene, RenderContext context, TaskTracker taskTracker) {
+    synchronized (scene) {
+      lastSave = System.currentTimeMillis();
+      scene.postProcessFrame(taskTracker);
+      if (scene.shouldSaveSnapshots()) {
+        scene.saveSnapshot(new File(context.getSceneDirectory(), "snapshots"), taskTracker);
+      }
+      scene.saveDump(context, taskTracker);
+      try (FileOutputStream out = new FileOutputStream(context.getSceneFile(scene.name() + Scene.EXTENSION))) {
+        scene.saveDescription(out);
+      } catch (IOException e) {
+        Log.warn("Failed to save the scene description", e);
+      }
+    }
+  }
+
+  /**
+   * Start a worker process on this host, using the same JVM, class path and resource packs
+   * as this process. The worker output is written to a log file in the scene directory.
+   */
+  private Process spawnLocalWorker(int port, int index, int workers, File sceneDirectory)
+      throws IOException {
+    List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(Chunky.class.getName());
+    command.add("-farm-worker");
+    command.add("localhost:" + port);
+    command.add("-scene-dir");
+    command.add(sceneDirectory.getAbsolutePath());
+    command.add("-threads");
+    command.add(String.valueOf(Math.max(1, options.renderThreads / workers)));
+    if (!options.getResourcePacks().isEmpty()) {
+      command.add("-textures");
+      command.add(options.getResourcePacks().stream()
+          .map(File::getAbsolutePath)
+          .collect(Collectors.joining(File.pathSeparator)));
+    }
+    File log = new File(sceneDirectory, String.format("%s-worker%d.log", options.sceneName, index));
+    return new ProcessBuilder(command)
+        .redirectErrorStream(true)
+        .redirectOutput(log)
+        .start();
+  }
+}
@@ -0,0 +1,121 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.farm;
+
+import se.llbit.chunky.renderer.renderdump.RenderDump;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.util.TaskTracker;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Incrementally merges the partial render dumps streamed by render farm workers into a scene.
+ *
+ * <p>Each worker dump contains everything that worker has rendered so far, so the merger
+ * keeps the latest samples of every worker and maintains the SPP-weighted sum of all of
+ * them. When a new dump arrives only that worker's contribution is replaced, which keeps
+ * the cost of an update proportional to the canvas size and not the number of workers.
+ *
+ * <p>Samples already present in the scene when the merger is created are kept as a base
+ * contribution, so a farm render can continue an existing render.
+ */
+public class RenderFarmMerger {
+  private final Scene scene;
+  private final Scene scratch;
+  private final double[] weightedSum;
+  private final int baseSpp;
+  private final long baseRenderTime;
+
+  private final double[][] workerSamples;
+  private final int[] workerSpp;
+  private final long[] workerRenderTime;
+
+  public RenderFarmMerger(Scene scene, int workers) {
+    this.scene = scene;
+    this.baseSpp = scene.spp;
+    this.baseRenderTime = scene.renderTime;
+
+    double[] samples = scene.getSampleBuffer();
+    weightedSum = new double[samples.length];
+    for (int i = 0; i < samples.length; ++i) {
+      weightedSum[i] = samples[i] * baseSpp;
+    }
+
+    scratch = new Scene();
+    scratch.setCanvasSize(scene.canvasConfig.getWidth(), scene.canvasConfig.getHeight());
+
+    workerSamples = new double[workers][];
+    workerSpp = new int[workers];
+    workerRenderTime = new long[workers];
+  }
+
+  /**
+   * Replace the contribution of a worker by the render dump read from the input stream
+   * and update the samples, SPP and render time of the scene.
+   *
+   * <p>The scene render time is the base render time plus the longest worker render time,
+   * i.e. the wall-clock time spent by the farm.
+   *
+   * @throws IllegalStateException if the dump size does not match the scene canvas size
+   */
+  public synchronized void merge(int worker, InputStream dump, TaskTracker taskTracker)
+      throws IOException, IllegalStateException {
+    // Load into a scratch scene first so that a broken dump leaves the merged state intact.
+    RenderDump.load(dump, scratch, taskTracker);
+    double[] partial = scratch.getSampleBuffer();
+    int spp = scratch.spp;
+
+    double[] previous = workerSamples[worker];
+    int previousSpp = workerSpp[worker];
+    if (previous == null) {
+      previous = new double[partial.length];
+      workerSamples[worker] = previous;
+    }
+
+    synchronized (scene) {
+      double[] samples = scene.getSampleBuffer();
+      int totalSpp = spp;
+      long renderTime = scratch.renderTime;
+      for (int i = 0; i < workerSpp.length; ++i) {
+        if (i != worker) {
+          totalSpp += workerSpp[i];
+          renderTime = Math.max(renderTime, workerRenderTime[i]);
+        }
+      }
+      totalSpp += baseSpp;
+      double sinv = totalSpp > 0 ? 1.0 / totalSpp : 0;
+      for (int i = 0; i < samples.length; ++i) {
+        weightedSum[i] += partial[i] * spp - previous[i] * previousSpp;
+        samples[i] = weightedSum[i] * sinv;
+      }
+      scene.spp = totalSpp;
+      scene.renderTime = baseRenderTime + renderTime;
+    }
+
+    System.arraycopy(partial, 0, previous, 0, partial.length);
+    workerSpp[worker] = spp;
+    workerRenderTime[worker] = scratch.renderTime;
+  }
+
+  /**
+   * @return the number of samples per pixel merged from the given worker
+   */
+  public synchronized int getWorkerSpp(int worker) {
+    return workerSpp[worker];
+  }
+}
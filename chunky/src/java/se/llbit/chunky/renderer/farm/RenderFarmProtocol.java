@@ -0,0 +1,120 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.farm;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Wire protocol shared by the render farm coordinator and its workers.
+ *
+ * <p>A worker connects and sends the magic number and protocol version. The coordinator
+ * answers with the same header followed by an {@link Assignment}. The worker then sends any
+ * number of {@link #MSG_DUMP} messages, each holding a complete render dump (as written by
+ * {@link se.llbit.chunky.renderer.renderdump.RenderDump#save}) of everything the worker has
+ * rendered so far, and finishes with {@link #MSG_DONE}.
+ */
+public final class RenderFarmProtocol {
+  public static final int MAGIC = 0x43484652; // "CHFR"
+  public static final int VERSION = 1;
+  public static final int DEFAULT_PORT = 7625;
+
+  public static final int MSG_DUMP = 1;
+  public static final int MSG_DONE = 2;
+
+  /**
+   * Spacing between the seeds of consecutive workers. Each worker process must render with
+   * its own seed, otherwise the workers would trace the same samples.
+   */
+  public static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+  private RenderFarmProtocol() {
+  }
+
+  /**
+   * The work assigned to a single worker process.
+   */
+  public static class Assignment {
+    public final String sceneName;
+    public final int workerIndex;
+    public final long seed;
+    public final int targetSpp;
+    public final long dumpIntervalMillis;
+
+    public Assignment(String sceneName, int workerIndex, long seed, int targetSpp,
+        long dumpIntervalMillis) {
+      this.sceneName = sceneName;
+      this.workerIndex = workerIndex;
+      this.seed = seed;
+      this.targetSpp = targetSpp;
+      this.dumpIntervalMillis = dumpIntervalMillis;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+      out.writeUTF(sceneName);
+      out.writeInt(workerIndex);
+      out.writeLong(seed);
+      out.writeInt(targetSpp);
+      out.writeLong(dumpIntervalMillis);
+    }
+
+    public static Assignment read(DataInputStream in) throws IOException {
+      String sceneName = in.readUTF();
+      int workerIndex = in.readInt();
+      long seed = in.readLong();
+      int targetSpp = in.readInt();
+      long dumpIntervalMillis = in.readLong();
+      return new Assignment(sceneName, workerIndex, seed, targetSpp, dumpIntervalMillis);
+    }
+  }
+
+  public static void writeHeader(DataOutputStream out) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+  }
+
+  /**
+   * @throws IOException if the peer does not speak this protocol version
+   */
+  public static void readHeader(DataInputStream in) throws IOException {
+    int magic = in.readInt();
+    if (magic != MAGIC) {
+      throw new IOException("Not a Chunky render farm peer");
+    }
+    int version = in.readInt();
+    if (version != VERSION) {
+      throw new IOException(String.format(
+          "Render farm protocol version mismatch (expected %d, got %d)", VERSION, version));
+    }
+  }
+
+  /**
+   * @return the number of workers to use, so that no worker is started without samples to
+   * render
+   */
+  public static int workerCount(int totalSpp, int workers) {
+    return Math.max(1, Math.min(workers, totalSpp));
+  }
+
+  /**
+   * Split the given number of samples as evenly as possible between the workers.
+   */
+  public static int workerTargetSpp(int totalSpp, int workers, int workerIndex) {
+    return totalSpp / workers + (workerIndex < totalSpp % workers ? 1 : 0);
+  }
+}
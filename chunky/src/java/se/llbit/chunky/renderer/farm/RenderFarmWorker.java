@@ -0,0 +1,174 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.farm;
+
+import se.llbit.chunky.main.Chunky;
+import se.llbit.chunky.main.ChunkyOptions;
+import se.llbit.chunky.main.HeadlessErrorTrackingLogger;
+import se.llbit.chunky.renderer.ConsoleProgressListener;
+import se.llbit.chunky.renderer.RenderContext;
+import se.llbit.chunky.renderer.RenderContextFactory;
+import se.llbit.chunky.renderer.RenderManager;
+import se.llbit.chunky.renderer.RenderWorkerPool;
+import se.llbit.chunky.renderer.SnapshotControl;
+import se.llbit.chunky.renderer.renderdump.RenderDump;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.chunky.renderer.scene.SynchronousSceneManager;
+import se.llbit.log.Level;
+import se.llbit.log.Log;
+import se.llbit.util.TaskTracker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+
+/**
+ * A headless render farm worker. Connects to a {@link RenderFarmCoordinator}, renders its
+ * share of the scene with the seed it was assigned and streams render dumps back to the
+ * coordinator. Nothing is written to the scene directory by the worker.
+ */
+public class RenderFarmWorker {
+  /**
+   * Workers only send their samples to the coordinator, so they never need to post-process
+   * frames or save anything locally.
+   */
+  private static final SnapshotControl NO_SNAPSHOTS = new SnapshotControl() {
+    @Override public boolean saveSnapshot(Scene scene, int nextSpp) {
+      return false;
+    }
+
+    @Override public boolean saveRenderDump(Scene scene, int nextSpp) {
+      return false;
+    }
+  };
+
+  private final Chunky chunky;
+  private final ChunkyOptions options;
+
+  private long lastDump;
+  private int lastDumpSpp = 0;
+
+  public RenderFarmWorker(Chunky chunky) {
+    this.chunky = chunky;
+    this.options = chunky.options;
+  }
+
+  /**
+   * Connect to the coordinator and render the assigned samples.
+   *
+   * @return error code
+   */
+  public int run() {
+    System.setProperty("java.awt.headless", "true");
+
+    HeadlessErrorTrackingLogger logger = new HeadlessErrorTrackingLogger();
+    Log.setReceiver(logger, Level.INFO, Level.WARNING, Level.ERROR);
+
+    RenderManager renderManager = null;
+    try (Socket socket = new Socket(options.farmHost, options.farmPort);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+      RenderFarmProtocol.writeHeader(out);
+      out.flush();
+      RenderFarmProtocol.readHeader(in);
+      RenderFarmProtocol.Assignment assignment = RenderFarmProtocol.Assignment.read(in);
+      Log.infof("Render farm worker %d: rendering %d SPP of scene %s",
+          assignment.workerIndex, assignment.targetSpp, assignment.sceneName);
+
+      // The render worker pool is created together with the render manager,
+      // so the assigned seed must be set up before the render controller is initialized.
+      RenderContextFactory contextFactory = chunky.getRenderContextFactory();
+      chunky.setRenderContextFactory(instance -> {
+        RenderContext context = contextFactory.newRenderContext(instance);
+        context.renderPoolFactory = (threads, seed) -> new RenderWorkerPool(threads, assignment.seed);
+        return context;
+      });
+      options.sceneName = assignment.sceneName;
+
+      SynchronousSceneManager sceneManager = (SynchronousSceneManager) chunky.getRenderController()
+          .getSceneManager();
+      renderManager = chunky.getRenderController().getRenderManager();
+      TaskTracker taskTracker = new TaskTracker(new ConsoleProgressListener());
+      sceneManager.setTaskTracker(taskTracker);
+      renderManager.setSnapshotControl(NO_SNAPSHOTS);
+      renderManager.setRenderTask(taskTracker.backgroundTask());
+
+      lastDump = System.currentTimeMillis();
+      renderManager.setOnFrameCompleted((scene, spp) -> {
+        long now = System.currentTimeMillis();
+        if (spp >= scene.getTargetSpp() || now - lastDump >= assignment.dumpIntervalMillis) {
+          try {
+            sendDump(out, scene);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          lastDump = now;
+        }
+      });
+
+      File sceneFile = options.getSceneDescriptionFile();
+      sceneManager.loadScene(sceneFile.getParentFile(), assignment.sceneName);
+      if (logger.getNumErrors() > 0 && !options.force) {
+        System.err.println("\rAborting render due to errors while loading the scene.");
+        return 1;
+      }
+      Scene scene = sceneManager.getScene();
+      // Render from scratch: the coordinator already holds the samples of the scene render dump.
+      scene.spp = 0;
+      scene.renderTime = 0;
+      scene.setTargetSpp(assignment.targetSpp);
+      scene.startHeadlessRender();
+
+      renderManager.start();
+      renderManager.join();
+
+      if (lastDumpSpp < assignment.targetSpp) {
+        Log.errorf("Render farm worker stopped at %d of %d SPP.", lastDumpSpp, assignment.targetSpp);
+        return 1;
+      }
+      out.writeInt(RenderFarmProtocol.MSG_DONE);
+      out.flush();
+      return 0;
+    } catch (IOException e) {
+      Log.error("Render farm worker failed.", e);
+      return 1;
+    } catch (InterruptedException e) {
+      Log.error("Render farm worker was interrupted.", e);
+      return 1;
+    } finally {
+      if (renderManager != null) {
+        renderManager.shutdown();
+      }
+    }
+  }
+
+  private void sendDump(DataOutputStream out, Scene scene) throws IOException {
+    ByteArrayOutputStream dump = new ByteArrayOutputStream();
+    RenderDump.save(dump, scene, TaskTracker.NONE);
+    out.writeInt(RenderFarmProtocol.MSG_DUMP);
+    out.writeInt(dump.size());
+    dump.writeTo(out);
+    out.flush();
+    lastDumpSpp = scene.spp;
+  }
+}
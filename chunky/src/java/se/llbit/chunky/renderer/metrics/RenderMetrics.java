@@ -0,0 +1,293 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.metrics;
+
+import se.llbit.json.JsonObject;
+
+import java.lang.ref.WeakReference;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Render telemetry: event counters for the hot paths of the renderer and timers for
+ * the slower stages such as chunk loading and post-processing.
+ *
+ * <p>Metrics are disabled by default, in which case recording a metric only costs a check
+ * of a static flag. When enabled, each thread increments its own counters without
+ * synchronization. Totals are computed by summing all thread counters, so a total read
+ * while rendering is in progress may lag slightly behind. The counters of finished threads
+ * are folded into a shared total, so that render pools can be recreated without the
+ * number of thread counters growing.
+ */
+public final class RenderMetrics {
+
+  public enum Counter {
+    /** Rays intersected with the scene. */
+    RAYS("rays"),
+    /** Octree leaf nodes visited while marching rays. */
+    OCTREE_STEPS("octreeSteps"),
+    /** BVH nodes visited while intersecting rays with entities. */
+    BVH_NODE_VISITS("bvhNodeVisits"),
+    /**
+     * Texels read from block and entity textures. Only counted when
+     * {@link #COUNT_TEXTURE_LOOKUPS} is set, because texture lookups are too frequent
+     * to count one at a time.
+     */
+    TEXTURE_LOOKUPS("textureLookups"),
+    /** Sky color evaluations. */
+    SKY_LOOKUPS("skyLookups");
+
+    public final String key;
+
+    Counter(String key) {
+      this.key = key;
+    }
+  }
+
+  public enum Stage {
+    LOAD_REGIONS("loadRegions"),
+    LOAD_ENTITIES("loadEntities"),
+    LOAD_CHUNKS("loadChunks"),
+    FINALIZE_OCTREE("finalizeOctree"),
+    BUILD_BVH("buildBvh"),
+    FINALIZE_FRAME("finalizeFrame"),
+    POST_PROCESSING("postProcessing"),
+    SAVE_DUMP("saveDump"),
+    LOAD_DUMP("loadDump");
+
+    public final String key;
+
+    Stage(String key) {
+      this.key = key;
+    }
+  }
+
+  /**
+   * Measures the time of one execution of a stage.
+   */
+  public static class Timer implements AutoCloseable {
+    private static final Timer NONE = new Timer(null) {
+      @Override public void close() {
+      }
+    };
+
+    private final Stage stage;
+    private final long start = System.nanoTime();
+
+    private Timer(Stage stage) {
+      this.stage = stage;
+    }
+
+    @Override public void close() {
+      stageNanos.addAndGet(stage.ordinal(), System.nanoTime() - start);
+      stageCount.incrementAndGet(stage.ordinal());
+    }
+  }
+
+  /**
+   * Count texture lookups, set with the system property
+   * {@code chunky.metrics.textureLookups}. This is a constant so that the check is
+   * removed by the JIT compiler when it is not set.
+   */
+  public static final boolean COUNT_TEXTURE_LOOKUPS =
+      Boolean.getBoolean("chunky.metrics.textureLookups");
+
+  private static final int NUM_COUNTERS = Counter.values().length;
+
+  private static volatile boolean enabled = false;
+
+  /**
+   * Counters of a single thread.
+   */
+  private static class ThreadCounters {
+    private final WeakReference<Thread> thread = new WeakReference<>(Thread.currentThread());
+    private final long[] values = new long[NUM_COUNTERS];
+
+    boolean isFinished() {
+      Thread owner = thread.get();
+      return owner == null || !owner.isAlive();
+    }
+  }
+
+  /** Counters of the threads that have recorded events and have not been pruned yet. */
+  private static final Queue<ThreadCounters> threadCounters = new ConcurrentLinkedQueue<>();
+
+  /** Totals of the counters of finished threads. */
+  private static final AtomicLongArray finishedTotals = new AtomicLongArray(NUM_COUNTERS);
+
+  private static final ThreadLocal<long[]> counters = ThreadLocal.withInitial(() -> {
+    pruneFinishedThreads();
+    ThreadCounters threadCounter = new ThreadCounters();
+    threadCounters.add(threadCounter);
+    return threadCounter.values;
+  });
+
+  private static final AtomicLongArray stageNanos = new AtomicLongArray(Stage.values().length);
+  private static final AtomicLongArray stageCount = new AtomicLongArray(Stage.values().length);
+
+  private static volatile int spp = 0;
+  private static volatile int samplesPerSecond = 0;
+  private static volatile long renderTime = 0;
+
+  private RenderMetrics() {
+  }
+
+  public static void setEnabled(boolean value) {
+    enabled = value;
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Record one event.
+   */
+  public static void count(Counter counter) {
+    if (enabled) {
+      counters.get()[counter.ordinal()] += 1;
+    }
+  }
+
+  /**
+   * Record a number of events. Hot loops should count locally and record the total
+   * with this method.
+   */
+  public static void count(Counter counter, long events) {
+    if (enabled) {
+      counters.get()[counter.ordinal()] += events;
+    }
+  }
+
+  /**
+   * Start timing a stage. Use with try-with-resources.
+   */
+  public static Timer time(Stage stage) {
+    return enabled ? new Timer(stage) : Timer.NONE;
+  }
+
+  /**
+   * Update the render progress reported together with the metrics.
+   */
+  public static void setRenderStatus(int spp, int samplesPerSecond, long renderTime) {
+    RenderMetrics.spp = spp;
+    RenderMetrics.samplesPerSecond = samplesPerSecond;
+    RenderMetrics.renderTime = renderTime;
+  }
+
+  /**
+   * @return the total number of events recorded by all threads
+   */
+  public static long get(Counter counter) {
+    pruneFinishedThreads();
+    long total = finishedTotals.get(counter.ordinal());
+    for (ThreadCounters threadCounter : threadCounters) {
+      total += threadCounter.values[counter.ordinal()];
+    }
+    return total;
+  }
+
+  /**
+   * Move the counters of finished threads into the shared totals. A finished thread does
+   * not record any more events, and its last events are visible once it is seen as finished.
+   */
+  private static void pruneFinishedThreads() {
+    for (ThreadCounters threadCounter : threadCounters) {
+      if (threadCounter.isFinished() && threadCounters.remove(threadCounter)) {
+        for (int i = 0; i < NUM_COUNTERS; ++i) {
+          finishedTotals.addAndGet(i, threadCounter.values[i]);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the number of thread counters that have not been folded into the totals
+   */
+  static int numThreadCounters() {
+    pruneFinishedThreads();
+    return threadCounters.size();
+  }
+
+  /**
+   * @return the total time spent in the stage, in nanoseconds
+   */
+  public static long getStageNanos(Stage stage) {
+    return stageNanos.get(stage.ordinal());
+  }
+
+  /**
+   * @return the number of times the stage was executed
+   */
+  public static long getStageCount(Stage stage) {
+    return stageCount.get(stage.ordinal());
+  }
+
+  public static int getSpp() {
+    return spp;
+  }
+
+  public static int getSamplesPerSecond() {
+    return samplesPerSecond;
+  }
+
+  public static long getRenderTime() {
+    return renderTime;
+  }
+
+  /**
+   * Clear all counters and stage timers.
+   */
+  public static void reset() {
+    pruneFinishedThreads();
+    for (ThreadCounters threadCounter : threadCounters) {
+      for (int i = 0; i < NUM_COUNTERS; ++i) {
+        threadCounter.values[i] = 0;
+      }
+    }
+    for (int i = 0; i < NUM_COUNTERS; ++i) {
+      finishedTotals.set(i, 0);
+    }
+    for (int i = 0; i < stageNanos.length(); ++i) {
+      stageNanos.set(i, 0);
+      stageCount.set(i, 0);
+    }
+  }
+
+  public static JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    json.add("timestamp", System.currentTimeMillis());
+    json.add("spp", spp);
+    json.add("samplesPerSecond", samplesPerSecond);
+    json.add("renderTime", renderTime);
+    JsonObject countersJson = new JsonObject();
+    for (Counter counter : Counter.values()) {
+      countersJson.add(counter.key, get(counter));
+    }
+    json.add("counters", countersJson);
+    JsonObject stages = new JsonObject();
+    for (Stage stage : Stage.values()) {
+      JsonObject stageJson = new JsonObject();
+      stageJson.add("count", getStageCount(stage));
+      stageJson.add("millis", getStageNanos(stage) / 1000000);
+      stages.add(stage.key, stageJson);
+    }
+    json.add("stages", stages);
+    return json;
+  }
+}
@@ -0,0 +1,52 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link RenderMetrics}.
+ */
+public interface RenderMetricsMXBean {
+  int getSpp();
+
+  int getSamplesPerSecond();
+
+  long getRenderTime();
+
+  long getRays();
+
+  long getOctreeSteps();
+
+  long getBvhNodeVisits();
+
+  long getTextureLookups();
+
+  long getSkyLookups();
+
+  /**
+   * @return total time spent in each stage, in milliseconds
+   */
+  Map<String, Long> getStageMillis();
+
+  /**
+   * @return number of executions of each stage
+   */
+  Map<String, Long> getStageCounts();
+
+  void reset();
+}
@@ -0,0 +1,188 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.metrics;
+
+import se.llbit.json.PrettyPrinter;
+import se.llbit.log.Log;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the render metrics as a JMX MBean and optionally writes them to a JSON file
+ * at a fixed interval.
+ */
+public class RenderMetricsReporter implements RenderMetricsMXBean {
+  public static final String OBJECT_NAME = "se.llbit.chunky:type=RenderMetrics";
+
+  private PeriodicWriter writer = null;
+
+  /**
+   * Writes the metrics to a file at a fixed interval until closed.
+   */
+  public static class PeriodicWriter implements AutoCloseable {
+    private final File file;
+    private final ScheduledExecutorService executor;
+    private final Thread shutdownHook;
+    private boolean closed = false;
+
+    private PeriodicWriter(File file, int intervalSeconds) {
+      this.file = file;
+      executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Render Metrics Writer");
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor.scheduleAtFixedRate(() -> write(file), intervalSeconds, intervalSeconds,
+          TimeUnit.SECONDS);
+      shutdownHook = new Thread(() -> write(file), "Render Metrics Shutdown Writer");
+      Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Stop writing the metrics periodically and write them one last time.
+     */
+    @Override public synchronized void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      executor.shutdownNow();
+      try {
+        Runtime.getRuntime().removeShutdownHook(shutdownHook);
+      } catch (IllegalStateException e) {
+        // The JVM is already shutting down and the hook writes the metrics.
+        return;
+      }
+      write(file);
+    }
+  }
+
+  /**
+   * Enable the metrics and register the MBean.
+   */
+  public static RenderMetricsReporter start() {
+    RenderMetrics.setEnabled(true);
+    RenderMetricsReporter reporter = new RenderMetricsReporter();
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(reporter, name);
+      }
+    } catch (JMException e) {
+      Log.warn("Failed to register the render metrics MBean", e);
+    }
+    return reporter;
+  }
+
+  /**
+   * Write the metrics to the given file every {@code intervalSeconds} seconds,
+   * and once more when the JVM exits or the returned writer is closed. This replaces the
+   * writer started by a previous call.
+   */
+  public synchronized PeriodicWriter writePeriodically(File file, int intervalSeconds) {
+    if (writer != null) {
+      writer.close();
+    }
+    writer = new PeriodicWriter(file, intervalSeconds);
+    return writer;
+  }
+
+  /**
+   * Write the current metrics to a JSON file. The file is replaced atomically so that
+   * readers never see a partially written file.
+   */
+  public static void write(File file) {
+    File tempFile = new File(file.getPath() + ".tmp");
+    try {
+      try (PrintStream out = new PrintStream(new FileOutputStream(tempFile))) {
+        PrettyPrinter pp = new PrettyPrinter("  ", out);
+        pp.print(RenderMetrics.toJson());
+      }
+      Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      Log.warn("Failed to write render metrics to " + file, e);
+    }
+  }
+
+  @Override public int getSpp() {
+    return RenderMetrics.getSpp();
+  }
+
+  @Override public int getSamplesPerSecond() {
+    return RenderMetrics.getSamplesPerSecond();
+  }
+
+  @Override public long getRenderTime() {
+    return RenderMetrics.getRenderTime();
+  }
+
+  @Override public long getRays() {
+    return RenderMetrics.get(RenderMetrics.Counter.RAYS);
+  }
+
+  @Override public long getOctreeSteps() {
+    return RenderMetrics.get(RenderMetrics.Counter.OCTREE_STEPS);
+  }
+
+  @Override public long getBvhNodeVisits() {
+    return RenderMetrics.get(RenderMetrics.Counter.BVH_NODE_VISITS);
+  }
+
+  @Override public long getTextureLookups() {
+    return RenderMetrics.get(RenderMetrics.Counter.TEXTURE_LOOKUPS);
+  }
+
+  @Override public long getSkyLookups() {
+    return RenderMetrics.get(RenderMetrics.Counter.SKY_LOOKUPS);
+  }
+
+  @Override public Map<String, Long> getStageMillis() {
+    Map<String, Long> result = new LinkedHashMap<>();
+    for (RenderMetrics.Stage stage : RenderMetrics.Stage.values()) {
+      result.put(stage.key, RenderMetrics.getStageNanos(stage) / 1000000);
+    }
+    return result;
+  }
+
+  @Override public Map<String, Long> getStageCounts() {
+    Map<String, Long> result = new LinkedHashMap<>();
+    for (RenderMetrics.Stage stage : RenderMetrics.Stage.values()) {
+      result.put(stage.key, RenderMetrics.getStageCount(stage));
+    }
+    return result;
+  }
+
+  @Override public void reset() {
+    RenderMetrics.reset();
+  }
+}
@@ -1,9 +1,5 @@
 package se.llbit.chunky.renderer.postprocessing;
 
-import org.apache.commons.math3.util.FastMath;
-import se.llbit.chunky.renderer.scene.Scene;
-import se.llbit.math.QuickMath;
-
 /**
  * Implementation of ACES filmic tone mapping
  * @link https://knarkowicz.wordpress.com/2016/01/06/aces-filmic-tone-mapping-curve/
@@ -17,10 +13,16 @@ public class ACESFilmicFilter extends SimplePixelPostProcessingFilter {
   
   @Override
   public void processPixel(double[] pixel) {
-    for(int i = 0; i < 3; ++i) {
-      pixel[i] = QuickMath.max(QuickMath.min((pixel[i] * (aces_a * pixel[i] + aces_b)) / (pixel[i] * (aces_c * pixel[i] + aces_d) + aces_e), 1), 0);
-      pixel[i] = FastMath.pow(pixel[i], 1 / Scene.DEFAULT_GAMMA);
+    processPixels(pixel, 1);
+  }
+
+  @Override
+  public void processPixels(double[] rgb, int count) {
+    for (int i = 0; i < count * 3; ++i) {
+      double p = rgb[i];
+      rgb[i] = Math.max(Math.min((p * (aces_a * p + aces_b)) / (p * (aces_c * p + aces_d) + aces_e), 1), 0);
     }
+    GammaTable.apply(rgb, count * 3);
   }
 
   @Override
@@ -0,0 +1,33 @@
+package se.llbit.chunky.renderer.postprocessing;
+
+import se.llbit.chunky.plugin.PluginApi;
+import se.llbit.chunky.renderer.scene.AovBuffer;
+import se.llbit.chunky.resources.BitmapImage;
+import se.llbit.util.TaskTracker;
+
+/**
+ * Post-processing filter that uses the albedo, normal and depth buffers of the scene,
+ * for example for denoising. The path tracing renderer only fills these buffers if the
+ * selected filter implements this interface.
+ */
+@PluginApi
+public interface AovPostProcessingFilter extends PostProcessingFilter {
+  /**
+   * Post process the entire frame
+   * @param width The width of the image
+   * @param height The height of the image
+   * @param input The input linear image as double array, exposure has not been applied
+   * @param aov The feature buffers, may be {@code null} or not contain any data yet
+   * @param output The output image
+   * @param exposure The exposure value
+   * @param task Task
+   */
+  void processFrame(int width, int height, double[] input, AovBuffer aov, BitmapImage output,
+      double exposure, TaskTracker.Task task);
+
+  @Override
+  default void processFrame(int width, int height, double[] input, BitmapImage output,
+      double exposure, TaskTracker.Task task) {
+    processFrame(width, height, input, null, output, exposure, task);
+  }
+}
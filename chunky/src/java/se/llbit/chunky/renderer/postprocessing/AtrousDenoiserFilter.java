@@ -0,0 +1,182 @@
+package se.llbit.chunky.renderer.postprocessing;
+
+import se.llbit.chunky.main.Chunky;
+import se.llbit.chunky.renderer.scene.AovBuffer;
+import se.llbit.chunky.resources.BitmapImage;
+import se.llbit.math.ColorUtil;
+import se.llbit.util.TaskTracker;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Edge-avoiding à-trous wavelet denoiser (Dammertz et al. 2010), followed by tone mapping.
+ *
+ * <p>The filter is guided by the albedo, normal and depth buffers of the scene when they are
+ * available. The albedo is divided out before filtering so that texture detail is preserved,
+ * and multiplied back afterwards. Without feature buffers only the color difference is used
+ * to avoid blurring edges.
+ */
+public class AtrousDenoiserFilter implements AovPostProcessingFilter {
+  private static final int ITERATIONS = 5;
+
+  /** B3 spline kernel. */
+  private static final double[] KERNEL = { 1 / 16.0, 1 / 4.0, 3 / 8.0, 1 / 4.0, 1 / 16.0 };
+
+  private static final double SIGMA_COLOR = 0.6;
+  private static final double SIGMA_NORMAL = 0.3;
+  private static final double SIGMA_DEPTH = 0.02;
+
+  /** Albedo channels darker than this are not divided out. */
+  private static final double MIN_ALBEDO = 0.01;
+
+  private final SimplePixelPostProcessingFilter toneMapping;
+
+  public AtrousDenoiserFilter() {
+    this(new GammaCorrectionFilter());
+  }
+
+  /**
+   * @param toneMapping filter applied to the denoised pixels
+   */
+  public AtrousDenoiserFilter(SimplePixelPostProcessingFilter toneMapping) {
+    this.toneMapping = toneMapping;
+  }
+
+  @Override
+  public void processFrame(int width, int height, double[] input, AovBuffer aov,
+      BitmapImage output, double exposure, TaskTracker.Task task) {
+    boolean guided = aov != null && aov.hasData();
+    float[] albedo = guided ? aov.getAlbedo() : null;
+    float[] normal = guided ? aov.getNormal() : null;
+    float[] depth = guided ? aov.getDepth() : null;
+
+    double[][] buffers = {
+        new double[width * height * 3],
+        new double[width * height * 3],
+    };
+    int steps = ITERATIONS + 2;
+    task.update(steps, 0);
+
+    // Divide out the albedo.
+    double[] demodulated = buffers[0];
+    forEachRow(height, y -> {
+      for (int i = y * width * 3; i < (y + 1) * width * 3; ++i) {
+        demodulated[i] = input[i] / (guided ? albedoFactor(albedo[i]) : 1);
+      }
+    });
+    task.update(steps, 1);
+
+    for (int iteration = 0; iteration < ITERATIONS; ++iteration) {
+      double[] source = buffers[iteration & 1];
+      double[] target = buffers[(iteration + 1) & 1];
+      int step = 1 << iteration;
+      // The color tolerance is reduced with each iteration as the noise is reduced.
+      double colorScale = (1 << (2 * iteration)) / (SIGMA_COLOR * SIGMA_COLOR);
+      forEachRow(height, y -> {
+        for (int x = 0; x < width; ++x) {
+          filterPixel(source, target, normal, depth, width, height, x, y, step,
+              colorScale, exposure);
+        }
+      });
+      task.update(steps, iteration + 2);
+    }
+
+    double[] result = buffers[ITERATIONS & 1];
+    forEachRow(height, y -> {
+      double[] pixel = new double[3];
+      for (int x = 0; x < width; ++x) {
+        int offset = (y * width + x) * 3;
+        for (int i = 0; i < 3; ++i) {
+          double factor = guided ? albedoFactor(albedo[offset + i]) : 1;
+          pixel[i] = result[offset + i] * factor * exposure;
+        }
+        toneMapping.processPixel(pixel);
+        for (int i = 0; i < 3; ++i) {
+          pixel[i] = Math.min(1.0, pixel[i]);
+        }
+        output.setPixel(x, y, ColorUtil.getRGB(pixel));
+      }
+    });
+    task.update(steps, steps);
+  }
+
+  private static void filterPixel(double[] source, double[] target, float[] normal,
+      float[] depth, int width, int height, int x, int y, int step, double colorScale,
+      double exposure) {
+    int p = y * width + x;
+    double luminance = compressedLuminance(source, p * 3, exposure);
+    double sumR = 0, sumG = 0, sumB = 0;
+    double sumWeight = 0;
+    for (int j = -2; j <= 2; ++j) {
+      int qy = y + j * step;
+      if (qy < 0 || qy >= height) {
+        continue;
+      }
+      for (int i = -2; i <= 2; ++i) {
+        int qx = x + i * step;
+        if (qx < 0 || qx >= width) {
+          continue;
+        }
+        int q = qy * width + qx;
+        double colorDistance = luminance - compressedLuminance(source, q * 3, exposure);
+        double exponent = colorDistance * colorDistance * colorScale;
+        if (normal != null) {
+          double nx = normal[p * 3] - normal[q * 3];
+          double ny = normal[p * 3 + 1] - normal[q * 3 + 1];
+          double nz = normal[p * 3 + 2] - normal[q * 3 + 2];
+          exponent += (nx * nx + ny * ny + nz * nz) / (SIGMA_NORMAL * SIGMA_NORMAL);
+          double depthDistance = Math.abs(depth[p] - depth[q]);
+          if (depthDistance > 0) {
+            double depthScale = SIGMA_DEPTH * step * Math.max(depth[p], depth[q]);
+            exponent += depthDistance / depthScale;
+          }
+        }
+        double weight = KERNEL[i + 2] * KERNEL[j + 2] * Math.exp(-exponent);
+        sumR += source[q * 3] * weight;
+        sumG += source[q * 3 + 1] * weight;
+        sumB += source[q * 3 + 2] * weight;
+        sumWeight += weight;
+      }
+    }
+    // The weight of the center pixel is always positive.
+    target[p * 3] = sumR / sumWeight;
+    target[p * 3 + 1] = sumG / sumWeight;
+    target[p * 3 + 2] = sumB / sumWeight;
+  }
+
+  /**
+   * Luminance mapped to [0, 1), to make the color weights less sensitive to bright outliers.
+   */
+  private static double compressedLuminance(double[] buffer, int offset, double exposure) {
+    double luminance = exposure * (0.2126 * buffer[offset] + 0.7152 * buffer[offset + 1]
+        + 0.0722 * buffer[offset + 2]);
+    return luminance / (1 + luminance);
+  }
+
+  private static double albedoFactor(float albedo) {
+    return albedo > MIN_ALBEDO ? albedo : 1;
+  }
+
+  private static void forEachRow(int height, IntConsumer action) {
+    Chunky.getCommonThreads()
+      .submit(() -> IntStream.range(0, height).parallel().forEach(action))
+      .join();
+  }
+
+  @Override
+  public String getName() {
+    return "Denoiser + " + toneMapping.getName().toLowerCase();
+  }
+
+  @Override
+  public String getId() {
+    return "DENOISE_" + toneMapping.getId();
+  }
+
+  @Override
+  public String getDescription() {
+    return "Edge-avoiding à-trous wavelet denoiser guided by the albedo, normal and depth of "
+        + "the first visible surface, followed by " + toneMapping.getName().toLowerCase() + ".";
+  }
+}
@@ -1,14 +1,15 @@
 package se.llbit.chunky.renderer.postprocessing;
 
-import org.apache.commons.math3.util.FastMath;
-import se.llbit.chunky.renderer.scene.Scene;
 
 public class GammaCorrectionFilter extends SimplePixelPostProcessingFilter {
   @Override
   public void processPixel(double[] pixel) {
-    for(int i = 0; i < 3; ++i) {
-      pixel[i] = FastMath.pow(pixel[i], 1 / Scene.DEFAULT_GAMMA);
-    }
+    processPixels(pixel, 1);
+  }
+
+  @Override
+  public void processPixels(double[] rgb, int count) {
+    GammaTable.apply(rgb, count * 3);
   }
 
   @Override
@@ -0,0 +1,68 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.postprocessing;
+
+import se.llbit.chunky.renderer.scene.Scene;
+
+/**
+ * Lookup table for gamma correction with {@link Scene#DEFAULT_GAMMA}, used by the built-in
+ * filters instead of calling {@code pow} for each color channel.
+ *
+ * <p>The table is indexed by the fourth root of the value. In that domain the gamma curve has
+ * no steep part near zero, so linear interpolation between the entries stays well below the
+ * precision of 16-bit output.
+ */
+public final class GammaTable {
+  private static final int SIZE = 4096;
+  private static final double EXPONENT = 4.0 * (1 / Scene.DEFAULT_GAMMA);
+
+  private static final double[] table = new double[SIZE + 2];
+
+  static {
+    for (int i = 0; i <= SIZE; ++i) {
+      table[i] = Math.pow((double) i / SIZE, EXPONENT);
+    }
+    // Extra entry so that the last entry can be interpolated too.
+    table[SIZE + 1] = 1;
+  }
+
+  private GammaTable() {
+  }
+
+  /**
+   * @return the gamma corrected value. Negative values give zero. Values above one are
+   * computed with {@code pow}, because HDR output such as 32-bit TIFF keeps them.
+   */
+  public static double apply(double value) {
+    if (value > 1) {
+      return Math.pow(value, 1 / Scene.DEFAULT_GAMMA);
+    }
+    double u = Math.sqrt(Math.sqrt(Math.max(0, value))) * SIZE;
+    int i = (int) u;
+    double t = u - i;
+    return table[i] + t * (table[i + 1] - table[i]);
+  }
+
+  /**
+   * Gamma correct the first {@code length} values of an array in place.
+   */
+  public static void apply(double[] values, int length) {
+    for (int i = 0; i < length; ++i) {
+      values[i] = apply(values[i]);
+    }
+  }
+}
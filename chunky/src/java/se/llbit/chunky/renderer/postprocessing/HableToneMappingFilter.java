@@ -1,7 +1,5 @@
 package se.llbit.chunky.renderer.postprocessing;
 
-import org.apache.commons.math3.util.FastMath;
-import se.llbit.chunky.renderer.scene.Scene;
 import se.llbit.json.JsonObject;
 import se.llbit.util.Configurable;
 
@@ -134,12 +132,23 @@ public class HableToneMappingFilter extends SimplePixelPostProcessingFilter impl
 
   @Override
   public void processPixel(double[] pixel) {
-    for (int i = 0; i < 3; ++i) {
-      pixel[i] *= 2; // exposure bias
-      pixel[i] = ((pixel[i] * (hA * pixel[i] + hC * hB) + hD * hE) / (pixel[i] * (hA * pixel[i] + hB) + hD * hF)) - hE / hF;
-      pixel[i] *= whiteScale;
-      pixel[i] = FastMath.pow(pixel[i], 1 / Scene.DEFAULT_GAMMA);
+    processPixels(pixel, 1);
+  }
+
+  @Override
+  public void processPixels(double[] rgb, int count) {
+    double a = hA;
+    double b = hB;
+    double cb = hC * hB;
+    double de = hD * hE;
+    double df = hD * hF;
+    double ef = hE / hF;
+    double scale = whiteScale;
+    for (int i = 0; i < count * 3; ++i) {
+      double p = rgb[i] * 2; // exposure bias
+      rgb[i] = (((p * (a * p + cb) + de) / (p * (a * p + b) + df)) - ef) * scale;
     }
+    GammaTable.apply(rgb, count * 3);
   }
 
   @Override
@@ -5,6 +5,10 @@ public class NoneFilter extends SimplePixelPostProcessingFilter {
   public void processPixel(double[] pixel) {
   }
 
+  @Override
+  public void processPixels(double[] rgb, int count) {
+  }
+
   @Override
   public String getName() {
     return "None";
@@ -1,6 +1,7 @@
 package se.llbit.chunky.renderer.postprocessing;
 
 import se.llbit.chunky.plugin.PluginApi;
+import se.llbit.math.ColorUtil;
 
 /**
  * Post-processing filter that supports processing one pixel at a time.
@@ -18,4 +19,36 @@ public interface PixelPostProcessingFilter extends PostProcessingFilter {
    * @param output The output buffer for the processed pixel
    */
   void processPixel(int width, int height, double[] input, int x, int y, double exposure, double[] output);
+
+  /**
+   * Post process a span of consecutive pixels, in row-major order, and store them as
+   * clamped RGB values. The span may cover several rows. The default implementation calls
+   * {@link #processPixel(int, int, double[], int, int, double, double[])} for each pixel.
+   * @param width The width of the image
+   * @param height The height of the image
+   * @param input The input linear image as double array
+   * @param offset The index of the first pixel to process, {@code y * width + x}
+   * @param count The number of pixels to process
+   * @param exposure The exposure value
+   * @param output The output image data, pixel {@code i} is stored at {@code output[i]}
+   */
+  default void processSpan(
+    int width, int height,
+    double[] input,
+    int offset, int count,
+    double exposure,
+    int[] output
+  ) {
+    double[] pixel = new double[3];
+    int x = offset % width;
+    int y = offset / width;
+    for (int i = offset; i < offset + count; ++i) {
+      processPixel(width, height, input, x, y, exposure, pixel);
+      output[i] = ColorUtil.getRGBClamped(pixel[0], pixel[1], pixel[2]);
+      if (++x == width) {
+        x = 0;
+        y += 1;
+      }
+    }
+  }
 }
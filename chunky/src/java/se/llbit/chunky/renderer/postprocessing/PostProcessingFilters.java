@@ -19,6 +19,7 @@ public abstract class PostProcessingFilters {
     addPostProcessingFilter(new ACESFilmicFilter());
     addPostProcessingFilter(new HableToneMappingFilter());
     addPostProcessingFilter(new UE4ToneMappingFilter());
+    addPostProcessingFilter(new AtrousDenoiserFilter());
   }
 
   public static Optional<PostProcessingFilter> getPostProcessingFilterFromId(String id) {
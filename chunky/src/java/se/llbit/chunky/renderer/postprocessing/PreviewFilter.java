@@ -1,14 +1,17 @@
 package se.llbit.chunky.renderer.postprocessing;
 
-import org.apache.commons.math3.util.FastMath;
-
 public class PreviewFilter extends SimplePixelPostProcessingFilter {
   public static final PreviewFilter INSTANCE = new PreviewFilter();
 
   @Override
   public void processPixel(double[] pixel) {
-    for(int i = 0; i < 3; ++i) {
-      pixel[i] = FastMath.sqrt(pixel[i]);
+    processPixels(pixel, 1);
+  }
+
+  @Override
+  public void processPixels(double[] rgb, int count) {
+    for (int i = 0; i < count * 3; ++i) {
+      rgb[i] = Math.sqrt(rgb[i]);
     }
   }
 
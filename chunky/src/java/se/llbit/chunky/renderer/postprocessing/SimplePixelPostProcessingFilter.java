@@ -29,6 +29,9 @@ import java.util.stream.IntStream;
  * Base class for post processing filter that process each pixel independently
  */
 public abstract class SimplePixelPostProcessingFilter implements PixelPostProcessingFilter {
+  /** Maximum number of pixels passed to {@link #processPixels(double[], int)} at a time. */
+  private static final int SPAN_CHUNK_SIZE = 1024;
+
   /**
    * Post-process a single channel of a single pixel
    * @param pixel Input/Output - the rgb component of the pixel with already applied exposure.
@@ -36,6 +39,23 @@ public abstract class SimplePixelPostProcessingFilter implements PixelPostProces
    */
   public abstract void processPixel(double[] pixel);
 
+  /**
+   * Post-process a number of consecutive pixels. The default implementation calls
+   * {@link #processPixel(double[])} for each pixel. Filters can override this with a single
+   * loop over the whole array that the JIT compiler is able to vectorize.
+   * @param rgb Input/Output - the rgb components of the pixels with already applied exposure.
+   *            Will also be clamped afterwards.
+   * @param count The number of pixels
+   */
+  public void processPixels(double[] rgb, int count) {
+    double[] pixel = new double[3];
+    for (int i = 0; i < count * 3; i += 3) {
+      System.arraycopy(rgb, i, pixel, 0, 3);
+      processPixel(pixel);
+      System.arraycopy(pixel, 0, rgb, i, 3);
+    }
+  }
+
   @Override
   public void processFrame(
     int width, int height,
@@ -49,29 +69,36 @@ public abstract class SimplePixelPostProcessingFilter implements PixelPostProces
         // do rows in parallel
         IntStream.range(0, height).parallel()
         .forEach(y -> {
-          double[] pixelBuffer = new double[3];
-
-          int rowOffset = y * width;
-          // columns will be processed sequential
-          // TODO: SIMD support once Vector API is finalized
-          for (int x = 0; x < width; x++) {
-            int pixelOffset = (rowOffset + x) * 3;
-            for(int i = 0; i < 3; ++i) {
-              pixelBuffer[i] = input[pixelOffset + i] * exposure;
-            }
-            processPixel(pixelBuffer);
-            for(int i = 0; i < 3; ++i) {
-              // TODO: extract clamping into own interface
-              pixelBuffer[i] = Math.min(1.0, pixelBuffer[i]);
-            }
-            output.setPixel(x, y, ColorUtil.getRGB(pixelBuffer));
-          }
-
+          processSpan(width, height, input, y * width, width, exposure, output.data);
           task.update(height, done.incrementAndGet());
         })
       ).join();
   }
 
+  @Override
+  public void processSpan(
+    int width, int height,
+    double[] input,
+    int offset, int count,
+    double exposure,
+    int[] output
+  ) {
+    double[] buffer = new double[Math.min(count, SPAN_CHUNK_SIZE) * 3];
+    for (int start = 0; start < count; start += SPAN_CHUNK_SIZE) {
+      int pixels = Math.min(SPAN_CHUNK_SIZE, count - start);
+      int inputOffset = (offset + start) * 3;
+      for (int i = 0; i < pixels * 3; ++i) {
+        buffer[i] = input[inputOffset + i] * exposure;
+      }
+      processPixels(buffer, pixels);
+      int outputOffset = offset + start;
+      for (int i = 0; i < pixels; ++i) {
+        output[outputOffset + i] =
+          ColorUtil.getRGBClamped(buffer[i * 3], buffer[i * 3 + 1], buffer[i * 3 + 2]);
+      }
+    }
+  }
+
   @Override
   public void processPixel(
     int width, int height,
@@ -1,7 +1,5 @@
 package se.llbit.chunky.renderer.postprocessing;
 
-import se.llbit.math.QuickMath;
-
 /**
  * Implementation of the tone mapping operator from Jim Hejl and Richard Burgess-Dawson
  * @link http://filmicworlds.com/blog/filmic-tonemapping-operators/
@@ -9,9 +7,14 @@ import se.llbit.math.QuickMath;
 public class Tonemap1Filter extends SimplePixelPostProcessingFilter {
   @Override
   public void processPixel(double[] pixel) {
-    for(int i = 0; i < 3; ++i) {
-      pixel[i] = QuickMath.max(0, pixel[i] - 0.004);
-      pixel[i] = (pixel[i] * (6.2 * pixel[i] + .5)) / (pixel[i] * (6.2 * pixel[i] + 1.7) + 0.06);
+    processPixels(pixel, 1);
+  }
+
+  @Override
+  public void processPixels(double[] rgb, int count) {
+    for (int i = 0; i < count * 3; ++i) {
+      double p = Math.max(0, rgb[i] - 0.004);
+      rgb[i] = (p * (6.2 * p + .5)) / (p * (6.2 * p + 1.7) + 0.06);
     }
   }
 
@@ -1,7 +1,5 @@
 package se.llbit.chunky.renderer.postprocessing;
 
-import org.apache.commons.math3.util.FastMath;
-import se.llbit.chunky.renderer.scene.Scene;
 import se.llbit.json.JsonObject;
 import se.llbit.math.QuickMath;
 import se.llbit.util.Configurable;
@@ -33,6 +31,10 @@ public class UE4ToneMappingFilter extends SimplePixelPostProcessingFilter implem
 
   private float ta;
   private float sa;
+  private float toeRange;
+  private float toeScale;
+  private float shoulderRange;
+  private float shoulderScale;
 
   public UE4ToneMappingFilter() {
     reset();
@@ -41,6 +43,10 @@ public class UE4ToneMappingFilter extends SimplePixelPostProcessingFilter implem
   private void recalculateConstants() {
     ta = (1f - toe - 0.18f) / slope - 0.733f;
     sa = (shoulder - 0.18f) / slope - 0.733f;
+    toeRange = 2 * (1 + blackClip - toe);
+    toeScale = (2 * slope) / (1 + blackClip - toe);
+    shoulderRange = 2 * (1 + whiteClip - shoulder);
+    shoulderScale = (2 * slope) / (1 + whiteClip - shoulder);
   }
 
   public float getSaturation() {
@@ -84,6 +90,7 @@ public class UE4ToneMappingFilter extends SimplePixelPostProcessingFilter implem
 
   public void setBlackClip(float blackClip) {
     this.blackClip = blackClip;
+    recalculateConstants();
   }
 
   public float getWhiteClip() {
@@ -92,6 +99,7 @@ public class UE4ToneMappingFilter extends SimplePixelPostProcessingFilter implem
 
   public void setWhiteClip(float whiteClip) {
     this.whiteClip = whiteClip;
+    recalculateConstants();
   }
 
   public void applyPreset(Preset preset) {
@@ -127,19 +135,24 @@ public class UE4ToneMappingFilter extends SimplePixelPostProcessingFilter implem
       return (float) (saturation * (slope * (logc + 0.733) + 0.18));
     }
     if (logc > sa) {
-      return (float) (saturation * (1 + whiteClip - (2 * (1 + whiteClip - shoulder)) / (1 + Math.exp(((2 * slope) / (1 + whiteClip - shoulder)) * (logc - sa)))));
+      return (float) (saturation * (1 + whiteClip - shoulderRange / (1 + Math.exp(shoulderScale * (logc - sa)))));
     }
     // if (logc < ta) {
-    return (float) (saturation * ((2 * (1 + blackClip - toe)) / (1 + Math.exp(-((2 * slope) / (1 + blackClip - toe)) * (logc - ta))) - blackClip));
+    return (float) (saturation * (toeRange / (1 + Math.exp(-toeScale * (logc - ta))) - blackClip));
     // }
   }
 
   @Override
   public void processPixel(double[] pixel) {
-    for (int i = 0; i < 3; ++i) {
-      pixel[i] = QuickMath.max(QuickMath.min(processComponent((float) pixel[i] * 1.25f), 1), 0);
-      pixel[i] = FastMath.pow(pixel[i], 1 / Scene.DEFAULT_GAMMA);
+    processPixels(pixel, 1);
+  }
+
+  @Override
+  public void processPixels(double[] rgb, int count) {
+    for (int i = 0; i < count * 3; ++i) {
+      rgb[i] = QuickMath.max(QuickMath.min(processComponent((float) rgb[i] * 1.25f), 1), 0);
     }
+    GammaTable.apply(rgb, count * 3);
   }
 
   @Override
@@ -17,6 +17,7 @@
 package se.llbit.chunky.renderer.renderdump;
 
 import se.llbit.chunky.plugin.PluginApi;
+import se.llbit.chunky.renderer.metrics.RenderMetrics;
 import se.llbit.chunky.renderer.scene.Scene;
 import se.llbit.log.Log;
 import se.llbit.util.TaskTracker;
@@ -93,7 +94,9 @@ public class RenderDump {
       throws IOException, IllegalStateException {
     DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(inputStream));
     DumpFormat format = readDumpFormat(dataInputStream);
-    format.load(dataInputStream, scene, taskTracker);
+    try (RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.LOAD_DUMP)) {
+      format.load(dataInputStream, scene, taskTracker);
+    }
   }
 
   /**
@@ -106,7 +109,9 @@ public class RenderDump {
       throws IOException, IllegalStateException {
     DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(inputStream));
     DumpFormat format = readDumpFormat(dataInputStream);
-    format.merge(dataInputStream, scene, taskTracker);
+    try (RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.LOAD_DUMP)) {
+      format.merge(dataInputStream, scene, taskTracker);
+    }
   }
 
   public static void save(OutputStream outputStream, Scene scene, TaskTracker taskTracker) throws IOException {
@@ -121,7 +126,9 @@ public class RenderDump {
       dataOutputStream.write(DUMP_FORMAT_MAGIC_NUMBER);
       dataOutputStream.writeInt(version);
     }
-    format.save(dataOutputStream, scene, taskTracker);
-    dataOutputStream.flush();
+    try (RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.SAVE_DUMP)) {
+      format.save(dataOutputStream, scene, taskTracker);
+      dataOutputStream.flush();
+    }
   }
 }
@@ -0,0 +1,43 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.sampler;
+
+import se.llbit.chunky.renderer.RenderRandom;
+
+/**
+ * Independent random numbers for every dimension of every sample.
+ */
+public class IndependentSampler implements Sampler {
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  @Override public long sample(long pixelKey, int index, int dimension) {
+    long sampleKey = pixelKey + RenderRandom.mix64(index * GOLDEN_GAMMA);
+    return RenderRandom.mix64(sampleKey + (dimension + 1L) * GOLDEN_GAMMA);
+  }
+
+  @Override public String getName() {
+    return "Random";
+  }
+
+  @Override public String getDescription() {
+    return "Independent random numbers for each sample.";
+  }
+
+  @Override public String getId() {
+    return "RANDOM";
+  }
+}
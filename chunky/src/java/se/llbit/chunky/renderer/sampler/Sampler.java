@@ -0,0 +1,40 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.sampler;
+
+import se.llbit.util.Registerable;
+
+/**
+ * Generates the random numbers used by the random decisions of a render sample: the pixel
+ * jitter, the camera aperture, reflection directions, light sampling and so on.
+ *
+ * <p>Each decision of a sample takes the next dimension, so the numbers of one sample form a
+ * point in a high-dimensional space. A sampler can place the points of the samples of a pixel
+ * so that they cover that space more evenly than independent random numbers.
+ *
+ * <p>Implementations must be stateless and thread safe: the result may only depend on the
+ * arguments.
+ */
+public interface Sampler extends Registerable {
+  /**
+   * @param pixelKey random key for the pixel, a hash of the render seed and the pixel
+   * @param index sample index within the pixel
+   * @param dimension index of the random decision within the sample
+   * @return 64 uniformly distributed random bits, the high bits are the most significant
+   */
+  long sample(long pixelKey, int index, int dimension);
+}
@@ -0,0 +1,59 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.sampler;
+
+import se.llbit.chunky.plugin.PluginApi;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The samplers that can be selected for a scene.
+ */
+public abstract class Samplers {
+  public static final Sampler RANDOM = new IndependentSampler();
+  public static final Sampler SOBOL = new SobolSampler();
+
+  /** The sampler for scenes that do not select one. */
+  public static final Sampler DEFAULT = RANDOM;
+
+  private static final Map<String, Sampler> samplers = new LinkedHashMap<>();
+
+  static {
+    registerSampler(RANDOM);
+    registerSampler(SOBOL);
+  }
+
+  /**
+   * Register a sampler that can be selected for scenes.
+   */
+  @PluginApi
+  public static void registerSampler(Sampler sampler) {
+    samplers.put(sampler.getId(), sampler);
+  }
+
+  public static Optional<Sampler> getSampler(String id) {
+    return Optional.ofNullable(samplers.get(id));
+  }
+
+  public static Collection<Sampler> getSamplers() {
+    return Collections.unmodifiableCollection(samplers.values());
+  }
+}
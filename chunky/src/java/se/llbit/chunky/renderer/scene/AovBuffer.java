@@ -0,0 +1,173 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.scene;
+
+import se.llbit.chunky.block.minecraft.Air;
+import se.llbit.chunky.block.minecraft.Water;
+import se.llbit.chunky.renderer.WorkerState;
+import se.llbit.chunky.renderer.projection.ParallelProjector;
+import se.llbit.chunky.renderer.projection.ProjectionMode;
+import se.llbit.math.Ray;
+import se.llbit.math.Vector3;
+
+/**
+ * Arbitrary output variable (AOV) buffers holding the albedo, shading normal and depth
+ * of the first visible surface of each pixel. They are filled by the path tracing renderer
+ * alongside the sample buffer and are used to guide denoising filters.
+ *
+ * <p>The buffers are only allocated once a post processing filter asks for them,
+ * see {@link #allocate()}.
+ */
+public class AovBuffer {
+  /** Number of values in a feature sample: albedo (rgb), normal (xyz) and depth. */
+  public static final int FEATURE_SIZE = 7;
+
+  private final int pixelCount;
+
+  private float[] albedo = null;
+  private float[] normal = null;
+  private float[] depth = null;
+
+  /** Number of samples accumulated in the buffers. */
+  private int spp = 0;
+
+  public AovBuffer(int pixelCount) {
+    this.pixelCount = pixelCount;
+  }
+
+  /**
+   * Allocate the buffers, if they are not allocated yet.
+   */
+  public synchronized void allocate() {
+    if (albedo == null) {
+      albedo = new float[pixelCount * 3];
+      normal = new float[pixelCount * 3];
+      depth = new float[pixelCount];
+      spp = 0;
+    }
+  }
+
+  public synchronized boolean isAllocated() {
+    return albedo != null;
+  }
+
+  /**
+   * @return {@code true} if the buffers hold valid data for all pixels
+   */
+  public synchronized boolean hasData() {
+    return albedo != null && spp > 0;
+  }
+
+  /**
+   * @return albedo, three values (rgb) per pixel
+   */
+  public float[] getAlbedo() {
+    return albedo;
+  }
+
+  /**
+   * @return shading normal, three values (xyz) per pixel. Zero for sky pixels.
+   */
+  public float[] getNormal() {
+    return normal;
+  }
+
+  /**
+   * @return distance from the camera to the first visible surface. Zero for sky pixels.
+   */
+  public float[] getDepth() {
+    return depth;
+  }
+
+  public int getSpp() {
+    return spp;
+  }
+
+  /**
+   * Discard the accumulated data. The next accumulated samples overwrite the buffers.
+   */
+  public synchronized void reset() {
+    spp = 0;
+  }
+
+  /**
+   * Must be called after each render pass, when all pixels have been updated with
+   * {@link #accumulate}.
+   */
+  public synchronized void addSamples(int samples) {
+    spp += samples;
+  }
+
+  /**
+   * Merge a feature sample into the running average of a pixel.
+   *
+   * @param features feature sample as computed by {@link #traceFeatures}
+   * @param samples weight of the new sample, in number of samples
+   */
+  public void accumulate(int pixel, double[] features, int samples) {
+    double scale = 1.0 / (spp + samples);
+    for (int i = 0; i < 3; ++i) {
+      int index = pixel * 3 + i;
+      albedo[index] = (float) ((albedo[index] * spp + features[i] * samples) * scale);
+      normal[index] = (float) ((normal[index] * spp + features[3 + i] * samples) * scale);
+    }
+    depth[pixel] = (float) ((depth[pixel] * spp + features[6] * samples) * scale);
+  }
+
+  /**
+   * Trace the primary ray in the worker state ray to the first visible surface and store
+   * its albedo, shading normal and distance in the features array. The ray must have been
+   * set up by the camera (in world coordinates).
+   */
+  public static void traceFeatures(Scene scene, WorkerState state, double[] features) {
+    Ray ray = state.ray;
+    ray.o.x -= scene.origin.x;
+    ray.o.y -= scene.origin.y;
+    ray.o.z -= scene.origin.z;
+    if (scene.camera.getProjectionMode() == ProjectionMode.PARALLEL) {
+      ParallelProjector.fixRay(ray, scene);
+    }
+    if (scene.isInWater(ray)) {
+      ray.setCurrentMaterial(Water.INSTANCE);
+    } else {
+      ray.setCurrentMaterial(Air.INSTANCE);
+    }
+
+    while (true) {
+      if (!PreviewRayTracer.nextIntersection(scene, ray)) {
+        // Sky hit.
+        for (int i = 0; i < FEATURE_SIZE; ++i) {
+          features[i] = 0;
+        }
+        return;
+      } else if (ray.getCurrentMaterial() != Air.INSTANCE && ray.color.w > 0) {
+        break;
+      } else {
+        ray.o.scaleAdd(Ray.OFFSET, ray.d);
+      }
+    }
+
+    Vector3 n = ray.getNormal();
+    features[0] = ray.color.x;
+    features[1] = ray.color.y;
+    features[2] = ray.color.z;
+    features[3] = n.x;
+    features[4] = n.y;
+    features[5] = n.z;
+    features[6] = ray.distance;
+  }
+}
@@ -139,6 +139,9 @@ public class PathTracer implements RayTracer {
       // scene.branchCount is the number of times we use the same first ray before casting a new one
       int count = firstReflection ? scene.getCurrentBranchCount() : 1;
       for (int i = 0; i < count; i++) {
+        if (firstReflection) {
+          state.random.startBranch(i);
+        }
         boolean doMetal = pMetal > Ray.EPSILON && random.nextFloat() < pMetal;
         if (doMetal || (pSpecular > Ray.EPSILON && random.nextFloat() < pSpecular)) {
           hit |= doSpecularReflection(ray, next, cumulativeColor, doMetal, random, state, scene);
@@ -35,15 +35,20 @@ import se.llbit.chunky.plugin.PluginApi;
 import se.llbit.chunky.renderer.*;
 import se.llbit.chunky.renderer.export.PictureExportFormat;
 import se.llbit.chunky.renderer.export.PictureExportFormats;
+import se.llbit.chunky.renderer.metrics.RenderMetrics;
+import se.llbit.chunky.renderer.postprocessing.AovPostProcessingFilter;
 import se.llbit.chunky.renderer.postprocessing.PostProcessingFilter;
 import se.llbit.chunky.renderer.postprocessing.PostProcessingFilters;
 import se.llbit.chunky.renderer.postprocessing.PreviewFilter;
 import se.llbit.chunky.renderer.projection.ParallelProjector;
 import se.llbit.chunky.renderer.projection.ProjectionMode;
 import se.llbit.chunky.renderer.renderdump.RenderDump;
+import se.llbit.chunky.renderer.sampler.Sampler;
+import se.llbit.chunky.renderer.sampler.Samplers;
 import se.llbit.chunky.renderer.scene.biome.BiomeBlendingUtility;
 import se.llbit.chunky.renderer.scene.biome.BiomeStructure;
 import se.llbit.chunky.renderer.scene.biome.ChunkBiomeBlendingHelper;
+import se.llbit.chunky.renderer.scene.biome.ParallelBiomeBlur;
 import se.llbit.chunky.renderer.scene.sky.Sky;
 import se.llbit.chunky.renderer.scene.sky.Sun;
 import se.llbit.chunky.resources.BitmapImage;
@@ -54,6 +59,7 @@ import se.llbit.chunky.world.biome.Biome;
 import se.llbit.chunky.world.biome.BiomePalette;
 import se.llbit.chunky.world.biome.Biomes;
 import se.llbit.chunky.world.region.MCRegion;
+import se.llbit.chunky.world.region.Region;
 import se.llbit.json.*;
 import se.llbit.log.Log;
 import se.llbit.math.*;
@@ -204,6 +210,11 @@ public class Scene implements JsonSerializable, Refreshable {
 
   protected SunSamplingStrategy sunSamplingStrategy = SunSamplingStrategy.FAST;
 
+  /**
+   * Generates the random numbers of the render samples.
+   */
+  protected Sampler sampler = Samplers.DEFAULT;
+
   /**
    * Water opacity modifier.
    */
@@ -299,6 +310,11 @@ public class Scene implements JsonSerializable, Refreshable {
 
   private AlphaBuffer alphaBuffer = new AlphaBuffer();
 
+  /**
+   * Feature buffers for denoising. Shared with copies of the scene like the sample buffer.
+   */
+  private AovBuffer aovBuffer;
+
   private boolean finalized = false;
 
   private boolean finalizeBuffer = false;
@@ -359,7 +375,7 @@ public class Scene implements JsonSerializable, Refreshable {
    */
   public static void delete(String name, File sceneDir) {
     String[] extensions = {
-        ".json", ".dump", ".octree2", ".emittergrid", ".foliage", ".grass", ".json.backup", ".dump.backup",
+        ".json", ".dump", ".octree2", ".octreemap", ".emittergrid", ".foliage", ".grass", ".json.backup", ".dump.backup",
     };
     for (String extension : extensions) {
       File file = new File(sceneDir, name + extension);
@@ -387,6 +403,7 @@ public class Scene implements JsonSerializable, Refreshable {
     backBuffer = new BitmapImage(canvasConfig.getWidth(), canvasConfig.getHeight());
     alphaBuffer.reset();
     samples = new double[canvasConfig.getPixelCount() * 3];
+    aovBuffer = new AovBuffer(canvasConfig.getPixelCount());
   }
 
   /**
@@ -442,6 +459,7 @@ public class Scene implements JsonSerializable, Refreshable {
     biomeColors = other.biomeColors;
     biomeBlendingRadius = other.biomeBlendingRadius;
     sunSamplingStrategy = other.sunSamplingStrategy;
+    sampler = other.sampler;
     emittersEnabled = other.emittersEnabled;
     emitterIntensity = other.emitterIntensity;
     emitterSamplingStrategy = other.emitterSamplingStrategy;
@@ -475,6 +493,7 @@ public class Scene implements JsonSerializable, Refreshable {
       backBuffer = other.backBuffer;
       frontBuffer = other.frontBuffer;
       samples = other.samples;
+      aovBuffer = other.aovBuffer;
     }
     // TODO: could we copy it without resetting if the export format and camera perspective didn't change?
     alphaBuffer.reset();
@@ -629,6 +648,20 @@ public class Scene implements JsonSerializable, Refreshable {
     return this.sunSamplingStrategy;
   }
 
+  /**
+   * Set the sampler used for the render samples.
+   */
+  public synchronized void setSampler(Sampler sampler) {
+    if (sampler != this.sampler) {
+      this.sampler = sampler;
+      refresh();
+    }
+  }
+
+  public Sampler getSampler() {
+    return sampler;
+  }
+
   /**
    * @return <code>true</code> if emitters are enabled
    */
@@ -666,6 +699,7 @@ public class Scene implements JsonSerializable, Refreshable {
    */
   public boolean intersect(Ray ray) {
     boolean hit = false;
+    RenderMetrics.count(RenderMetrics.Counter.RAYS);
 
     if (Double.isNaN(ray.d.x) || Double.isNaN(ray.d.y) || Double.isNaN(ray.d.z) ||
         (ray.d.x == 0 && ray.d.y == 0 && ray.d.z == 0)) {
@@ -799,7 +833,8 @@ public class Scene implements JsonSerializable, Refreshable {
 
     Dimension dimension = world.currentDimension();
 
-    try (TaskTracker.Task task = taskTracker.task("(1/6) Loading regions")) {
+    try (TaskTracker.Task task = taskTracker.task("(1/6) Loading regions");
+        RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.LOAD_REGIONS)) {
       task.update(2, 1);
 
       loadedWorld = world;
@@ -830,7 +865,8 @@ public class Scene implements JsonSerializable, Refreshable {
       }
     }
 
-    try (TaskTracker.Task task = taskTracker.task("(2/6) Loading entities")) {
+    try (TaskTracker.Task task = taskTracker.task("(2/6) Loading entities");
+        RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.LOAD_ENTITIES)) {
      entities.loadPlayers(task, dimension);
     }
 
@@ -846,7 +882,8 @@ public class Scene implements JsonSerializable, Refreshable {
     Set<RegionPosition> loadedRegions = new HashSet<>();
     Set<ChunkPosition> loadedChunks = new HashSet<>();
 
-    try (TaskTracker.Task task = taskTracker.task("(3/6) Loading chunks")) {
+    try (TaskTracker.Task task = taskTracker.task("(3/6) Loading chunks");
+        RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.LOAD_CHUNKS)) {
       int done = 1;
       int target = 0;
       for (List<ChunkPosition> value : chunksToLoadByRegion.values()) {
@@ -867,10 +904,15 @@ public class Scene implements JsonSerializable, Refreshable {
         List<ChunkPosition> chunkPositionsToLoad = chunksToLoadByRegion.get(regionPosition);
         List<ObjectObjectImmutablePair<ChunkPosition, ChunkData>> chunkDataPairs = new ArrayList<>();
 
+        // The region may have been evicted from the region cache since it was parsed above,
+        // in which case it has to be parsed again to discover its chunks.
+        Region region = dimension.getRegion(regionPosition);
+        region.parse(yMin, yMax);
+
         for (int i = 0, chunkPositionsToLoadSize = chunkPositionsToLoad.size(); i < chunkPositionsToLoadSize; i++) {
           ChunkPosition chunkPosition = chunkPositionsToLoad.get(i);
           Mutable<ChunkData> chunkData = new Mutable<>(chunkDataArray[i]);
-          dimension.getChunk(chunkPosition).getChunkData(chunkData, palette, biomePalette, yMin, yMax);
+          region.getChunk(chunkPosition).getChunkData(chunkData, palette, biomePalette, yMin, yMax);
           chunkDataArray[i] = chunkData.get();
           chunkDataPairs.add(new ObjectObjectImmutablePair<>(chunkPosition, chunkData.get()));
         }
@@ -1227,7 +1269,8 @@ public class Scene implements JsonSerializable, Refreshable {
     entities.finalizeLoading();
     palette.unsynchronize();
 
-    try (TaskTracker.Task task = taskTracker.task("(4/6) Finalizing octree")) {
+    try (TaskTracker.Task task = taskTracker.task("(4/6) Finalizing octree");
+        RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.FINALIZE_OCTREE)) {
 
       worldOctree.startFinalization();
       waterOctree.startFinalization();
@@ -1235,7 +1278,12 @@ public class Scene implements JsonSerializable, Refreshable {
       int done = 0;
       int target = nonEmptyChunks.size();
 
-      for (ChunkPosition cp : nonEmptyChunks) {
+      List<ChunkPosition> finalizeOrder = new ArrayList<>(nonEmptyChunks);
+      ParallelBiomeBlur biomeBlur = new ParallelBiomeBlur(
+        biomeBlendingRadius > 0 ? finalizeOrder : Collections.emptyList(), biomeBlendingRadius, use3dBiomes,
+        biomeBlendingHelper, biomePaletteIdxStructure, biomePalette, nonEmptyChunks);
+
+      for (ChunkPosition cp : finalizeOrder) {
 //        TODO: make this less special cased in some way, having 2 ifs for biomeBlending and use3dBiomes is quite awful to read and maintain
 
 //        Finalize grass and foliage textures.
@@ -1243,118 +1291,9 @@ public class Scene implements JsonSerializable, Refreshable {
         ChunkBiomeBlendingHelper chunkBiomeHelper = biomeBlendingHelper.get(cp);
         if(chunkBiomeHelper.isBiomeUsed()) {
           if(biomeBlendingRadius > 0) {
-            if(use3dBiomes) {
-              ChunkBiomeBlendingHelper[] neighboringChunks = new ChunkBiomeBlendingHelper[]{
-                biomeBlendingHelper.get(new ChunkPosition(cp.x - 1, cp.z - 1)),
-                biomeBlendingHelper.get(new ChunkPosition(cp.x - 1, cp.z)),
-                biomeBlendingHelper.get(new ChunkPosition(cp.x - 1, cp.z + 1)),
-                biomeBlendingHelper.get(new ChunkPosition(cp.x, cp.z - 1)),
-                biomeBlendingHelper.get(new ChunkPosition(cp.x, cp.z + 1)),
-                biomeBlendingHelper.get(new ChunkPosition(cp.x + 1, cp.z - 1)),
-                biomeBlendingHelper.get(new ChunkPosition(cp.x + 1, cp.z)),
-                biomeBlendingHelper.get(new ChunkPosition(cp.x + 1, cp.z + 1))
-              };
-
-              int[] combinedBiomeTransitions = chunkBiomeHelper.combineAndTrimTransitions(neighboringChunks, biomeBlendingRadius);
-
-              // When doing 3D blur we use the list of (vertical) biome transition
-              // in the chunk or in neighboring ones
-              // If there is no transition, a 2D blur is enough, otherwise we only
-              // need to compute the colors around the transitions
-
-              // For example, if loading from y=0 to y=200 with a biome transition at y=20
-              // and another one at y=50 and with a blur radius of 2 (5*5*5 box)
-              // We can compute a 2D blur at y=0 and use those color for up to y=17
-              // For y in [18, 21] we need to compute the real 3D blur (because of the biome transition
-              // at y=20 and the blur radius of 2)
-              // Then we can compute the 2D blur at y=22 and use those colors for up to y=47
-              // And so on, 3D blur for y in [48, 51] and 2D blur for y in [52,200]
-
-              // As such, in spirit every transition make us compute an additional 16*16*(2*biomeBlendingRadius) 3D blur
-              // and a 16*16 2D blur (that can be combined in a 16*16*(2*biomeBlendingRadius+1) 3D blur)
-              // (ignoring cases where transition are close to one another which are handled by the code)
-
-              // Note that having a single (x, y) column that effectively has a biome transition
-              // in the chunk are a neighboring chunk causes us to compute the 3D blur for the whole 16*16
-              // vertical slice of the chunk. Because vertical biome transition are pretty rare,
-              // that's probably ok.
-              int nextY = chunkBiomeHelper.getyMinBiomeRelevant();
-
-              for(int i = 0; i < combinedBiomeTransitions.length; ++i) {
-                int transition = combinedBiomeTransitions[i];
-                if(nextY < transition - biomeBlendingRadius) {
-                  // Do a 2d blur to fill up to the height affected by the transition
-                  BiomeBlendingUtility.chunk2DBlur(
-                    cp,
-                    biomeBlendingRadius,
-                    nextY,
-                    transition - biomeBlendingRadius,
-                    origin,
-                    biomePaletteIdxStructure,
-                    biomePalette,
-                    nonEmptyChunks,
-                    grassTexture,
-                    foliageTexture,
-                    dryFoliageTexture,
-                    waterTexture);
-                  nextY = transition - biomeBlendingRadius;
-                }
-
-                // Do a 3D blur to fill the next 2*biomeBlendingRadius layers
-                // or more if the next transition is close by, in which case
-                // both transition (or even more) are handled by a bigger 3D blur
-                int maxYWorkedOn = transition + biomeBlendingRadius;
-                while(i < combinedBiomeTransitions.length - 1 && maxYWorkedOn >= combinedBiomeTransitions[i + 1] - biomeBlendingRadius) {
-                  // Extends the 3D blur to enclose the next transition as well
-                  maxYWorkedOn = combinedBiomeTransitions[i + 1] + biomeBlendingRadius;
-                  ++i;
-                }
-                int maxYWorkedOnClamped = Math.min(maxYWorkedOn, chunkBiomeHelper.getyMaxBiomeRelevant());
-                BiomeBlendingUtility.chunk3DBlur(
-                  cp,
-                  biomeBlendingRadius,
-                  nextY,
-                  maxYWorkedOnClamped + 1,
-                  origin,
-                  biomePaletteIdxStructure,
-                  biomePalette,
-                  nonEmptyChunks,
-                  grassTexture,
-                  foliageTexture,
-                  dryFoliageTexture,
-                  waterTexture);
-                nextY = maxYWorkedOnClamped + 1;
-              }
-
-              // Last 2D blur that extent up to the top
-              if(nextY <= chunkBiomeHelper.getyMaxBiomeRelevant()) {
-                BiomeBlendingUtility.chunk2DBlur(
-                  cp,
-                  biomeBlendingRadius,
-                  nextY,
-                  chunkBiomeHelper.getyMaxBiomeRelevant() + 1,
-                  origin,
-                  biomePaletteIdxStructure,
-                  biomePalette,
-                  nonEmptyChunks,
-                  grassTexture,
-                  foliageTexture,
-                  dryFoliageTexture,
-                  waterTexture);
-              }
-            } else {
-              BiomeBlendingUtility.chunk2DBlur(
-                cp,
-                biomeBlendingRadius,
-                0, 1,
-                origin,
-                biomePaletteIdxStructure,
-                biomePalette,
-                nonEmptyChunks,
-                grassTexture,
-                foliageTexture,
-                dryFoliageTexture,
-                waterTexture);
+            // The blur is computed in parallel for groups of chunks, see ParallelBiomeBlur.
+            for (BiomeBlendingUtility.BlurredColors colors : biomeBlur.next(cp)) {
+              colors.apply(origin, grassTexture, foliageTexture, dryFoliageTexture, waterTexture);
             }
           } else {
             if(use3dBiomes) {
@@ -1437,11 +1376,15 @@ public class Scene implements JsonSerializable, Refreshable {
   }
 
   private void buildBvh(TaskTracker.Task task) {
-    entities.buildBvh(task, origin);
+    try (RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.BUILD_BVH)) {
+      entities.buildBvh(task, origin);
+    }
   }
 
   private void buildActorBvh(TaskTracker.Task task) {
-    entities.buildActorBvh(task, origin);
+    try (RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.BUILD_BVH)) {
+      entities.buildActorBvh(task, origin);
+    }
   }
 
   /**
@@ -1966,6 +1909,10 @@ public class Scene implements JsonSerializable, Refreshable {
    * @return The current "true" branch count
    */
   public int getCurrentBranchCount() {
+    return branchCountAt(spp);
+  }
+
+  private int branchCountAt(int spp) {
     if(spp < branchCount) {
       if(spp <= Math.sqrt(branchCount)) { // This is arbitrary, but should be a good compromise in most cases
         return 1;
@@ -1977,6 +1924,27 @@ public class Scene implements JsonSerializable, Refreshable {
     }
   }
 
+  /**
+   * The number of samples per pixel that have been traced from the camera. Each camera sample
+   * counts as {@link #getCurrentBranchCount()} samples in {@link #spp}, so this is less than
+   * the SPP when the branch count is larger than one.
+   *
+   * @param sppPerPass camera samples per pixel in each render pass
+   */
+  public int getCameraSpp(int sppPerPass) {
+    int samples = 0;
+    int s = 0;
+    while (s < spp && s < branchCount) {
+      s += sppPerPass * branchCountAt(s);
+      samples += sppPerPass;
+    }
+    if (s < spp) {
+      int passSpp = sppPerPass * branchCount;
+      samples += (spp - s + passSpp - 1) / passSpp * sppPerPass;
+    }
+    return samples;
+  }
+
   /**
    * @param value Branch count value
    */
@@ -2124,12 +2092,23 @@ public class Scene implements JsonSerializable, Refreshable {
     if(mode == RenderMode.PREVIEW) {
       filter = PreviewFilter.INSTANCE;
     }
-    filter.processFrame(
-      canvasConfig.getWidth(), canvasConfig.getHeight(),
-      samples, backBuffer,
-      exposure,
-      task
-    );
+    try (RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.POST_PROCESSING)) {
+      if (filter instanceof AovPostProcessingFilter) {
+        ((AovPostProcessingFilter) filter).processFrame(
+          canvasConfig.getWidth(), canvasConfig.getHeight(),
+          samples, aovBuffer, backBuffer,
+          exposure,
+          task
+        );
+      } else {
+        filter.processFrame(
+          canvasConfig.getWidth(), canvasConfig.getHeight(),
+          samples, backBuffer,
+          exposure,
+          task
+        );
+      }
+    }
     finalized = true;
   }
 
@@ -2167,7 +2146,7 @@ public class Scene implements JsonSerializable, Refreshable {
       Log.info("Saving octree " + fileName);
 
       boolean saved = false;
-      try (DataOutputStream out = new DataOutputStream(new FastBufferedOutputStream(new GZIPOutputStream(ioContext.getSceneFileOutputStream(fileName))))) {
+      try (DataOutputStream out = new DataOutputStream(new FastBufferedOutputStream(ioContext.getSceneFileOutputStream(fileName)))) {
         OctreeFileFormat.store(out, worldOctree, waterOctree, palette, grassTexture, foliageTexture, dryFoliageTexture, waterTexture);
         saved = true;
 
@@ -2179,10 +2158,32 @@ public class Scene implements JsonSerializable, Refreshable {
 
       if (saved) {
         worldOctree.setTimestamp(ioContext.fileTimestamp(fileName));
+        if (octreeImplementation.equals(MappedOctree.IMPLEMENTATION)) {
+          saveMappedOctree(ioContext);
+        }
       }
     }
   }
 
+  /**
+   * Save the octrees in a file that can be memory-mapped by {@link MappedOctree}.
+   * The file records the timestamp and size of the .octree2 file, so it is stale if the
+   * .octree2 file changes.
+   */
+  private void saveMappedOctree(SceneIOProvider ioContext) {
+    String octreeName = name + ".octree2";
+    File file = ioContext.getSceneFile(name + ".octreemap");
+    try {
+      MappedOctree.save(file, ioContext.fileTimestamp(octreeName),
+          ioContext.getSceneFile(octreeName).length(), worldOctree, waterOctree);
+      Log.info("Mapped octree saved");
+    } catch (IOException e) {
+      Log.warn("Failed to save the mapped octree", e);
+      //noinspection ResultOfMethodCallIgnored
+      file.delete();
+    }
+  }
+
   public synchronized void saveDump(SceneIOProvider ioContext, TaskTracker taskTracker) {
     File dumpFile = ioContext.getSceneFile(name + ".dump");
     Log.info("Saving render dump: " + dumpFile);
@@ -2223,16 +2224,33 @@ public class Scene implements JsonSerializable, Refreshable {
         OctreeFileFormat.OctreeData data;
         Consumer<String> stepConsumer = step -> task.update("(1/3) Loading octree (" + step + ")");
 
-        try (DataInputStream in = new DataInputStream(new FastBufferedInputStream(new GZIPInputStream(new PositionalInputStream(ioContext.getSceneFileInputStream(fileName), pos -> {
+        Octree[] mapped = null;
+        File mapFile = ioContext.getSceneFile(name + ".octreemap");
+        if (octreeImplementation.equals(MappedOctree.IMPLEMENTATION) && mapFile.isFile()) {
+          try {
+            Octree[] trees = MappedOctree.open(mapFile, fileTimestamp, length);
+            if (trees != null && trees.length == 2) {
+              mapped = trees;
+            }
+          } catch (IOException e) {
+            Log.warn("Failed to open the mapped octree, loading the octree file instead", e);
+          }
+        }
+
+        try (DataInputStream in = openOctreeFile(new PositionalInputStream(ioContext.getSceneFileInputStream(fileName), pos -> {
           task.updateInterval((int) (pos * progressScale), 1);
-        }))))) {
-          data = OctreeFileFormat.load(in, octreeImplementation, this.biomeStructureImplementation, stepConsumer);
+        }))) {
+          data = OctreeFileFormat.load(in, octreeImplementation, this.biomeStructureImplementation, stepConsumer, mapped == null);
+          if (mapped != null) {
+            data.worldTree = mapped[0];
+            data.waterTree = mapped[1];
+          }
         } catch (PackedOctree.OctreeTooBigException e) {
           // Octree too big, reload file and force loading as NodeBasedOctree
           Log.warn("Octree was too big when loading dump, reloading with old (slower and bigger) implementation.");
-          DataInputStream inRetry = new DataInputStream(new FastBufferedInputStream(new GZIPInputStream(new PositionalInputStream(ioContext.getSceneFileInputStream(fileName), pos -> {
+          DataInputStream inRetry = openOctreeFile(new PositionalInputStream(ioContext.getSceneFileInputStream(fileName), pos -> {
             task.updateInterval((int) (pos * progressScale), 1);
-          }))));
+          }));
           data = OctreeFileFormat.load(inRetry, "NODE", this.biomeStructureImplementation, stepConsumer);
         }
 
@@ -2268,6 +2286,19 @@ public class Scene implements JsonSerializable, Refreshable {
     }
   }
 
+  /**
+   * Octree files before version 9 are GZip-compressed as a whole, newer files are compressed
+   * in blocks by {@link OctreeFileFormat}.
+   */
+  private static DataInputStream openOctreeFile(InputStream in) throws IOException {
+    PushbackInputStream pushback = new PushbackInputStream(in, 2);
+    byte[] magic = new byte[2];
+    int n = pushback.readNBytes(magic, 0, 2);
+    pushback.unread(magic, 0, n);
+    boolean gzip = n == 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B;
+    return new DataInputStream(new FastBufferedInputStream(gzip ? new GZIPInputStream(pushback) : pushback));
+  }
+
   public synchronized boolean loadDump(SceneIOProvider ioContext, TaskTracker taskTracker) {
     if (!tryLoadDump(ioContext, name + ".dump", taskTracker)) {
       // Failed to load the default render dump - try the backup file.
@@ -2414,6 +2445,21 @@ public class Scene implements JsonSerializable, Refreshable {
     return alphaBuffer;
   }
 
+  /**
+   * Get the feature buffers used for denoising. The buffers are only filled during rendering
+   * if the post processing filter needs them.
+   */
+  public AovBuffer getAovBuffer() {
+    return aovBuffer;
+  }
+
+  /**
+   * @return {@code true} if the renderer should fill the AOV buffers
+   */
+  public boolean wantsAovs() {
+    return postProcessingFilter instanceof AovPostProcessingFilter;
+  }
+
   /**
    * @return <code>true</code> if the rendered buffer should be finalized
    */
@@ -2492,6 +2538,57 @@ public class Scene implements JsonSerializable, Refreshable {
     return Biomes.biomesPrePalette[0].waterColorLinear;
   }
 
+  /**
+   * Get the foliage color for the given coordinates without allocating.
+   *
+   * @param out Receives the RGB color components
+   */
+  public void getFoliageColor(int x, int y, int z, float[] out) {
+    if (!biomeColors || !foliageTexture.get(x, y, z, out)) {
+      copyColor(Biomes.biomesPrePalette[0].foliageColorLinear, out);
+    }
+  }
+
+  /**
+   * Get the dry foliage color for the given coordinates without allocating.
+   *
+   * @param out Receives the RGB color components
+   */
+  public void getDryFoliageColor(int x, int y, int z, float[] out) {
+    if (!biomeColors || !dryFoliageTexture.get(x, y, z, out)) {
+      copyColor(Biomes.biomesPrePalette[0].dryFoliageColorLinear, out);
+    }
+  }
+
+  /**
+   * Get the grass color for the given coordinates without allocating.
+   *
+   * @param out Receives the RGB color components
+   */
+  public void getGrassColor(int x, int y, int z, float[] out) {
+    if (!biomeColors || !grassTexture.get(x, y, z, out)) {
+      copyColor(Biomes.biomesPrePalette[0].grassColorLinear, out);
+    }
+  }
+
+  /**
+   * Get the water color for the given coordinates without allocating.
+   *
+   * @param out Receives the RGB color components
+   */
+  public void getWaterColor(int x, int y, int z, float[] out) {
+    if (!biomeColors || waterTexture == null || !waterTexture.get(x, y, z, out)
+        || !(out[0] > 0 || out[1] > 0 || out[2] > 0)) {
+      copyColor(Biomes.biomesPrePalette[0].waterColorLinear, out);
+    }
+  }
+
+  private static void copyColor(float[] color, float[] out) {
+    out[0] = color[0];
+    out[1] = color[1];
+    out[2] = color[2];
+  }
+
   /**
    * Query if a position is loaded.
    */
@@ -2614,6 +2711,7 @@ public class Scene implements JsonSerializable, Refreshable {
     json.add("spp", spp);
     json.add("sppTarget", sppTarget);
     json.add("branchCount", branchCount);
+    json.add("sampler", sampler.getId());
     json.add("rayDepth", rayDepth);
     json.add("pathTrace", mode != RenderMode.PREVIEW);
     json.add("dumpFrequency", dumpFrequency);
@@ -2870,6 +2968,7 @@ public class Scene implements JsonSerializable, Refreshable {
       .orElse(PictureExportFormats.PNG);
     sppTarget = json.get("sppTarget").intValue(sppTarget);
     branchCount = json.get("branchCount").intValue(branchCount);
+    sampler = Samplers.getSampler(json.get("sampler").asString(sampler.getId())).orElse(Samplers.DEFAULT);
     rayDepth = json.get("rayDepth").intValue(rayDepth);
     if (!json.get("pathTrace").isUnknown()) {
       boolean pathTrace = json.get("pathTrace").boolValue(false);
@@ -136,7 +136,7 @@ public class BiomeBlendingUtility {
      * summed-area table lookups and inclusion-exclusion to compute the sum
      * of all color values in the area, divided by the number of contributing cells.</p>
      *
-     * <p>Returns an array of 12 floats:
+     * <p>Writes 12 floats:
      * <ul>
      *   <li>[0–2] Grass RGB</li>
      *   <li>[3–5] Foliage RGB</li>
@@ -144,11 +144,12 @@ public class BiomeBlendingUtility {
      *   <li>[9–11] Dry foliage RGB</li>
      * </ul></p>
      *
-     * @param x The local X coordinate (chunk-relative)
-     * @param z The local Z coordinate (chunk-relative)
-     * @return A float array containing the averaged RGB values for grass, foliage, water, and dry foliage
+     * @param x      The local X coordinate (chunk-relative)
+     * @param z      The local Z coordinate (chunk-relative)
+     * @param out    Output array for the averaged RGB values for grass, foliage, water, and dry foliage
+     * @param offset Index of the first value to write in {@code out}
      */
-    public float[] getAverageFor(int x, int z) {
+    public void getAverageFor(int x, int z, float[] out, int offset) {
       int topLeft = indexFor(x - blurRadius - 1, z - blurRadius - 1);
       int topRight = indexFor(x - blurRadius - 1, z + blurRadius);
       int bottomLeft = indexFor(x + blurRadius, z - blurRadius - 1);
@@ -156,13 +157,10 @@ public class BiomeBlendingUtility {
 
       int n = satN[topLeft] + satN[bottomRight] - satN[topRight] - satN[bottomLeft];
 
-      float[] result = new float[ENTRY_SIZE];
       for (int i = 0; i < ENTRY_SIZE; ++i) {
-        result[i] = satData[topLeft * ENTRY_SIZE + i] + satData[bottomRight * ENTRY_SIZE + i] - satData[topRight * ENTRY_SIZE + i] - satData[bottomLeft * ENTRY_SIZE + i];
-        result[i] /= n;
+        out[offset + i] = satData[topLeft * ENTRY_SIZE + i] + satData[bottomRight * ENTRY_SIZE + i] - satData[topRight * ENTRY_SIZE + i] - satData[bottomLeft * ENTRY_SIZE + i];
+        out[offset + i] /= n;
       }
-
-      return result;
     }
   }
 
@@ -196,12 +194,23 @@ public class BiomeBlendingUtility {
   static public void chunk2DBlur(ChunkPosition cp, int blurRadius, int samplingY, int maxFillY, Vector3i origin,
                                  Position2IntStructure biomeIdx, BiomePalette biomePalette, Set<ChunkPosition> nonEmptyChunks,
                                  BiomeStructure grassTexture, BiomeStructure foliageTexture, BiomeStructure dryFoliageTexture, BiomeStructure waterTexture) {
+    blur2D(cp, blurRadius, samplingY, maxFillY, biomeIdx, biomePalette, nonEmptyChunks)
+      .apply(origin, grassTexture, foliageTexture, dryFoliageTexture, waterTexture);
+  }
 
+  /**
+   * Computes the 2D biome blur of {@link #chunk2DBlur} without writing it to the biome structures.
+   *
+   * <p>This only reads {@code biomeIdx}, {@code biomePalette} and {@code nonEmptyChunks}, so
+   * several chunks can be blurred in parallel as long as none of them are modified.</p>
+   */
+  static public BlurredColors blur2D(ChunkPosition cp, int blurRadius, int samplingY, int maxFillY,
+                                     Position2IntStructure biomeIdx, BiomePalette biomePalette, Set<ChunkPosition> nonEmptyChunks) {
+    boolean[] nonEmptyNeighbors = nonEmptyNeighbors(cp, blurRadius, nonEmptyChunks);
     SummedAreaTable table = new SummedAreaTable(blurRadius);
     for (int x = -blurRadius; x < 16 + blurRadius; ++x) {
       for (int z = -blurRadius; z < 16 + blurRadius; ++z) {
-        ChunkPosition ccp = new ChunkPosition(Math.floorDiv(cp.x * 16 + x, 16), Math.floorDiv(cp.z * 16 + z, 16));
-        if (nonEmptyChunks.contains(ccp)) {
+        if (nonEmptyNeighbors[neighborIndex(x, z, blurRadius)]) {
           int biomeId = biomeIdx.get(cp.x * 16 + x, samplingY, cp.z * 16 + z);
           if (biomeId != -1) {
             Biome biome = biomePalette.get(biomeId);
@@ -217,31 +226,13 @@ public class BiomeBlendingUtility {
     }
     table.computeSum();
 
+    BlurredColors colors = new BlurredColors(cp, samplingY, maxFillY, false);
     for (int x = 0; x < 16; ++x) {
       for (int z = 0; z < 16; ++z) {
-        float[] data = table.getAverageFor(x, z);
-        float[] grassMix = {
-          data[0], data[1], data[2]
-        };
-        float[] foliageMix = {
-          data[3], data[4], data[5]
-        };
-        float[] waterMix = {
-          data[6], data[7], data[8]
-        };
-        float[] dryFoliageMix = {
-          data[9], data[10], data[11]
-        };
-
-        for (int y = samplingY; y < maxFillY; ++y) {
-          // TODO Introduce additional API to BiomeStructure to make them aware of the vertical repetition so they can optimize if wanted
-          grassTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, grassMix);
-          foliageTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, foliageMix);
-          waterTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, waterMix);
-          dryFoliageTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, dryFoliageMix);
-        }
+        table.getAverageFor(x, z, colors.data, (x * 16 + z) * BlurredColors.ENTRY_SIZE);
       }
     }
+    return colors;
   }
 
   /**
@@ -372,7 +363,7 @@ public class BiomeBlendingUtility {
      *
      * <p>The cubic region includes all voxels within the {@code blurRadius} distance in each direction.</p>
      *
-     * <p>Returns an array of 12 floats:
+     * <p>Writes 12 floats:
      * <ul>
      *   <li>[0–2] Grass RGB</li>
      *   <li>[3–5] Foliage RGB</li>
@@ -382,12 +373,13 @@ public class BiomeBlendingUtility {
      *
      * <p>Uses 3D inclusion-exclusion on the summed-volume table to compute the result in O(1) time.</p>
      *
-     * @param x The local X coordinate (0–15) relative to the chunk
-     * @param y The Y coordinate (within minY–maxY)
-     * @param z The local Z coordinate (0–15) relative to the chunk
-     * @return A float array containing the averaged RGB values for grass, foliage, water, and dry foliage
+     * @param x      The local X coordinate (0–15) relative to the chunk
+     * @param y      The Y coordinate (within minY–maxY)
+     * @param z      The local Z coordinate (0–15) relative to the chunk
+     * @param out    Output array for the averaged RGB values for grass, foliage, water, and dry foliage
+     * @param offset Index of the first value to write in {@code out}
      */
-    public float[] getAverageFor(int x, int y, int z) {
+    public void getAverageFor(int x, int y, int z, float[] out, int offset) {
       int x1y1z1 = indexFor(x - blurRadius - 1, y - blurRadius - 1, z - blurRadius - 1);
       int x1y1z2 = indexFor(x - blurRadius - 1, y - blurRadius - 1, z + blurRadius);
       int x1y2z1 = indexFor(x - blurRadius - 1, y + blurRadius, z - blurRadius - 1);
@@ -407,9 +399,8 @@ public class BiomeBlendingUtility {
           + satN[x1y1z2]
           - satN[x1y1z1];
 
-      float[] result = new float[ENTRY_SIZE];
       for (int i = 0; i < ENTRY_SIZE; ++i) {
-        result[i] =
+        out[offset + i] =
           satData[x2y2z2 * ENTRY_SIZE + i]
             - satData[x2y2z1 * ENTRY_SIZE + i]
             - satData[x2y1z2 * ENTRY_SIZE + i]
@@ -418,10 +409,8 @@ public class BiomeBlendingUtility {
             + satData[x1y2z1 * ENTRY_SIZE + i]
             + satData[x1y1z2 * ENTRY_SIZE + i]
             - satData[x1y1z1 * ENTRY_SIZE + i];
-        result[i] /= n;
+        out[offset + i] /= n;
       }
-
-      return result;
     }
   }
 
@@ -453,12 +442,24 @@ public class BiomeBlendingUtility {
   static public void chunk3DBlur(ChunkPosition cp, int blurRadius, int minY, int maxY, Vector3i origin,
                                  Position2IntStructure biomeIdx, BiomePalette biomePalette, Set<ChunkPosition> nonEmptyChunks,
                                  BiomeStructure grassTexture, BiomeStructure foliageTexture, BiomeStructure dryFoliageTexture, BiomeStructure waterTexture) {
+    blur3D(cp, blurRadius, minY, maxY, biomeIdx, biomePalette, nonEmptyChunks)
+      .apply(origin, grassTexture, foliageTexture, dryFoliageTexture, waterTexture);
+  }
+
+  /**
+   * Computes the 3D biome blur of {@link #chunk3DBlur} without writing it to the biome structures.
+   *
+   * <p>This only reads {@code biomeIdx}, {@code biomePalette} and {@code nonEmptyChunks}, so
+   * several chunks can be blurred in parallel as long as none of them are modified.</p>
+   */
+  static public BlurredColors blur3D(ChunkPosition cp, int blurRadius, int minY, int maxY,
+                                     Position2IntStructure biomeIdx, BiomePalette biomePalette, Set<ChunkPosition> nonEmptyChunks) {
+    boolean[] nonEmptyNeighbors = nonEmptyNeighbors(cp, blurRadius, nonEmptyChunks);
     SummedVolumeTable table = new SummedVolumeTable(blurRadius, minY, maxY);
     for (int y = minY - blurRadius; y < maxY + blurRadius; ++y) {
       for (int x = -blurRadius; x < 16 + blurRadius; ++x) {
         for (int z = -blurRadius; z < 16 + blurRadius; ++z) {
-          ChunkPosition ccp = new ChunkPosition(Math.floorDiv(cp.x * 16 + x, 16), Math.floorDiv(cp.z * 16 + z, 16));
-          if (nonEmptyChunks.contains(ccp)) {
+          if (nonEmptyNeighbors[neighborIndex(x, z, blurRadius)]) {
             int biomeId = biomeIdx.get(cp.x * 16 + x, y, cp.z * 16 + z);
             if (biomeId != -1) {
               Biome biome = biomePalette.get(biomeId);
@@ -472,23 +473,123 @@ public class BiomeBlendingUtility {
     }
     table.computeSum();
 
+    BlurredColors colors = new BlurredColors(cp, minY, maxY, true);
     for (int y = minY; y < maxY; ++y) {
       for (int x = 0; x < 16; ++x) {
         for (int z = 0; z < 16; ++z) {
-          float[] data = table.getAverageFor(x, y, z);
-          float[] grassMix = {
-            data[0], data[1], data[2]
-          };
-          float[] foliageMix = {
-            data[3], data[4], data[5]
-          };
-          float[] waterMix = {
-            data[6], data[7], data[8]
-          };
-
-          grassTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, grassMix);
-          foliageTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, foliageMix);
-          waterTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, waterMix);
+          table.getAverageFor(x, y, z, colors.data, ((y - minY) * 256 + x * 16 + z) * BlurredColors.ENTRY_SIZE);
+        }
+      }
+    }
+    return colors;
+  }
+
+  /**
+   * Look up which of the chunks reached by the blur window around a chunk are non-empty,
+   * so that the blur does not need a set lookup for every sampled column.
+   *
+   * @return flags indexed by {@link #neighborIndex}
+   */
+  private static boolean[] nonEmptyNeighbors(ChunkPosition cp, int blurRadius, Set<ChunkPosition> nonEmptyChunks) {
+    int reach = (blurRadius + 15) >> 4;
+    int size = 2 * reach + 1;
+    boolean[] nonEmpty = new boolean[size * size];
+    for (int dx = -reach; dx <= reach; ++dx) {
+      for (int dz = -reach; dz <= reach; ++dz) {
+        nonEmpty[(dx + reach) * size + dz + reach] = nonEmptyChunks.contains(new ChunkPosition(cp.x + dx, cp.z + dz));
+      }
+    }
+    return nonEmpty;
+  }
+
+  /**
+   * @param x Local X coordinate relative to the blurred chunk, within the blur window
+   * @param z Local Z coordinate relative to the blurred chunk, within the blur window
+   */
+  private static int neighborIndex(int x, int z, int blurRadius) {
+    int reach = (blurRadius + 15) >> 4;
+    return ((x >> 4) + reach) * (2 * reach + 1) + (z >> 4) + reach;
+  }
+
+  /**
+   * Blurred biome colors of a chunk for a range of Y levels, computed by {@link #blur2D}
+   * or {@link #blur3D}.
+   */
+  public static class BlurredColors {
+    static final int ENTRY_SIZE = 12;
+
+    private final ChunkPosition cp;
+    private final int minY;
+    private final int maxY;
+    private final boolean is3d;
+
+    /**
+     * Grass, foliage, water and dry foliage RGB per column (2D) or per block (3D).
+     */
+    final float[] data;
+
+    BlurredColors(ChunkPosition cp, int minY, int maxY, boolean is3d) {
+      this.cp = cp;
+      this.minY = minY;
+      this.maxY = maxY;
+      this.is3d = is3d;
+      data = new float[(is3d ? (maxY - minY) * 256 : 256) * ENTRY_SIZE];
+    }
+
+    /**
+     * Write the blurred colors to the biome structures.
+     *
+     * <p>A 2D blur fills all Y levels of the range with the same colors. A 3D blur does not
+     * write dry foliage colors.</p>
+     */
+    public void apply(Vector3i origin, BiomeStructure grassTexture, BiomeStructure foliageTexture,
+                      BiomeStructure dryFoliageTexture, BiomeStructure waterTexture) {
+      if (is3d) {
+        for (int y = minY; y < maxY; ++y) {
+          for (int x = 0; x < 16; ++x) {
+            for (int z = 0; z < 16; ++z) {
+              int index = ((y - minY) * 256 + x * 16 + z) * ENTRY_SIZE;
+              float[] grassMix = {
+                data[index], data[index + 1], data[index + 2]
+              };
+              float[] foliageMix = {
+                data[index + 3], data[index + 4], data[index + 5]
+              };
+              float[] waterMix = {
+                data[index + 6], data[index + 7], data[index + 8]
+              };
+
+              grassTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, grassMix);
+              foliageTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, foliageMix);
+              waterTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, waterMix);
+            }
+          }
+        }
+      } else {
+        for (int x = 0; x < 16; ++x) {
+          for (int z = 0; z < 16; ++z) {
+            int index = (x * 16 + z) * ENTRY_SIZE;
+            float[] grassMix = {
+              data[index], data[index + 1], data[index + 2]
+            };
+            float[] foliageMix = {
+              data[index + 3], data[index + 4], data[index + 5]
+            };
+            float[] waterMix = {
+              data[index + 6], data[index + 7], data[index + 8]
+            };
+            float[] dryFoliageMix = {
+              data[index + 9], data[index + 10], data[index + 11]
+            };
+
+            for (int y = minY; y < maxY; ++y) {
+              // TODO Introduce additional API to BiomeStructure to make them aware of the vertical repetition so they can optimize if wanted
+              grassTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, grassMix);
+              foliageTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, foliageMix);
+              waterTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, waterMix);
+              dryFoliageTexture.set(cp.x * 16 + x - origin.x, y - origin.y, cp.z * 16 + z - origin.z, dryFoliageMix);
+            }
+          }
         }
       }
     }
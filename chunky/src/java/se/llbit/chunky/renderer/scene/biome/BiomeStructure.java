@@ -27,6 +27,8 @@ public interface BiomeStructure extends Position2ReferenceStructure<float[]> {
     BiomeStructure.register(new Trivial2dBiomeStructure());
     BiomeStructure.register(new WorldTexture2dBiomeStructure.Factory());
     BiomeStructure.register(new WorldTexture3dBiomeStructure.Factory());
+    BiomeStructure.register(new PackedBiomeStructure.Factory(false));
+    BiomeStructure.register(new PackedBiomeStructure.Factory(true));
   }
 
   /**
@@ -77,6 +79,24 @@ public interface BiomeStructure extends Position2ReferenceStructure<float[]> {
     return factory;
   }
 
+  /**
+   * Get the color at a position without allocating a new array. Implementations used
+   * for rendering should override this.
+   *
+   * @param out Receives the RGB color components
+   * @return {@code false} if there is no color at the position, in which case {@code out} is not modified
+   */
+  default boolean get(int x, int y, int z, float[] out) {
+    float[] color = get(x, y, z);
+    if (color == null) {
+      return false;
+    }
+    out[0] = color[0];
+    out[1] = color[1];
+    out[2] = color[2];
+    return true;
+  }
+
   /**
    * Store the {@link BiomeStructure} to a data output stream
    */
@@ -0,0 +1,350 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.scene.biome;
+
+import se.llbit.math.ColorUtil;
+import se.llbit.util.annotation.NotNull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Biome colors packed as shared exponent floats (see {@link ColorUtil#packRgb9e5}), one int
+ * per column (2D) or per block (3D).
+ *
+ * <p>Chunks are stored in region sized tiles in a dense grid that grows to cover all written
+ * positions, so looking up a color is a few array accesses without hashing. With
+ * {@link #get(int, int, int, float[])} the lookup does not allocate either.
+ *
+ * <p>In 3D, each chunk section is stored as a single layer when all its layers are equal,
+ * which is checked when the structure is compacted.
+ */
+public class PackedBiomeStructure implements BiomeStructure {
+  public static final String ID_2D = "PACKED_2D";
+  public static final String ID_3D = "PACKED_3D";
+
+  /** Packed value of positions without a color. */
+  private static final int ABSENT = -1;
+
+  private static final int LAYER_SIZE = 16 * 16;
+  private static final int SECTION_SIZE = 16 * LAYER_SIZE;
+
+  private final boolean is3d;
+
+  /** Grid of regions, each an array of 32x32 chunk columns. */
+  private ChunkColumn[][] regions = new ChunkColumn[0][];
+  private int regionMinX = 0;
+  private int regionMinZ = 0;
+  private int regionsX = 0;
+  private int regionsZ = 0;
+
+  /** Columns modified since the last call to {@link #compact()}. */
+  private final List<ChunkColumn> modified = new ArrayList<>();
+
+  private static class ChunkColumn {
+    final int x, z;
+
+    /** Section Y coordinate of the first section. */
+    int minSection = 0;
+
+    /** Sections of {@link #LAYER_SIZE} (a single layer) or {@link #SECTION_SIZE} values. */
+    int[][] sections = new int[0][];
+
+    boolean modified = false;
+
+    ChunkColumn(int x, int z) {
+      this.x = x;
+      this.z = z;
+    }
+
+    int[] get(int sectionY) {
+      int index = sectionY - minSection;
+      return index >= 0 && index < sections.length ? sections[index] : null;
+    }
+
+    void put(int sectionY, int[] section) {
+      if (sections.length == 0) {
+        minSection = sectionY;
+      } else if (sectionY < minSection) {
+        int[][] grown = new int[sections.length + minSection - sectionY][];
+        System.arraycopy(sections, 0, grown, minSection - sectionY, sections.length);
+        sections = grown;
+        minSection = sectionY;
+      }
+      if (sectionY - minSection >= sections.length) {
+        sections = Arrays.copyOf(sections, sectionY - minSection + 1);
+      }
+      sections[sectionY - minSection] = section;
+    }
+  }
+
+  public PackedBiomeStructure(boolean is3d) {
+    this.is3d = is3d;
+  }
+
+  private ChunkColumn getColumn(int x, int z) {
+    int rx = (x >> 9) - regionMinX;
+    int rz = (z >> 9) - regionMinZ;
+    if (rx < 0 || rz < 0 || rx >= regionsX || rz >= regionsZ) {
+      return null;
+    }
+    ChunkColumn[] region = regions[rx * regionsZ + rz];
+    if (region == null) {
+      return null;
+    }
+    return region[((x >> 4) & 31) * 32 + ((z >> 4) & 31)];
+  }
+
+  private ChunkColumn getOrCreateColumn(int x, int z) {
+    int regionX = x >> 9;
+    int regionZ = z >> 9;
+    if (regionsX == 0) {
+      regionMinX = regionX;
+      regionMinZ = regionZ;
+      regionsX = 1;
+      regionsZ = 1;
+      regions = new ChunkColumn[1][];
+    } else if (regionX < regionMinX || regionZ < regionMinZ
+        || regionX >= regionMinX + regionsX || regionZ >= regionMinZ + regionsZ) {
+      int minX = Math.min(regionMinX, regionX);
+      int minZ = Math.min(regionMinZ, regionZ);
+      int sizeX = Math.max(regionMinX + regionsX, regionX + 1) - minX;
+      int sizeZ = Math.max(regionMinZ + regionsZ, regionZ + 1) - minZ;
+      ChunkColumn[][] grown = new ChunkColumn[sizeX * sizeZ][];
+      for (int i = 0; i < regionsX; ++i) {
+        for (int j = 0; j < regionsZ; ++j) {
+          grown[(i + regionMinX - minX) * sizeZ + j + regionMinZ - minZ] = regions[i * regionsZ + j];
+        }
+      }
+      regions = grown;
+      regionMinX = minX;
+      regionMinZ = minZ;
+      regionsX = sizeX;
+      regionsZ = sizeZ;
+    }
+    int regionIndex = (regionX - regionMinX) * regionsZ + regionZ - regionMinZ;
+    ChunkColumn[] region = regions[regionIndex];
+    if (region == null) {
+      region = new ChunkColumn[32 * 32];
+      regions[regionIndex] = region;
+    }
+    int columnIndex = ((x >> 4) & 31) * 32 + ((z >> 4) & 31);
+    ChunkColumn column = region[columnIndex];
+    if (column == null) {
+      column = new ChunkColumn(x >> 4, z >> 4);
+      region[columnIndex] = column;
+    }
+    return column;
+  }
+
+  @Override
+  public void set(int x, int y, int z, float[] data) {
+    ChunkColumn column = getOrCreateColumn(x, z);
+    int sectionY = is3d ? y >> 4 : 0;
+    int[] section = column.get(sectionY);
+    if (section == null) {
+      section = new int[is3d ? SECTION_SIZE : LAYER_SIZE];
+      Arrays.fill(section, ABSENT);
+      column.put(sectionY, section);
+    } else if (is3d && section.length == LAYER_SIZE) {
+      // Expand a compacted section.
+      int[] expanded = new int[SECTION_SIZE];
+      for (int i = 0; i < 16; ++i) {
+        System.arraycopy(section, 0, expanded, i * LAYER_SIZE, LAYER_SIZE);
+      }
+      section = expanded;
+      column.put(sectionY, section);
+    }
+    int index = (x & 15) * 16 + (z & 15);
+    if (is3d) {
+      index += (y & 15) * LAYER_SIZE;
+    }
+    section[index] = ColorUtil.packRgb9e5(data[0], data[1], data[2]);
+    if (!column.modified) {
+      column.modified = true;
+      modified.add(column);
+    }
+  }
+
+  @Override
+  public float[] get(int x, int y, int z) {
+    float[] color = new float[3];
+    return get(x, y, z, color) ? color : null;
+  }
+
+  @Override
+  public boolean get(int x, int y, int z, float[] out) {
+    ChunkColumn column = getColumn(x, z);
+    if (column == null) {
+      return false;
+    }
+    int[] section = column.get(is3d ? y >> 4 : 0);
+    if (section == null) {
+      return false;
+    }
+    int index = (x & 15) * 16 + (z & 15);
+    if (section.length == SECTION_SIZE) {
+      index += (y & 15) * LAYER_SIZE;
+    }
+    int packed = section[index];
+    if (packed == ABSENT) {
+      return false;
+    }
+    ColorUtil.unpackRgb9e5(packed, out);
+    return true;
+  }
+
+  /**
+   * Store the sections that have equal layers as a single layer.
+   */
+  @Override
+  public void compact() {
+    for (ChunkColumn column : modified) {
+      column.modified = false;
+      if (!is3d) {
+        continue;
+      }
+      for (int i = 0; i < column.sections.length; ++i) {
+        int[] section = column.sections[i];
+        if (section != null && section.length == SECTION_SIZE && hasEqualLayers(section)) {
+          column.sections[i] = Arrays.copyOf(section, LAYER_SIZE);
+        }
+      }
+    }
+    modified.clear();
+  }
+
+  private static boolean hasEqualLayers(int[] section) {
+    for (int i = LAYER_SIZE; i < SECTION_SIZE; ++i) {
+      if (section[i] != section[i % LAYER_SIZE]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void endFinalization() {
+    compact();
+  }
+
+  @Override
+  public String biomeFormat() {
+    return is3d ? ID_3D : ID_2D;
+  }
+
+  @Override
+  public void store(DataOutputStream out) throws IOException {
+    List<ChunkColumn> columns = new ArrayList<>();
+    for (ChunkColumn[] region : regions) {
+      if (region != null) {
+        for (ChunkColumn column : region) {
+          if (column != null) {
+            columns.add(column);
+          }
+        }
+      }
+    }
+    out.writeInt(columns.size());
+    for (ChunkColumn column : columns) {
+      out.writeInt(column.x);
+      out.writeInt(column.z);
+      out.writeInt(column.minSection);
+      out.writeInt(column.sections.length);
+      for (int[] section : column.sections) {
+        if (section == null) {
+          out.writeInt(0);
+        } else {
+          out.writeInt(section.length);
+          for (int value : section) {
+            out.writeInt(value);
+          }
+        }
+      }
+    }
+  }
+
+  public static PackedBiomeStructure load(DataInputStream in, boolean is3d) throws IOException {
+    PackedBiomeStructure structure = new PackedBiomeStructure(is3d);
+    int numColumns = in.readInt();
+    for (int i = 0; i < numColumns; ++i) {
+      int x = in.readInt();
+      int z = in.readInt();
+      ChunkColumn column = structure.getOrCreateColumn(x * 16, z * 16);
+      int minSection = in.readInt();
+      int numSections = in.readInt();
+      for (int j = 0; j < numSections; ++j) {
+        int length = in.readInt();
+        if (length != 0) {
+          if (length != LAYER_SIZE && (!is3d || length != SECTION_SIZE)) {
+            throw new IOException("Invalid biome section size: " + length);
+          }
+          int[] section = new int[length];
+          for (int k = 0; k < length; ++k) {
+            section[k] = in.readInt();
+          }
+          column.put(minSection + j, section);
+        }
+      }
+    }
+    return structure;
+  }
+
+  public static class Factory implements BiomeStructure.Factory {
+    private final boolean is3d;
+
+    public Factory(boolean is3d) {
+      this.is3d = is3d;
+    }
+
+    @Override
+    public BiomeStructure create() {
+      return new PackedBiomeStructure(is3d);
+    }
+
+    @Override
+    public BiomeStructure load(@NotNull DataInputStream in) throws IOException {
+      return PackedBiomeStructure.load(in, is3d);
+    }
+
+    @Override
+    public boolean is3d() {
+      return is3d;
+    }
+
+    @Override
+    public String getName() {
+      return is3d ? "Packed 3d" : "Packed 2d";
+    }
+
+    @Override
+    public String getDescription() {
+      return is3d
+        ? "A 3d biome format that stores packed floating point colors in region tiles. Fast lookups, higher memory usage."
+        : "A 2d biome format that stores packed floating point colors in region tiles. Fast lookups, higher memory usage.";
+    }
+
+    @Override
+    public String getId() {
+      return is3d ? ID_3D : ID_2D;
+    }
+  }
+}
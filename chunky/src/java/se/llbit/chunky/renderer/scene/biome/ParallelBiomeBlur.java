@@ -0,0 +1,177 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.scene.biome;
+
+import se.llbit.chunky.main.Chunky;
+import se.llbit.chunky.world.ChunkPosition;
+import se.llbit.chunky.world.biome.BiomePalette;
+import se.llbit.math.structures.Position2IntStructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the biome blur of a sequence of chunks in parallel, one group of chunks at a time.
+ *
+ * <p>Chunks that do not use biome colors are skipped. The blurred colors of the other chunks
+ * must be requested in the given order with {@link #next}. Writing them to the biome structures
+ * is left to the caller, since the biome structures are not thread safe.</p>
+ */
+public class ParallelBiomeBlur {
+  private final List<ChunkPosition> chunks;
+  private final int blurRadius;
+  private final boolean use3dBiomes;
+  private final Map<ChunkPosition, ChunkBiomeBlendingHelper> biomeBlendingHelper;
+  private final Position2IntStructure biomeIdx;
+  private final BiomePalette biomePalette;
+  private final Set<ChunkPosition> nonEmptyChunks;
+  private final int groupSize;
+
+  private List<BiomeBlendingUtility.BlurredColors>[] group = null;
+  private int groupStart = 0;
+  private int next = 0;
+
+  /**
+   * @param chunks              The chunks to blur, in the order they are requested
+   * @param blurRadius          Radius of the blur window
+   * @param use3dBiomes         Whether to blur vertical biome transitions
+   * @param biomeBlendingHelper Vertical biome transition info for each chunk
+   * @param biomeIdx            Lookup structure for biome IDs per block
+   * @param biomePalette        Biome ID to biome definition mapping
+   * @param nonEmptyChunks      Set of chunks known to contain valid data
+   */
+  public ParallelBiomeBlur(List<ChunkPosition> chunks, int blurRadius, boolean use3dBiomes,
+      Map<ChunkPosition, ChunkBiomeBlendingHelper> biomeBlendingHelper,
+      Position2IntStructure biomeIdx, BiomePalette biomePalette, Set<ChunkPosition> nonEmptyChunks) {
+    this.chunks = new ArrayList<>();
+    for (ChunkPosition cp : chunks) {
+      if (biomeBlendingHelper.get(cp).isBiomeUsed()) {
+        this.chunks.add(cp);
+      }
+    }
+    this.blurRadius = blurRadius;
+    this.use3dBiomes = use3dBiomes;
+    this.biomeBlendingHelper = biomeBlendingHelper;
+    this.biomeIdx = biomeIdx;
+    this.biomePalette = biomePalette;
+    this.nonEmptyChunks = nonEmptyChunks;
+    groupSize = Chunky.getCommonThreads().getParallelism() * 4;
+  }
+
+  /**
+   * @param cp The next chunk that uses biome colors
+   * @return the blurred colors of the chunk
+   */
+  @SuppressWarnings("unchecked")
+  public List<BiomeBlendingUtility.BlurredColors> next(ChunkPosition cp) {
+    if (next >= chunks.size() || !chunks.get(next).equals(cp)) {
+      throw new IllegalStateException("Chunk " + cp + " requested out of order");
+    }
+    if (group == null || next >= groupStart + group.length) {
+      groupStart = next;
+      int end = Math.min(chunks.size(), groupStart + groupSize);
+      List<BiomeBlendingUtility.BlurredColors>[] blurred = new List[end - groupStart];
+      Chunky.getCommonThreads()
+        .submit(() -> IntStream.range(0, blurred.length).parallel()
+          .forEach(i -> blurred[i] = blurChunk(chunks.get(groupStart + i))))
+        .join();
+      group = blurred;
+    }
+    List<BiomeBlendingUtility.BlurredColors> colors = group[next - groupStart];
+    group[next - groupStart] = null;
+    next += 1;
+    return colors;
+  }
+
+  private List<BiomeBlendingUtility.BlurredColors> blurChunk(ChunkPosition cp) {
+    ChunkBiomeBlendingHelper chunkBiomeHelper = biomeBlendingHelper.get(cp);
+    List<BiomeBlendingUtility.BlurredColors> result = new ArrayList<>();
+    if (use3dBiomes) {
+      ChunkBiomeBlendingHelper[] neighboringChunks = new ChunkBiomeBlendingHelper[]{
+        biomeBlendingHelper.get(new ChunkPosition(cp.x - 1, cp.z - 1)),
+        biomeBlendingHelper.get(new ChunkPosition(cp.x - 1, cp.z)),
+        biomeBlendingHelper.get(new ChunkPosition(cp.x - 1, cp.z + 1)),
+        biomeBlendingHelper.get(new ChunkPosition(cp.x, cp.z - 1)),
+        biomeBlendingHelper.get(new ChunkPosition(cp.x, cp.z + 1)),
+        biomeBlendingHelper.get(new ChunkPosition(cp.x + 1, cp.z - 1)),
+        biomeBlendingHelper.get(new ChunkPosition(cp.x + 1, cp.z)),
+        biomeBlendingHelper.get(new ChunkPosition(cp.x + 1, cp.z + 1))
+      };
+
+      int[] combinedBiomeTransitions = chunkBiomeHelper.combineAndTrimTransitions(neighboringChunks, blurRadius);
+
+      // When doing 3D blur we use the list of (vertical) biome transition
+      // in the chunk or in neighboring ones
+      // If there is no transition, a 2D blur is enough, otherwise we only
+      // need to compute the colors around the transitions
+
+      // For example, if loading from y=0 to y=200 with a biome transition at y=20
+      // and another one at y=50 and with a blur radius of 2 (5*5*5 box)
+      // We can compute a 2D blur at y=0 and use those color for up to y=17
+      // For y in [18, 21] we need to compute the real 3D blur (because of the biome transition
+      // at y=20 and the blur radius of 2)
+      // Then we can compute the 2D blur at y=22 and use those colors for up to y=47
+      // And so on, 3D blur for y in [48, 51] and 2D blur for y in [52,200]
+
+      // As such, in spirit every transition make us compute an additional 16*16*(2*blurRadius) 3D blur
+      // and a 16*16 2D blur (that can be combined in a 16*16*(2*blurRadius+1) 3D blur)
+      // (ignoring cases where transition are close to one another which are handled by the code)
+
+      // Note that having a single (x, y) column that effectively has a biome transition
+      // in the chunk are a neighboring chunk causes us to compute the 3D blur for the whole 16*16
+      // vertical slice of the chunk. Because vertical biome transition are pretty rare,
+      // that's probably ok.
+      int nextY = chunkBiomeHelper.getyMinBiomeRelevant();
+
+      for (int i = 0; i < combinedBiomeTransitions.length; ++i) {
+        int transition = combinedBiomeTransitions[i];
+        if (nextY < transition - blurRadius) {
+          // Do a 2d blur to fill up to the height affected by the transition
+          result.add(BiomeBlendingUtility.blur2D(cp, blurRadius, nextY, transition - blurRadius,
+            biomeIdx, biomePalette, nonEmptyChunks));
+          nextY = transition - blurRadius;
+        }
+
+        // Do a 3D blur to fill the next 2*blurRadius layers
+        // or more if the next transition is close by, in which case
+        // both transition (or even more) are handled by a bigger 3D blur
+        int maxYWorkedOn = transition + blurRadius;
+        while (i < combinedBiomeTransitions.length - 1 && maxYWorkedOn >= combinedBiomeTransitions[i + 1] - blurRadius) {
+          // Extends the 3D blur to enclose the next transition as well
+          maxYWorkedOn = combinedBiomeTransitions[i + 1] + blurRadius;
+          ++i;
+        }
+        int maxYWorkedOnClamped = Math.min(maxYWorkedOn, chunkBiomeHelper.getyMaxBiomeRelevant());
+        result.add(BiomeBlendingUtility.blur3D(cp, blurRadius, nextY, maxYWorkedOnClamped + 1,
+          biomeIdx, biomePalette, nonEmptyChunks));
+        nextY = maxYWorkedOnClamped + 1;
+      }
+
+      // Last 2D blur that extent up to the top
+      if (nextY <= chunkBiomeHelper.getyMaxBiomeRelevant()) {
+        result.add(BiomeBlendingUtility.blur2D(cp, blurRadius, nextY, chunkBiomeHelper.getyMaxBiomeRelevant() + 1,
+          biomeIdx, biomePalette, nonEmptyChunks));
+      }
+    } else {
+      result.add(BiomeBlendingUtility.blur2D(cp, blurRadius, 0, 1, biomeIdx, biomePalette, nonEmptyChunks));
+    }
+    return result;
+  }
+}
@@ -20,6 +20,7 @@ package se.llbit.chunky.renderer.scene.sky;
 import org.apache.commons.math3.util.FastMath;
 import se.llbit.chunky.block.minecraft.Air;
 import se.llbit.chunky.renderer.SceneIOProvider;
+import se.llbit.chunky.renderer.metrics.RenderMetrics;
 import se.llbit.chunky.renderer.scene.Scene;
 import se.llbit.chunky.resources.HDRTexture;
 import se.llbit.chunky.resources.PFMTexture;
@@ -260,6 +261,7 @@ public class Sky implements JsonSerializable {
    * Calculate sky color for the ray, based on sky mode.
    */
   public void getSkyDiffuseColorInner(Ray ray) {
+    RenderMetrics.count(RenderMetrics.Counter.SKY_LOOKUPS);
     switch (mode) {
       case SOLID_COLOR: {
         ray.color.set(color.x, color.y, color.z, 1);
@@ -378,6 +380,7 @@ public class Sky implements JsonSerializable {
   public void getSkyColorInterpolated(Ray ray) {
     switch (mode) {
       case SKYMAP_EQUIRECTANGULAR: {
+        RenderMetrics.count(RenderMetrics.Counter.SKY_LOOKUPS);
         double x = rotation.transformX(ray.d);
         double y = rotation.transformY(ray.d);
         double z = rotation.transformZ(ray.d);
@@ -397,6 +400,7 @@ public class Sky implements JsonSerializable {
         break;
       }
       case SKYMAP_ANGULAR: {
+        RenderMetrics.count(RenderMetrics.Counter.SKY_LOOKUPS);
         double x = rotation.transformX(ray.d);
         double y = rotation.transformY(ray.d);
         double z = rotation.transformZ(ray.d);
@@ -408,6 +412,7 @@ public class Sky implements JsonSerializable {
         break;
       }
       case SKYBOX: {
+        RenderMetrics.count(RenderMetrics.Counter.SKY_LOOKUPS);
         double x = rotation.transformX(ray.d);
         double y = rotation.transformY(ray.d);
         double z = rotation.transformZ(ray.d);
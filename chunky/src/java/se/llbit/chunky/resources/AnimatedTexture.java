@@ -51,6 +51,21 @@ public class AnimatedTexture extends Texture {
         (int) ((1 - v) * frameHeight - Ray.EPSILON + i * frameHeight));
   }
 
+  @Override
+  public boolean isOpaqueAt(double u, double v) {
+    return isOpaqueAt(u, v, 0);
+  }
+
+  /**
+   * Test if the color for an animation frame has non-zero alpha. The alpha mask covers all
+   * frames, so this does not look up the color.
+   */
+  public boolean isOpaqueAt(double u, double v, int frame) {
+    int i = Math.floorMod(frame, numFrames);
+    return isOpaqueAt((int) (u * width - Ray.EPSILON),
+        (int) ((1 - v) * frameHeight - Ray.EPSILON + i * frameHeight));
+  }
+
   @Override public void setTexture(BitmapImage newImage) {
     super.setTexture(newImage);
     updateNumFrames();
@@ -1,6 +1,7 @@
 package se.llbit.chunky.resources;
 
 import se.llbit.math.ColorUtil;
+import se.llbit.math.Ray;
 
 public class ChiseledBookshelfTexture extends Texture {
   // The texture when no books are present
@@ -53,6 +54,16 @@ public class ChiseledBookshelfTexture extends Texture {
     return overlaidData;
   }
   @Override
+  public boolean isOpaque() {
+    return empty.isOpaque() && full.isOpaque();
+  }
+  @Override
+  public boolean isOpaqueAt(int x, int y) {
+    if(useAverageColor)
+      return empty.getAvgColorFlat()[3] > Ray.EPSILON;
+    return bookPresentAt(x, y) ? full.isOpaqueAt(x, y) : empty.isOpaqueAt(x, y);
+  }
+  @Override
   public float[] getColor(int x, int y) {
     if(useAverageColor)
       return empty.getAvgColorFlat();
@@ -0,0 +1,288 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.resources;
+
+import se.llbit.chunky.PersistentSettings;
+import se.llbit.chunky.main.Chunky;
+import se.llbit.log.Log;
+import se.llbit.resources.ImageLoader;
+import se.llbit.util.Util;
+import se.llbit.util.io.BlockDeflaterOutputStream;
+import se.llbit.util.io.BlockInflaterInputStream;
+import se.llbit.util.io.DiskCacheLimit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Disk cache for the decoded images of a resource pack file, so that the images do not have
+ * to be decoded again the next time the resource pack is loaded.
+ *
+ * <p>There is one cache file per resource pack file, named by a hash of its path. The cache
+ * file is only used if the path, size, modification time and CRC of the resource pack file
+ * are the same as when the cache was written. Resource packs in directories are not cached.
+ * The least recently used cache files are deleted when the cache grows beyond
+ * {@link PersistentSettings#getDecodedTextureCacheSize()}.
+ */
+public class DecodedTextureCache {
+  private static final int MAGIC = 0x43445443; // "CDTC"
+  private static final int VERSION = 2;
+
+  private static final DiskCacheLimit LIMIT = new DiskCacheLimit(
+      new File(PersistentSettings.cacheDirectory(), "textures"),
+      () -> PersistentSettings.getDecodedTextureCacheSize() * (1L << 20));
+
+  /** Largest image dimension accepted when reading a cache file. */
+  private static final int MAX_IMAGE_SIZE = 1 << 14;
+
+  private final File file;
+  private final String packPath;
+  private final long packLength;
+  private final long packTime;
+  private final long packCrc;
+  private final Map<String, BitmapImage> images = new ConcurrentHashMap<>();
+  private volatile boolean modified = false;
+  private volatile boolean released = false;
+
+  private DecodedTextureCache(File file, String packPath, long packLength, long packTime,
+      long packCrc) {
+    this.file = file;
+    this.packPath = packPath;
+    this.packLength = packLength;
+    this.packTime = packTime;
+    this.packCrc = packCrc;
+  }
+
+  /**
+   * @return the cache file for the given resource pack
+   */
+  public static File cacheFile(File pack) {
+    String key = Util.cacheEncode(pack.getAbsolutePath().hashCode());
+    return new File(new File(PersistentSettings.cacheDirectory(), "textures"), key + ".images");
+  }
+
+  /**
+   * Open the cache for a resource pack file and read the images cached for it.
+   *
+   * @return the cache, or {@code null} if the resource pack is not cached
+   */
+  public static DecodedTextureCache open(File pack) {
+    if (!PersistentSettings.getCacheDecodedTextures()) {
+      return null;
+    }
+    return open(pack, cacheFile(pack));
+  }
+
+  /**
+   * Open a cache stored in the given cache file.
+   *
+   * @return the cache, or {@code null} if the resource pack is not cached
+   */
+  static DecodedTextureCache open(File pack, File cacheFile) {
+    if (!pack.isFile()) {
+      return null;
+    }
+    long length = pack.length();
+    long time = pack.lastModified();
+    long crc;
+    try {
+      crc = checksum(pack);
+    } catch (IOException e) {
+      return null;
+    }
+    DecodedTextureCache cache =
+        new DecodedTextureCache(cacheFile, pack.getAbsolutePath(), length, time, crc);
+    if (cache.file.isFile()) {
+      try {
+        cache.read();
+        if (!cache.images.isEmpty()) {
+          DiskCacheLimit.used(cache.file);
+        }
+      } catch (IOException e) {
+        Log.infof("Ignoring corrupt texture cache file %s: %s", cache.file.getName(),
+            e.getMessage());
+        cache.images.clear();
+      }
+    }
+    return cache;
+  }
+
+  private static long checksum(File pack) throws IOException {
+    CRC32 crc = new CRC32();
+    byte[] buffer = new byte[1 << 16];
+    try (InputStream in = new FileInputStream(pack)) {
+      int n;
+      while ((n = in.read(buffer)) > 0) {
+        crc.update(buffer, 0, n);
+      }
+    }
+    return crc.getValue();
+  }
+
+  /**
+   * @return a copy of the cached image, or {@code null} if the image is not cached
+   */
+  public BitmapImage get(String path) {
+    BitmapImage image = released ? null : images.get(path);
+    return image == null ? null : new BitmapImage(image);
+  }
+
+  /**
+   * Add a decoded image to the cache.
+   */
+  public void put(String path, BitmapImage image) {
+    if (!released) {
+      images.put(path, new BitmapImage(image));
+      modified = true;
+    }
+  }
+
+  /**
+   * @return the number of cached images
+   */
+  public int size() {
+    return images.size();
+  }
+
+  /**
+   * Wrap the input stream of an image in the resource pack, so that {@link ImageLoader}
+   * uses and updates this cache when reading it.
+   */
+  public InputStream wrap(String path, InputStream in) {
+    return new CachedImageStream(in, path);
+  }
+
+  private class CachedImageStream extends FilterInputStream
+      implements ImageLoader.DecodedImageSource {
+    private final String path;
+
+    CachedImageStream(InputStream in, String path) {
+      super(in);
+      this.path = path;
+    }
+
+    @Override public BitmapImage getDecodedImage() {
+      return get(path);
+    }
+
+    @Override public void imageDecoded(BitmapImage image) {
+      put(path, image);
+    }
+  }
+
+  /**
+   * Write the cache file if images were added, and drop the cached images from memory.
+   * Images are neither cached nor looked up after this.
+   */
+  public void saveAndRelease() {
+    released = true;
+    if (modified) {
+      modified = false;
+      File directory = file.getParentFile();
+      if (directory.isDirectory() || directory.mkdirs()) {
+        try {
+          // Write to a temporary file first, so that readers never see a partially written file.
+          File tmp = File.createTempFile(file.getName(), ".tmp", directory);
+          try {
+            write(tmp);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+          } finally {
+            Files.deleteIfExists(tmp.toPath());
+          }
+          LIMIT.written(file);
+        } catch (IOException e) {
+          Log.infof("Failed to write texture cache file %s: %s", file.getName(), e.getMessage());
+        }
+      }
+    }
+    images.clear();
+  }
+
+  /**
+   * Write the cached images to a file. The pixel data is compressed in blocks, in parallel.
+   */
+  void write(File target) throws IOException {
+    try (DataOutputStream out = new DataOutputStream(new BlockDeflaterOutputStream(
+        new BufferedOutputStream(new FileOutputStream(target)), Chunky.getCommonThreads()))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeUTF(packPath);
+      out.writeLong(packLength);
+      out.writeLong(packTime);
+      out.writeLong(packCrc);
+      out.writeInt(images.size());
+      for (Map.Entry<String, BitmapImage> entry : images.entrySet()) {
+        BitmapImage image = entry.getValue();
+        out.writeUTF(entry.getKey());
+        out.writeInt(image.width);
+        out.writeInt(image.height);
+        byte[] pixels = new byte[image.width * image.height * 4];
+        ByteBuffer.wrap(pixels).asIntBuffer().put(image.data, 0, image.width * image.height);
+        out.write(pixels);
+      }
+    }
+  }
+
+  /**
+   * Read cached images from the cache file. Nothing is read if the cache file was written
+   * for a different resource pack file or a different version of it.
+   */
+  void read() throws IOException {
+    try (DataInputStream in = new DataInputStream(new BlockInflaterInputStream(
+        new BufferedInputStream(new FileInputStream(file)), Chunky.getCommonThreads()))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a texture cache file");
+      }
+      if (in.readInt() != VERSION || !in.readUTF().equals(packPath)
+          || in.readLong() != packLength || in.readLong() != packTime
+          || in.readLong() != packCrc) {
+        return;
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; ++i) {
+        String path = in.readUTF();
+        int width = in.readInt();
+        int height = in.readInt();
+        if (width <= 0 || height <= 0 || width > MAX_IMAGE_SIZE || height > MAX_IMAGE_SIZE) {
+          throw new IOException("Invalid image size: " + width + "x" + height);
+        }
+        BitmapImage image = new BitmapImage(width, height);
+        byte[] pixels = new byte[width * height * 4];
+        in.readFully(pixels);
+        IntBuffer ints = ByteBuffer.wrap(pixels).asIntBuffer();
+        ints.get(image.data, 0, width * height);
+        images.put(path, image);
+      }
+    }
+  }
+}
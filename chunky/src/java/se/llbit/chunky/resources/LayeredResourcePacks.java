@@ -62,6 +62,16 @@ public class LayeredResourcePacks implements Closeable {
     return entries;
   }
 
+  /**
+   * Write the decoded texture caches of the resource packs and drop the cached images from
+   * memory.
+   */
+  public void saveTextureCaches() {
+    for (ResourcePack resourcePack : resourcePacks) {
+      resourcePack.saveTextureCache();
+    }
+  }
+
   @Override
   public void close() throws IOException {
     for (ResourcePack resourcePack : resourcePacks) {
@@ -73,6 +83,8 @@ public class LayeredResourcePacks implements Closeable {
     public File file;
     private FileSystem fileSystem;
     private Path rootPath;
+    private DecodedTextureCache textureCache;
+    private boolean textureCacheOpened = false;
 
     private ResourcePack(File resourcePackFile) {
       this.file = resourcePackFile;
@@ -82,14 +94,14 @@ public class LayeredResourcePacks implements Closeable {
       return file;
     }
 
-    private FileSystem getFileSystem() throws IOException {
+    private synchronized FileSystem getFileSystem() throws IOException {
       if (fileSystem != null && fileSystem.isOpen()) {
         return fileSystem;
       }
       return fileSystem = ResourcePackLoader.getPackFileSystem(file);
     }
 
-    public Path getRootPath() throws IOException {
+    public synchronized Path getRootPath() throws IOException {
       if (rootPath == null) {
         Path rootPath = ResourcePackLoader.getPackRootPath(file, getFileSystem());
         String baseName = file.getName();
@@ -107,6 +119,24 @@ public class LayeredResourcePacks implements Closeable {
       return rootPath;
     }
 
+    /**
+     * @return the decoded texture cache of this resource pack, or {@code null} if the
+     * resource pack is not cached
+     */
+    public synchronized DecodedTextureCache getTextureCache() {
+      if (!textureCacheOpened) {
+        textureCacheOpened = true;
+        textureCache = DecodedTextureCache.open(file);
+      }
+      return textureCache;
+    }
+
+    private synchronized void saveTextureCache() {
+      if (textureCache != null) {
+        textureCache.saveAndRelease();
+      }
+    }
+
     @Override
     public void close() throws IOException {
       if (fileSystem == null) {
@@ -137,8 +167,18 @@ public class LayeredResourcePacks implements Closeable {
       return path;
     }
 
+    /**
+     * Open the entry. Images are read through the decoded texture cache of the pack.
+     */
     public InputStream getInputStream() throws IOException {
-      return Files.newInputStream(path);
+      InputStream in = Files.newInputStream(path);
+      if (path.toString().endsWith(".png")) {
+        DecodedTextureCache cache = pack.getTextureCache();
+        if (cache != null) {
+          return cache.wrap(path.toString(), in);
+        }
+      }
+      return in;
     }
   }
 }
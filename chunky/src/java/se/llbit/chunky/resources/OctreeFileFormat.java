@@ -28,14 +28,24 @@ import se.llbit.chunky.block.Block;
 import se.llbit.chunky.block.minecraft.Lava;
 import se.llbit.chunky.block.minecraft.Water;
 import se.llbit.chunky.chunk.BlockPalette;
+import se.llbit.chunky.main.Chunky;
 import se.llbit.log.Log;
 import se.llbit.math.Octree;
+import se.llbit.util.io.BlockDeflaterOutputStream;
+import se.llbit.util.io.BlockInflaterInputStream;
 import se.llbit.chunky.renderer.scene.biome.BiomeStructure;
 
 public class OctreeFileFormat {
 
   private static final int MIN_OCTREE_VERSION = 3;
-  private static final int OCTREE_VERSION = 8;
+  private static final int OCTREE_VERSION = 9;
+
+  /**
+   * From octree v9 on, everything after the version number is written in independently
+   * compressed blocks (see {@link BlockDeflaterOutputStream}) and the file is not
+   * compressed as a whole.
+   */
+  private static final int MIN_BLOCK_COMPRESSED_VERSION = 9;
 
   /**
    * In octree v3-v4, the top bit of the type field in a serialized octree node is reserved for
@@ -46,25 +56,51 @@ public class OctreeFileFormat {
   /**
    * Load octrees and grass/foliage textures from a file.
    *
-   * @param in   input stream for the file to load the scene from.
+   * @param in   input stream for the file to load the scene from. Files before version 9 are
+   *             GZip-compressed as a whole and must be decompressed by the caller.
    * @param octreeImpl The octree implementation to use
    * @param legacyBiomeImpl The biome structure implementation to use to load any legacy WorldTextures
    * @param stepConsumer A consumer that will be called with a string describing the current loading step
    */
   public static OctreeData load(DataInputStream in, String octreeImpl, String legacyBiomeImpl, Consumer<String> stepConsumer) throws IOException {
+    return load(in, octreeImpl, legacyBiomeImpl, stepConsumer, true);
+  }
+
+  /**
+   * Load octrees and grass/foliage textures from a file.
+   *
+   * @param loadOctrees If {@code false}, the octrees are skipped and left {@code null} in
+   *                    the result. Only octrees in version 9 and later can be skipped.
+   * @see #load(DataInputStream, String, String, Consumer)
+   */
+  public static OctreeData load(DataInputStream in, String octreeImpl, String legacyBiomeImpl,
+      Consumer<String> stepConsumer, boolean loadOctrees) throws IOException {
     int version = in.readInt();
     if (version < MIN_OCTREE_VERSION || version > OCTREE_VERSION) {
       throw new IOException(String.format(
           "Incompatible octree format: wrong version number (expected %d up to %d, was %d).",
           MIN_OCTREE_VERSION, OCTREE_VERSION, version));
     }
+    if (version >= MIN_BLOCK_COMPRESSED_VERSION) {
+      in = new DataInputStream(new BlockInflaterInputStream(in, Chunky.getCommonThreads()));
+    }
     OctreeData data = new OctreeData();
     stepConsumer.accept("block palette");
     data.palette = BlockPalette.read(in);
-    stepConsumer.accept("world octree");
-    data.worldTree = Octree.load(octreeImpl, version < 5 ? convertDataNodes(data.palette, in) : in);
-    stepConsumer.accept("water octree");
-    data.waterTree = Octree.load(octreeImpl, version < 5 ? convertDataNodes(data.palette, in) : in);
+    if (version >= MIN_BLOCK_COMPRESSED_VERSION && !loadOctrees) {
+      Octree.skipBulk(in);
+      Octree.skipBulk(in);
+    } else if (version >= MIN_BLOCK_COMPRESSED_VERSION) {
+      stepConsumer.accept("world octree");
+      data.worldTree = Octree.loadBulk(octreeImpl, in);
+      stepConsumer.accept("water octree");
+      data.waterTree = Octree.loadBulk(octreeImpl, in);
+    } else {
+      stepConsumer.accept("world octree");
+      data.worldTree = Octree.load(octreeImpl, version < 5 ? convertDataNodes(data.palette, in) : in);
+      stepConsumer.accept("water octree");
+      data.waterTree = Octree.load(octreeImpl, version < 5 ? convertDataNodes(data.palette, in) : in);
+    }
 
     if(version >= 7) {
       stepConsumer.accept("grass tints");
@@ -175,6 +211,7 @@ public class OctreeFileFormat {
 
   /**
    * Save octrees and grass/foliage/water textures to a file.
+   * The data is compressed in blocks, so the output stream should not be compressed.
    */
   public static void store(DataOutputStream out, Octree octree,
                            Octree waterTree, BlockPalette palette,
@@ -184,9 +221,11 @@ public class OctreeFileFormat {
                            BiomeStructure waterColors)
       throws IOException {
     out.writeInt(OCTREE_VERSION);
+    BlockDeflaterOutputStream blocks = new BlockDeflaterOutputStream(out, Chunky.getCommonThreads());
+    out = new DataOutputStream(blocks);
     palette.write(out);
-    octree.store(out);
-    waterTree.store(out);
+    octree.storeBulk(out);
+    waterTree.storeBulk(out);
     if (grassColors != null) {
       out.writeUTF(grassColors.biomeFormat());
       grassColors.store(out);
@@ -211,6 +250,8 @@ public class OctreeFileFormat {
     } else {
       out.writeUTF("NONE");
     }
+    out.flush();
+    blocks.finish();
   }
 
   public static class OctreeData {
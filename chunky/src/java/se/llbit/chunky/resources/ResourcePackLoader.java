@@ -207,6 +207,7 @@ public class ResourcePackLoader {
         complete = false;
       }
     }
+    resourcePacks.saveTextureCaches();
     return complete;
   }
 
@@ -17,12 +17,14 @@
  */
 package se.llbit.chunky.resources;
 
+import se.llbit.chunky.main.Chunky;
 import se.llbit.chunky.resources.texturepack.TextureLoader;
 import se.llbit.resources.ImageLoader;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.stream.Collectors;
 
 public class ResourcePackTextureLoader implements ResourcePackLoader.PackLoader {
   private final HashMap<String, TextureLoader> texturesToLoad;
@@ -49,14 +51,14 @@ public class ResourcePackTextureLoader implements ResourcePackLoader.PackLoader
       return true;
     }
 
-    // Keep track of which textures have been loaded and may be removed
-    ArrayList<String> toRemove = new ArrayList<>();
-
-    for (Map.Entry<String, TextureLoader> texture : texturesToLoad.entrySet()) {
-      if (texture.getValue().load(resourcePacks)) {
-        toRemove.add(texture.getKey());
-      }
-    }
+    // Keep track of which textures have been loaded and may be removed.
+    // The loaders of different textures are independent, so they are run in parallel.
+    ArrayList<String> toRemove = new ArrayList<>(Chunky.getCommonThreads().submit(() ->
+        texturesToLoad.entrySet().parallelStream()
+            .filter(texture -> texture.getValue().load(resourcePacks))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList())
+    ).join());
     loadTerrainTextures(resourcePacks, toRemove);
 
     // Remove all textures which have been loaded
@@ -148,6 +148,16 @@ public class SignTexture extends Texture {
     v0 = y0;
   }
 
+  @Override
+  public boolean isOpaque() {
+    return false;
+  }
+
+  @Override
+  public boolean isOpaqueAt(double u, double v) {
+    return getColor(u, v)[3] > Ray.EPSILON;
+  }
+
   @Override
   public float[] getColor(double u, double v) {
     if (textColor != null) {
@@ -19,6 +19,7 @@ package se.llbit.chunky.resources;
 import javafx.scene.image.Image;
 import org.apache.commons.math3.util.FastMath;
 import se.llbit.chunky.PersistentSettings;
+import se.llbit.chunky.renderer.metrics.RenderMetrics;
 import se.llbit.chunky.renderer.scene.Scene;
 import se.llbit.chunky.resources.texturepack.ChestTexture;
 import se.llbit.chunky.resources.texturepack.FontTexture;
@@ -1738,6 +1739,9 @@ public class Texture {
   protected int avgColor;
   private float[] avgColorLinear;
   private float[] avgColorFlat;
+  private boolean opaque;
+  /** One bit per pixel, set for pixels that are not fully transparent. */
+  private long[] alphaMask;
 
   private Image fxImage = null;
 
@@ -1767,9 +1771,16 @@ public class Texture {
     width = image.width;
     height = image.height;
     float[] pixelBuffer = new float[4];
+    long[] mask = new long[(width * height + 63) >> 6];
+    opaque = true;
     for (int y = 0; y < height; ++y) {
       for (int x = 0; x < width; ++x) {
         int index = width * y + x;
+        if ((data[index] >>> 24) != 0) {
+          mask[index >> 6] |= 1L << index;
+        } else {
+          opaque = false;
+        }
         ColorUtil.getRGBAComponentsGammaCorrected(data[index], pixelBuffer);
         avgColorLinear[0] += pixelBuffer[3] * pixelBuffer[0];
         avgColorLinear[1] += pixelBuffer[3] * pixelBuffer[1];
@@ -1778,6 +1789,8 @@ public class Texture {
       }
     }
 
+    alphaMask = mask;
+
     avgColorFlat = new float[4];
     if (avgColorLinear[3] > 0.001) {
       avgColorFlat[0] = avgColorLinear[0] / avgColorLinear[3];
@@ -1827,6 +1840,9 @@ public class Texture {
    * @return color
    */
   public float[] getColor(int x, int y) {
+    if (RenderMetrics.COUNT_TEXTURE_LOOKUPS) {
+      RenderMetrics.count(RenderMetrics.Counter.TEXTURE_LOOKUPS);
+    }
     if(useAverageColor)
       return avgColorFlat;
     float[] result = new float[4];
@@ -1834,6 +1850,29 @@ public class Texture {
     return result;
   }
 
+  /**
+   * Test if the texture color at the given texture coordinates has non-zero alpha, without
+   * looking up the color. This gives the same result as testing the alpha of
+   * {@link #getColor(double, double)}.
+   */
+  public boolean isOpaqueAt(double u, double v) {
+    return isOpaqueAt((int) (u * width - Ray.EPSILON), (int) ((1 - v) * height - Ray.EPSILON));
+  }
+
+  /**
+   * Test if the pixel at (x, y) has non-zero alpha, using the precomputed alpha mask.
+   */
+  public boolean isOpaqueAt(int x, int y) {
+    if (opaque) {
+      return true;
+    }
+    if (useAverageColor) {
+      return avgColorFlat[3] > Ray.EPSILON;
+    }
+    int index = width * y + x;
+    return (alphaMask[index >> 6] & (1L << index)) != 0;
+  }
+
   /**
    * Get bilinear interpolated color value.
    */
@@ -1908,6 +1947,14 @@ public class Texture {
     return height;
   }
 
+  /**
+   * @return {@code true} if no pixel of this texture is fully transparent, so that the alpha
+   * test for hits on this texture always passes
+   */
+  public boolean isOpaque() {
+    return opaque;
+  }
+
   /**
    * @return {@code true} if this is the dedicated empty texture
    */
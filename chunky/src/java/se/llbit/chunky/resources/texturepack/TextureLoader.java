@@ -38,6 +38,9 @@ import java.util.Optional;
  * newest location, then try the texture atlas. Sometimes textures have
  * been renamed multiple times, and we try to load from several different files.
  *
+ * <p>Loaders for different textures are run in parallel, so a loader must only
+ * modify the textures it is responsible for.
+ *
  * @author Jesper Öqvist <jesper@llbit.se>
  */
 public abstract class TextureLoader {
@@ -474,6 +474,8 @@ public class ChunkyFxController
           world.currentDimension().addChunkDeletionListener(chunkSelection);
           Optional<Vector3> playerPos = world.currentDimension().getPlayerPos();
           world.currentDimension().addChunkUpdateListener(map);
+          world.currentDimension().setRegionPinFilter(region ->
+              mapView.getMapView().isRegionVisible(region) || chunkSelection.hasSelectedChunks(region));
 
           Platform.runLater(
               () -> {
@@ -32,6 +32,8 @@ import se.llbit.chunky.renderer.RenderController;
 import se.llbit.chunky.renderer.RenderManager;
 import se.llbit.chunky.renderer.export.PictureExportFormat;
 import se.llbit.chunky.renderer.export.PictureExportFormats;
+import se.llbit.chunky.renderer.sampler.Sampler;
+import se.llbit.chunky.renderer.sampler.Samplers;
 import se.llbit.chunky.renderer.scene.AsynchronousSceneManager;
 import se.llbit.chunky.renderer.scene.Scene;
 import se.llbit.chunky.renderer.scene.biome.BiomeStructure;
@@ -65,6 +67,7 @@ public class AdvancedTab extends ScrollPane implements RenderControlsTab, Initia
   @FXML private IntegerAdjuster cpuLoad;
   @FXML private IntegerAdjuster rayDepth;
   @FXML private IntegerAdjuster branchCount;
+  @FXML private ChoiceBox<Sampler> sampler;
   @FXML private Button mergeRenderDump;
   @FXML private CheckBox shutdown;
   @FXML private CheckBox fastFog;
@@ -120,6 +123,36 @@ public class AdvancedTab extends ScrollPane implements RenderControlsTab, Initia
       PersistentSettings.setBranchCountDefault(value);
     });
 
+    StringBuilder samplerTooltipBuilder = new StringBuilder();
+    for (Sampler entry : Samplers.getSamplers()) {
+      samplerTooltipBuilder.append(entry.getName());
+      samplerTooltipBuilder.append(": ");
+      samplerTooltipBuilder.append(entry.getDescription());
+      samplerTooltipBuilder.append('\n');
+    }
+    sampler.getItems().addAll(Samplers.getSamplers());
+    sampler.setConverter(new StringConverter<Sampler>() {
+      @Override
+      public String toString(Sampler object) {
+        return object == null ? null : object.getName();
+      }
+
+      @Override
+      public Sampler fromString(String string) {
+        return Samplers.getSamplers().stream()
+            .filter(entry -> entry.getName().equals(string))
+            .findFirst()
+            .orElse(Samplers.DEFAULT);
+      }
+    });
+    sampler.getSelectionModel().selectedItemProperty()
+        .addListener((observable, oldValue, newValue) -> {
+          if (newValue != null) {
+            scene.setSampler(newValue);
+          }
+        });
+    sampler.setTooltip(new Tooltip(samplerTooltipBuilder.toString().trim()));
+
     mergeRenderDump
             .setTooltip(new Tooltip("Merge an existing render dump with the current render."));
     mergeRenderDump.setOnAction(e -> {
@@ -340,6 +373,7 @@ public class AdvancedTab extends ScrollPane implements RenderControlsTab, Initia
     cpuLoad.set(PersistentSettings.getCPULoad());
     rayDepth.set(scene.getRayDepth());
     branchCount.set(scene.getBranchCount());
+    sampler.getSelectionModel().select(scene.getSampler());
     octreeImplementation.getSelectionModel().select(scene.getOctreeImplementation());
     bvhMethod.getSelectionModel().select(scene.getBvhImplementation());
     biomeStructureImplementation.getSelectionModel().select(scene.getBiomeStructureImplementation());
@@ -29,7 +29,9 @@ import se.llbit.chunky.chunk.EmptyChunkData;
 import se.llbit.chunky.chunk.biome.BiomeDataFactory;
 import se.llbit.chunky.map.*;
 import se.llbit.chunky.world.biome.ArrayBiomePalette;
+import se.llbit.chunky.world.biome.Biome;
 import se.llbit.chunky.world.biome.BiomePalette;
+import se.llbit.chunky.world.biome.Biomes;
 import se.llbit.chunky.world.region.MCRegion;
 import se.llbit.chunky.world.region.Region;
 import se.llbit.log.Log;
@@ -189,6 +191,72 @@ public class Chunk {
     return true;
   }
 
+  /**
+   * @return {@code true} if the map layers of this chunk have been loaded
+   */
+  public boolean hasMapLayers() {
+    return surfaceTimestamp != 0;
+  }
+
+  /**
+   * Restore the surface and biome layers of this chunk from the map tile cache.
+   * @return whether the layers were restored
+   */
+  public synchronized boolean loadCached(MapTileCache.Entry entry) {
+    Biome[] biomeArray = new Biome[X_MAX * Z_MAX];
+    for (int i = 0; i < biomeArray.length; ++i) {
+      biomeArray[i] = Biomes.biomesByResourceLocation.get(entry.biomes[i]);
+      if (biomeArray[i] == null) {
+        // Unknown biome, the chunk has to be loaded from the region file.
+        return false;
+      }
+    }
+
+    Heightmap heightmap = dimension.getHeightmap();
+    for (int x = 0; x < X_MAX; ++x) {
+      for (int z = 0; z < Z_MAX; ++z) {
+        heightmap.set(entry.heights[x * 16 + z], position.x * 16 + x, position.z * 16 + z);
+      }
+    }
+    version = entry.version;
+    biomes = new BiomeLayer(biomeArray);
+    surface = new SurfaceLayer(entry.surface);
+    dataTimestamp = entry.timestamp;
+    surfaceTimestamp = entry.timestamp;
+    biomesTimestamp = entry.timestamp;
+    queueTopography();
+
+    dimension.chunkUpdated(position);
+    return true;
+  }
+
+  /**
+   * @return the layers of this chunk for the map tile cache, or {@code null} if the chunk
+   * is not loaded
+   */
+  public synchronized MapTileCache.Entry toCacheEntry() {
+    AbstractLayer surface = this.surface;
+    AbstractLayer biomes = this.biomes;
+    if (!(surface instanceof SurfaceLayer) || !(biomes instanceof BiomeLayer)
+        || surfaceTimestamp == 0) {
+      return null;
+    }
+    Heightmap heightmap = dimension.getHeightmap();
+    int[] heights = new int[X_MAX * Z_MAX];
+    for (int x = 0; x < X_MAX; ++x) {
+      for (int z = 0; z < Z_MAX; ++z) {
+        heights[x * 16 + z] = heightmap.get(position.x * 16 + x, position.z * 16 + z);
+      }
+    }
+    String[] biomeNames = new String[X_MAX * Z_MAX];
+    for (int i = 0; i < biomeNames.length; ++i) {
+      biomeNames[i] = ((BiomeLayer) biomes).biomeAt(i).resourceLocation;
+    }
+    int index = (position.x & 31) + ((position.z & 31) << 5);
+    return new MapTileCache.Entry(index, surfaceTimestamp, version,
+        ((SurfaceLayer) surface).getBitmap(), heights, biomeNames);
+  }
+
   private void loadSurface(@NotNull Tag data, ChunkData chunkData, int yMin, int yMax) {
     if (data == null) {
       surface = IconLayer.CORRUPT;
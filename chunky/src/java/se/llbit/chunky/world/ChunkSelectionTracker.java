@@ -382,6 +382,13 @@ public class ChunkSelectionTracker implements ChunkDeletionListener {
     return isChunkSelected(chunk);
   }
 
+  /**
+   * @return <code>true</code> if any chunk in the given region is selected
+   */
+  public boolean hasSelectedChunks(RegionPosition region) {
+    return selectedChunksByRegion.containsKey(region.getLong());
+  }
+
   /**
    * @return The currently selected chunks
    */
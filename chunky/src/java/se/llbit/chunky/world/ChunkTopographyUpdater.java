@@ -16,29 +16,103 @@
  */
 package se.llbit.chunky.world;
 
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Set;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import se.llbit.chunky.PersistentSettings;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * Renders topography layer for chunks on demand.
  *
+ * <p>The topography is rendered by a pool of worker threads. Visible chunks are rendered
+ * first, in order of their distance to the center of the map view. Chunks outside the view
+ * are put aside until they become visible again. Put aside chunks are only weakly referenced,
+ * so that they are dropped when their region is evicted from the region cache.
+ *
  * @author Jesper Öqvist (jesper@llbit.se)
  */
-public class ChunkTopographyUpdater extends Thread {
+public class ChunkTopographyUpdater {
+
+  private static class Entry implements Comparable<Entry> {
+    final Chunk chunk;
+    final double distance;
+
+    Entry(Chunk chunk, ChunkView view) {
+      this.chunk = chunk;
+      ChunkPosition pos = chunk.getPosition();
+      double dx = pos.x + 0.5 - view.x;
+      double dz = pos.z + 0.5 - view.z;
+      this.distance = dx * dx + dz * dz;
+    }
+
+    @Override public int compareTo(Entry other) {
+      return Double.compare(distance, other.distance);
+    }
+  }
+
+  /** A weak reference to a pending chunk which knows its map key. */
+  private static class PendingChunk extends WeakReference<Chunk> {
+    final long key;
+
+    PendingChunk(Chunk chunk, ReferenceQueue<Chunk> queue) {
+      super(chunk, queue);
+      this.key = chunk.getPosition().getLong();
+    }
+  }
+
+  private final Thread[] workers;
+
+  /** Visible chunks waiting to be rendered, nearest first. */
+  private PriorityQueue<Entry> queue = new PriorityQueue<>();
 
-  private final Set<Chunk> queue = new HashSet<>();
+  /** All chunks waiting to be rendered, visible or not. */
+  private final Long2ObjectMap<PendingChunk> pending = new Long2ObjectOpenHashMap<>();
+
+  /** Receives the pending chunks which have been garbage collected. */
+  private final ReferenceQueue<Chunk> collected = new ReferenceQueue<>();
+
+  private ChunkView view = ChunkView.EMPTY;
 
   /**
    * Create new chunk parser
    */
   public ChunkTopographyUpdater() {
-    super("Chunk Topography Updater");
+    this(PersistentSettings.getNumThreads());
   }
 
-  @Override public void run() {
+  /**
+   * @param numThreads number of worker threads
+   */
+  public ChunkTopographyUpdater(int numThreads) {
+    workers = new Thread[Math.max(1, numThreads)];
+    for (int i = 0; i < workers.length; ++i) {
+      workers[i] = new Thread(this::work, "Chunk Topography Updater " + (i + 1));
+    }
+  }
+
+  /** Start the worker threads. */
+  public void start() {
+    for (Thread worker : workers) {
+      worker.start();
+    }
+  }
+
+  /** Stop the worker threads. */
+  public void interrupt() {
+    for (Thread worker : workers) {
+      worker.interrupt();
+    }
+  }
+
+  private void work() {
     try {
-      while (!isInterrupted()) {
+      while (!Thread.currentThread().isInterrupted()) {
         Chunk chunk = getNext();
         chunk.renderTopography();
       }
@@ -47,17 +121,20 @@ public class ChunkTopographyUpdater extends Thread {
   }
 
   /**
-   * Get next chunk from the parse queue
+   * Get the visible chunk nearest to the view center from the queue.
    *
    * @throws InterruptedException
    */
-  private synchronized Chunk getNext() throws InterruptedException {
+  synchronized Chunk getNext() throws InterruptedException {
     while (queue.isEmpty()) {
       wait();
     }
-    Iterator<Chunk> iter = queue.iterator();
-    Chunk chunk = iter.next();
-    iter.remove();
+    Chunk chunk = queue.poll().chunk;
+    long key = chunk.getPosition().getLong();
+    PendingChunk entry = pending.get(key);
+    if (entry != null && entry.get() == chunk) {
+      pending.remove(key);
+    }
     return chunk;
   }
 
@@ -65,8 +142,62 @@ public class ChunkTopographyUpdater extends Thread {
    * Add a chunk to the parse queue.
    */
   public synchronized void addChunk(Chunk chunk) {
-    queue.add(chunk);
-    notify();
+    removeCollected();
+    // Chunks are only queued once, unless the chunk was replaced by a new chunk object.
+    long key = chunk.getPosition().getLong();
+    PendingChunk previous = pending.get(key);
+    if (previous != null && previous.get() == chunk) {
+      return;
+    }
+    pending.put(key, new PendingChunk(chunk, collected));
+    if (view.isChunkVisible(chunk.getPosition())) {
+      queue.add(new Entry(chunk, view));
+      notify();
+    }
+  }
+
+  /**
+   * Update the view that is used to prioritize chunks. Queued chunks which are no longer
+   * visible are put aside, and put aside chunks which have become visible are queued.
+   */
+  public synchronized void setView(ChunkView view) {
+    removeCollected();
+    this.view = view;
+    List<Entry> visible = new ArrayList<>();
+    long area = (long) (view.px1 - view.px0 + 1) * (view.pz1 - view.pz0 + 1);
+    if (area < pending.size()) {
+      for (int x = view.px0; x <= view.px1; ++x) {
+        for (int z = view.pz0; z <= view.pz1; ++z) {
+          PendingChunk entry = pending.get(ChunkPosition.positionToLong(x, z));
+          Chunk chunk = entry != null ? entry.get() : null;
+          if (chunk != null) {
+            visible.add(new Entry(chunk, view));
+          }
+        }
+      }
+    } else {
+      for (PendingChunk entry : pending.values()) {
+        Chunk chunk = entry.get();
+        if (chunk != null && view.isChunkVisible(chunk.getPosition())) {
+          visible.add(new Entry(chunk, view));
+        }
+      }
+    }
+    queue = new PriorityQueue<>(visible);
+    if (!queue.isEmpty()) {
+      notifyAll();
+    }
+  }
+
+  /**
+   * Remove the pending chunks which have been garbage collected.
+   */
+  private void removeCollected() {
+    Reference<? extends Chunk> reference;
+    while ((reference = collected.poll()) != null) {
+      PendingChunk entry = (PendingChunk) reference;
+      pending.remove(entry.key, entry);
+    }
   }
 
   /**
@@ -74,6 +205,8 @@ public class ChunkTopographyUpdater extends Thread {
    */
   public synchronized void clearQueue() {
     queue.clear();
+    pending.clear();
+    removeCollected();
   }
 
   /**
@@ -51,7 +51,7 @@ public class CubicDimension extends Dimension {
   }
 
   public synchronized Region getRegionWithinRange(RegionPosition pos, int minY, int maxY) {
-    return regionMap.computeIfAbsent(pos.getLong(), p -> {
+    return regionCache.computeIfAbsent(pos.getLong(), p -> {
       // check if the region is present in the world directory
       Region region = EmptyRegion.instance;
       if (regionExistsWithinRange(pos, minY, maxY)) {
@@ -83,6 +83,17 @@ public class CubicDimension extends Dimension {
     }
   }
 
+  @Override
+  public RegionPosition regionPositionForFile(String fileName) {
+    String[] split = fileName.split("[.]");
+    if (split.length == 4 && split[3].equals("3dr")) {
+      try {
+        return new RegionPosition(Integer.parseInt(split[0]) >> 1, Integer.parseInt(split[2]) >> 1);
+      } catch (NumberFormatException ignored) { }
+    }
+    return null;
+  }
+
   @Override
   public boolean regionExistsWithinRange(RegionPosition pos, int minY, int maxY) {
     int cubicRegionX = pos.x << 1;
@@ -106,7 +117,7 @@ public class CubicDimension extends Dimension {
   /** Called when a new region has been discovered by the region parser. */
   public void regionDiscovered(RegionPosition pos) {
     synchronized (this) {
-      regionMap.computeIfAbsent(pos.getLong(), (p) -> createRegion(pos));
+      regionCache.computeIfAbsent(pos.getLong(), (p) -> createRegion(pos));
     }
   }
 }
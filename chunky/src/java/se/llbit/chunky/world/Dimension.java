@@ -1,7 +1,5 @@
 package se.llbit.chunky.world;
 
-import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import se.llbit.chunky.PersistentSettings;
 import se.llbit.chunky.chunk.ChunkData;
 import se.llbit.chunky.chunk.GenericChunkData;
@@ -13,12 +11,14 @@ import se.llbit.chunky.world.listeners.ChunkDeletionListener;
 import se.llbit.chunky.world.listeners.ChunkTopographyListener;
 import se.llbit.chunky.world.listeners.ChunkUpdateListener;
 import se.llbit.chunky.world.region.*;
+import se.llbit.log.Log;
 import se.llbit.math.Vector3;
 import se.llbit.math.Vector3i;
 import se.llbit.util.annotation.Nullable;
 
 import java.io.File;
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  *
@@ -26,7 +26,9 @@ import java.util.*;
 public class Dimension {
   private final World world;
 
-  protected final Long2ObjectMap<Region> regionMap = new Long2ObjectOpenHashMap<>();
+  private volatile RegionIndex regionIndex = RegionIndex.empty();
+
+  protected final RegionCache regionCache = new RegionCache(PersistentSettings.getRegionCacheSize());
 
   protected final File dimensionDirectory;
   private Set<PlayerEntityData> playerEntities;
@@ -41,6 +43,8 @@ public class Dimension {
 
   private Vector3i spawnPos = null;
 
+  private DimensionHeightRange heightRange = new DimensionHeightRange(0, 256);
+
   /** Timestamp for level.dat when player data was last loaded. */
   private long timestamp;
 
@@ -127,7 +131,7 @@ public class Dimension {
    * @return The region at the given position
    */
   public synchronized Region getRegion(RegionPosition pos) {
-    return regionMap.computeIfAbsent(pos.getLong(), p -> {
+    return regionCache.computeIfAbsent(pos.getLong(), p -> {
       // check if the region is present in the world directory
       Region region = EmptyRegion.instance;
       if (regionExists(pos)) {
@@ -143,7 +147,56 @@ public class Dimension {
 
   /** Set the region for the given position. */
   public synchronized void setRegion(RegionPosition pos, Region region) {
-    regionMap.put(pos.getLong(), region);
+    regionCache.put(pos.getLong(), region);
+  }
+
+  /**
+   * Set the filter that decides which regions are kept in memory regardless of when they
+   * were last used, for example the regions that are visible in the map view.
+   */
+  public synchronized void setRegionPinFilter(Predicate<RegionPosition> filter) {
+    regionCache.setPinFilter(filter);
+  }
+
+  /**
+   * @return the cache of loaded regions, for reading cache statistics
+   */
+  public RegionCache getRegionCache() {
+    return regionCache;
+  }
+
+  /**
+   * Read the headers of all region files of this dimension, so that regions can be parsed
+   * without reading their headers again.
+   */
+  public void indexRegions() {
+    long start = System.currentTimeMillis();
+    try {
+      regionIndex = RegionIndex.build(getRegionDirectory());
+      Log.infof("Indexed %d regions in %d ms", regionIndex.size(),
+          System.currentTimeMillis() - start);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * @return summaries of the region file headers of this dimension. The index is empty until
+   * {@link #indexRegions()} has been called. Index entries are only valid as long as the
+   * modification time of the region file is unchanged.
+   */
+  public RegionIndex getRegionIndex() {
+    return regionIndex;
+  }
+
+  /**
+   * @param fileName Name of a file in the region directory
+   * @return The position of the region that the file belongs to, or {@code null} if it is
+   * not a region file
+   */
+  @Nullable
+  public RegionPosition regionPositionForFile(String fileName) {
+    return RegionPosition.fromMcaName(fileName);
   }
 
   /**
@@ -155,6 +208,14 @@ public class Dimension {
     return regionFile.exists();
   }
 
+  /**
+   * @param pos region position
+   * @return the modification time of the region file, or 0 if there is no region file
+   */
+  public long regionTimestamp(RegionPosition pos) {
+    return new File(getRegionDirectory(), pos.getMcaName()).lastModified();
+  }
+
   /**
    * @param pos Position of the region to load
    * @param minY Minimum block Y (inclusive)
@@ -205,7 +266,7 @@ public class Dimension {
   /** Called when a new region has been discovered by the region parser. */
   public void regionDiscovered(RegionPosition pos) {
     synchronized (this) {
-      regionMap.computeIfAbsent(pos.getLong(), p -> createRegion(pos));
+      regionCache.computeIfAbsent(pos.getLong(), p -> createRegion(pos));
     }
   }
 
@@ -266,6 +327,17 @@ public class Dimension {
     }
   }
 
+  /**
+   * @return the range of block Y coordinates of this dimension
+   */
+  public DimensionHeightRange getHeightRange() {
+    return heightRange;
+  }
+
+  void setHeightRange(DimensionHeightRange heightRange) {
+    this.heightRange = heightRange;
+  }
+
   public Optional<Vector3i> getSpawnPosition() {
     return Optional.ofNullable(this.spawnPos);
   }
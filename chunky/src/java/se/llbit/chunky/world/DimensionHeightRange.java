@@ -0,0 +1,197 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.world;
+
+import se.llbit.json.JsonObject;
+import se.llbit.json.JsonParser;
+import se.llbit.log.Log;
+import se.llbit.nbt.NamedTag;
+import se.llbit.nbt.Tag;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The range of block Y coordinates of a dimension.
+ *
+ * <p>The range is taken from the dimension type of the dimension. The type is either defined
+ * inline in the world generation settings in {@code level.dat}, or it is looked up by its
+ * ID in the enabled data packs of the world. Data packs can redefine the vanilla dimension
+ * types to change the world height. If the dimension type can not be found, the vanilla
+ * height of the world version is used.
+ */
+public final class DimensionHeightRange {
+  /** Lowest block Y coordinate. */
+  public final int minY;
+
+  /** One above the highest block Y coordinate. */
+  public final int maxY;
+
+  public DimensionHeightRange(int minY, int maxY) {
+    if (maxY <= minY) {
+      throw new IllegalArgumentException("Empty height range: " + minY + " to " + maxY);
+    }
+    this.minY = minY;
+    this.maxY = maxY;
+  }
+
+  /**
+   * The vanilla height range of a dimension.
+   */
+  public static DimensionHeightRange vanilla(int dimensionId, int versionId) {
+    if (dimensionId == World.OVERWORLD_DIMENSION && versionId >= World.VERSION_21W06A) {
+      return new DimensionHeightRange(-64, 320);
+    }
+    return new DimensionHeightRange(0, 256);
+  }
+
+  /**
+   * Find the height range of a dimension of a world.
+   */
+  public static DimensionHeightRange load(File worldDirectory, int dimensionId, int versionId) {
+    DimensionHeightRange range = vanilla(dimensionId, versionId);
+    String key = dimensionKey(dimensionId);
+    if (worldDirectory == null || key == null) {
+      return range;
+    }
+    File levelDat = new File(worldDirectory, "level.dat");
+    try (FileInputStream fin = new FileInputStream(levelDat);
+        InputStream gzin = new GZIPInputStream(fin);
+        DataInputStream in = new DataInputStream(gzin)) {
+      Set<String> request = new HashSet<>();
+      request.add(".Data.WorldGenSettings.dimensions");
+      request.add(".Data.DataPacks.Enabled");
+      Map<String, Tag> result = NamedTag.quickParse(in, request);
+
+      Tag type = result.get(".Data.WorldGenSettings.dimensions").get(key).get("type");
+      if (type.isCompoundTag()) {
+        return fromTag(type, range);
+      }
+      String typeId = type.stringValue(key);
+      for (File pack : dataPacks(worldDirectory, result.get(".Data.DataPacks.Enabled"))) {
+        range = fromDataPack(pack, typeId, range);
+      }
+    } catch (IOException e) {
+      Log.info("Could not read the dimension type from " + levelDat, e);
+    }
+    return range;
+  }
+
+  private static String dimensionKey(int dimensionId) {
+    switch (dimensionId) {
+      case World.OVERWORLD_DIMENSION:
+        return "minecraft:overworld";
+      case World.NETHER_DIMENSION:
+        return "minecraft:the_nether";
+      case World.END_DIMENSION:
+        return "minecraft:the_end";
+      default:
+        return null;
+    }
+  }
+
+  private static DimensionHeightRange fromTag(Tag type, DimensionHeightRange fallback) {
+    int minY = type.get("min_y").intValue(fallback.minY);
+    int height = type.get("height").intValue(fallback.maxY - fallback.minY);
+    return height > 0 ? new DimensionHeightRange(minY, minY + height) : fallback;
+  }
+
+  /**
+   * The data pack directories and zip files of a world, in the order they are applied.
+   * Packs that are enabled later override earlier packs.
+   */
+  private static List<File> dataPacks(File worldDirectory, Tag enabled) {
+    File directory = new File(worldDirectory, "datapacks");
+    List<File> packs = new ArrayList<>();
+    if (enabled.isList()) {
+      for (Tag id : enabled.asList()) {
+        String name = id.stringValue("");
+        if (name.startsWith("file/")) {
+          packs.add(new File(directory, name.substring("file/".length())));
+        }
+      }
+    } else {
+      String[] names = directory.list();
+      if (names != null) {
+        Arrays.sort(names);
+        for (String name : names) {
+          packs.add(new File(directory, name));
+        }
+      }
+    }
+    return packs;
+  }
+
+  /**
+   * Read the height range of a dimension type from a data pack, if the pack defines it.
+   */
+  private static DimensionHeightRange fromDataPack(File pack, String typeId,
+      DimensionHeightRange fallback) {
+    int colon = typeId.indexOf(':');
+    String namespace = colon >= 0 ? typeId.substring(0, colon) : "minecraft";
+    String path = String.format("data/%s/dimension_type/%s.json", namespace,
+        typeId.substring(colon + 1));
+    try {
+      if (pack.isDirectory()) {
+        File file = new File(pack, path);
+        if (file.isFile()) {
+          try (InputStream in = new FileInputStream(file)) {
+            return fromJson(in, fallback);
+          }
+        }
+      } else if (pack.isFile()) {
+        try (ZipFile zip = new ZipFile(pack)) {
+          ZipEntry entry = zip.getEntry(path);
+          if (entry != null) {
+            try (InputStream in = zip.getInputStream(entry)) {
+              return fromJson(in, fallback);
+            }
+          }
+        }
+      }
+    } catch (IOException | JsonParser.SyntaxError e) {
+      Log.info("Could not read the dimension type " + typeId + " from " + pack, e);
+    }
+    return fallback;
+  }
+
+  private static DimensionHeightRange fromJson(InputStream in, DimensionHeightRange fallback)
+      throws IOException, JsonParser.SyntaxError {
+    try (JsonParser parser = new JsonParser(in)) {
+      JsonObject type = parser.parse().object();
+      int minY = type.get("min_y").intValue(fallback.minY);
+      int height = type.get("height").intValue(fallback.maxY - fallback.minY);
+      return height > 0 ? new DimensionHeightRange(minY, minY + height) : fallback;
+    }
+  }
+
+  @Override public String toString() {
+    return String.format("[%d, %d)", minY, maxY);
+  }
+}
@@ -48,6 +48,23 @@ public class Heightmap {
    * @return Height at (x, z)
    */
   public synchronized int get(int x, int z) {
+    return heightAt(x, z);
+  }
+
+  /**
+   * Read the heights in an area with a single lock acquisition.
+   *
+   * @param out receives the heights, indexed by (x - x0) + (z - z0) * width
+   */
+  public synchronized void getArea(int x0, int z0, int width, int depth, int[] out) {
+    for (int z = 0; z < depth; ++z) {
+      for (int x = 0; x < width; ++x) {
+        out[x + z * width] = heightAt(x0 + x, z0 + z);
+      }
+    }
+  }
+
+  private int heightAt(int x, int z) {
     long key = ChunkPosition.positionToLong(x >> 5, z >> 5);
     ChunkHeightmap hm = map.get(key);
     if (hm == null) {
@@ -57,4 +74,15 @@ public class Heightmap {
     return hm.get(x & 0x1F, z & 0x1F);
   }
 
+  /**
+   * Remove the heights in a region to release the memory used for them.
+   */
+  public synchronized void removeRegion(RegionPosition region) {
+    // Each entry covers 32x32 blocks.
+    for (int x = 0; x < 16; ++x) {
+      for (int z = 0; z < 16; ++z) {
+        map.remove(ChunkPosition.positionToLong(region.x * 16 + x, region.z * 16 + z));
+      }
+    }
+  }
 }
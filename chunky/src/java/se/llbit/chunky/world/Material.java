@@ -115,6 +115,14 @@ public abstract class Material {
     return texture.getColor(u, v);
   }
 
+  /**
+   * Test if the color at the given texture coordinates has non-zero alpha, without looking
+   * up the color. Materials that change the color keep the texture alpha.
+   */
+  public boolean isOpaqueAt(double u, double v) {
+    return texture.isOpaqueAt(u, v);
+  }
+
   public JsonValue toJson() {
     return new JsonString("mat:" + name);
   }
@@ -43,6 +43,21 @@ public class RegionPosition {
     return String.format("r.%d.%d.mca", x, z);
   }
 
+  /**
+   * @param name A file name of the form r.X.Z.mca
+   * @return The region position of the file, or {@code null} if the name is not a .mca name
+   */
+  public static RegionPosition fromMcaName(String name) {
+    String[] parts = name.split("\\.");
+    if (parts.length == 4 && parts[0].equals("r") && parts[3].equals("mca")) {
+      try {
+        return new RegionPosition(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+      } catch (NumberFormatException ignored) {
+      }
+    }
+    return null;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -16,6 +16,7 @@
  */
 package se.llbit.chunky.world;
 
+import se.llbit.chunky.main.Chunky;
 import se.llbit.chunky.ui.ProgressTracker;
 import se.llbit.chunky.world.region.MCRegion;
 import se.llbit.log.Log;
@@ -23,12 +24,16 @@ import se.llbit.math.Vector3i;
 import se.llbit.nbt.NamedTag;
 import se.llbit.nbt.Tag;
 import se.llbit.util.MinecraftText;
-import se.llbit.util.Pair;
 import se.llbit.util.annotation.NotNull;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -61,6 +66,9 @@ public class World implements Comparable<World> {
   public static final int VERSION_21W06A = 2694;
   public static final int VERSION_1_12_2 = 1343;
 
+  /** Maximum total size of the regions held in memory ahead of the Zip writer. */
+  private static final long MAX_PENDING_EXPORT_BYTES = 64L << 20;
+
   private final File worldDirectory;
 
   protected Dimension currentDimension;
@@ -176,6 +184,7 @@ public class World implements Comparable<World> {
     } else {
       dimension = new Dimension(world, dimensionId, dimensionDirectory, playerEntities, modtime);
     }
+    dimension.setHeightRange(DimensionHeightRange.load(worldDirectory, dimensionId, world.versionId));
     return dimension;
   }
 
@@ -292,8 +301,8 @@ public class World implements Comparable<World> {
    *
    * @throws IOException
    */
-  public synchronized void exportChunksToZip(File target, Collection<ChunkPosition> chunks,
-                                             ProgressTracker progress) throws IOException {
+  public void exportChunksToZip(File target, Collection<ChunkPosition> chunks,
+                                ProgressTracker progress) throws IOException {
 
     Map<RegionPosition, Set<ChunkPosition>> regionMap = new HashMap<>();
 
@@ -303,31 +312,24 @@ public class World implements Comparable<World> {
       chunkSet.add(new ChunkPosition(chunk.x & 31, chunk.z & 31));
     }
 
-    int work = 0;
-    progress.setJobSize(regionMap.size() + 1);
-
+    Dimension dimension;
+    int dimensionId;
+    synchronized (this) {
+      dimension = currentDimension;
+      dimensionId = currentDimensionId;
+    }
     String regionDirectory =
-      currentDimensionId == 0 ? currentDimension().getDimensionDirectory().getName() :
-        currentDimension().getDimensionDirectory().getName() + "/DIM" + currentDimensionId;
+      dimensionId == 0 ? dimension.getDimensionDirectory().getName() :
+        dimension.getDimensionDirectory().getName() + "/DIM" + dimensionId;
     regionDirectory += "/region";
 
-    try (ZipOutputStream zout = new ZipOutputStream(new FileOutputStream(target))) {
-      writeLevelDatToZip(zout);
-      progress.setProgress(++work);
-
-      for (Map.Entry<RegionPosition, Set<ChunkPosition>> entry : regionMap.entrySet()) {
-
-        if (progress.isInterrupted())
-          break;
-
-        RegionPosition region = entry.getKey();
-
-        appendRegionToZip(zout, currentDimension.getRegionDirectory(), region,
-          regionDirectory + "/" + region.getMcaName(), entry.getValue());
-
-        progress.setProgress(++work);
-      }
+    List<RegionExport> regions = new ArrayList<>(regionMap.size());
+    for (Map.Entry<RegionPosition, Set<ChunkPosition>> entry : regionMap.entrySet()) {
+      RegionPosition region = entry.getKey();
+      regions.add(new RegionExport(dimension.getRegionDirectory(), region,
+          regionDirectory + "/" + region.getMcaName(), entry.getValue()));
     }
+    writeZip(target, regions, progress);
   }
 
   /**
@@ -338,70 +340,156 @@ public class World implements Comparable<World> {
    *
    * @throws IOException
    */
-  public synchronized void exportWorldToZip(File target, ProgressTracker progress)
+  public void exportWorldToZip(File target, ProgressTracker progress)
       throws IOException {
     System.out.println("exporting all dimensions to " + target.getName());
 
-    final Collection<Pair<File, RegionPosition>> regions = new LinkedList<>();
+    final List<RegionExport> regions = new ArrayList<>();
 
-    WorldScanner.Operator operator = (regionDirectory, x, z) ->
-        regions.add(new Pair<>(regionDirectory, new RegionPosition(x, z)));
     // TODO make this more dynamic
     File overworld = getRegionDirectory(OVERWORLD_DIMENSION);
+    WorldScanner.Operator operator = (regionDirectory, x, z) -> {
+      RegionPosition position = new RegionPosition(x, z);
+      String zipDirectory = (regionDirectory == overworld) ?
+          worldDirectory.getName() :
+          worldDirectory.getName() + "/" + regionDirectory.getParentFile().getName();
+      zipDirectory += "/region";
+      regions.add(new RegionExport(regionDirectory, position,
+          zipDirectory + "/" + position.getMcaName(), null));
+    };
     WorldScanner.findExistingChunks(overworld, operator);
     WorldScanner.findExistingChunks(getRegionDirectory(NETHER_DIMENSION), operator);
     WorldScanner.findExistingChunks(getRegionDirectory(END_DIMENSION), operator);
 
-    int work = 0;
-    progress.setJobSize(regions.size() + 1);
-
-    try (ZipOutputStream zout = new ZipOutputStream(new FileOutputStream(target))) {
-      writeLevelDatToZip(zout);
-      progress.setProgress(++work);
-
-      for (Pair<File, RegionPosition> region : regions) {
+    writeZip(target, regions, progress);
+  }
 
-        if (progress.isInterrupted()) {
-          break;
-        }
+  /**
+   * A region file, or a subset of its chunks, to be written to a Zip archive.
+   */
+  private static class RegionExport {
+    final File regionDirectory;
+    final RegionPosition position;
+    final String entryName;
+    /** Local positions of the chunks to export, or {@code null} to export all chunks. */
+    final Set<ChunkPosition> chunks;
+
+    RegionExport(File regionDirectory, RegionPosition position, String entryName,
+        Set<ChunkPosition> chunks) {
+      this.regionDirectory = regionDirectory;
+      this.position = position;
+      this.entryName = entryName;
+      this.chunks = chunks;
+    }
 
-        String regionDirectory = (region.thing1 == overworld) ?
-            worldDirectory.getName() :
-            worldDirectory.getName() + "/" + region.thing1.getParentFile().getName();
-        regionDirectory += "/region";
-        appendRegionToZip(zout, region.thing1, region.thing2,
-            regionDirectory + "/" + region.thing2.getMcaName(), null);
+    /**
+     * @return the size of the region file, which bounds the size of the compacted region
+     * unless the file is truncated
+     */
+    long estimatedSize() {
+      return new File(regionDirectory, position.getMcaName()).length();
+    }
 
-        progress.setProgress(++work);
+    StoredEntry read() {
+      try {
+        return new StoredEntry(entryName,
+            MCRegion.extractRegion(regionDirectory, position, chunks));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
       }
     }
   }
 
   /**
-   * Write this worlds level.dat file to a ZipOutputStream.
-   *
-   * @throws IOException
+   * An uncompressed Zip entry. Stored entries need their size and CRC up front,
+   * which lets the CRC be computed on the thread that produced the data.
    */
-  private void writeLevelDatToZip(ZipOutputStream zout) throws IOException {
-    File levelDat = new File(worldDirectory, "level.dat");
-    try (FileInputStream in = new FileInputStream(levelDat)) {
-      zout.putNextEntry(new ZipEntry(worldDirectory.getName() + "/" + "level.dat"));
-      byte[] buf = new byte[4096];
-      int len;
-      while ((len = in.read(buf)) > 0) {
-        zout.write(buf, 0, len);
-      }
+  private static class StoredEntry {
+    final String name;
+    final byte[] data;
+    final long crc;
+
+    StoredEntry(String name, byte[] data) {
+      this.name = name;
+      this.data = data;
+      CRC32 crc = new CRC32();
+      crc.update(data);
+      this.crc = crc.getValue();
+    }
+
+    void write(ZipOutputStream zout) throws IOException {
+      ZipEntry entry = new ZipEntry(name);
+      entry.setMethod(ZipEntry.STORED);
+      entry.setSize(data.length);
+      entry.setCompressedSize(data.length);
+      entry.setCrc(crc);
+      zout.putNextEntry(entry);
+      zout.write(data);
       zout.closeEntry();
     }
   }
 
-  private void appendRegionToZip(ZipOutputStream zout, File regionDirectory,
-      RegionPosition regionPos, String regionZipFileName, Set<ChunkPosition> chunks)
+  /**
+   * Write level.dat and the regions to a Zip archive.
+   *
+   * <p>The regions are read and compacted in parallel, a bounded number of regions ahead of
+   * the writer, and written in order as soon as they are done. Each pending region is held in
+   * memory, so the regions ahead of the writer are also limited by their total file size. The
+   * region data is already compressed so all entries are stored without compression.
+   */
+  private void writeZip(File target, List<RegionExport> regions, ProgressTracker progress)
       throws IOException {
+    int work = 0;
+    progress.setJobSize(regions.size() + 1);
+
+    ForkJoinPool pool = Chunky.getCommonThreads();
+    int maxPending = 2 * pool.getParallelism();
+    ArrayDeque<CompletableFuture<StoredEntry>> pending = new ArrayDeque<>(maxPending);
+    long[] pendingSizes = new long[regions.size()];
+    long pendingBytes = 0;
+    int written = 0;
+    try (ZipOutputStream zout = new ZipOutputStream(
+        new BufferedOutputStream(new FileOutputStream(target)))) {
+      zout.setMethod(ZipOutputStream.STORED);
+      File levelDat = new File(worldDirectory, "level.dat");
+      new StoredEntry(worldDirectory.getName() + "/" + "level.dat",
+          Files.readAllBytes(levelDat.toPath())).write(zout);
+      progress.setProgress(++work);
 
-    zout.putNextEntry(new ZipEntry(regionZipFileName));
-    MCRegion.writeRegion(regionDirectory, regionPos, new DataOutputStream(zout), chunks);
-    zout.closeEntry();
+      int next = 0;
+      while (next < regions.size() || !pending.isEmpty()) {
+        while (next < regions.size() && pending.size() < maxPending) {
+          RegionExport region = regions.get(next);
+          long size = region.estimatedSize();
+          // The first pending region is always started, however large it is.
+          if (!pending.isEmpty() && pendingBytes + size > MAX_PENDING_EXPORT_BYTES) {
+            break;
+          }
+          pendingSizes[next++] = size;
+          pendingBytes += size;
+          pending.add(CompletableFuture.supplyAsync(region::read, pool));
+        }
+
+        if (progress.isInterrupted()) {
+          break;
+        }
+
+        try {
+          pending.poll().join().write(zout);
+          pendingBytes -= pendingSizes[written++];
+        } catch (CompletionException e) {
+          if (e.getCause() instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) e.getCause()).getCause();
+          }
+          throw e;
+        }
+        progress.setProgress(++work);
+      }
+    } finally {
+      for (CompletableFuture<StoredEntry> region : pending) {
+        region.cancel(false);
+      }
+    }
   }
 
   @Override public String toString() {
@@ -17,9 +17,14 @@
 package se.llbit.chunky.world;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+import se.llbit.chunky.main.Chunky;
 import se.llbit.log.Log;
 
 /**
@@ -58,18 +63,28 @@ public class WorldScanner {
       return;
     }
 
-    for (File anvilFile : regionDirectory.listFiles()) {
-
-      Matcher matcher = anvilPattern.matcher(anvilFile.getName());
-
-      if (!anvilFile.isDirectory() && matcher.matches()) {
-
-        String x = matcher.group(1);
-        String z = matcher.group(2);
-        if (x != null && z != null) {
-          operator.foundRegion(regionDirectory, Integer.parseInt(x), Integer.parseInt(z));
-        }
-      }
+    String[] names = regionDirectory.list();
+    if (names == null) {
+      return;
+    }
+    // Match and check the files in parallel, which helps on slow storage where each file
+    // check is a round trip. The operator is still called from this thread only.
+    List<int[]> regions = Chunky.getCommonThreads().submit(() -> Arrays.stream(names).parallel()
+        .map(name -> {
+          Matcher matcher = anvilPattern.matcher(name);
+          if (!matcher.matches() || new File(regionDirectory, name).isDirectory()) {
+            return null;
+          }
+          try {
+            return new int[] {Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))};
+          } catch (NumberFormatException e) {
+            return null;
+          }
+        })
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList())).join();
+    for (int[] region : regions) {
+      operator.foundRegion(regionDirectory, region[0], region[1]);
     }
   }
 }
@@ -17,6 +17,7 @@
 package se.llbit.chunky.world.region;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -138,6 +139,26 @@ public class MCRegion implements Region {
       return;
     }
     regionFileTime = modtime;
+
+    RegionIndex.Entry indexed = dimension.getRegionIndex().get(position);
+    if (indexed != null && indexed.fileTime == modtime) {
+      // The header was already read when the region directory was indexed.
+      if (indexed.fileSize < 2 * SECTOR_SIZE) {
+        if (indexed.fileSize > 0) {
+          Log.warnf("Missing header in region file %s!", this.position);
+        }
+        return;
+      }
+      for (int z = 0; z < 32; ++z) {
+        for (int x = 0; x < 32; ++x) {
+          updateChunk(x, z, indexed.hasChunk(x, z));
+          chunkTimestamps[getMCAChunkIndex(x, z)] = indexed.chunkTimestamp(x, z);
+        }
+      }
+      dimension.regionUpdated(position);
+      return;
+    }
+
     try (RandomAccessFile file = new RandomAccessFile(regionFile, "r")) {
       long length = file.length();
       if (length == 0) {
@@ -149,26 +170,18 @@ public class MCRegion implements Region {
         return;
       }
 
+      // Read the whole header at once, instead of one int at a time.
+      byte[] header = new byte[2 * SECTOR_SIZE];
+      file.readFully(header);
+      ByteBuffer buffer = ByteBuffer.wrap(header);
       for (int z = 0; z < 32; ++z) {
         for (int x = 0; x < 32; ++x) {
-          ChunkPosition pos = new ChunkPosition((position.x << 5) + x, (position.z << 5) + z);
-          Chunk chunk = getChunk(x, z);
-          int loc = file.readInt();
-          if (loc != 0) {
-            if (chunk.isEmpty()) {
-              chunk = new Chunk(pos, dimension);
-              setChunk(pos, chunk);
-            }
-          } else {
-            if (!chunk.isEmpty()) {
-              dimension.chunkDeleted(pos);
-            }
-          }
+          updateChunk(x, z, buffer.getInt() != 0);
         }
       }
 
       for (int i = 0; i < NUM_CHUNKS; ++i) {
-        chunkTimestamps[i] = file.readInt();
+        chunkTimestamps[i] = buffer.getInt();
       }
 
       dimension.regionUpdated(position);
@@ -177,6 +190,24 @@ public class MCRegion implements Region {
     }
   }
 
+  /**
+   * Create or delete the chunk at (x, z) depending on whether it is present in the region file.
+   */
+  private void updateChunk(int x, int z, boolean present) {
+    ChunkPosition pos = new ChunkPosition((position.x << 5) + x, (position.z << 5) + z);
+    Chunk chunk = getChunk(x, z);
+    if (present) {
+      if (chunk.isEmpty()) {
+        chunk = new Chunk(pos, dimension);
+        setChunk(pos, chunk);
+      }
+    } else {
+      if (!chunk.isEmpty()) {
+        dimension.chunkDeleted(pos);
+      }
+    }
+  }
+
   /**
    * @return The region position
    */
@@ -391,16 +422,32 @@ public class MCRegion implements Region {
    *
    * @throws IOException
    */
-  public static synchronized void writeRegion(File regionDirectory, RegionPosition regionPos,
+  public static void writeRegion(File regionDirectory, RegionPosition regionPos,
     DataOutputStream out, Set<ChunkPosition> chunks) throws IOException {
+    out.write(extractRegion(regionDirectory, regionPos, chunks));
+  }
+
+  /**
+   * Read a region file with only the given chunks, with the chunk sectors compacted
+   * after the header. This may be called concurrently for different regions.
+   *
+   * @param chunks local positions of the chunks to keep, or {@code null} to keep all chunks
+   * @return the contents of the new region file
+   * @throws IOException
+   */
+  public static byte[] extractRegion(File regionDirectory, RegionPosition regionPos,
+      Set<ChunkPosition> chunks) throws IOException {
     String fileName = regionPos.getMcaName();
     File regionFile = new File(regionDirectory, fileName);
     try (RandomAccessFile file = new RandomAccessFile(regionFile, "r")) {
+      byte[] header = new byte[2 * SECTOR_SIZE];
+      file.readFully(header);
+      ByteBuffer headerBuffer = ByteBuffer.wrap(header);
       int[] location = new int[32 * 32];
       int[] loc_out = new int[32 * 32];
       int nextFree = 2;// 2 sectors reserved for offsets and timestamps
       for (int i = 0; i < 32 * 32; ++i) {
-        location[i] = file.readInt();
+        location[i] = headerBuffer.getInt(4 * i);
         int offset = location[i];
         if (offset != 0 && (chunks == null || chunks.contains(new ChunkPosition(i & 31, i >> 5)))) {
           loc_out[i] = nextFree << 8 | offset & 0xFF;
@@ -408,33 +455,33 @@ public class MCRegion implements Region {
         }
       }
 
-      // Write offset table.
-      for (int i = 0; i < 32 * 32; ++i) {
-        out.writeInt(loc_out[i]);
-      }
+      byte[] result = new byte[nextFree * SECTOR_SIZE];
+      ByteBuffer resultBuffer = ByteBuffer.wrap(result);
 
-      // Write timestamp table.
+      // Offset table.
       for (int i = 0; i < 32 * 32; ++i) {
-        out.writeInt(file.readInt());
+        resultBuffer.putInt(4 * i, loc_out[i]);
       }
 
-      // Write chunks.
+      // Timestamp table.
+      System.arraycopy(header, SECTOR_SIZE, result, SECTOR_SIZE, SECTOR_SIZE);
+
+      // Chunks. Sectors past the end of a truncated file are left zeroed.
+      long length = file.length();
       for (int i = 0; i < 32 * 32; ++i) {
         if (loc_out[i] == 0) {
           continue;
         }
 
-        int loc = location[i];
-        int numSectors = loc & 0xFF;
-        int sectorOffset = loc >> 8;
-
-        file.seek(sectorOffset * SECTOR_SIZE);
-        byte[] buffer = new byte[SECTOR_SIZE];
-        for (int j = 0; j < numSectors; ++j) {
-          file.read(buffer);
-          out.write(buffer);
+        long start = (long) (location[i] >>> 8) * SECTOR_SIZE;
+        int size = (location[i] & 0xFF) * SECTOR_SIZE;
+        int available = (int) Math.max(0, Math.min(size, length - start));
+        if (available > 0) {
+          file.seek(start);
+          file.readFully(result, (loc_out[i] >>> 8) * SECTOR_SIZE, available);
         }
       }
+      return result;
     }
   }
 
@@ -20,53 +20,203 @@ import javafx.application.Platform;
 import se.llbit.chunky.PersistentSettings;
 import se.llbit.chunky.map.MapView;
 import se.llbit.chunky.map.WorldMapLoader;
-import se.llbit.chunky.world.ChunkPosition;
 import se.llbit.chunky.world.ChunkView;
 import se.llbit.chunky.world.Dimension;
 import se.llbit.chunky.world.RegionPosition;
+import se.llbit.log.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Monitors filesystem for changes to region files.
  *
+ * <p>Changes are detected with file change events from a {@link WatchService} on the
+ * region directory, so only the region files that actually changed are parsed again.
+ * Events are collected for a short while before the regions are updated, because
+ * Minecraft writes a region file in many small writes when saving.
+ *
+ * <p>If file change events are not available, all visible regions are polled for changes
+ * instead. Visible regions are also polled, less often, while watching for events, since
+ * some file systems (network file systems in particular) do not report all changes.
+ *
  * @author Jesper Öqvist <jesper@llbit.se>
  */
 public class MCRegionChangeWatcher extends RegionChangeWatcher {
+  /** Milliseconds between player data checks and between region polls without file events. */
+  private static final long POLL_INTERVAL = 3000;
+
+  /** Milliseconds between region polls when file change events are available. */
+  private static final long FALLBACK_POLL_INTERVAL = 30000;
+
+  /** Milliseconds without new events before changed regions are updated. */
+  private static final long DEBOUNCE_TIME = 300;
+
+  /** Maximum milliseconds to delay the update of a changed region while events keep coming. */
+  private static final long MAX_DEBOUNCE_TIME = 2000;
+
   public MCRegionChangeWatcher(WorldMapLoader loader, MapView mapView) {
     super(loader, mapView, "Region Refresher");
   }
 
   @Override public void run() {
+    Dimension dimension = mapLoader.getWorld().currentDimension();
+    WatchService watchService = createWatchService(dimension.getRegionDirectory());
+    Set<RegionPosition> changed = new HashSet<>();
+    long firstChange = 0;
+    long lastChange = 0;
+    long nextPlayerCheck = 0;
+    long nextPoll = 0;
     try {
       while (!isInterrupted()) {
-        sleep(3000);
-        Dimension dimension = mapLoader.getWorld().currentDimension();
-        if (dimension.reloadPlayerData()) {
-          if (PersistentSettings.getFollowPlayer()) {
-            Platform.runLater(() -> dimension.getPlayerPos().ifPresent(mapView::panTo));
-          }
+        long now = System.currentTimeMillis();
+        if (now >= nextPlayerCheck) {
+          checkPlayerData(dimension);
+          nextPlayerCheck = now + POLL_INTERVAL;
+        }
+        if (now >= nextPoll) {
+          pollVisibleRegions(dimension);
+          nextPoll = now + (watchService != null ? FALLBACK_POLL_INTERVAL : POLL_INTERVAL);
         }
-        ChunkView theView = view;
-        for (int rx = theView.prx0; rx <= theView.prx1; ++rx) {
-          for (int rz = theView.prz0; rz <= theView.prz1; ++rz) {
-            RegionPosition pos = new RegionPosition(rx, rz);
-            Region region = dimension.getRegionWithinRange(pos, theView.yMin, theView.yMax);
-            if (region.isEmpty()) {
-              if (dimension.regionExistsWithinRange(pos, theView.yMin, theView.yMax)) {
-                region = dimension.createRegion(pos);
+        if (!changed.isEmpty()
+            && (now - lastChange >= DEBOUNCE_TIME || now - firstChange >= MAX_DEBOUNCE_TIME)) {
+          updateRegions(dimension, changed);
+          changed.clear();
+        }
+
+        long timeout = Math.min(nextPlayerCheck, nextPoll) - now;
+        if (!changed.isEmpty()) {
+          timeout = Math.min(timeout,
+              Math.min(lastChange + DEBOUNCE_TIME, firstChange + MAX_DEBOUNCE_TIME) - now);
+        }
+        timeout = Math.max(1, timeout);
+        if (watchService == null) {
+          sleep(timeout);
+          continue;
+        }
+
+        WatchKey key = watchService.poll(timeout, TimeUnit.MILLISECONDS);
+        if (key == null) {
+          continue;
+        }
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            overflow = true;
+          } else {
+            Path file = (Path) event.context();
+            RegionPosition pos = dimension.regionPositionForFile(file.getFileName().toString());
+            if (pos != null) {
+              if (changed.isEmpty()) {
+                firstChange = System.currentTimeMillis();
               }
-              dimension.setRegion(pos, region);
-              region.parse(theView.yMin, theView.yMax);
-              dimension.regionDiscovered(pos);
-              mapLoader.regionUpdated(pos);
-            } else if (region.hasChanged()) {
-              region.parse(theView.yMin, theView.yMax);
-              mapLoader.regionUpdated(region.getPosition());
+              changed.add(pos);
+              lastChange = System.currentTimeMillis();
             }
           }
         }
+        if (overflow) {
+          // Some events were lost, so any visible region may have changed.
+          nextPoll = 0;
+        }
+        if (!key.reset()) {
+          // The region directory is no longer accessible.
+          watchService.close();
+          watchService = null;
+        }
       }
-    } catch (InterruptedException e) {
+    } catch (InterruptedException | ClosedWatchServiceException e) {
       // Interrupted.
+    } catch (IOException e) {
+      Log.warn("Failed to close region directory watcher", e);
+    } finally {
+      if (watchService != null) {
+        try {
+          watchService.close();
+        } catch (IOException e) {
+          // Ignored.
+        }
+      }
+    }
+  }
+
+  /**
+   * @return a watch service for the directory, or {@code null} if file change events are
+   * not available for it
+   */
+  private static WatchService createWatchService(File directory) {
+    if (!directory.isDirectory()) {
+      return null;
+    }
+    WatchService watchService = null;
+    try {
+      watchService = FileSystems.getDefault().newWatchService();
+      directory.toPath().register(watchService,
+          StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+      return watchService;
+    } catch (IOException | UnsupportedOperationException e) {
+      Log.infof("Can not watch %s for changes, polling instead: %s", directory, e.getMessage());
+      if (watchService != null) {
+        try {
+          watchService.close();
+        } catch (IOException ignored) {
+        }
+      }
+      return null;
+    }
+  }
+
+  private void checkPlayerData(Dimension dimension) {
+    if (dimension.reloadPlayerData()) {
+      if (PersistentSettings.getFollowPlayer()) {
+        Platform.runLater(() -> dimension.getPlayerPos().ifPresent(mapView::panTo));
+      }
+    }
+  }
+
+  /** Update the visible regions among the changed regions. */
+  private void updateRegions(Dimension dimension, Set<RegionPosition> changed) {
+    ChunkView theView = view;
+    for (RegionPosition pos : changed) {
+      if (theView.isRegionVisible(pos)) {
+        updateRegion(dimension, theView, pos);
+      }
+    }
+  }
+
+  /** Check all visible regions for changes. */
+  private void pollVisibleRegions(Dimension dimension) {
+    ChunkView theView = view;
+    for (int rx = theView.prx0; rx <= theView.prx1; ++rx) {
+      for (int rz = theView.prz0; rz <= theView.prz1; ++rz) {
+        updateRegion(dimension, theView, new RegionPosition(rx, rz));
+      }
+    }
+  }
+
+  private void updateRegion(Dimension dimension, ChunkView theView, RegionPosition pos) {
+    Region region = dimension.getRegionWithinRange(pos, theView.yMin, theView.yMax);
+    if (region.isEmpty()) {
+      if (dimension.regionExistsWithinRange(pos, theView.yMin, theView.yMax)) {
+        region = dimension.createRegion(pos);
+      }
+      dimension.setRegion(pos, region);
+      region.parse(theView.yMin, theView.yMax);
+      dimension.regionDiscovered(pos);
+      mapLoader.regionUpdated(pos);
+    } else if (region.hasChanged()) {
+      region.parse(theView.yMin, theView.yMax);
+      mapLoader.regionUpdated(region.getPosition());
     }
   }
 }
@@ -0,0 +1,173 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.world.region;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import se.llbit.chunky.world.RegionPosition;
+
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * Bounded least recently used cache of the regions of a dimension.
+ *
+ * <p>Each region holds the chunks and the rendered map layers (surface and biomes) of its
+ * chunks, so evicting a region releases all of them. An evicted region is created again
+ * on the next access and its chunks are reloaded when the region is parsed.
+ *
+ * <p>Regions accepted by the pin filter, for example regions that are visible in the map
+ * view or that contain selected chunks, are never evicted. The cache may grow beyond its
+ * capacity if more regions than that are pinned.
+ *
+ * <p>This class is not thread safe. Access is synchronized by the owning dimension.
+ */
+public class RegionCache {
+  /** Rough heap cost of a region with all chunks and map layers loaded. */
+  private static final long BYTES_PER_REGION = 1024 * 3500;
+
+  private static final int MIN_CAPACITY = 64;
+
+  private final Long2ObjectLinkedOpenHashMap<Region> regions = new Long2ObjectLinkedOpenHashMap<>();
+  private final int capacity;
+
+  private Predicate<RegionPosition> pinFilter = pos -> false;
+
+  /**
+   * Size the cache had after the last eviction pass that failed to get below the capacity
+   * because of pinned regions. Used to avoid scanning the pinned regions on every insertion.
+   */
+  private int pinnedSize = 0;
+
+  private volatile long hits = 0;
+  private volatile long misses = 0;
+  private volatile long evictions = 0;
+
+  /**
+   * @param capacity maximum number of unpinned regions to keep. If zero or negative,
+   * the capacity is derived from the maximum heap size.
+   */
+  public RegionCache(int capacity) {
+    this.capacity = capacity > 0 ? capacity : defaultCapacity();
+  }
+
+  /**
+   * @return a capacity that lets fully loaded regions use up to a quarter of the heap
+   */
+  public static int defaultCapacity() {
+    long regions = Runtime.getRuntime().maxMemory() / 4 / BYTES_PER_REGION;
+    return (int) Math.max(MIN_CAPACITY, Math.min(Integer.MAX_VALUE, regions));
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Set the filter that decides which regions must not be evicted.
+   */
+  public void setPinFilter(Predicate<RegionPosition> pinFilter) {
+    this.pinFilter = pinFilter;
+  }
+
+  /**
+   * Get the region at the given position, creating it with the loader on a cache miss.
+   */
+  public Region computeIfAbsent(long pos, LongFunction<Region> loader) {
+    Region region = regions.getAndMoveToLast(pos);
+    if (region != null) {
+      hits += 1;
+      return region;
+    }
+    misses += 1;
+    region = loader.apply(pos);
+    regions.putAndMoveToLast(pos, region);
+    evict();
+    return region;
+  }
+
+  /**
+   * Add or replace the region at the given position.
+   */
+  public void put(long pos, Region region) {
+    regions.putAndMoveToLast(pos, region);
+    evict();
+  }
+
+  /**
+   * @return the cached region at the given position, or {@code null} if it is not cached
+   */
+  public Region getIfPresent(long pos) {
+    return regions.get(pos);
+  }
+
+  public boolean contains(long pos) {
+    return regions.containsKey(pos);
+  }
+
+  public int size() {
+    return regions.size();
+  }
+
+  public void clear() {
+    regions.clear();
+    pinnedSize = 0;
+  }
+
+  /**
+   * Evict least recently used regions until the cache is within its capacity. Pinned
+   * regions are moved to the back of the queue instead.
+   */
+  private void evict() {
+    if (regions.size() <= capacity || regions.size() <= pinnedSize) {
+      return;
+    }
+    int remaining = regions.size();
+    while (regions.size() > capacity && remaining > 0) {
+      long pos = regions.firstLongKey();
+      if (pinFilter.test(new RegionPosition(pos))) {
+        regions.getAndMoveToLast(pos);
+      } else {
+        regions.removeFirst();
+        evictions += 1;
+      }
+      remaining -= 1;
+    }
+    // If pinned regions kept the cache above its capacity, wait for a few more insertions
+    // before scanning again.
+    pinnedSize = regions.size() > capacity ? regions.size() + capacity / 8 : 0;
+  }
+
+  /** Number of lookups that found a cached region. */
+  public long getHits() {
+    return hits;
+  }
+
+  /** Number of lookups that had to create the region. */
+  public long getMisses() {
+    return misses;
+  }
+
+  /** Number of regions that were evicted from the cache. */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  @Override public String toString() {
+    return String.format("%d/%d regions, %d hits, %d misses, %d evictions",
+        regions.size(), capacity, hits, misses, evictions);
+  }
+}
@@ -0,0 +1,258 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.world.region;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import se.llbit.chunky.world.RegionPosition;
+import se.llbit.log.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Summary of the region file headers in a region directory.
+ *
+ * <p>The headers of all region files are read with asynchronous reads, with a bounded number
+ * of reads in flight, so that many reads can be queued on slow storage. For each region only
+ * the chunk presence, the chunk timestamps and the chunk sizes are kept, so that the chunks
+ * of a world can be queried without opening the region files again.
+ */
+public class RegionIndex {
+  /** Size of the region file header: chunk locations followed by chunk timestamps. */
+  public static final int HEADER_SIZE = 2 * 4096;
+
+  private static final int MAX_PENDING_READS = 64;
+
+  /**
+   * Header summary of a single region file.
+   */
+  public static class Entry {
+    public final RegionPosition position;
+    /** Modification time of the region file when the header was read. */
+    public final long fileTime;
+    public final long fileSize;
+
+    /** One bit per chunk, indexed by x + z * 32. */
+    private final long[] presence = new long[16];
+    /** Timestamps of the present chunks, in index order. */
+    private final int[] timestamps;
+    /** Number of 4 KiB sectors used by the present chunks, in index order. */
+    private final byte[] sectors;
+
+    /**
+     * @param header the region file header, or {@code null} if the file has no header
+     */
+    Entry(RegionPosition position, long fileTime, long fileSize, ByteBuffer header) {
+      this.position = position;
+      this.fileTime = fileTime;
+      this.fileSize = fileSize;
+      int count = 0;
+      if (header != null) {
+        for (int i = 0; i < 1024; ++i) {
+          if (header.getInt(i * 4) != 0) {
+            presence[i >> 6] |= 1L << i;
+            count += 1;
+          }
+        }
+      }
+      timestamps = new int[count];
+      sectors = new byte[count];
+      for (int i = 0, j = 0; j < count; ++i) {
+        int location = header.getInt(i * 4);
+        if (location != 0) {
+          sectors[j] = (byte) location;
+          timestamps[j] = header.getInt(4096 + i * 4);
+          j += 1;
+        }
+      }
+    }
+
+    /** @return the number of chunks in the region */
+    public int numChunks() {
+      return timestamps.length;
+    }
+
+    /**
+     * @param x chunk x coordinate within the region
+     * @param z chunk z coordinate within the region
+     */
+    public boolean hasChunk(int x, int z) {
+      int i = (x & 31) + (z & 31) * 32;
+      return (presence[i >> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * @return the timestamp of the chunk, or 0 if the chunk is not present
+     */
+    public int chunkTimestamp(int x, int z) {
+      int rank = rank(x, z);
+      return rank >= 0 ? timestamps[rank] : 0;
+    }
+
+    /**
+     * @return the number of bytes allocated to the chunk in the region file, or 0 if the
+     * chunk is not present
+     */
+    public int chunkSize(int x, int z) {
+      int rank = rank(x, z);
+      return rank >= 0 ? (sectors[rank] & 0xFF) * 4096 : 0;
+    }
+
+    /** @return the index of the chunk among the present chunks, or -1 if not present */
+    private int rank(int x, int z) {
+      if (!hasChunk(x, z)) {
+        return -1;
+      }
+      int i = (x & 31) + (z & 31) * 32;
+      int rank = 0;
+      for (int word = 0; word < (i >> 6); ++word) {
+        rank += Long.bitCount(presence[word]);
+      }
+      return rank + Long.bitCount(presence[i >> 6] & ((1L << (i & 63)) - 1));
+    }
+  }
+
+  private final Long2ObjectMap<Entry> entries;
+
+  private RegionIndex(Long2ObjectMap<Entry> entries) {
+    this.entries = entries;
+  }
+
+  /** An index without regions. */
+  public static RegionIndex empty() {
+    return new RegionIndex(new Long2ObjectOpenHashMap<>());
+  }
+
+  /**
+   * @return the header summary of the region, or {@code null} if the region was not indexed
+   */
+  public Entry get(RegionPosition position) {
+    return entries.get(position.getLong());
+  }
+
+  /** @return the header summaries of all indexed regions */
+  public Collection<Entry> getEntries() {
+    return Collections.unmodifiableCollection(entries.values());
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Read the headers of all region files in a directory.
+   */
+  public static RegionIndex build(File regionDirectory) throws InterruptedException {
+    List<RegionPosition> positions = new ArrayList<>();
+    String[] names = regionDirectory.list();
+    if (names != null) {
+      for (String name : names) {
+        RegionPosition position = RegionPosition.fromMcaName(name);
+        if (position != null) {
+          positions.add(position);
+        }
+      }
+    }
+
+    ConcurrentHashMap<Long, Entry> result = new ConcurrentHashMap<>();
+    Semaphore pending = new Semaphore(MAX_PENDING_READS);
+    CountDownLatch done = new CountDownLatch(positions.size());
+    for (RegionPosition position : positions) {
+      pending.acquire();
+      File file = new File(regionDirectory, position.getMcaName());
+      readHeader(file, position, entry -> {
+        if (entry != null) {
+          result.put(position.getLong(), entry);
+        }
+        pending.release();
+        done.countDown();
+      });
+    }
+    done.await();
+
+    Long2ObjectMap<Entry> entries = new Long2ObjectOpenHashMap<>(result.size());
+    result.forEach(entries::put);
+    return new RegionIndex(entries);
+  }
+
+  private interface EntryConsumer {
+    void accept(Entry entry);
+  }
+
+  /**
+   * Start an asynchronous read of a region file header. The callback receives {@code null}
+   * if the file could not be read.
+   */
+  private static void readHeader(File file, RegionPosition position, EntryConsumer callback) {
+    long fileTime = file.lastModified();
+    AsynchronousFileChannel channel;
+    long size;
+    try {
+      channel = AsynchronousFileChannel.open(file.toPath(), StandardOpenOption.READ);
+      size = channel.size();
+    } catch (IOException e) {
+      Log.infof("Could not open region file %s: %s", file.getName(), e.getMessage());
+      callback.accept(null);
+      return;
+    }
+    if (size < HEADER_SIZE) {
+      // Empty or truncated region file.
+      close(channel);
+      callback.accept(new Entry(position, fileTime, size, null));
+      return;
+    }
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    channel.read(header, 0, header, new CompletionHandler<Integer, ByteBuffer>() {
+      @Override public void completed(Integer read, ByteBuffer buffer) {
+        if (read > 0 && buffer.hasRemaining()) {
+          // Short read, continue where it stopped.
+          channel.read(buffer, buffer.position(), buffer, this);
+          return;
+        }
+        close(channel);
+        callback.accept(buffer.hasRemaining()
+            ? new Entry(position, fileTime, size, null)
+            : new Entry(position, fileTime, size, buffer));
+      }
+
+      @Override public void failed(Throwable error, ByteBuffer buffer) {
+        close(channel);
+        Log.infof("Could not read region file %s: %s", file.getName(), error.getMessage());
+        callback.accept(null);
+      }
+    });
+  }
+
+  private static void close(AsynchronousFileChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException ignored) {
+    }
+  }
+}
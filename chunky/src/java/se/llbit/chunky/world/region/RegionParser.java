@@ -19,6 +19,8 @@ package se.llbit.chunky.world.region;
 import se.llbit.chunky.chunk.ChunkData;
 import se.llbit.chunky.chunk.GenericChunkData;
 import se.llbit.chunky.chunk.SimpleChunkData;
+import se.llbit.chunky.map.MapPyramid;
+import se.llbit.chunky.map.MapTileCache;
 import se.llbit.chunky.map.MapView;
 import se.llbit.chunky.map.WorldMapLoader;
 import se.llbit.chunky.world.*;
@@ -62,19 +64,93 @@ public class RegionParser extends Thread {
         if (map.isRegionVisible(position)) {
           Dimension dimension = mapLoader.getWorld().currentDimension();
           Region region = dimension.getRegionWithinRange(position, mapView.getYMin(), mapView.getYMax());
-          region.parse(mapView.getYMin(), mapView.getYMax());
+          int yMin = mapView.getYMin();
+          int yMax = mapView.getYMax();
+          MapPyramid pyramid = mapLoader.getMapPyramid();
+          boolean regionMode = map.chunkScale < 16;
+          long timestamp = dimension.regionTimestamp(position);
+          region.parse(yMin, yMax);
+          if (regionMode && pyramid.isComplete(position, timestamp, yMin, yMax)) {
+            // The region tile can be drawn without loading the chunks.
+            continue;
+          }
+          if (regionMode && restoreRegionTile(pyramid, dimension, position, timestamp, yMin,
+              yMax)) {
+            // The region tile was drawn in an earlier session, redraw it from the pyramid.
+            dimension.regionUpdated(position);
+            continue;
+          }
+          if (region instanceof MCRegion && needsLoading(region, map)) {
+            MapTileCache.restore(dimension, (MCRegion) region, yMin, yMax);
+          }
           Mutable<ChunkData> chunkData = new Mutable<>(null);
+          boolean loaded = false;
           for (Chunk chunk : region) {
             if (map.shouldPreload(chunk)) {
-              if (chunk.loadChunk(chunkData, mapView.getYMin(), mapView.getYMax())) {
+              if (chunk.loadChunk(chunkData, yMin, yMax)) {
                 chunkData.get().clear();
+                loaded = true;
               }
             }
           }
+          if (loaded && region instanceof MCRegion) {
+            MapTileCache.store(dimension, (MCRegion) region, yMin, yMax);
+          }
+          if (regionMode) {
+            updateRegionTile(pyramid, dimension, region, timestamp, yMin, yMax);
+          }
         }
       } catch (Throwable t) {
         Log.warn("Region Parser Error", t);
       }
     }
   }
+
+  /**
+   * Load a region tile from the map tile cache into the map pyramid.
+   *
+   * @return {@code true} if the cached tile is up to date
+   */
+  private static boolean restoreRegionTile(MapPyramid pyramid, Dimension dimension,
+      RegionPosition position, long timestamp, int yMin, int yMax) {
+    if (timestamp == 0) {
+      return false;
+    }
+    int[] pixels = new int[MapPyramid.TILE_SIZE * MapPyramid.TILE_SIZE];
+    if (!MapTileCache.restoreRegionTile(dimension, position, timestamp, yMin, yMax, pixels)) {
+      return false;
+    }
+    pyramid.setRegion(position, pixels, timestamp, yMin, yMax);
+    return true;
+  }
+
+  /**
+   * Draw the chunks of a region into its region tile in the map pyramid and the map tile
+   * cache. In region mode all chunks of the region have been loaded, so the region tile is
+   * complete.
+   */
+  private static void updateRegionTile(MapPyramid pyramid, Dimension dimension, Region region,
+      long timestamp, int yMin, int yMax) {
+    if (region instanceof MCRegion && timestamp != 0) {
+      int[] pixels = new int[MapPyramid.TILE_SIZE * MapPyramid.TILE_SIZE];
+      for (int z = 0; z < 32; ++z) {
+        for (int x = 0; x < 32; ++x) {
+          pixels[x + z * 32] = region.getChunk(x, z).biomeColor();
+        }
+      }
+      pyramid.setRegion(region.getPosition(), pixels, timestamp, yMin, yMax);
+      MapTileCache.storeRegionTile(dimension, region.getPosition(), timestamp, yMin, yMax,
+          pixels);
+    }
+  }
+
+  /** @return {@code true} if some visible chunk in the region has not been loaded yet */
+  private static boolean needsLoading(Region region, ChunkView map) {
+    for (Chunk chunk : region) {
+      if (map.shouldPreload(chunk) && !chunk.isEmpty() && !chunk.hasMapLayers()) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
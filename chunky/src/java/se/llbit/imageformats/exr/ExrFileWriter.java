@@ -0,0 +1,321 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.imageformats.exr;
+
+import se.llbit.chunky.main.Chunky;
+import se.llbit.chunky.renderer.scene.AlphaBuffer;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.util.TaskTracker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+
+/**
+ * OpenEXR image file writer. Writes a single part scanline image with half float channels
+ * and ZIP compression. Blocks of scanlines are compressed in parallel.
+ *
+ * <p>The pixel values are taken directly from the sample buffer (scaled by the exposure)
+ * without post-processing, because that would clip the value range and defeat the purpose
+ * of HDR.
+ */
+public class ExrFileWriter {
+  public static final int MAGIC = 20000630;
+  private static final int VERSION = 2; // Single part scanline file.
+
+  private static final int PIXEL_TYPE_HALF = 1;
+  private static final int COMPRESSION_ZIP = 3;
+  private static final int LINE_ORDER_INCREASING_Y = 0;
+
+  /** Number of scanlines in each ZIP compressed block. */
+  static final int LINES_PER_BLOCK = 16;
+
+  private final FileChannel channel;
+
+  /**
+   * Note: the file channel is not closed after writing.
+   */
+  public ExrFileWriter(FileChannel channel) {
+    this.channel = channel;
+  }
+
+  public void write(Scene scene, TaskTracker.Task task) throws IOException {
+    int width = scene.canvasConfig.getWidth();
+    int height = scene.canvasConfig.getHeight();
+    double[] samples = scene.getSampleBuffer();
+    float exposure = (float) scene.getExposure();
+    AlphaBuffer alpha = scene.getAlphaBuffer();
+    FloatBuffer alphaBuffer = alpha.getType() == AlphaBuffer.Type.FP32
+        ? alpha.getBuffer().asFloatBuffer()
+        : null;
+
+    BlockSource source = (y, channelIndex, row) -> {
+      if (channelIndex == 3) {
+        for (int x = 0; x < width; ++x) {
+          row[x] = alphaBuffer.get(y * width + x);
+        }
+      } else {
+        int offset = y * width * 3 + channelIndex;
+        for (int x = 0; x < width; ++x) {
+          row[x] = (float) samples[offset + x * 3] * exposure;
+        }
+      }
+    };
+    write(source, width, height, alphaBuffer != null, task);
+  }
+
+  /**
+   * Supplies the pixel values of one channel of a scanline.
+   */
+  interface BlockSource {
+    /**
+     * @param channel 0 = red, 1 = green, 2 = blue, 3 = alpha
+     */
+    void getRow(int y, int channel, float[] row);
+  }
+
+  void write(BlockSource source, int width, int height, boolean hasAlpha,
+      TaskTracker.Task task) throws IOException {
+    int blocks = (height + LINES_PER_BLOCK - 1) / LINES_PER_BLOCK;
+    long start = channel.position();
+
+    writeFully(headerBytes(width, height, hasAlpha), channel.position());
+    // The offset table is written last, when the offsets of all blocks are known.
+    long tablePosition = channel.position();
+    ByteBuffer offsetTable = ByteBuffer.allocate(blocks * 8).order(ByteOrder.LITTLE_ENDIAN);
+    channel.position(tablePosition + offsetTable.capacity());
+
+    // Channels are stored in alphabetical order: A, B, G, R.
+    int[] channels = hasAlpha ? new int[] { 3, 2, 1, 0 } : new int[] { 2, 1, 0 };
+
+    ForkJoinPool pool = Chunky.getCommonThreads();
+    // Limit the number of blocks in flight to bound memory use.
+    int window = 2 * pool.getParallelism();
+    ArrayDeque<Future<ByteBuffer>> pending = new ArrayDeque<>(window);
+    int next = 0;
+    task.update(blocks, 0);
+    try {
+      for (int i = 0; i < blocks; ++i) {
+        while (next < blocks && pending.size() < window) {
+          int firstRow = next * LINES_PER_BLOCK;
+          int endRow = Math.min(height, firstRow + LINES_PER_BLOCK);
+          pending.add(pool.submit(() -> encodeBlock(source, channels, width, firstRow, endRow)));
+          next += 1;
+        }
+        ByteBuffer block = pending.poll().get();
+        offsetTable.putLong(channel.position() - start);
+        while (block.hasRemaining()) {
+          channel.write(block);
+        }
+        task.update(blocks, i + 1);
+      }
+    } catch (InterruptedException e) {
+      pending.forEach(future -> future.cancel(true));
+      throw new IOException("Interrupted while writing EXR", e);
+    } catch (ExecutionException e) {
+      pending.forEach(future -> future.cancel(true));
+      throw new IOException("Failed to encode EXR image data", e.getCause());
+    }
+
+    long end = channel.position();
+    offsetTable.flip();
+    writeFully(offsetTable, tablePosition);
+    channel.position(end);
+  }
+
+  private void writeFully(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+    channel.position(position);
+  }
+
+  private static ByteBuffer headerBytes(int width, int height, boolean hasAlpha) {
+    ByteBuffer header = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+    header.putInt(MAGIC);
+    header.putInt(VERSION);
+
+    String[] channelNames = hasAlpha
+        ? new String[] { "A", "B", "G", "R" }
+        : new String[] { "B", "G", "R" };
+    ByteBuffer channelList = ByteBuffer.allocate(channelNames.length * 18 + 1)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    for (String name : channelNames) {
+      putString(channelList, name);
+      channelList.putInt(PIXEL_TYPE_HALF);
+      channelList.put((byte) 0); // pLinear
+      channelList.put(new byte[3]); // Reserved.
+      channelList.putInt(1); // xSampling
+      channelList.putInt(1); // ySampling
+    }
+    channelList.put((byte) 0);
+    putAttribute(header, "channels", "chlist", channelList.flip());
+
+    putAttribute(header, "compression", "compression",
+        ByteBuffer.allocate(1).put(0, (byte) COMPRESSION_ZIP));
+    ByteBuffer window = box2i(width, height);
+    putAttribute(header, "dataWindow", "box2i", window);
+    putAttribute(header, "displayWindow", "box2i", window.rewind());
+    putAttribute(header, "lineOrder", "lineOrder",
+        ByteBuffer.allocate(1).put(0, (byte) LINE_ORDER_INCREASING_Y));
+    putAttribute(header, "pixelAspectRatio", "float",
+        ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putFloat(0, 1));
+    putAttribute(header, "screenWindowCenter", "v2f",
+        ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putFloat(0, 0).putFloat(4, 0));
+    putAttribute(header, "screenWindowWidth", "float",
+        ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putFloat(0, 1));
+    header.put((byte) 0); // End of header.
+    return header.flip();
+  }
+
+  private static ByteBuffer box2i(int width, int height) {
+    return ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN)
+        .putInt(0).putInt(0).putInt(width - 1).putInt(height - 1)
+        .flip();
+  }
+
+  private static void putAttribute(ByteBuffer header, String name, String type, ByteBuffer value) {
+    putString(header, name);
+    putString(header, type);
+    header.putInt(value.remaining());
+    header.put(value);
+  }
+
+  private static void putString(ByteBuffer buffer, String value) {
+    buffer.put(value.getBytes(StandardCharsets.US_ASCII));
+    buffer.put((byte) 0);
+  }
+
+  /**
+   * Convert and compress the scanlines in the range [firstRow, endRow).
+   *
+   * @return the complete block, including the block header
+   */
+  private static ByteBuffer encodeBlock(BlockSource source, int[] channels, int width,
+      int firstRow, int endRow) {
+    byte[] raw = new byte[(endRow - firstRow) * channels.length * width * 2];
+    float[] row = new float[width];
+    int i = 0;
+    for (int y = firstRow; y < endRow; ++y) {
+      for (int channel : channels) {
+        source.getRow(y, channel, row);
+        for (int x = 0; x < width; ++x) {
+          short half = floatToHalf(row[x]);
+          raw[i++] = (byte) half;
+          raw[i++] = (byte) (half >> 8);
+        }
+      }
+    }
+
+    byte[] compressed = new byte[raw.length];
+    int compressedLength = compress(raw, compressed);
+    ByteBuffer block;
+    if (compressedLength < 0) {
+      // The data did not compress. Readers detect this from the block size.
+      block = ByteBuffer.allocate(8 + raw.length).order(ByteOrder.LITTLE_ENDIAN);
+      block.putInt(firstRow).putInt(raw.length).put(raw);
+    } else {
+      block = ByteBuffer.allocate(8 + compressedLength).order(ByteOrder.LITTLE_ENDIAN);
+      block.putInt(firstRow).putInt(compressedLength).put(compressed, 0, compressedLength);
+    }
+    return block.flip();
+  }
+
+  /**
+   * Apply the ZIP compression of OpenEXR: the bytes are split into two halves (even and odd
+   * bytes), delta encoded and then zlib compressed.
+   *
+   * @return the compressed size, or -1 if the data could not be compressed to less than
+   * its original size
+   */
+  static int compress(byte[] raw, byte[] output) {
+    byte[] predicted = new byte[raw.length];
+    int half = (raw.length + 1) / 2;
+    for (int i = 0; i < raw.length; ++i) {
+      predicted[(i & 1) == 0 ? i / 2 : half + i / 2] = raw[i];
+    }
+    int previous = predicted.length > 0 ? predicted[0] & 0xFF : 0;
+    for (int i = 1; i < predicted.length; ++i) {
+      int value = predicted[i] & 0xFF;
+      predicted[i] = (byte) (value - previous + 128);
+      previous = value;
+    }
+
+    Deflater deflater = new Deflater();
+    try {
+      deflater.setInput(predicted);
+      deflater.finish();
+      int length = 0;
+      while (!deflater.finished() && length < output.length) {
+        length += deflater.deflate(output, length, output.length - length);
+      }
+      return deflater.finished() && length < raw.length ? length : -1;
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Convert a float to a half precision float, rounding to the nearest representable value
+   * (ties to even).
+   */
+  static short floatToHalf(float value) {
+    int bits = Float.floatToRawIntBits(value);
+    int sign = (bits >>> 16) & 0x8000;
+    int exponent = (bits >>> 23) & 0xFF;
+    int mantissa = bits & 0x7FFFFF;
+    if (exponent == 0xFF) {
+      // Infinity or NaN.
+      return (short) (sign | 0x7C00 | (mantissa != 0 ? 0x200 : 0));
+    }
+    int halfExponent = exponent - 127 + 15;
+    if (halfExponent >= 0x1F) {
+      // Too large, round to infinity.
+      return (short) (sign | 0x7C00);
+    }
+    if (halfExponent <= 0) {
+      // Subnormal half.
+      if (halfExponent < -10) {
+        return (short) sign;
+      }
+      mantissa |= 0x800000;
+      int shift = 14 - halfExponent;
+      int result = mantissa >> shift;
+      int rest = mantissa & ((1 << shift) - 1);
+      int halfway = 1 << (shift - 1);
+      if (rest > halfway || (rest == halfway && (result & 1) != 0)) {
+        result += 1;
+      }
+      return (short) (sign | result);
+    }
+    int result = (halfExponent << 10) | (mantissa >> 13);
+    int rest = mantissa & 0x1FFF;
+    if (rest > 0x1000 || (rest == 0x1000 && (result & 1) != 0)) {
+      // May carry into the exponent, which gives the correct result.
+      result += 1;
+    }
+    return (short) (sign | result);
+  }
+}
@@ -0,0 +1,328 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.imageformats.png;
+
+import se.llbit.chunky.main.Chunky;
+import se.llbit.util.TaskTracker;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes the image data (IDAT chunks) of a PNG file. Bands of scanlines are filtered and
+ * compressed in parallel.
+ *
+ * <p>Each band is compressed into its own raw deflate stream which ends with a sync flush,
+ * so the compressed bands can simply be concatenated into one zlib stream (the same technique
+ * is used by pigz). The filtered data just before a band is used as preset dictionary for the
+ * band, which keeps the compression ratio close to that of a single deflate stream.
+ *
+ * <p>The filter type of each scanline is chosen with the minimum sum of absolute differences
+ * heuristic recommended by the PNG specification.
+ */
+class ParallelIDATWriter {
+  /** Approximate amount of unfiltered image data per band. */
+  private static final int BAND_BYTES = 256 * 1024;
+
+  /** Size of the deflate window. */
+  private static final int DICTIONARY_BYTES = 32 * 1024;
+
+  private static final int ZLIB_HEADER = 0x789C; // Deflate, 32K window, default compression.
+
+  private static final int FILTER_TYPE_SUB = 1;
+  private static final int FILTER_TYPE_UP = 2;
+  private static final int FILTER_TYPE_AVERAGE = 3;
+  private static final int FILTER_TYPE_PAETH = 4;
+  private static final int NUM_FILTER_TYPES = 5;
+
+  private final DataOutputStream out;
+  private final PngFileWriter.ScanlineSource source;
+  private final int height;
+  private final int bytesPerPixel;
+  private final int rowBytes;
+  private final int stride;
+
+  private final byte[] chunkBuffer = new byte[PngFileWriter.MAX_CHUNK_BYTES];
+  private int chunkSize = 0;
+
+  private static class Band {
+    final byte[] compressed;
+    final int adler;
+    final long length;
+
+    Band(byte[] compressed, int adler, long length) {
+      this.compressed = compressed;
+      this.adler = adler;
+      this.length = length;
+    }
+  }
+
+  /**
+   * @param bytesPerPixel number of bytes of one complete pixel, rounded up to one
+   * @param rowBytes number of bytes in one unfiltered scanline
+   */
+  ParallelIDATWriter(DataOutputStream out, PngFileWriter.ScanlineSource source, int height,
+      int bytesPerPixel, int rowBytes) {
+    this.out = out;
+    this.source = source;
+    this.height = height;
+    this.bytesPerPixel = bytesPerPixel;
+    this.rowBytes = rowBytes;
+    this.stride = rowBytes + 1;
+  }
+
+  void write(TaskTracker.Task task) throws IOException {
+    int rowsPerBand = Math.max(1, BAND_BYTES / stride);
+    int bands = (height + rowsPerBand - 1) / rowsPerBand;
+
+    emit(ZLIB_HEADER >> 8);
+    emit(ZLIB_HEADER & 0xFF);
+    int adler = 1;
+
+    task.update(bands, 0);
+    if (bands == 1) {
+      Band band = encodeBand(0, height, true);
+      emit(band.compressed);
+      adler = band.adler;
+    } else {
+      ForkJoinPool pool = Chunky.getCommonThreads();
+      // Limit the number of bands in flight to bound memory use.
+      int window = 2 * pool.getParallelism();
+      ArrayDeque<Future<Band>> pending = new ArrayDeque<>(window);
+      int next = 0;
+      try {
+        for (int i = 0; i < bands; ++i) {
+          while (next < bands && pending.size() < window) {
+            int firstRow = next * rowsPerBand;
+            int endRow = Math.min(height, firstRow + rowsPerBand);
+            boolean last = next == bands - 1;
+            pending.add(pool.submit(() -> encodeBand(firstRow, endRow, last)));
+            next += 1;
+          }
+          Band band = pending.poll().get();
+          emit(band.compressed);
+          adler = adler32Combine(adler, band.adler, band.length);
+          task.update(bands, i + 1);
+        }
+      } catch (InterruptedException e) {
+        pending.forEach(future -> future.cancel(true));
+        throw new IOException("Interrupted while writing PNG", e);
+      } catch (ExecutionException e) {
+        pending.forEach(future -> future.cancel(true));
+        throw new IOException("Failed to encode PNG image data", e.getCause());
+      }
+    }
+    task.update(bands, bands);
+
+    emit(adler >>> 24);
+    emit((adler >>> 16) & 0xFF);
+    emit((adler >>> 8) & 0xFF);
+    emit(adler & 0xFF);
+    flushChunk();
+  }
+
+  /**
+   * Filter and compress the scanlines in the range [firstRow, endRow).
+   */
+  private Band encodeBand(int firstRow, int endRow, boolean last) {
+    // Filter enough preceding rows to build the preset dictionary.
+    int dictionaryRows = Math.min(firstRow, (DICTIONARY_BYTES + stride - 1) / stride);
+    int start = firstRow - dictionaryRows;
+    byte[] filtered = new byte[(endRow - start) * stride];
+    byte[] previous = new byte[rowBytes];
+    byte[] current = new byte[rowBytes];
+    byte[][] candidates = new byte[NUM_FILTER_TYPES][rowBytes];
+    if (start > 0) {
+      source.getScanline(start - 1, previous);
+    }
+    for (int y = start; y < endRow; ++y) {
+      source.getScanline(y, current);
+      filterScanline(previous, current, candidates, filtered, (y - start) * stride);
+      byte[] temp = previous;
+      previous = current;
+      current = temp;
+    }
+
+    int offset = dictionaryRows * stride;
+    int length = filtered.length - offset;
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2);
+    try {
+      if (offset > 0) {
+        int dictionaryLength = Math.min(offset, DICTIONARY_BYTES);
+        deflater.setDictionary(filtered, offset - dictionaryLength, dictionaryLength);
+      }
+      deflater.setInput(filtered, offset, length);
+      byte[] buffer = new byte[64 * 1024];
+      if (last) {
+        deflater.finish();
+        while (!deflater.finished()) {
+          int deflated = deflater.deflate(buffer);
+          compressed.write(buffer, 0, deflated);
+        }
+      } else {
+        // Sync flush until the output buffer is no longer filled completely.
+        int deflated;
+        do {
+          deflated = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+          compressed.write(buffer, 0, deflated);
+        } while (deflated == buffer.length);
+      }
+    } finally {
+      deflater.end();
+    }
+
+    Adler32 adler = new Adler32();
+    adler.update(filtered, offset, length);
+    return new Band(compressed.toByteArray(), (int) adler.getValue(), length);
+  }
+
+  /**
+   * Apply the filter which minimizes the sum of absolute differences to the scanline and
+   * write the filter type byte and filtered scanline to the output.
+   */
+  private void filterScanline(byte[] previous, byte[] current, byte[][] candidates,
+      byte[] output, int offset) {
+    byte[] sub = candidates[FILTER_TYPE_SUB];
+    byte[] up = candidates[FILTER_TYPE_UP];
+    byte[] average = candidates[FILTER_TYPE_AVERAGE];
+    byte[] paeth = candidates[FILTER_TYPE_PAETH];
+    long noneSum = 0, subSum = 0, upSum = 0, averageSum = 0, paethSum = 0;
+    for (int i = 0; i < rowBytes; ++i) {
+      int x = current[i] & 0xFF;
+      int a = i >= bytesPerPixel ? current[i - bytesPerPixel] & 0xFF : 0;
+      int b = previous[i] & 0xFF;
+      int c = i >= bytesPerPixel ? previous[i - bytesPerPixel] & 0xFF : 0;
+
+      sub[i] = (byte) (x - a);
+      up[i] = (byte) (x - b);
+      average[i] = (byte) (x - ((a + b) >>> 1));
+      paeth[i] = (byte) (x - paethPredictor(a, b, c));
+
+      noneSum += Math.abs(current[i]);
+      subSum += Math.abs(sub[i]);
+      upSum += Math.abs(up[i]);
+      averageSum += Math.abs(average[i]);
+      paethSum += Math.abs(paeth[i]);
+    }
+
+    int filterType = IDAT.FILTER_TYPE_NONE;
+    long best = noneSum;
+    if (subSum < best) {
+      filterType = FILTER_TYPE_SUB;
+      best = subSum;
+    }
+    if (upSum < best) {
+      filterType = FILTER_TYPE_UP;
+      best = upSum;
+    }
+    if (averageSum < best) {
+      filterType = FILTER_TYPE_AVERAGE;
+      best = averageSum;
+    }
+    if (paethSum < best) {
+      filterType = FILTER_TYPE_PAETH;
+    }
+
+    output[offset] = (byte) filterType;
+    byte[] row = filterType == IDAT.FILTER_TYPE_NONE ? current : candidates[filterType];
+    System.arraycopy(row, 0, output, offset + 1, rowBytes);
+  }
+
+  private static int paethPredictor(int a, int b, int c) {
+    int p = a + b - c;
+    int pa = Math.abs(p - a);
+    int pb = Math.abs(p - b);
+    int pc = Math.abs(p - c);
+    if (pa <= pb && pa <= pc) {
+      return a;
+    } else if (pb <= pc) {
+      return b;
+    } else {
+      return c;
+    }
+  }
+
+  /**
+   * Compute the Adler-32 checksum of two concatenated sequences from their checksums
+   * (adler32_combine from zlib).
+   *
+   * @param length2 length of the second sequence
+   */
+  static int adler32Combine(int adler1, int adler2, long length2) {
+    final long base = 65521;
+    long remainder = length2 % base;
+    long sum1 = adler1 & 0xFFFF;
+    long sum2 = (remainder * sum1) % base;
+    sum1 += (adler2 & 0xFFFF) + base - 1;
+    sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + base - remainder;
+    if (sum1 >= base) sum1 -= base;
+    if (sum1 >= base) sum1 -= base;
+    if (sum2 >= (base << 1)) sum2 -= (base << 1);
+    if (sum2 >= base) sum2 -= base;
+    return (int) (sum1 | (sum2 << 16));
+  }
+
+  private void emit(int b) throws IOException {
+    if (chunkSize == chunkBuffer.length) {
+      flushChunk();
+    }
+    chunkBuffer[chunkSize++] = (byte) b;
+  }
+
+  private void emit(byte[] data) throws IOException {
+    int offset = 0;
+    while (offset < data.length) {
+      if (chunkSize == chunkBuffer.length) {
+        flushChunk();
+      }
+      int length = Math.min(data.length - offset, chunkBuffer.length - chunkSize);
+      System.arraycopy(data, offset, chunkBuffer, chunkSize, length);
+      chunkSize += length;
+      offset += length;
+    }
+  }
+
+  private void flushChunk() throws IOException {
+    if (chunkSize == 0) {
+      return;
+    }
+    out.writeInt(chunkSize);
+
+    try (
+      CrcOutputStream crcOut = new CrcOutputStream();
+      DataOutputStream crc = new DataOutputStream(crcOut);
+    ) {
+      crc.writeInt(IDAT.CHUNK_TYPE);
+      out.writeInt(IDAT.CHUNK_TYPE);
+
+      crc.write(chunkBuffer, 0, chunkSize);
+      out.write(chunkBuffer, 0, chunkSize);
+
+      out.writeInt(crcOut.getCRC());
+    }
+
+    chunkSize = 0;
+  }
+}
@@ -27,7 +27,6 @@ import se.llbit.util.TaskTracker;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.zip.Deflater;
 
 /**
  * @author Jesper Öqvist <jesper@llbit.se>
@@ -76,26 +75,32 @@ public class PngFileWriter implements AutoCloseable {
     }
   }
 
+  /**
+   * Supplies the unfiltered scanlines of an image. Scanlines may be requested
+   * concurrently from multiple threads and in any order.
+   */
+  public interface ScanlineSource {
+    /**
+     * Write the raw bytes of the scanline at row {@code y} into {@code row}.
+     */
+    void getScanline(int y, byte[] row);
+  }
+
   /**
    * Write the image to a PNG file.
    */
   public void write(int[] data, int width, int height, TaskTracker.Task task)
       throws IOException {
     writeChunk(new IHDR(width, height));
-    IDATWriter idat = new IDATWriter();
-    int i = 0;
-    for (int y = 0; y < height; ++y) {
-      task.update(height, y);
-      idat.write(IDAT.FILTER_TYPE_NONE); // Scanline header.
-      for (int x = 0; x < width; ++x) {
+    writeImageData(height, 3, width * 3, (y, row) -> {
+      int i = y * width;
+      for (int x = 0, j = 0; x < width; ++x) {
         int rgb = data[i++];
-        idat.write((rgb >> 16) & 0xFF);
-        idat.write((rgb >> 8) & 0xFF);
-        idat.write(rgb & 0xFF);
+        row[j++] = (byte) (rgb >> 16);
+        row[j++] = (byte) (rgb >> 8);
+        row[j++] = (byte) rgb;
       }
-      task.update(height, y + 1);
-    }
-    idat.close();
+    }, task);
   }
 
   /**
@@ -104,86 +109,43 @@ public class PngFileWriter implements AutoCloseable {
   public void write(int[] data, ByteBuffer alpha, int width, int height,
       TaskTracker.Task task) throws IOException {
     writeChunk(new IHDR(width, height, IHDR.COLOR_TYPE_RGBA));
-    IDATWriter idat = new IDATWriter();
-    int i = 0;
-    for (int y = 0; y < height; ++y) {
-      task.update(height, y);
-      idat.write(IDAT.FILTER_TYPE_NONE); // Scanline header.
-      for (int x = 0; x < width; ++x) {
+    writeImageData(height, 4, width * 4, (y, row) -> {
+      int i = y * width;
+      for (int x = 0, j = 0; x < width; ++x) {
         int rgb = data[i];
-        idat.write((rgb >> 16) & 0xFF);
-        idat.write((rgb >> 8) & 0xFF);
-        idat.write(rgb & 0xFF);
-        idat.write(alpha.get(i));
+        row[j++] = (byte) (rgb >> 16);
+        row[j++] = (byte) (rgb >> 8);
+        row[j++] = (byte) rgb;
+        row[j++] = alpha.get(i);
         i += 1;
       }
-      task.update(height, y + 1);
-    }
-    idat.close();
+    }, task);
   }
 
-  class IDATWriter {
-    Deflater deflater = new Deflater();
-    int inputSize = 0;
-    byte[] inputBuf = new byte[MAX_CHUNK_BYTES];
-    int outputSize = 0;
-    byte[] outputBuf = new byte[MAX_CHUNK_BYTES];
-
-    void write(int b) throws IOException {
-      if (inputSize == MAX_CHUNK_BYTES) {
-        deflater.setInput(inputBuf, 0, inputSize);
-        inputSize = 0;
-        deflate();
-      }
-      inputBuf[inputSize++] = (byte) b;
-    }
-
-    void write16(int bb) throws IOException {
-      write(bb >> 8);
-      write(bb & 0xFF);
-    }
-
-    private void deflate() throws IOException {
-      int deflated;
-      do {
-        if (outputSize == MAX_CHUNK_BYTES) {
-          writeChunk();
-        }
-        deflated = deflater.deflate(outputBuf, outputSize, MAX_CHUNK_BYTES - outputSize);
-        outputSize += deflated;
-      } while (deflated != 0);
-    }
-
-    private void writeChunk() throws IOException {
-      out.writeInt(outputSize);
-
-      try (
-        CrcOutputStream crcOut = new CrcOutputStream();
-        DataOutputStream crc = new DataOutputStream(crcOut);
-      ) {
-        crc.writeInt(IDAT.CHUNK_TYPE);
-        out.writeInt(IDAT.CHUNK_TYPE);
-
-        crc.write(outputBuf, 0, outputSize);
-        out.write(outputBuf, 0, outputSize);
-
-        out.writeInt(crcOut.getCRC());
-      }
+  /**
+   * Write an RGB image to a PNG file. The scanlines contain 8-bit RGB samples and are
+   * requested in roughly increasing order, so the image does not have to be kept in memory.
+   */
+  public void write(ScanlineSource source, int width, int height, TaskTracker.Task task)
+      throws IOException {
+    writeChunk(new IHDR(width, height));
+    writeImageData(height, 3, width * 3, source, task);
+  }
 
-      outputSize = 0;
-    }
+  /**
+   * Write an image with 16-bit color channels to a PNG file. The scanlines
+   * contain big-endian 16-bit RGB or RGBA samples.
+   */
+  public void write16(ScanlineSource source, boolean hasAlpha, int width, int height,
+      TaskTracker.Task task) throws IOException {
+    int channels = hasAlpha ? 4 : 3;
+    writeChunk(new IHDR(width, height,
+        hasAlpha ? IHDR.COLOR_TYPE_RGBA : IHDR.COLOR_TYPE_RGB, 16));
+    writeImageData(height, channels * 2, width * channels * 2, source, task);
+  }
 
-    void close() throws IOException {
-      if (inputSize > 0) {
-        deflater.setInput(inputBuf, 0, inputSize);
-        deflater.finish();
-        inputSize = 0;
-        deflate();
-      }
-      if (outputSize > 0) {
-        writeChunk();
-      }
-      deflater.end();
-    }
+  private void writeImageData(int height, int bytesPerPixel, int rowBytes,
+      ScanlineSource source, TaskTracker.Task task) throws IOException {
+    new ParallelIDATWriter(out, source, height, bytesPerPixel, rowBytes).write(task);
   }
 }
@@ -23,6 +23,9 @@ import se.llbit.chunky.world.Material;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.ArrayList;
 
 import static se.llbit.math.Octree.*;
@@ -385,6 +388,90 @@ public class BigPackedOctree implements Octree.OctreeImplementation {
     return tree;
   }
 
+  /**
+   * Number of nodes copied at a time when storing or loading the raw tree data.
+   * This divides MAX_ARRAY_SIZE, so a chunk never spans two arrays.
+   */
+  private static final int TREE_DATA_CHUNK = 1 << 16;
+
+  /**
+   * Stores the raw tree data of this BigPackedOctree: the depth, the used size of the arrays,
+   * the head of the free list and the used part of the arrays themselves.
+   *
+   * Unlike the serialized form, this can be loaded with bulk copies into arrays of the
+   * right size, without walking the tree.
+   */
+  public void storeTreeData(DataOutputStream output) throws IOException {
+    output.writeInt(depth);
+    output.writeLong(size);
+    output.writeLong(freeHead);
+    byte[] buffer = new byte[TREE_DATA_CHUNK * 8];
+    LongBuffer longs = ByteBuffer.wrap(buffer).asLongBuffer();
+    for (long i = 0; i < size; i += TREE_DATA_CHUNK) {
+      int count = (int) Math.min(TREE_DATA_CHUNK, size - i);
+      longs.clear();
+      longs.put(treeData.get((int) (i >> FULL_ARRAY_SHIFT)), (int) (i & SUB_ARRAY_MASK), count);
+      output.write(buffer, 0, count * 8);
+    }
+  }
+
+  /**
+   * Create a new BigPackedOctree from raw tree data written by {@link #storeTreeData}.
+   */
+  public static BigPackedOctree loadTreeData(DataInputStream in) throws IOException {
+    int depth = in.readInt();
+    long size = in.readLong();
+    long freeHead = in.readLong();
+    BigPackedOctree tree = emptyTree(depth, size, freeHead);
+    byte[] buffer = new byte[TREE_DATA_CHUNK * 8];
+    LongBuffer longs = ByteBuffer.wrap(buffer).asLongBuffer();
+    for (long i = 0; i < size; i += TREE_DATA_CHUNK) {
+      int count = (int) Math.min(TREE_DATA_CHUNK, size - i);
+      in.readFully(buffer, 0, count * 8);
+      longs.clear();
+      longs.get(tree.treeData.get((int) (i >> FULL_ARRAY_SHIFT)), (int) (i & SUB_ARRAY_MASK), count);
+    }
+    return tree;
+  }
+
+  /**
+   * Create a new BigPackedOctree from raw tree data written by
+   * {@link PackedOctree#storeTreeData}, without loading a PackedOctree first.
+   *
+   * <p>Both implementations use the same node layout, so each int node is the
+   * sign extended long node.
+   */
+  public static BigPackedOctree loadPackedTreeData(DataInputStream in) throws IOException {
+    int depth = in.readInt();
+    int size = in.readInt();
+    int freeHead = in.readInt();
+    BigPackedOctree tree = emptyTree(depth, size, freeHead);
+    byte[] buffer = new byte[TREE_DATA_CHUNK * 4];
+    IntBuffer ints = ByteBuffer.wrap(buffer).asIntBuffer();
+    for (int i = 0; i < size; i += TREE_DATA_CHUNK) {
+      int count = Math.min(TREE_DATA_CHUNK, size - i);
+      in.readFully(buffer, 0, count * 4);
+      ints.clear();
+      long[] data = tree.treeData.get(i >> FULL_ARRAY_SHIFT);
+      int offset = i & (int) SUB_ARRAY_MASK;
+      for (int j = 0; j < count; ++j) {
+        data[offset + j] = ints.get();
+      }
+    }
+    return tree;
+  }
+
+  private static BigPackedOctree emptyTree(int depth, long size, long freeHead)
+      throws IOException {
+    if (size < 1 || freeHead < -1 || freeHead >= size) {
+      throw new IOException("Corrupt octree data");
+    }
+    BigPackedOctree tree = new BigPackedOctree(depth, size);
+    tree.size = size;
+    tree.freeHead = freeHead;
+    return tree;
+  }
+
   private void loadNode(DataInputStream in, long nodeIndex) throws IOException {
     int type = in.readInt();
     if(type == BRANCH_NODE) {
@@ -32,10 +32,19 @@ public final class ColorUtil {
   // Look up table used to speed up gamma correction
   private static final float[] toLinearLut = new float[256];
 
+  /** Largest component value that can be packed with {@link #packRgb9e5}. */
+  public static final float RGB9E5_MAX = 510 * 128;
+
+  // Scale of the RGB9E5 mantissas for each exponent value
+  private static final float[] rgb9e5Scale = new float[32];
+
   static {
     for (int i = 0; i < 256; i++) {
       toLinearLut[i] = (float)Math.pow(i / 255.0, Scene.DEFAULT_GAMMA);
     }
+    for (int i = 0; i < 32; i++) {
+      rgb9e5Scale[i] = Math.scalb(1.0f, i - 15 - 9);
+    }
   }
 
   private ColorUtil() {
@@ -72,6 +81,17 @@ public final class ColorUtil {
         (int) (255 * b + .5);
   }
 
+  /**
+   * @return INT RGB value corresponding to the given color, with each component clamped to
+   * [0, 1]
+   */
+  public static int getRGBClamped(double r, double g, double b) {
+    return getRGB(
+        Math.max(0, Math.min(1, r)),
+        Math.max(0, Math.min(1, g)),
+        Math.max(0, Math.min(1, b)));
+  }
+
   /**
    * @return INT ARGB value corresponding to the given color
    */
@@ -435,4 +455,38 @@ public final class ColorUtil {
   public static float RGBComponentToLinear(byte value) {
     return toLinearLut[value & 0xFF];
   }
+
+  /**
+   * Pack a linear color into 32 bits using a 9-bit mantissa per component and a
+   * shared 5-bit exponent (RGB9E5). Components are clamped to [0, {@link #RGB9E5_MAX}],
+   * so the packed value is never -1 and that value can be used to mark missing colors.
+   */
+  public static int packRgb9e5(float r, float g, float b) {
+    r = r > 0 ? Math.min(r, RGB9E5_MAX) : 0;
+    g = g > 0 ? Math.min(g, RGB9E5_MAX) : 0;
+    b = b > 0 ? Math.min(b, RGB9E5_MAX) : 0;
+    float max = Math.max(r, Math.max(g, b));
+    int exp = Math.max(-16, Math.getExponent(max)) + 16;
+    float scale = rgb9e5Scale[exp];
+    if ((int) (max / scale + 0.5f) == 512) {
+      exp += 1;
+      scale *= 2;
+    }
+    int rm = (int) (r / scale + 0.5f);
+    int gm = (int) (g / scale + 0.5f);
+    int bm = (int) (b / scale + 0.5f);
+    return rm | gm << 9 | bm << 18 | exp << 27;
+  }
+
+  /**
+   * Unpack a color packed by {@link #packRgb9e5}.
+   *
+   * @param rgb receives the linear color components
+   */
+  public static void unpackRgb9e5(int packed, float[] rgb) {
+    float scale = rgb9e5Scale[packed >>> 27];
+    rgb[0] = (packed & 0x1FF) * scale;
+    rgb[1] = ((packed >>> 9) & 0x1FF) * scale;
+    rgb[2] = ((packed >>> 18) & 0x1FF) * scale;
+  }
 }
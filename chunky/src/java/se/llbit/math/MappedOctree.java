@@ -0,0 +1,435 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.math;
+
+import it.unimi.dsi.fastutil.ints.IntIntMutablePair;
+import se.llbit.chunky.chunk.BlockPalette;
+import se.llbit.chunky.world.Material;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import static se.llbit.math.Octree.*;
+
+/**
+ * A read-only octree backed by a memory-mapped file.
+ *
+ * <p>The file holds the same node layout as {@link PackedOctree#treeData}, so the octree
+ * can be used without reading it into the heap. Several processes that open the same file
+ * share the pages of the file instead of each holding its own copy of the octree.
+ *
+ * <p>The octree can not be modified. {@link Octree} converts it to a {@link PackedOctree}
+ * before any change.
+ *
+ * <p>The header records the timestamp and size of the file the octrees were built from, so
+ * that a stale file can be detected without comparing file modification times. Files are
+ * replaced atomically, so processes which have the old file mapped keep their mapping.
+ */
+public class MappedOctree implements Octree.OctreeImplementation {
+  /** Name of the implementation in the octree implementation registry. */
+  public static final String IMPLEMENTATION = "MAPPED";
+
+  private static final int MAGIC = 0x4F43544D; // "OCTM"
+  private static final int FILE_VERSION = 2;
+  private static final int HEADER_SIZE = 4096;
+  private static final int MAX_TREES = (HEADER_SIZE - 28) / 24;
+
+  /** Each mapped segment holds 2^28 nodes (1 GiB). */
+  private static final int SEGMENT_SHIFT = 28;
+  private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+  /** The largest octree that can be addressed with int indices, as for PackedOctree. */
+  private static final long MAX_NODES = Integer.MAX_VALUE - 16;
+
+  /**
+   * Thrown when trying to modify a mapped octree.
+   */
+  public static class ReadOnlyOctreeException extends RuntimeException {
+  }
+
+  private static final class NodeId implements Octree.NodeId {
+    final int nodeIndex;
+
+    NodeId(int nodeIndex) {
+      this.nodeIndex = nodeIndex;
+    }
+  }
+
+  private final IntBuffer[] segments;
+  private final int depth;
+
+  private MappedOctree(IntBuffer[] segments, int depth) {
+    this.segments = segments;
+    this.depth = depth;
+  }
+
+  private int get(int nodeIndex) {
+    return segments[nodeIndex >>> SEGMENT_SHIFT].get(nodeIndex & SEGMENT_MASK);
+  }
+
+  @Override
+  public Octree.NodeId getRoot() {
+    return new NodeId(0);
+  }
+
+  @Override
+  public boolean isBranch(Octree.NodeId node) {
+    return get(((NodeId) node).nodeIndex) > 0;
+  }
+
+  @Override
+  public Octree.NodeId getChild(Octree.NodeId parent, int childNo) {
+    return new NodeId(get(((NodeId) parent).nodeIndex) + childNo);
+  }
+
+  @Override
+  public int getType(Octree.NodeId node) {
+    return -get(((NodeId) node).nodeIndex);
+  }
+
+  @Override
+  public void getWithLevel(IntIntMutablePair outTypeAndLevel, int x, int y, int z) {
+    int nodeIndex = 0;
+    int level = depth;
+    int value;
+    while ((value = get(nodeIndex)) > 0) {
+      level -= 1;
+      int lx = x >>> level;
+      int ly = y >>> level;
+      int lz = z >>> level;
+      nodeIndex = value + (((lx & 1) << 2) | ((ly & 1) << 1) | (lz & 1));
+    }
+    outTypeAndLevel.left(-value).right(level);
+  }
+
+  @Override
+  public Material getMaterial(int x, int y, int z, BlockPalette palette) {
+    int nodeIndex = 0;
+    int level = depth;
+    int value;
+    while ((value = get(nodeIndex)) > 0) {
+      level -= 1;
+      int lx = 1 & (x >>> level);
+      int ly = 1 & (y >>> level);
+      int lz = 1 & (z >>> level);
+      nodeIndex = value + ((lx << 2) | (ly << 1) | lz);
+    }
+    return palette.get(-value);
+  }
+
+  @Override
+  public void set(int type, int x, int y, int z) {
+    throw new ReadOnlyOctreeException();
+  }
+
+  @Override
+  public void setCube(int cubeDepth, int[] types, int x, int y, int z) {
+    throw new ReadOnlyOctreeException();
+  }
+
+  @Override
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Stores this octree in the same serialized form as PackedOctree.
+   */
+  @Override
+  public void store(DataOutputStream output) throws IOException {
+    output.writeInt(depth);
+    storeNode(output, 0);
+  }
+
+  private void storeNode(DataOutputStream out, int nodeIndex) throws IOException {
+    int value = get(nodeIndex);
+    if (value > 0) {
+      out.writeInt(BRANCH_NODE);
+      for (int i = 0; i < 8; ++i) {
+        storeNode(out, value + i);
+      }
+    } else {
+      out.writeInt(-value);
+    }
+  }
+
+  @Override
+  public long nodeCount() {
+    return countNodes(0);
+  }
+
+  private long countNodes(int nodeIndex) {
+    int value = get(nodeIndex);
+    if (value > 0) {
+      long total = 1;
+      for (int i = 0; i < 8; ++i) {
+        total += countNodes(value + i);
+      }
+      return total;
+    }
+    return 1;
+  }
+
+  /**
+   * Write octrees to a file that can be opened with {@link #open(File)}.
+   */
+  public static void save(File file, Octree... octrees) throws IOException {
+    save(file, 0, 0, octrees);
+  }
+
+  /**
+   * Write octrees to a file that can be opened with {@link #open(File)}.
+   *
+   * <p>The nodes are written in the order a PackedOctree would allocate them when loading the
+   * octree, without holes, so any octree implementation can be written. The file is written
+   * to a temporary file which then replaces the old file.
+   *
+   * @param sourceTimestamp timestamp of the file the octrees were loaded from or saved to
+   * @param sourceSize size of the file the octrees were loaded from or saved to
+   */
+  public static void save(File file, long sourceTimestamp, long sourceSize, Octree... octrees)
+      throws IOException {
+    if (octrees.length > MAX_TREES) {
+      throw new IllegalArgumentException("Too many octrees");
+    }
+    long[] nodeCounts = new long[octrees.length];
+    long[] offsets = new long[octrees.length];
+    long offset = HEADER_SIZE;
+    for (int i = 0; i < octrees.length; ++i) {
+      nodeCounts[i] = octrees[i].getImplementation().nodeCount();
+      if (nodeCounts[i] > MAX_NODES) {
+        throw new IOException("The octree is too big to be memory mapped");
+      }
+      offsets[i] = offset;
+      // Align each octree to the header size, which is a multiple of the page size.
+      offset += (nodeCounts[i] * 4 + HEADER_SIZE - 1) / HEADER_SIZE * HEADER_SIZE;
+    }
+
+    // Other processes may have the old file mapped. Truncating it would invalidate their
+    // mappings, so the new file is moved over it instead.
+    File tmp = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+    try {
+      write(tmp, sourceTimestamp, sourceSize, octrees, nodeCounts, offsets);
+      Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp.toPath());
+    }
+  }
+
+  private static void write(File file, long sourceTimestamp, long sourceSize, Octree[] octrees,
+      long[] nodeCounts, long[] offsets) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC);
+      header.putInt(FILE_VERSION);
+      header.putInt(octrees.length);
+      header.putLong(sourceTimestamp);
+      header.putLong(sourceSize);
+      for (int i = 0; i < octrees.length; ++i) {
+        header.putInt(octrees[i].getImplementation().getDepth());
+        header.putInt(0);
+        header.putLong(nodeCounts[i]);
+        header.putLong(offsets[i]);
+      }
+      header.clear();
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+
+      for (int i = 0; i < octrees.length; ++i) {
+        MappedByteBuffer[] buffers = map(channel, FileChannel.MapMode.READ_WRITE,
+            offsets[i], nodeCounts[i]);
+        IntBuffer[] segments = new IntBuffer[buffers.length];
+        for (int j = 0; j < buffers.length; ++j) {
+          segments[j] = buffers[j].asIntBuffer();
+        }
+        new TreeWriter(octrees[i].getImplementation(), segments).writeNode(
+            octrees[i].getImplementation().getRoot(), 0);
+        for (MappedByteBuffer buffer : buffers) {
+          buffer.force();
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes nodes in the order PackedOctree allocates them when loading.
+   */
+  private static class TreeWriter {
+    private final Octree.OctreeImplementation tree;
+    private final IntBuffer[] segments;
+    private int next = 1;
+
+    TreeWriter(Octree.OctreeImplementation tree, IntBuffer[] segments) {
+      this.tree = tree;
+      this.segments = segments;
+    }
+
+    void writeNode(Octree.NodeId node, int nodeIndex) {
+      int value;
+      if (tree.isBranch(node)) {
+        value = next;
+        next += 8;
+      } else {
+        value = -tree.getType(node);
+      }
+      segments[nodeIndex >>> SEGMENT_SHIFT].put(nodeIndex & SEGMENT_MASK, value);
+      if (value > 0) {
+        for (int i = 0; i < 8; ++i) {
+          writeNode(tree.getChild(node, i), value + i);
+        }
+      }
+    }
+  }
+
+  /**
+   * Map the octrees in a file written by {@link #save(File, Octree...)}. The mapping stays
+   * valid after the file is closed.
+   */
+  public static Octree[] open(File file) throws IOException {
+    return open(file, false, 0, 0);
+  }
+
+  /**
+   * Map the octrees in a file written by {@link #save(File, long, long, Octree...)}, if the
+   * file was written for the given source file.
+   *
+   * @return the octrees, or {@code null} if the source timestamp or size does not match
+   */
+  public static Octree[] open(File file, long sourceTimestamp, long sourceSize)
+      throws IOException {
+    return open(file, true, sourceTimestamp, sourceSize);
+  }
+
+  private static Octree[] open(File file, boolean checkSource, long sourceTimestamp,
+      long sourceSize) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          throw new IOException("Truncated octree file");
+        }
+      }
+      header.flip();
+      if (header.getInt() != MAGIC || header.getInt() != FILE_VERSION) {
+        throw new IOException("Not a mapped octree file");
+      }
+      int count = header.getInt();
+      if (count < 0 || count > MAX_TREES) {
+        throw new IOException("Corrupt octree file");
+      }
+      long timestamp = header.getLong();
+      long size = header.getLong();
+      if (checkSource && (timestamp != sourceTimestamp || size != sourceSize)) {
+        return null;
+      }
+      Octree[] octrees = new Octree[count];
+      for (int i = 0; i < count; ++i) {
+        int depth = header.getInt();
+        header.getInt();
+        long nodeCount = header.getLong();
+        long offset = header.getLong();
+        if (nodeCount < 1 || nodeCount > MAX_NODES || offset < HEADER_SIZE
+            || offset + nodeCount * 4 > channel.size()) {
+          throw new IOException("Corrupt octree file");
+        }
+        MappedByteBuffer[] buffers = map(channel, FileChannel.MapMode.READ_ONLY, offset, nodeCount);
+        IntBuffer[] segments = new IntBuffer[buffers.length];
+        for (int j = 0; j < buffers.length; ++j) {
+          segments[j] = buffers[j].asIntBuffer();
+        }
+        octrees[i] = new Octree(new MappedOctree(segments, depth));
+      }
+      return octrees;
+    }
+  }
+
+  private static MappedByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode,
+      long offset, long nodeCount) throws IOException {
+    int numSegments = (int) ((nodeCount + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    MappedByteBuffer[] buffers = new MappedByteBuffer[numSegments];
+    for (int i = 0; i < numSegments; ++i) {
+      long first = (long) i << SEGMENT_SHIFT;
+      long nodes = Math.min(1L << SEGMENT_SHIFT, nodeCount - first);
+      buffers[i] = channel.map(mode, offset + first * 4, nodes * 4);
+      buffers[i].order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return buffers;
+  }
+
+  /**
+   * Copy an octree into a temporary mapped file. The file is removed when possible, the
+   * mapping keeps the data alive.
+   */
+  private static MappedOctree fromImplementation(Octree.OctreeImplementation implementation)
+      throws IOException {
+    File file = File.createTempFile("octree", ".octreemap");
+    try {
+      save(file, new Octree(implementation));
+      return (MappedOctree) open(file)[0].getImplementation();
+    } finally {
+      if (!file.delete()) {
+        file.deleteOnExit();
+      }
+    }
+  }
+
+  /**
+   * Add MappedOctree to OctreeImplementationFactory so it can be loaded by name.
+   */
+  static public void initImplementation() {
+    Octree.addImplementationFactory(IMPLEMENTATION, new Octree.ImplementationFactory() {
+      @Override
+      public Octree.OctreeImplementation create(int depth) {
+        // New octrees are built in memory, mapped octrees are read-only.
+        return new PackedOctree(depth);
+      }
+
+      @Override
+      public Octree.OctreeImplementation load(DataInputStream in) throws IOException {
+        return fromImplementation(PackedOctree.load(in));
+      }
+
+      @Override
+      public Octree.OctreeImplementation loadWithNodeCount(long nodeCount, DataInputStream in) throws IOException {
+        return fromImplementation(PackedOctree.loadWithNodeCount(nodeCount, in));
+      }
+
+      @Override
+      public boolean isOfType(Octree.OctreeImplementation implementation) {
+        return implementation instanceof MappedOctree;
+      }
+
+      @Override
+      public String getDescription() {
+        return "Read-only octree backed by a memory-mapped file that is saved with the scene. Render processes that open the same scene share the octree memory. Changes convert the octree to PACKED.";
+      }
+    });
+  }
+}
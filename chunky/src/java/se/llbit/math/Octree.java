@@ -34,6 +34,7 @@ import se.llbit.chunky.chunk.BlockPalette;
 import se.llbit.chunky.model.TexturedBlockModel;
 import se.llbit.chunky.model.minecraft.WaterModel;
 import se.llbit.chunky.plugin.PluginApi;
+import se.llbit.chunky.renderer.metrics.RenderMetrics;
 import se.llbit.chunky.renderer.scene.Scene;
 import se.llbit.chunky.world.Material;
 import se.llbit.log.Log;
@@ -283,6 +284,21 @@ public class Octree {
         throw new RuntimeException("Couldn't switch the octree implementation to NODE", ioException);
       }
       implementation.set(type, x, y, z);
+    } catch(MappedOctree.ReadOnlyOctreeException e) {
+      copyOnWrite();
+      implementation.set(type, x, y, z);
+    }
+  }
+
+  /**
+   * Replace a read-only octree with a copy that can be modified.
+   */
+  private void copyOnWrite() {
+    Log.info("Copying memory-mapped octree before modifying it.");
+    try {
+      switchImplementation("PACKED");
+    } catch(IOException ioException) {
+      throw new RuntimeException("Couldn't switch the octree implementation to PACKED", ioException);
     }
   }
 
@@ -321,6 +337,105 @@ public class Octree {
     return new Octree(getImplementationFactory(impl).load(in));
   }
 
+  /** Bulk layout: the octree is stored with a node count in the usual serialized form. */
+  private static final int BULK_LAYOUT_NODES = 0;
+
+  /** Bulk layout: the raw tree data of a {@link PackedOctree}. */
+  private static final int BULK_LAYOUT_PACKED = 1;
+
+  /** Bulk layout: the raw tree data of a {@link BigPackedOctree}. */
+  private static final int BULK_LAYOUT_BIG_PACKED = 2;
+
+  /**
+   * Serialize this octree in a form that can be loaded without resizing the tree while
+   * loading. A {@link PackedOctree} or {@link BigPackedOctree} is stored as its raw tree
+   * data, other implementations are stored with a node count followed by the usual
+   * serialized form.
+   *
+   * @throws IOException
+   */
+  public void storeBulk(DataOutputStream out) throws IOException {
+    if (implementation instanceof PackedOctree) {
+      out.writeByte(BULK_LAYOUT_PACKED);
+      ((PackedOctree) implementation).storeTreeData(out);
+    } else if (implementation instanceof BigPackedOctree) {
+      out.writeByte(BULK_LAYOUT_BIG_PACKED);
+      ((BigPackedOctree) implementation).storeTreeData(out);
+    } else {
+      out.writeByte(BULK_LAYOUT_NODES);
+      out.writeLong(implementation.nodeCount());
+      implementation.store(out);
+    }
+  }
+
+  /**
+   * Deserialize an octree stored with {@link #storeBulk(DataOutputStream)}.
+   *
+   * <p>Raw tree data is loaded into the implementation it was stored from, and converted
+   * if another implementation is requested. Packed tree data is loaded directly into a
+   * {@link BigPackedOctree}.
+   *
+   * @return The deserialized octree
+   * @throws IOException
+   */
+  public static Octree loadBulk(String impl, DataInputStream in) throws IOException {
+    Log.infof("Loading octree (%s)", impl);
+    ImplementationFactory factory = getImplementationFactory(impl);
+    int layout = in.readByte();
+    Octree octree;
+    switch (layout) {
+      case BULK_LAYOUT_NODES:
+        long nodeCount = in.readLong();
+        return new Octree(factory.loadWithNodeCount(nodeCount, in));
+      case BULK_LAYOUT_PACKED:
+        if (impl.equals("BIGPACKED")) {
+          return new Octree(BigPackedOctree.loadPackedTreeData(in));
+        }
+        octree = new Octree(PackedOctree.loadTreeData(in));
+        break;
+      case BULK_LAYOUT_BIG_PACKED:
+        octree = new Octree(BigPackedOctree.loadTreeData(in));
+        break;
+      default:
+        throw new IOException("Unknown octree layout: " + layout);
+    }
+    if (!factory.isOfType(octree.implementation)) {
+      Log.infof("The octree was saved with another implementation. It is loaded in full and "
+          + "then converted to %s, which takes extra time and temporary disk space.", impl);
+      octree.switchImplementation(impl);
+    }
+    return octree;
+  }
+
+  /**
+   * Skip an octree stored with {@link #storeBulk(DataOutputStream)} without loading it.
+   *
+   * @throws IOException
+   */
+  public static void skipBulk(DataInputStream in) throws IOException {
+    int layout = in.readByte();
+    switch (layout) {
+      case BULK_LAYOUT_NODES:
+        long nodeCount = in.readLong();
+        in.skipNBytes(4 + nodeCount * 4); // Depth and nodes.
+        break;
+      case BULK_LAYOUT_PACKED:
+        in.readInt(); // Depth.
+        int size = in.readInt();
+        in.readInt(); // Free list head.
+        in.skipNBytes(size * 4L);
+        break;
+      case BULK_LAYOUT_BIG_PACKED:
+        in.readInt(); // Depth.
+        long bigSize = in.readLong();
+        in.readLong(); // Free list head.
+        in.skipNBytes(bigSize * 8);
+        break;
+      default:
+        throw new IOException("Unknown octree layout: " + layout);
+    }
+  }
+
   /**
    * Test if a point is inside the octree.
    *
@@ -500,7 +615,9 @@ public class Octree {
     // Marching is done in a top-down fashion: at each step, the octree is descended from the root to find the leaf
     // node the ray is in. Terminating the march is then decided based on the block type in that leaf node. Finally the
     // ray is advanced to the boundary of the current leaf node and the next, ready for the next iteration.
+    int steps = 0;
     while (true) {
+      steps += 1;
       // Add small offset past the intersection to avoid
       // recursion to the same octree node!
       int x = (int) Math.floor(ray.o.x + ray.d.x * (distance + Ray.OFFSET));
@@ -511,8 +628,10 @@ public class Octree {
       int ly = y >>> depth;
       int lz = z >>> depth;
 
-      if (lx != 0 || ly != 0 || lz != 0)
+      if (lx != 0 || ly != 0 || lz != 0) {
+        RenderMetrics.count(RenderMetrics.Counter.OCTREE_STEPS, steps);
         return false; // outside of octree!
+      }
 
       implementation.getWithLevel(typeAndLevel, x, y, z);
       int type = typeAndLevel.leftInt();
@@ -539,8 +658,10 @@ public class Octree {
         ray.distance += distance;
         distance = 0;
         if (currentBlock.intersect(ray, scene)) {
-          if (prevBlock != currentBlock)
+          if (prevBlock != currentBlock) {
+            RenderMetrics.count(RenderMetrics.Counter.OCTREE_STEPS, steps);
             return true;
+          }
 
           ray.o.scaleAdd(Ray.OFFSET, ray.d);
           offsetX = -ray.o.x * invDx;
@@ -564,6 +685,7 @@ public class Octree {
         if (currentBlock.opaque) {
           ray.color.w = 1;
         }
+        RenderMetrics.count(RenderMetrics.Counter.OCTREE_STEPS, steps);
         return true;
       }
 
@@ -633,7 +755,9 @@ public class Octree {
     // ray is advanced to the boundary of the current leaf node and the next, ready for the next iteration.
 
     IntIntMutablePair typeAndLevel = new IntIntMutablePair(0, 0);
+    int steps = 0;
     while (true) {
+      steps += 1;
       // Add small offset past the intersection to avoid
       // recursion to the same octree node!
       int x = (int) QuickMath.floor(ray.o.x + ray.d.x * Ray.OFFSET);
@@ -644,8 +768,10 @@ public class Octree {
       int ly = y >>> depth;
       int lz = z >>> depth;
 
-      if (lx != 0 || ly != 0 || lz != 0)
+      if (lx != 0 || ly != 0 || lz != 0) {
+        RenderMetrics.count(RenderMetrics.Counter.OCTREE_STEPS, steps);
         return false; // outside of octree!
+      }
 
       // Descend the tree to find the current leaf node
       implementation.getWithLevel(typeAndLevel, x, y, z);
@@ -668,14 +794,17 @@ public class Octree {
           if (!currentBlock.intersect(ray, scene)) {
             ray.setCurrentMaterial(Air.INSTANCE);
           }
+          RenderMetrics.count(RenderMetrics.Counter.OCTREE_STEPS, steps);
           return true;
         } else if (currentBlock != Air.INSTANCE) {
           TexturedBlockModel.getIntersectionColor(ray);
           if (currentBlock.opaque) {
             ray.color.w = 1;
           }
+          RenderMetrics.count(RenderMetrics.Counter.OCTREE_STEPS, steps);
           return true;
         } else {
+          RenderMetrics.count(RenderMetrics.Counter.OCTREE_STEPS, steps);
           return true;
         }
       }
@@ -683,6 +812,7 @@ public class Octree {
       if (!(currentBlock instanceof Water && ((Water) currentBlock).isFullBlock())) {
         if (WaterModel.intersectTop(ray)) {
           ray.setCurrentMaterial(Air.INSTANCE);
+          RenderMetrics.count(RenderMetrics.Counter.OCTREE_STEPS, steps);
           return true;
         } else {
           ray.exitBlock(x, y, z);
@@ -780,7 +910,12 @@ public class Octree {
     int blocksInCube = cubeSize * cubeSize * cubeSize;
     assert types.length == blocksInCube : "setCube types has length " + types.length + " expected " + blocksInCube;
 
-    implementation.setCube(cubeDepth, types, x, y, z);
+    try {
+      implementation.setCube(cubeDepth, types, x, y, z);
+    } catch(MappedOctree.ReadOnlyOctreeException e) {
+      copyOnWrite();
+      implementation.setCube(cubeDepth, types, x, y, z);
+    }
   }
 
   public void switchImplementation(String newImplementation) throws IOException {
@@ -854,6 +989,7 @@ public class Octree {
     NodeBasedOctree.initImplementation();
     PackedOctree.initImplementation();
     BigPackedOctree.initImplementation();
+    MappedOctree.initImplementation();
   }
 
   public static Iterable<Map.Entry<String, ImplementationFactory>> getEntries() {
@@ -24,6 +24,8 @@ import se.llbit.chunky.world.Material;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -596,6 +598,56 @@ public class PackedOctree implements Octree.OctreeImplementation {
     return tree;
   }
 
+  /**
+   * Number of ints copied at a time when storing or loading the raw tree data.
+   */
+  private static final int TREE_DATA_CHUNK = 1 << 16;
+
+  /**
+   * Stores the raw tree data of this PackedOctree: the depth, the used size of the array,
+   * the head of the free list and the used part of the array itself.
+   *
+   * Unlike the serialized form, this can be loaded with bulk copies into an array of the
+   * right size, without walking the tree.
+   */
+  public void storeTreeData(DataOutputStream output) throws IOException {
+    output.writeInt(depth);
+    output.writeInt(size);
+    output.writeInt(freeHead);
+    byte[] buffer = new byte[TREE_DATA_CHUNK * 4];
+    IntBuffer ints = ByteBuffer.wrap(buffer).asIntBuffer();
+    for (int i = 0; i < size; i += TREE_DATA_CHUNK) {
+      int count = Math.min(TREE_DATA_CHUNK, size - i);
+      ints.clear();
+      ints.put(treeData, i, count);
+      output.write(buffer, 0, count * 4);
+    }
+  }
+
+  /**
+   * Create a new PackedOctree from raw tree data written by {@link #storeTreeData}.
+   */
+  public static PackedOctree loadTreeData(DataInputStream in) throws IOException {
+    int depth = in.readInt();
+    int size = in.readInt();
+    int freeHead = in.readInt();
+    if (size < 1 || size > MAX_ARRAY_SIZE || freeHead < -1 || freeHead >= size) {
+      throw new IOException("Corrupt octree data");
+    }
+    PackedOctree tree = new PackedOctree(depth, size);
+    byte[] buffer = new byte[TREE_DATA_CHUNK * 4];
+    IntBuffer ints = ByteBuffer.wrap(buffer).asIntBuffer();
+    for (int i = 0; i < size; i += TREE_DATA_CHUNK) {
+      int count = Math.min(TREE_DATA_CHUNK, size - i);
+      in.readFully(buffer, 0, count * 4);
+      ints.clear();
+      ints.get(tree.treeData, i, count);
+    }
+    tree.size = size;
+    tree.freeHead = freeHead;
+    return tree;
+  }
+
   /**
    * Recursively read this node in from its serialized form from an InputStream (probably from a file).
    */
@@ -0,0 +1,290 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.math;
+
+import java.util.Arrays;
+
+/**
+ * Flattened, intersection-ready copy of the quads of a block model.
+ *
+ * <p>The quad parameters are stored in a single array, with a bounding box around all quads
+ * for an early out. For each of the eight ray direction octants the quads are kept sorted by
+ * how far they are along the octant diagonal, so that the closest quads are usually tested
+ * first and the traversal can stop when no remaining quad can be closer than the current hit.
+ *
+ * <p>Intersections give the same results as testing the quads in order with
+ * {@link Quad#intersect(Ray)}, keeping the closest hit and preferring the first quad on ties.
+ */
+public final class PackedQuads {
+  /**
+   * Decides if a hit on a quad counts, typically by testing the texture alpha.
+   */
+  public interface HitFilter {
+    /**
+     * @param quad index of the quad
+     * @param u texture u coordinate of the hit
+     * @param v texture v coordinate of the hit
+     */
+    boolean accept(int quad, double u, double v);
+  }
+
+  private static final int O = 0;
+  private static final int XV = 3;
+  private static final int XVL = 6;
+  private static final int YV = 7;
+  private static final int YVL = 10;
+  private static final int N = 11;
+  private static final int D = 14;
+  private static final int UV = 15;
+  private static final int STRIDE = 19;
+
+  /** Margin added around the bounding box to not lose hits on its faces. */
+  private static final double BOUNDS_MARGIN = Ray.OFFSET;
+
+  private final Quad[] quads;
+  private final boolean supported;
+  private final double[] data;
+  private final boolean[] doubleSided;
+  private final double xmin, xmax, ymin, ymax, zmin, zmax;
+
+  /** Quad indexes for each octant, sorted by the octant bounds. */
+  private final int[][] order = new int[8][];
+  /** Smallest projection of each sorted quad onto the octant diagonal. */
+  private final double[][] bounds = new double[8][];
+
+  private PackedQuads(Quad[] quads) {
+    this.quads = quads;
+    supported = Arrays.stream(quads).allMatch(PackedQuads::usesDefaultIntersection);
+    int count = supported ? quads.length : 0;
+    data = new double[count * STRIDE];
+    doubleSided = new boolean[count];
+
+    double[] corners = new double[count * 12];
+    double x0 = Double.POSITIVE_INFINITY, y0 = x0, z0 = x0;
+    double x1 = Double.NEGATIVE_INFINITY, y1 = x1, z1 = x1;
+    for (int i = 0; i < count; ++i) {
+      Quad quad = quads[i];
+      int p = i * STRIDE;
+      set(data, p + O, quad.o);
+      set(data, p + XV, quad.xv);
+      data[p + XVL] = quad.xvl;
+      set(data, p + YV, quad.yv);
+      data[p + YVL] = quad.yvl;
+      set(data, p + N, quad.n);
+      data[p + D] = quad.d;
+      data[p + UV] = quad.uv.x;
+      data[p + UV + 1] = quad.uv.y;
+      data[p + UV + 2] = quad.uv.z;
+      data[p + UV + 3] = quad.uv.w;
+      doubleSided[i] = quad.doubleSided;
+
+      // The quad is hit where the projections onto xv and yv are inside the quad, which is
+      // only the parallelogram spanned by xv and yv when they are orthogonal.
+      double g11 = quad.xv.dot(quad.xv);
+      double g12 = quad.xv.dot(quad.yv);
+      double g22 = quad.yv.dot(quad.yv);
+      double det = g11 * g22 - g12 * g12;
+      for (int c = 0; c < 4; ++c) {
+        double px = (c & 1) != 0 ? 1 / quad.xvl : 0;
+        double py = (c & 2) != 0 ? 1 / quad.yvl : 0;
+        double a = (px * g22 - py * g12) / det;
+        double b = (py * g11 - px * g12) / det;
+        double x = quad.o.x + a * quad.xv.x + b * quad.yv.x;
+        double y = quad.o.y + a * quad.xv.y + b * quad.yv.y;
+        double z = quad.o.z + a * quad.xv.z + b * quad.yv.z;
+        corners[i * 12 + c * 3] = x;
+        corners[i * 12 + c * 3 + 1] = y;
+        corners[i * 12 + c * 3 + 2] = z;
+        if (!Double.isFinite(x) || !Double.isFinite(y) || !Double.isFinite(z)) {
+          // Degenerate quads have no normal and are never hit.
+          continue;
+        }
+        x0 = Math.min(x0, x);
+        y0 = Math.min(y0, y);
+        z0 = Math.min(z0, z);
+        x1 = Math.max(x1, x);
+        y1 = Math.max(y1, y);
+        z1 = Math.max(z1, z);
+      }
+    }
+    xmin = x0 - BOUNDS_MARGIN;
+    ymin = y0 - BOUNDS_MARGIN;
+    zmin = z0 - BOUNDS_MARGIN;
+    xmax = x1 + BOUNDS_MARGIN;
+    ymax = y1 + BOUNDS_MARGIN;
+    zmax = z1 + BOUNDS_MARGIN;
+
+    for (int octant = 0; octant < 8; ++octant) {
+      double sx = (octant & 1) != 0 ? -1 : 1;
+      double sy = (octant & 2) != 0 ? -1 : 1;
+      double sz = (octant & 4) != 0 ? -1 : 1;
+      double[] key = new double[count];
+      Integer[] sorted = new Integer[count];
+      for (int i = 0; i < count; ++i) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int c = 0; c < 4; ++c) {
+          int j = i * 12 + c * 3;
+          min = Math.min(min, sx * corners[j] + sy * corners[j + 1] + sz * corners[j + 2]);
+        }
+        key[i] = Double.isNaN(min) ? Double.POSITIVE_INFINITY : min;
+        sorted[i] = i;
+      }
+      Arrays.sort(sorted, (a, b) -> Double.compare(key[a], key[b]));
+      order[octant] = new int[count];
+      bounds[octant] = new double[count];
+      for (int k = 0; k < count; ++k) {
+        order[octant][k] = sorted[k];
+        bounds[octant][k] = key[sorted[k]];
+      }
+    }
+  }
+
+  /**
+   * Pack the quads of a model. The quads must not be modified afterwards.
+   */
+  public static PackedQuads pack(Quad[] quads) {
+    return new PackedQuads(quads);
+  }
+
+  /**
+   * @return {@code true} if this was packed from the given quad array
+   */
+  public boolean packs(Quad[] quads) {
+    return this.quads == quads;
+  }
+
+  /**
+   * @return {@code false} if some quad has its own intersection code, in which case the quads
+   * have to be tested one by one with {@link Quad#intersect(Ray)}
+   */
+  public boolean isSupported() {
+    return supported;
+  }
+
+  /**
+   * Find the closest quad hit by the ray that is accepted by the filter. The ray origin is
+   * taken relative to the block it is in, like in {@link Quad#intersect(Ray)}. On a hit the
+   * texture coordinates and distance of the hit are stored in {@code ray.u}, {@code ray.v}
+   * and {@code ray.tNext}.
+   *
+   * @return the index of the hit quad, or -1 if no accepted quad was hit
+   */
+  public int closestHit(Ray ray, HitFilter filter) {
+    double dx = ray.d.x;
+    double dy = ray.d.y;
+    double dz = ray.d.z;
+    double ix = ray.o.x - QuickMath.floor(ray.o.x + dx * Ray.OFFSET);
+    double iy = ray.o.y - QuickMath.floor(ray.o.y + dy * Ray.OFFSET);
+    double iz = ray.o.z - QuickMath.floor(ray.o.z + dz * Ray.OFFSET);
+    if (order[0].length == 0 || !hitsBounds(ix, iy, iz, dx, dy, dz)) {
+      return -1;
+    }
+
+    int octant = (dx < 0 ? 1 : 0) | (dy < 0 ? 2 : 0) | (dz < 0 ? 4 : 0);
+    int[] sorted = order[octant];
+    double[] bound = bounds[octant];
+    // Along the ray, the projection onto the octant diagonal grows by |dx| + |dy| + |dz| per
+    // unit of t, which gives a lower bound on the distance to each quad.
+    double start = (dx < 0 ? -ix : ix) + (dy < 0 ? -iy : iy) + (dz < 0 ? -iz : iz);
+    double invLength = 1 / (Math.abs(dx) + Math.abs(dy) + Math.abs(dz));
+
+    double best = Double.POSITIVE_INFINITY;
+    int hit = -1;
+    double hitU = 0, hitV = 0;
+    for (int k = 0; k < sorted.length; ++k) {
+      if ((bound[k] - start) * invLength - Ray.EPSILON > best) {
+        break;
+      }
+      int i = sorted[k];
+      int p = i * STRIDE;
+      double denom = dx * data[p + N] + dy * data[p + N + 1] + dz * data[p + N + 2];
+      if (denom < -Ray.EPSILON || (doubleSided[i] && denom > Ray.EPSILON)) {
+        double t = -(ix * data[p + N] + iy * data[p + N + 1] + iz * data[p + N + 2] + data[p + D])
+            / denom;
+        if (t > -Ray.EPSILON && (t < best || (t == best && i < hit))) {
+          double px = ix + dx * t - data[p + O];
+          double py = iy + dy * t - data[p + O + 1];
+          double pz = iz + dz * t - data[p + O + 2];
+          double u = px * data[p + XV] + py * data[p + XV + 1] + pz * data[p + XV + 2];
+          u *= data[p + XVL];
+          double v = px * data[p + YV] + py * data[p + YV + 1] + pz * data[p + YV + 2];
+          v *= data[p + YVL];
+          if (u >= 0 && u <= 1 && v >= 0 && v <= 1) {
+            u = data[p + UV] + u * data[p + UV + 1];
+            v = data[p + UV + 2] + v * data[p + UV + 3];
+            if (filter.accept(i, u, v)) {
+              best = t;
+              hit = i;
+              hitU = u;
+              hitV = v;
+            }
+          }
+        }
+      }
+    }
+    if (hit >= 0) {
+      ray.u = hitU;
+      ray.v = hitV;
+      ray.tNext = best;
+    }
+    return hit;
+  }
+
+  private boolean hitsBounds(double ix, double iy, double iz, double dx, double dy, double dz) {
+    double tNear = Double.NEGATIVE_INFINITY;
+    double tFar = Double.POSITIVE_INFINITY;
+    if (dx != 0) {
+      double t0 = (xmin - ix) / dx;
+      double t1 = (xmax - ix) / dx;
+      tNear = Math.max(tNear, Math.min(t0, t1));
+      tFar = Math.min(tFar, Math.max(t0, t1));
+    } else if (ix < xmin || ix > xmax) {
+      return false;
+    }
+    if (dy != 0) {
+      double t0 = (ymin - iy) / dy;
+      double t1 = (ymax - iy) / dy;
+      tNear = Math.max(tNear, Math.min(t0, t1));
+      tFar = Math.min(tFar, Math.max(t0, t1));
+    } else if (iy < ymin || iy > ymax) {
+      return false;
+    }
+    if (dz != 0) {
+      double t0 = (zmin - iz) / dz;
+      double t1 = (zmax - iz) / dz;
+      tNear = Math.max(tNear, Math.min(t0, t1));
+      tFar = Math.min(tFar, Math.max(t0, t1));
+    } else if (iz < zmin || iz > zmax) {
+      return false;
+    }
+    return tNear <= tFar && tFar > -Ray.EPSILON;
+  }
+
+  private static boolean usesDefaultIntersection(Quad quad) {
+    try {
+      return quad.getClass().getMethod("intersect", Ray.class).getDeclaringClass() == Quad.class;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  private static void set(double[] data, int offset, Vector3 v) {
+    data[offset] = v.x;
+    data[offset + 1] = v.y;
+    data[offset + 2] = v.z;
+  }
+}
@@ -121,6 +121,11 @@ public class Ray {
    */
   public boolean specular;
 
+  /**
+   * Holds the result of biome color lookups, allocated on first use.
+   */
+  private float[] biomeColor = null;
+
   /**
    * Builds an uninitialized ray.
    */
@@ -238,31 +243,54 @@ public class Ray {
   }
 
   /**
-   * @return foliage color for the current block
+   * @return the array that receives biome colors looked up for this ray. It is
+   * overwritten by the next biome color lookup.
+   */
+  private float[] biomeColor() {
+    if (biomeColor == null) {
+      biomeColor = new float[3];
+    }
+    return biomeColor;
+  }
+
+  /**
+   * @return foliage color for the current block. The array is reused by the
+   * next biome color lookup of this ray.
    */
   public float[] getBiomeFoliageColor(Scene scene) {
-    return scene.getFoliageColor((int) (o.x + d.x * OFFSET), (int) (o.y + d.y * OFFSET), (int) (o.z + d.z * OFFSET));
+    float[] color = biomeColor();
+    scene.getFoliageColor((int) (o.x + d.x * OFFSET), (int) (o.y + d.y * OFFSET), (int) (o.z + d.z * OFFSET), color);
+    return color;
   }
 
   /**
-   * @return foliage color for the current block
+   * @return foliage color for the current block. The array is reused by the
+   * next biome color lookup of this ray.
    */
   public float[] getBiomeDryFoliageColor(Scene scene) {
-    return scene.getDryFoliageColor((int) (o.x + d.x * OFFSET), (int) (o.y + d.y * OFFSET), (int) (o.z + d.z * OFFSET));
+    float[] color = biomeColor();
+    scene.getDryFoliageColor((int) (o.x + d.x * OFFSET), (int) (o.y + d.y * OFFSET), (int) (o.z + d.z * OFFSET), color);
+    return color;
   }
 
   /**
-   * @return grass color for the current block
+   * @return grass color for the current block. The array is reused by the
+   * next biome color lookup of this ray.
    */
   public float[] getBiomeGrassColor(Scene scene) {
-    return scene.getGrassColor((int) (o.x + d.x * OFFSET), (int) (o.y + d.y * OFFSET), (int) (o.z + d.z * OFFSET));
+    float[] color = biomeColor();
+    scene.getGrassColor((int) (o.x + d.x * OFFSET), (int) (o.y + d.y * OFFSET), (int) (o.z + d.z * OFFSET), color);
+    return color;
   }
 
   /**
-   * @return water color for the current block
+   * @return water color for the current block. The array is reused by the
+   * next biome color lookup of this ray.
    */
   public float[] getBiomeWaterColor(Scene scene) {
-    return scene.getWaterColor((int) (o.x + d.x * OFFSET), (int) (o.y + d.y * OFFSET), (int) (o.z + d.z * OFFSET));
+    float[] color = biomeColor();
+    scene.getWaterColor((int) (o.x + d.x * OFFSET), (int) (o.y + d.y * OFFSET), (int) (o.z + d.z * OFFSET), color);
+    return color;
   }
 
   /**
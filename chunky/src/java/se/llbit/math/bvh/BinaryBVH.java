@@ -20,6 +20,7 @@ package se.llbit.math.bvh;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntStack;
 import org.apache.commons.math3.util.FastMath;
+import se.llbit.chunky.renderer.metrics.RenderMetrics;
 import se.llbit.math.AABB;
 import se.llbit.math.Ray;
 import se.llbit.math.primitive.Primitive;
@@ -221,7 +222,9 @@ public abstract class BinaryBVH implements BVH {
         double ry = 1 / ray.d.y;
         double rz = 1 / ray.d.z;
 
+        int visits = 0;
         while (true) {
+            visits += 1;
             if (packed[currentNode] <= 0) {
                 // Is leaf
                 int primIndex = -packed[currentNode];
@@ -263,6 +266,7 @@ public abstract class BinaryBVH implements BVH {
             }
         }
 
+        RenderMetrics.count(RenderMetrics.Counter.BVH_NODE_VISITS, visits);
         return hit;
     }
 
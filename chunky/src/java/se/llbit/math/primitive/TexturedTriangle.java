@@ -119,8 +119,8 @@ public class TexturedTriangle implements Primitive {
       double w = 1 - u - v;
       ray.u = t1u * u + t2u * v + t3u * w;
       ray.v = t1v * u + t2v * v + t3v * w;
-      float[] color = material.getColor(ray.u, ray.v);
-      if (color[3] > 0) {
+      if (material.isOpaqueAt(ray.u, ray.v)) {
+        float[] color = material.getColor(ray.u, ray.v);
         ray.color.set(color);
         ray.setCurrentMaterial(material);
         ray.t = t;
@@ -1,18 +1,30 @@
 package se.llbit.math.structures;
 
-import it.unimi.dsi.fastutil.objects.Object2ReferenceMap;
-import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ReferenceMap;
+import it.unimi.dsi.fastutil.longs.Long2ReferenceOpenHashMap;
 
 import java.util.Arrays;
-import java.util.Objects;
 
+/**
+ * Stores an int per block in 16x16x16 sections, keyed by the packed section position.
+ *
+ * <p>Reading never modifies the structure, so {@link #get} may be called from several threads
+ * at once as long as no thread calls {@link #set} at the same time.
+ */
 public class Position3d2IntPackedArray implements Position2IntStructure {
 
-  protected final Object2ReferenceMap<XYZTriple, int[]> structure = new Object2ReferenceOpenHashMap<>();
+  protected final Long2ReferenceMap<int[]> structure = new Long2ReferenceOpenHashMap<>();
 
-  protected int lastX, lastY, lastZ;
+  protected long lastSection;
   protected int[] lastData = null;
 
+  /**
+   * Pack section coordinates into a long: 26 bits for x and z, 12 bits for y.
+   */
+  protected static long packedSectionPos(int xSection, int ySection, int zSection) {
+    return (xSection & 0x3FFFFFFL) << 38 | (zSection & 0x3FFFFFFL) << 12 | (ySection & 0xFFFL);
+  }
+
   private int packedIndex(int x, int y, int z) {
     x &= 0xf;
     y &= 0xf;
@@ -22,22 +34,20 @@ public class Position3d2IntPackedArray implements Position2IntStructure {
 
   @Override
   public void set(int x, int y, int z, int data) {
-    int xSection = x >> 4;
-    int ySection = y >> 4;
-    int zSection = z >> 4;
+    long section = packedSectionPos(x >> 4, y >> 4, z >> 4);
     int[] arr;
-    if(xSection == this.lastX && ySection == this.lastY && zSection == this.lastZ) {
-      arr = this.lastData;
+    if (lastData != null && section == lastSection) {
+      arr = lastData;
     } else {
-      arr = this.structure.computeIfAbsent(new XYZTriple(xSection, ySection, zSection), sectionPos -> newSection());
-      this.lastX = xSection;
-      this.lastY = ySection;
-      this.lastZ = zSection;
-      this.lastData = arr;
-    }
-    if(arr != null) {
-      arr[packedIndex(x, y, z)] = data;
+      arr = structure.get(section);
+      if (arr == null) {
+        arr = newSection();
+        structure.put(section, arr);
+      }
+      lastSection = section;
+      lastData = arr;
     }
+    arr[packedIndex(x, y, z)] = data;
   }
 
   private static int[] newSection() {
@@ -46,51 +56,15 @@ public class Position3d2IntPackedArray implements Position2IntStructure {
     return section;
   }
 
+  /**
+   * @return the stored value, or -1 if no value was stored at the position
+   */
   @Override
   public int get(int x, int y, int z) {
-    int xSection = x >> 4;
-    int ySection = y >> 4;
-    int zSection = z >> 4;
-    int[] arr;
-    if(xSection == this.lastX && ySection == this.lastY && zSection == this.lastZ) {
-      arr = this.lastData;
-    } else {
-      arr = this.structure.computeIfAbsent(new XYZTriple(xSection, ySection, zSection), sectionPos -> newSection());
-      this.lastX = xSection;
-      this.lastY = ySection;
-      this.lastZ = zSection;
-      this.lastData = arr;
-    }
-    if(arr != null) {
+    int[] arr = structure.get(packedSectionPos(x >> 4, y >> 4, z >> 4));
+    if (arr != null) {
       return arr[packedIndex(x, y, z)];
     }
     return -1;
   }
-
-  protected static class XYZTriple {
-    protected final int x, y, z;
-
-    protected XYZTriple(int x, int y, int z) {
-      this.x = x;
-      this.y = y;
-      this.z = z;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) return true;
-      if (o == null || getClass() != o.getClass()) return false;
-      XYZTriple xyzTriple = (XYZTriple) o;
-      return x == xyzTriple.x && y == xyzTriple.y && z == xyzTriple.z;
-    }
-
-    @Override
-    public int hashCode() {
-      int hash = 7;
-      hash = 31 * hash + x;
-      hash = 31 * hash + y;
-      hash = 31 * hash + z;
-      return hash;
-    }
-  }
 }
@@ -88,7 +88,39 @@ public final class ImageLoader {
     return fromBufferedImage(ImageIO.read(url));
   }
 
+  /**
+   * An image input stream that may supply an image decoded earlier, for example from a cache.
+   */
+  public interface DecodedImageSource {
+    /**
+     * @return the decoded image, or {@code null} if the stream has to be decoded
+     */
+    BitmapImage getDecodedImage();
+
+    /**
+     * Called with the image decoded from the stream.
+     */
+    void imageDecoded(BitmapImage image);
+  }
+
+  /**
+   * Read an image from a stream. If the stream is a {@link DecodedImageSource}, a previously
+   * decoded image is used when available.
+   */
   public static BitmapImage read(InputStream in) throws IOException {
+    if (in instanceof DecodedImageSource) {
+      DecodedImageSource source = (DecodedImageSource) in;
+      BitmapImage image = source.getDecodedImage();
+      if (image == null) {
+        image = decode(in);
+        source.imageDecoded(image);
+      }
+      return image;
+    }
+    return decode(in);
+  }
+
+  private static BitmapImage decode(InputStream in) throws IOException {
     // TODO remove this when java 8 support is dropped
     if (!IMAGEIO_PNG_TRANSPARENT_COLOR_SUPPORTED) {
       ByteArrayOutputStream buffer = new ByteArrayOutputStream();
@@ -0,0 +1,158 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.util.io;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+
+/**
+ * An output stream that splits the data into blocks which are compressed independently,
+ * in parallel, and written in order.
+ *
+ * <p>Each block is written as its uncompressed length, its compressed length and the zlib
+ * compressed data. The stream ends with a block of length zero. Use
+ * {@link BlockInflaterInputStream} to read the stream.
+ */
+public class BlockDeflaterOutputStream extends OutputStream {
+  /** Uncompressed size of a full block. */
+  public static final int BLOCK_SIZE = 1 << 20;
+
+  private static class CompressedBlock {
+    final int rawLength;
+    final byte[] data;
+    final int length;
+
+    CompressedBlock(int rawLength, byte[] data, int length) {
+      this.rawLength = rawLength;
+      this.data = data;
+      this.length = length;
+    }
+  }
+
+  private final DataOutputStream out;
+  private final ForkJoinPool pool;
+  private final int maxPending;
+  private final ArrayDeque<CompletableFuture<CompressedBlock>> pending = new ArrayDeque<>();
+  private byte[] buffer = new byte[BLOCK_SIZE];
+  private int position = 0;
+  private boolean finished = false;
+
+  /**
+   * @param pool the thread pool to compress blocks on
+   */
+  public BlockDeflaterOutputStream(OutputStream out, ForkJoinPool pool) {
+    this.out = new DataOutputStream(out);
+    this.pool = pool;
+    this.maxPending = 2 * pool.getParallelism();
+  }
+
+  @Override public void write(int b) throws IOException {
+    if (position == BLOCK_SIZE) {
+      submitBlock();
+    }
+    buffer[position++] = (byte) b;
+  }
+
+  @Override public void write(byte[] b, int off, int len) throws IOException {
+    while (len > 0) {
+      if (position == BLOCK_SIZE) {
+        submitBlock();
+      }
+      int n = Math.min(len, BLOCK_SIZE - position);
+      System.arraycopy(b, off, buffer, position, n);
+      position += n;
+      off += n;
+      len -= n;
+    }
+  }
+
+  /**
+   * Writes all buffered data as a (possibly short) block and flushes the underlying stream.
+   */
+  @Override public void flush() throws IOException {
+    if (position > 0) {
+      submitBlock();
+    }
+    while (!pending.isEmpty()) {
+      writeBlock(pending.poll().join());
+    }
+    out.flush();
+  }
+
+  /**
+   * Writes the remaining data and the end of stream marker without closing the
+   * underlying stream.
+   */
+  public void finish() throws IOException {
+    if (!finished) {
+      flush();
+      out.writeInt(0);
+      out.flush();
+      finished = true;
+    }
+  }
+
+  @Override public void close() throws IOException {
+    try {
+      finish();
+    } finally {
+      out.close();
+    }
+  }
+
+  private void submitBlock() throws IOException {
+    byte[] block = buffer;
+    int length = position;
+    pending.add(CompletableFuture.supplyAsync(() -> compress(block, length), pool));
+    buffer = new byte[BLOCK_SIZE];
+    position = 0;
+    while (pending.size() > maxPending) {
+      writeBlock(pending.poll().join());
+    }
+  }
+
+  private void writeBlock(CompressedBlock block) throws IOException {
+    out.writeInt(block.rawLength);
+    out.writeInt(block.length);
+    out.write(block.data, 0, block.length);
+  }
+
+  private static CompressedBlock compress(byte[] data, int length) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(data, 0, length);
+      deflater.finish();
+      byte[] result = new byte[length / 2 + 64];
+      int size = 0;
+      while (!deflater.finished()) {
+        if (size == result.length) {
+          result = Arrays.copyOf(result, result.length * 2);
+        }
+        size += deflater.deflate(result, size, result.length - size);
+      }
+      return new CompressedBlock(length, result, size);
+    } finally {
+      deflater.end();
+    }
+  }
+}
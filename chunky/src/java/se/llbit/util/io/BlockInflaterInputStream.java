@@ -0,0 +1,203 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.util.io;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a stream written by {@link BlockDeflaterOutputStream}.
+ *
+ * <p>The compressed blocks are read from the underlying stream ahead of the reader and
+ * decompressed in parallel. Whole blocks that are skipped are not decompressed. Reading stops
+ * at the end of stream marker, so the underlying stream is left positioned after the last block.
+ */
+public class BlockInflaterInputStream extends InputStream {
+  private static class PendingBlock {
+    final int rawLength;
+    final CompletableFuture<byte[]> data;
+
+    PendingBlock(int rawLength, CompletableFuture<byte[]> data) {
+      this.rawLength = rawLength;
+      this.data = data;
+    }
+  }
+
+  private final DataInputStream in;
+  private final ForkJoinPool pool;
+  private final int maxPending;
+  private final ArrayDeque<PendingBlock> pending = new ArrayDeque<>();
+  private boolean endOfBlocks = false;
+  private byte[] block = new byte[0];
+  private int position = 0;
+
+  /**
+   * @param pool the thread pool to decompress blocks on
+   */
+  public BlockInflaterInputStream(InputStream in, ForkJoinPool pool) {
+    this.in = new DataInputStream(in);
+    this.pool = pool;
+    this.maxPending = 2 * pool.getParallelism();
+  }
+
+  @Override public int read() throws IOException {
+    if (position == block.length && !nextBlock()) {
+      return -1;
+    }
+    return block[position++] & 0xFF;
+  }
+
+  @Override public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (position == block.length && !nextBlock()) {
+      return -1;
+    }
+    int n = Math.min(len, block.length - position);
+    System.arraycopy(block, position, b, off, n);
+    position += n;
+    return n;
+  }
+
+  /**
+   * Skips whole blocks without decompressing them when possible.
+   */
+  @Override public long skip(long n) throws IOException {
+    long skipped = 0;
+    while (skipped < n) {
+      if (position < block.length) {
+        int count = (int) Math.min(n - skipped, block.length - position);
+        position += count;
+        skipped += count;
+      } else if (!pending.isEmpty()) {
+        if (pending.peek().rawLength > n - skipped) {
+          if (!nextBlock()) {
+            break;
+          }
+        } else {
+          PendingBlock next = pending.poll();
+          next.data.cancel(false);
+          skipped += next.rawLength;
+        }
+      } else if (endOfBlocks) {
+        break;
+      } else {
+        int rawLength = in.readInt();
+        if (rawLength == 0) {
+          endOfBlocks = true;
+          break;
+        }
+        int length = in.readInt();
+        if (rawLength < 0 || length < 0) {
+          throw new IOException("Corrupt block header");
+        }
+        if (rawLength <= n - skipped) {
+          in.skipNBytes(length);
+          skipped += rawLength;
+        } else {
+          readBlock(rawLength, length);
+        }
+      }
+    }
+    return skipped;
+  }
+
+  @Override public int available() {
+    return block.length - position;
+  }
+
+  @Override public void close() throws IOException {
+    for (PendingBlock next : pending) {
+      next.data.cancel(false);
+    }
+    pending.clear();
+    in.close();
+  }
+
+  /**
+   * @return {@code false} if there are no more blocks
+   */
+  private boolean nextBlock() throws IOException {
+    do {
+      while (!endOfBlocks && pending.size() < maxPending) {
+        int rawLength = in.readInt();
+        if (rawLength == 0) {
+          endOfBlocks = true;
+          break;
+        }
+        int length = in.readInt();
+        if (rawLength < 0 || length < 0) {
+          throw new IOException("Corrupt block header");
+        }
+        readBlock(rawLength, length);
+      }
+      if (pending.isEmpty()) {
+        return false;
+      }
+      try {
+        block = pending.poll().data.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof UncheckedIOException) {
+          throw ((UncheckedIOException) e.getCause()).getCause();
+        }
+        throw e;
+      }
+      position = 0;
+    } while (block.length == 0);
+    return true;
+  }
+
+  private void readBlock(int rawLength, int length) throws IOException {
+    byte[] data = new byte[length];
+    in.readFully(data);
+    pending.add(new PendingBlock(rawLength,
+        CompletableFuture.supplyAsync(() -> decompress(data, rawLength), pool)));
+  }
+
+  private static byte[] decompress(byte[] data, int rawLength) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(data);
+      byte[] result = new byte[rawLength];
+      int size = 0;
+      while (size < rawLength && !inflater.finished()) {
+        int n = inflater.inflate(result, size, rawLength - size);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        size += n;
+      }
+      if (size != rawLength) {
+        throw new UncheckedIOException(new IOException("Truncated block"));
+      }
+      return result;
+    } catch (DataFormatException e) {
+      throw new UncheckedIOException(new IOException("Corrupt block", e));
+    } finally {
+      inflater.end();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.util.io;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the total size of the files in a disk cache directory below a limit, by deleting the
+ * least recently used files.
+ *
+ * <p>The modification time of a cache file is its last use, so cache files must not rely on
+ * their own modification time. The directory is pruned on the first write of a session and
+ * then each time a sixteenth of the limit has been written.
+ */
+public class DiskCacheLimit {
+  private static final int PRUNE_INTERVAL = 16;
+
+  private final File directory;
+  private final LongSupplier maxBytes;
+  private final AtomicLong written = new AtomicLong(Long.MAX_VALUE / 2);
+
+  /**
+   * @param maxBytes supplies the size limit in bytes, or zero for no limit
+   */
+  public DiskCacheLimit(File directory, LongSupplier maxBytes) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Mark a cache file as used, so that it is pruned after the files that were used earlier.
+   */
+  public static void used(File file) {
+    // If this fails the file is just pruned earlier.
+    file.setLastModified(System.currentTimeMillis());
+  }
+
+  /**
+   * Record that a cache file was written, and prune the cache if needed. The written file is
+   * not deleted.
+   */
+  public void written(File file) {
+    long limit = maxBytes.getAsLong();
+    if (limit > 0 && written.addAndGet(file.length()) >= limit / PRUNE_INTERVAL) {
+      prune(limit, file);
+    }
+  }
+
+  private synchronized void prune(long limit, File keep) {
+    if (written.get() < limit / PRUNE_INTERVAL) {
+      // Another thread pruned the cache.
+      return;
+    }
+    written.set(0);
+    List<File> files = new ArrayList<>();
+    collectFiles(directory, files);
+    long total = 0;
+    long[] times = new long[files.size()];
+    Integer[] order = new Integer[files.size()];
+    for (int i = 0; i < files.size(); ++i) {
+      total += files.get(i).length();
+      times[i] = files.get(i).lastModified();
+      order[i] = i;
+    }
+    // Sort by the times read before sorting, since other threads may use files meanwhile.
+    Arrays.sort(order, (a, b) -> Long.compare(times[a], times[b]));
+    for (int i = 0; i < order.length && total > limit; ++i) {
+      File file = files.get(order[i]);
+      if (file.equals(keep)) {
+        continue;
+      }
+      long length = file.length();
+      if (file.delete()) {
+        total -= length;
+      }
+    }
+  }
+
+  private static void collectFiles(File directory, List<File> files) {
+    File[] children = directory.listFiles();
+    if (children == null) {
+      return;
+    }
+    for (File child : children) {
+      if (child.isDirectory()) {
+        collectFiles(child, files);
+      } else if (!child.getName().endsWith(".tmp")) {
+        // Temporary files are still being written.
+        files.add(child);
+      }
+    }
+  }
+}
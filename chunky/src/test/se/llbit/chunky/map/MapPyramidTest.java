@@ -0,0 +1,94 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.map;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.chunky.world.ChunkPosition;
+import se.llbit.chunky.world.RegionPosition;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MapPyramidTest {
+  private static int[] fill(int argb) {
+    int[] pixels = new int[MapPyramid.TILE_SIZE * MapPyramid.TILE_SIZE];
+    Arrays.fill(pixels, argb);
+    return pixels;
+  }
+
+  @Test
+  public void testAverage() {
+    assertEquals(0xFF808080, MapPyramid.average(0xFF000000, 0xFFFFFFFF, 0xFF000000, 0xFFFFFFFF));
+    assertEquals(0x40102030, MapPyramid.average(0x40102030, 0x40102030, 0x40102030, 0x40102030));
+  }
+
+  @Test
+  public void testRegionTileValidity() {
+    MapPyramid pyramid = new MapPyramid();
+    RegionPosition pos = new RegionPosition(-1, 2);
+    int[] out = new int[MapPyramid.TILE_SIZE * MapPyramid.TILE_SIZE];
+    assertFalse(pyramid.getRegion(pos, 100, -64, 320, out));
+
+    pyramid.setRegion(pos, fill(0xFF112233), 100, -64, 320);
+    assertTrue(pyramid.getRegion(pos, 100, -64, 320, out));
+    assertEquals(0xFF112233, out[17]);
+    assertFalse(pyramid.isComplete(pos, 101, -64, 320));
+    assertFalse(pyramid.isComplete(pos, 100, 0, 256));
+
+    // Single chunk updates do not make a region tile complete.
+    RegionPosition other = new RegionPosition(5, 5);
+    pyramid.setChunk(new ChunkPosition(5 * 32 + 3, 5 * 32 + 4), 0xFFFFFFFF);
+    assertFalse(pyramid.isComplete(other, 0, -64, 320));
+    assertEquals(0xFFFFFFFF, pyramid.getTile(0, 5, 5)[3 + 4 * 32]);
+  }
+
+  @Test
+  public void testParentTilesAreDownsampled() {
+    MapPyramid pyramid = new MapPyramid();
+    pyramid.setRegion(new RegionPosition(0, 0), fill(0xFF000000), 1, 0, 256);
+    pyramid.setRegion(new RegionPosition(1, 1), fill(0xFFFFFFFF), 1, 0, 256);
+
+    int[] level1 = pyramid.getTile(1, 0, 0);
+    assertEquals(0xFF000000, level1[0]);
+    assertEquals(0, level1[31]); // Region (1, 0) has not been drawn.
+    assertEquals(0xFFFFFFFF, level1[31 + 31 * 32]);
+
+    int[] level2 = pyramid.getTile(2, 0, 0);
+    assertEquals(0xFF000000, level2[0]);
+    assertEquals(0xFFFFFFFF, level2[15 + 15 * 32]);
+    assertEquals(0, level2[16]);
+
+    assertNull(pyramid.getTile(1, 1, 0));
+    assertNotNull(pyramid.getTile(MapPyramid.MAX_LEVEL, 0, 0));
+    assertNull(pyramid.getTile(1, -1, -1));
+  }
+
+  @Test
+  public void testRegionTilesOnly() {
+    MapPyramid pyramid = new MapPyramid(0);
+    RegionPosition pos = new RegionPosition(0, 0);
+    pyramid.setRegion(pos, fill(0xFF445566), 1, 0, 256);
+    assertTrue(pyramid.isComplete(pos, 1, 0, 256));
+    assertEquals(0xFF445566, pyramid.getTile(0, 0, 0)[0]);
+    assertNull(pyramid.getTile(1, 0, 0));
+  }
+}
@@ -0,0 +1,119 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.map;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.chunky.world.ChunkVersion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MapTileCacheTest {
+  private static final String SOURCE = "/worlds/test/region";
+
+  private static MapTileCache.Entry entry(int index, int timestamp) {
+    int[] surface = new int[256];
+    int[] heights = new int[256];
+    String[] biomes = new String[256];
+    for (int i = 0; i < 256; ++i) {
+      surface[i] = 0xFF000000 | (index * 1000 + i);
+      heights[i] = i - 64;
+      biomes[i] = i < 128 ? "minecraft:plains" : "minecraft:river";
+    }
+    return new MapTileCache.Entry(index, timestamp, ChunkVersion.POST_FLATTENING, surface,
+        heights, biomes);
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    Path file = Files.createTempFile("chunky-test", ".tiles");
+    try {
+      MapTileCache.write(file.toFile(), SOURCE, -64, 320,
+          Arrays.asList(entry(0, 17), entry(1023, 42)));
+      List<MapTileCache.Entry> entries = MapTileCache.read(file.toFile(), SOURCE, -64, 320);
+      assertEquals(2, entries.size());
+      for (MapTileCache.Entry expected : new MapTileCache.Entry[] { entry(0, 17), entry(1023, 42) }) {
+        MapTileCache.Entry actual = entries.get(expected.index == 0 ? 0 : 1);
+        assertEquals(expected.index, actual.index);
+        assertEquals(expected.timestamp, actual.timestamp);
+        assertEquals(expected.version, actual.version);
+        assertArrayEquals(expected.surface, actual.surface);
+        assertArrayEquals(expected.heights, actual.heights);
+        assertArrayEquals(expected.biomes, actual.biomes);
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testDifferentYRangeIsNotUsed() throws IOException {
+    Path file = Files.createTempFile("chunky-test", ".tiles");
+    try {
+      MapTileCache.write(file.toFile(), SOURCE, -64, 320, Arrays.asList(entry(5, 1)));
+      assertTrue(MapTileCache.read(file.toFile(), SOURCE, 0, 256).isEmpty());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testDifferentRegionDirectoryIsNotUsed() throws IOException {
+    Path file = Files.createTempFile("chunky-test", ".tiles");
+    try {
+      MapTileCache.write(file.toFile(), SOURCE, -64, 320, Arrays.asList(entry(5, 1)));
+      assertTrue(MapTileCache.read(file.toFile(), "/worlds/other/region", -64, 320).isEmpty());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testRegionTileRoundTrip() throws IOException {
+    Path file = Files.createTempFile("chunky-test", ".region");
+    try {
+      int[] pixels = new int[MapPyramid.TILE_SIZE * MapPyramid.TILE_SIZE];
+      for (int i = 0; i < pixels.length; ++i) {
+        pixels[i] = 0xFF000000 | i * 31;
+      }
+      MapTileCache.writeRegionTile(file.toFile(), SOURCE, 1234567890123L, -64, 320, pixels);
+
+      int[] out = new int[pixels.length];
+      assertTrue(MapTileCache.readRegionTile(file.toFile(), SOURCE, 1234567890123L, -64, 320,
+          out));
+      assertArrayEquals(pixels, out);
+
+      // Other region directories, outdated region files and other y-ranges do not use the tile.
+      assertFalse(MapTileCache.readRegionTile(file.toFile(), "/worlds/other/region",
+          1234567890123L, -64, 320, out));
+      assertFalse(MapTileCache.readRegionTile(file.toFile(), SOURCE, 1234567890124L, -64, 320,
+          out));
+      assertFalse(MapTileCache.readRegionTile(file.toFile(), SOURCE, 1234567890123L, 0, 256,
+          out));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,218 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se.llbit.chunky.main.Chunky;
+import se.llbit.chunky.main.ChunkyOptions;
+import se.llbit.chunky.world.DimensionHeightRange;
+import se.llbit.chunky.world.World;
+import se.llbit.testutil.RegionFileBuilder;
+import se.llbit.util.TaskTracker;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Renders the map of a generated 1.20 world with a 2x2 chunk area of stone in region (0, 0).
+ */
+public class WorldMapRendererTest {
+  private static final int DATA_VERSION = 3700;
+  private static final int CHUNKS = 2;
+  private static final int WORLD_SIZE = CHUNKS * 16;
+
+  private static final int TAG_END = 0;
+  private static final int TAG_BYTE = 1;
+  private static final int TAG_INT = 3;
+  private static final int TAG_LONG = 4;
+  private static final int TAG_STRING = 8;
+  private static final int TAG_LIST = 9;
+  private static final int TAG_COMPOUND = 10;
+
+  @TempDir
+  Path worldDirectory;
+
+  @BeforeAll
+  public static void setUpChunky() {
+    // Registers the block providers.
+    ChunkyOptions options = ChunkyOptions.getDefaults();
+    options.renderThreads = 1;
+    new Chunky(options);
+  }
+
+  @BeforeEach
+  public void writeWorld() throws IOException {
+    try (DataOutputStream out = new DataOutputStream(
+        new GZIPOutputStream(Files.newOutputStream(worldDirectory.resolve("level.dat"))))) {
+      writeLevel(out);
+    }
+    File regionDirectory = Files.createDirectories(worldDirectory.resolve("region")).toFile();
+    RegionFileBuilder region = new RegionFileBuilder();
+    for (int z = 0; z < CHUNKS; ++z) {
+      for (int x = 0; x < CHUNKS; ++x) {
+        region.nbtChunk(x, z, stoneChunk(x, z));
+      }
+    }
+    region.write(regionDirectory, 0, 0);
+  }
+
+  private static void writeTag(DataOutputStream out, int type, String name) throws IOException {
+    out.writeByte(type);
+    out.writeUTF(name);
+  }
+
+  private static void writeLevel(DataOutputStream out) throws IOException {
+    writeTag(out, TAG_COMPOUND, "");
+    writeTag(out, TAG_COMPOUND, "Data");
+    writeTag(out, TAG_INT, "version");
+    out.writeInt(World.NBT_VERSION);
+    writeTag(out, TAG_INT, "DataVersion");
+    out.writeInt(DATA_VERSION);
+    writeTag(out, TAG_COMPOUND, "Version");
+    writeTag(out, TAG_INT, "Id");
+    out.writeInt(DATA_VERSION);
+    writeTag(out, TAG_STRING, "Name");
+    out.writeUTF("1.20.4");
+    out.writeByte(TAG_END); // Version.
+    writeTag(out, TAG_STRING, "LevelName");
+    out.writeUTF("test");
+    writeTag(out, TAG_LONG, "RandomSeed");
+    out.writeLong(0);
+    writeTag(out, TAG_INT, "GameType");
+    out.writeInt(1);
+    writeTag(out, TAG_INT, "SpawnX");
+    out.writeInt(0);
+    writeTag(out, TAG_INT, "SpawnY");
+    out.writeInt(16);
+    writeTag(out, TAG_INT, "SpawnZ");
+    out.writeInt(0);
+    out.writeByte(TAG_END); // Data.
+    out.writeByte(TAG_END); // Root.
+  }
+
+  /**
+   * A chunk with one section of stone from y=0 to y=15.
+   */
+  private static byte[] stoneChunk(int x, int z) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      writeTag(out, TAG_COMPOUND, "");
+      writeTag(out, TAG_INT, "DataVersion");
+      out.writeInt(DATA_VERSION);
+      writeTag(out, TAG_INT, "xPos");
+      out.writeInt(x);
+      writeTag(out, TAG_INT, "yPos");
+      out.writeInt(-4);
+      writeTag(out, TAG_INT, "zPos");
+      out.writeInt(z);
+      writeTag(out, TAG_STRING, "Status");
+      out.writeUTF("minecraft:full");
+      writeTag(out, TAG_LIST, "block_entities");
+      out.writeByte(TAG_END);
+      out.writeInt(0);
+
+      writeTag(out, TAG_LIST, "sections");
+      out.writeByte(TAG_COMPOUND);
+      out.writeInt(1);
+      writeTag(out, TAG_BYTE, "Y");
+      out.writeByte(0);
+      writeTag(out, TAG_COMPOUND, "block_states");
+      writeTag(out, TAG_LIST, "palette");
+      out.writeByte(TAG_COMPOUND);
+      out.writeInt(1);
+      writeTag(out, TAG_STRING, "Name");
+      out.writeUTF("minecraft:stone");
+      out.writeByte(TAG_END); // Palette entry.
+      out.writeByte(TAG_END); // block_states.
+      writeTag(out, TAG_COMPOUND, "biomes");
+      writeTag(out, TAG_LIST, "palette");
+      out.writeByte(TAG_STRING);
+      out.writeInt(1);
+      out.writeUTF("minecraft:plains");
+      out.writeByte(TAG_END); // biomes.
+      out.writeByte(TAG_END); // Section.
+
+      out.writeByte(TAG_END); // Root.
+    }
+    return bytes.toByteArray();
+  }
+
+  @Test
+  public void testRenderTiles() throws IOException {
+    World world = World.loadWorld(worldDirectory.toFile(), World.OVERWORLD_DIMENSION,
+        World.LoggedWarnings.SILENT);
+    File tiles = worldDirectory.resolve("tiles").toFile();
+    int regions = new WorldMapRenderer(world, tiles).render(null, 1, TaskTracker.Task.NONE);
+    assertEquals(1, regions);
+
+    BufferedImage tile = ImageIO.read(new File(tiles, "r.0.0.png"));
+    assertEquals(WorldMapRenderer.REGION_SIZE, tile.getWidth());
+    assertEquals(WorldMapRenderer.REGION_SIZE, tile.getHeight());
+    for (int z = 0; z < WorldMapRenderer.REGION_SIZE; z += 7) {
+      for (int x = 0; x < WorldMapRenderer.REGION_SIZE; x += 7) {
+        int rgb = tile.getRGB(x, z) & 0xFFFFFF;
+        if (x < WORLD_SIZE && z < WORLD_SIZE) {
+          assertNotEquals(0, rgb, "missing surface at " + x + ", " + z);
+        } else {
+          assertEquals(0, rgb, "unexpected surface at " + x + ", " + z);
+        }
+      }
+    }
+
+    for (int level = 1; level <= MapPyramid.MAX_LEVEL; ++level) {
+      BufferedImage overview = ImageIO.read(new File(tiles, level + "/0.0.png"));
+      assertEquals(MapPyramid.TILE_SIZE, overview.getWidth());
+      assertNotEquals(0, overview.getRGB(0, 0) & 0xFFFFFF);
+    }
+  }
+
+  @Test
+  public void testVanillaHeightRange() {
+    World world = World.loadWorld(worldDirectory.toFile(), World.OVERWORLD_DIMENSION,
+        World.LoggedWarnings.SILENT);
+    DimensionHeightRange range = world.currentDimension().getHeightRange();
+    assertEquals(-64, range.minY);
+    assertEquals(320, range.maxY);
+  }
+
+  @Test
+  public void testDataPackHeightRange() throws IOException {
+    Path type = worldDirectory.resolve("datapacks/tall/data/minecraft/dimension_type");
+    Files.createDirectories(type);
+    Files.write(type.resolve("overworld.json"),
+        "{\"min_y\": -128, \"height\": 512}".getBytes(StandardCharsets.UTF_8));
+    World world = World.loadWorld(worldDirectory.toFile(), World.OVERWORLD_DIMENSION,
+        World.LoggedWarnings.SILENT);
+    DimensionHeightRange range = world.currentDimension().getHeightRange();
+    assertEquals(-128, range.minY);
+    assertEquals(384, range.maxY);
+  }
+}
@@ -0,0 +1,125 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.chunky.main.Chunky;
+import se.llbit.chunky.main.ChunkyOptions;
+import se.llbit.chunky.renderer.sampler.Sampler;
+import se.llbit.chunky.renderer.sampler.Samplers;
+import se.llbit.chunky.renderer.scene.CanvasConfig;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.chunky.renderer.scene.sky.Sky;
+import se.llbit.math.Vector3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathTracingRendererTest {
+  private static final int WIDTH = Math.max(10, CanvasConfig.MIN_CANVAS_WIDTH);
+  private static final int HEIGHT = Math.max(10, CanvasConfig.MIN_CANVAS_HEIGHT);
+
+  /**
+   * Records the sample indices of the first dimension of each pixel, which is used by the
+   * camera ray.
+   */
+  private static class RecordingSampler implements Sampler {
+    final Map<Long, List<Integer>> cameraSamples = new ConcurrentHashMap<>();
+
+    @Override public long sample(long pixelKey, int index, int dimension) {
+      if (dimension == 0) {
+        cameraSamples.computeIfAbsent(pixelKey, key -> Collections.synchronizedList(new ArrayList<>()))
+            .add(index);
+      }
+      return Samplers.RANDOM.sample(pixelKey, index, dimension);
+    }
+
+    @Override public String getName() {
+      return "Recording";
+    }
+
+    @Override public String getDescription() {
+      return "";
+    }
+
+    @Override public String getId() {
+      return "RECORDING";
+    }
+  }
+
+  /**
+   * Render with several branches per camera sample. The camera samples of each pixel must be
+   * a prefix of the sample sequence, without gaps or repeated indices.
+   */
+  @Test
+  public void testCameraSamplesWithBranches() throws InterruptedException {
+    Scene scene = new Scene();
+    scene.setCanvasSize(WIDTH, HEIGHT);
+    scene.setRenderMode(RenderMode.RENDERING);
+    scene.sky().setSkyMode(Sky.SkyMode.SOLID_COLOR);
+    scene.sky().setColor(new Vector3(0.5, 0.5, 0.5));
+    scene.setBranchCount(10);
+    scene.setTargetSpp(100);
+    RecordingSampler sampler = new RecordingSampler();
+    scene.setSampler(sampler);
+
+    ChunkyOptions options = ChunkyOptions.getDefaults();
+    options.renderThreads = 2;
+    options.sppPerPass = 2;
+    RenderContext context = new RenderContext(new Chunky(options));
+    DefaultRenderManager renderer = new DefaultRenderManager(context, true);
+    renderer.setSceneProvider(new MockSceneProvider(scene));
+    renderer.start();
+    renderer.join();
+
+    Scene rendered = renderer.bufferedScene;
+    assertTrue(rendered.spp >= 100);
+    int cameraSpp = rendered.getCameraSpp(options.sppPerPass);
+    assertTrue(cameraSpp < rendered.spp);
+    assertEquals(WIDTH * HEIGHT, sampler.cameraSamples.size());
+    for (List<Integer> indices : sampler.cameraSamples.values()) {
+      List<Integer> sorted = new ArrayList<>(indices);
+      Collections.sort(sorted);
+      assertEquals(cameraSpp, sorted.size());
+      for (int i = 0; i < cameraSpp; ++i) {
+        assertEquals(i, (int) sorted.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testCameraSpp() {
+    Scene scene = new Scene();
+    scene.setBranchCount(10);
+    for (int sppPerPass = 1; sppPerPass <= 3; ++sppPerPass) {
+      // Follow the render loop, which adds sppPerPass camera samples per pass.
+      scene.spp = 0;
+      int cameraSpp = 0;
+      while (scene.spp < 500) {
+        assertEquals(cameraSpp, scene.getCameraSpp(sppPerPass));
+        scene.spp += sppPerPass * scene.getCurrentBranchCount();
+        cameraSpp += sppPerPass;
+      }
+    }
+  }
+}
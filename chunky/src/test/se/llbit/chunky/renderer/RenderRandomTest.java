@@ -0,0 +1,132 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.chunky.renderer.sampler.Sampler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RenderRandomTest {
+  @Test
+  public void testSampleDoesNotDependOnStream() {
+    RenderRandom a = new RenderRandom(42, 0);
+    RenderRandom b = new RenderRandom(42, 7);
+    assertNotEquals(a.nextLong(), b.nextLong());
+
+    // Worker b has already generated other samples.
+    b.startSample(3, 4, 0);
+    b.nextDouble();
+    b.nextGaussian();
+
+    a.startSample(10, 20, 5);
+    b.startSample(10, 20, 5);
+    for (int i = 0; i < 100; ++i) {
+      assertEquals(a.nextLong(), b.nextLong());
+      assertEquals(a.nextDouble(), b.nextDouble());
+      assertEquals(a.nextGaussian(), b.nextGaussian());
+    }
+  }
+
+  @Test
+  public void testSamplesDiffer() {
+    RenderRandom random = new RenderRandom(42);
+    random.startSample(10, 20, 5);
+    long sample = random.nextLong();
+    random.startSample(10, 20, 6);
+    assertNotEquals(sample, random.nextLong());
+    random.startSample(20, 10, 5);
+    assertNotEquals(sample, random.nextLong());
+    random.startSample(11, 20, 5);
+    assertNotEquals(sample, random.nextLong());
+
+    RenderRandom other = new RenderRandom(43);
+    other.startSample(10, 20, 5);
+    assertNotEquals(sample, other.nextLong());
+  }
+
+  @Test
+  public void testUniform() {
+    RenderRandom random = new RenderRandom(1);
+    int[] bins = new int[10];
+    int n = 100000;
+    for (int i = 0; i < n; ++i) {
+      random.startSample(i % 317, i / 317, 0);
+      double value = random.nextDouble();
+      assertTrue(value >= 0 && value < 1);
+      bins[(int) (value * bins.length)] += 1;
+    }
+    for (int count : bins) {
+      assertEquals(n / bins.length, count, n / bins.length * 0.05);
+    }
+  }
+
+  /**
+   * Returns the index and dimension of each number.
+   */
+  private static final Sampler INDEX_SAMPLER = new Sampler() {
+    @Override public long sample(long pixelKey, int index, int dimension) {
+      return ((long) index << 32) | dimension;
+    }
+
+    @Override public String getName() {
+      return "Index";
+    }
+
+    @Override public String getDescription() {
+      return "";
+    }
+
+    @Override public String getId() {
+      return "INDEX";
+    }
+  };
+
+  @Test
+  public void testBranchesHaveOwnIndices() {
+    RenderRandom random = new RenderRandom(42);
+    random.startSample(INDEX_SAMPLER, 10, 20, 3, 30);
+    assertEquals(3L << 32, random.nextLong());
+    assertEquals(3L << 32 | 1, random.nextLong());
+
+    random.startBranch(0);
+    assertEquals(30L << 32 | RenderRandom.BRANCH_DIMENSION, random.nextLong());
+    assertEquals(30L << 32 | (RenderRandom.BRANCH_DIMENSION + 1), random.nextLong());
+    random.startBranch(2);
+    assertEquals(32L << 32 | RenderRandom.BRANCH_DIMENSION, random.nextLong());
+  }
+
+  @Test
+  public void testEndSample() {
+    RenderRandom a = new RenderRandom(42, 0);
+    RenderRandom b = new RenderRandom(42, 0);
+    a.startSample(INDEX_SAMPLER, 10, 20, 3);
+    a.endSample();
+    b.startSample(10, 20, 3);
+    b.endSample();
+    // Numbers after the sample do not come from the sampler.
+    for (int i = 0; i < 10; ++i) {
+      assertEquals(b.nextLong(), a.nextLong());
+    }
+
+    // Branches outside of samples do not restart the sampler.
+    a.startBranch(1);
+    assertEquals(b.nextLong(), a.nextLong());
+  }
+}
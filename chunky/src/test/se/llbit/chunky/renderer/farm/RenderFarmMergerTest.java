@@ -0,0 +1,105 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.farm;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.chunky.renderer.renderdump.RenderDump;
+import se.llbit.chunky.renderer.scene.CanvasConfig;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.util.TaskTracker;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderFarmMergerTest {
+  private static final int WIDTH = CanvasConfig.MIN_CANVAS_WIDTH;
+  private static final int HEIGHT = CanvasConfig.MIN_CANVAS_HEIGHT;
+
+  private static Scene createScene(int spp, long renderTime, double value) {
+    Scene scene = new Scene();
+    scene.setCanvasSize(WIDTH, HEIGHT);
+    scene.spp = spp;
+    scene.renderTime = renderTime;
+    Arrays.fill(scene.getSampleBuffer(), value);
+    return scene;
+  }
+
+  private static ByteArrayInputStream dump(int spp, long renderTime, double value) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    RenderDump.save(out, createScene(spp, renderTime, value), TaskTracker.NONE);
+    return new ByteArrayInputStream(out.toByteArray());
+  }
+
+  @Test
+  public void testMergeWorkers() throws IOException {
+    Scene scene = createScene(0, 0, 0);
+    RenderFarmMerger merger = new RenderFarmMerger(scene, 2);
+
+    merger.merge(0, dump(10, 1000, 1.0), TaskTracker.NONE);
+    assertEquals(10, scene.spp);
+    assertEquals(1.0, scene.getSampleBuffer()[0], 1e-9);
+
+    merger.merge(1, dump(30, 2000, 2.0), TaskTracker.NONE);
+    assertEquals(40, scene.spp);
+    assertEquals(2000, scene.renderTime);
+    assertEquals((10 * 1.0 + 30 * 2.0) / 40, scene.getSampleBuffer()[0], 1e-9);
+  }
+
+  @Test
+  public void testReplaceWorkerContribution() throws IOException {
+    Scene scene = createScene(20, 500, 0.5);
+    RenderFarmMerger merger = new RenderFarmMerger(scene, 1);
+
+    merger.merge(0, dump(10, 1000, 1.0), TaskTracker.NONE);
+    assertEquals(30, scene.spp);
+
+    // A later dump from the same worker replaces its previous samples.
+    merger.merge(0, dump(20, 2000, 2.0), TaskTracker.NONE);
+    assertEquals(40, scene.spp);
+    assertEquals(2500, scene.renderTime);
+    assertEquals(20, merger.getWorkerSpp(0));
+    double expected = (20 * 0.5 + 20 * 2.0) / 40;
+    for (double sample : scene.getSampleBuffer()) {
+      assertEquals(expected, sample, 1e-9);
+    }
+  }
+
+  @Test
+  public void testWorkerTargetSpp() {
+    int total = 0;
+    for (int i = 0; i < 3; ++i) {
+      total += RenderFarmProtocol.workerTargetSpp(100, 3, i);
+    }
+    assertEquals(100, total);
+    assertEquals(34, RenderFarmProtocol.workerTargetSpp(100, 3, 0));
+    assertEquals(33, RenderFarmProtocol.workerTargetSpp(100, 3, 2));
+  }
+
+  @Test
+  public void testWorkerCount() {
+    assertEquals(3, RenderFarmProtocol.workerCount(100, 3));
+    assertEquals(2, RenderFarmProtocol.workerCount(2, 8));
+    assertEquals(1, RenderFarmProtocol.workerCount(1, 8));
+    for (int i = 0; i < 2; ++i) {
+      assertEquals(1, RenderFarmProtocol.workerTargetSpp(2, RenderFarmProtocol.workerCount(2, 8), i));
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RenderMetricsTest {
+  @BeforeEach
+  @AfterEach
+  public void reset() {
+    RenderMetrics.setEnabled(false);
+    RenderMetrics.reset();
+  }
+
+  @Test
+  public void testDisabledMetricsAreNotRecorded() {
+    RenderMetrics.count(RenderMetrics.Counter.RAYS);
+    try (RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.BUILD_BVH)) {
+      // Nothing to time.
+    }
+    assertEquals(0, RenderMetrics.get(RenderMetrics.Counter.RAYS));
+    assertEquals(0, RenderMetrics.getStageCount(RenderMetrics.Stage.BUILD_BVH));
+  }
+
+  @Test
+  public void testCountersAreSummedOverThreads() throws InterruptedException {
+    RenderMetrics.setEnabled(true);
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; ++i) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < 1000; ++j) {
+          RenderMetrics.count(RenderMetrics.Counter.RAYS);
+        }
+        RenderMetrics.count(RenderMetrics.Counter.OCTREE_STEPS, 10);
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(4000, RenderMetrics.get(RenderMetrics.Counter.RAYS));
+    assertEquals(40, RenderMetrics.get(RenderMetrics.Counter.OCTREE_STEPS));
+
+    RenderMetrics.reset();
+    assertEquals(0, RenderMetrics.get(RenderMetrics.Counter.RAYS));
+  }
+
+  @Test
+  public void testCountersOfFinishedThreadsArePruned() throws InterruptedException {
+    RenderMetrics.setEnabled(true);
+    RenderMetrics.count(RenderMetrics.Counter.RAYS);
+    int before = RenderMetrics.numThreadCounters();
+    for (int pool = 0; pool < 10; ++pool) {
+      Thread[] threads = new Thread[4];
+      for (int i = 0; i < threads.length; ++i) {
+        threads[i] = new Thread(() -> RenderMetrics.count(RenderMetrics.Counter.RAYS, 5));
+        threads[i].start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    }
+    assertEquals(before, RenderMetrics.numThreadCounters());
+    assertEquals(201, RenderMetrics.get(RenderMetrics.Counter.RAYS));
+
+    RenderMetrics.reset();
+    assertEquals(0, RenderMetrics.get(RenderMetrics.Counter.RAYS));
+  }
+
+  @Test
+  public void testStageTimer() {
+    RenderMetrics.setEnabled(true);
+    for (int i = 0; i < 3; ++i) {
+      try (RenderMetrics.Timer timer = RenderMetrics.time(RenderMetrics.Stage.SAVE_DUMP)) {
+        // Nothing to time.
+      }
+    }
+    assertEquals(3, RenderMetrics.getStageCount(RenderMetrics.Stage.SAVE_DUMP));
+    assertEquals(0, RenderMetrics.getStageCount(RenderMetrics.Stage.LOAD_DUMP));
+  }
+}
@@ -0,0 +1,126 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.postprocessing;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.chunky.renderer.scene.AovBuffer;
+import se.llbit.chunky.resources.BitmapImage;
+import se.llbit.util.TaskTracker;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AtrousDenoiserFilterTest {
+  private static final int WIDTH = 64;
+  private static final int HEIGHT = 48;
+
+  /**
+   * Two flat surfaces with different normals and brightness, split at x = WIDTH / 2.
+   */
+  private static double[] noisyImage() {
+    Random random = new Random(0);
+    double[] samples = new double[WIDTH * HEIGHT * 3];
+    for (int y = 0; y < HEIGHT; ++y) {
+      for (int x = 0; x < WIDTH; ++x) {
+        double value = (x < WIDTH / 2 ? 0.2 : 0.6) * (0.5 + random.nextDouble());
+        for (int i = 0; i < 3; ++i) {
+          samples[(y * WIDTH + x) * 3 + i] = value;
+        }
+      }
+    }
+    return samples;
+  }
+
+  private static AovBuffer features() {
+    AovBuffer aov = new AovBuffer(WIDTH * HEIGHT);
+    aov.allocate();
+    double[] features = new double[AovBuffer.FEATURE_SIZE];
+    for (int y = 0; y < HEIGHT; ++y) {
+      for (int x = 0; x < WIDTH; ++x) {
+        features[0] = features[1] = features[2] = 1;
+        features[3] = x < WIDTH / 2 ? 1 : 0;
+        features[4] = x < WIDTH / 2 ? 0 : 1;
+        features[5] = 0;
+        features[6] = 10;
+        aov.accumulate(y * WIDTH + x, features, 1);
+      }
+    }
+    aov.addSamples(1);
+    return aov;
+  }
+
+  private static double value(BitmapImage image, int x, int y) {
+    return (image.getPixel(x, y) & 0xFF) / 255.0;
+  }
+
+  private static double deviation(BitmapImage image, int x0, int x1, double expected) {
+    double sum = 0;
+    int count = 0;
+    for (int y = 0; y < HEIGHT; ++y) {
+      for (int x = x0; x < x1; ++x) {
+        double error = value(image, x, y) - expected;
+        sum += error * error;
+        count += 1;
+      }
+    }
+    return Math.sqrt(sum / count);
+  }
+
+  @Test
+  public void testReducesNoise() {
+    double[] samples = noisyImage();
+    BitmapImage noisy = new BitmapImage(WIDTH, HEIGHT);
+    new NoneFilter().processFrame(WIDTH, HEIGHT, samples, noisy, 1, TaskTracker.Task.NONE);
+    BitmapImage denoised = new BitmapImage(WIDTH, HEIGHT);
+    new AtrousDenoiserFilter(new NoneFilter()).processFrame(WIDTH, HEIGHT, samples, features(),
+        denoised, 1, TaskTracker.Task.NONE);
+
+    assertTrue(deviation(denoised, 0, WIDTH / 2, 0.2) < deviation(noisy, 0, WIDTH / 2, 0.2) / 3);
+    assertTrue(deviation(denoised, WIDTH / 2, WIDTH, 0.6) < deviation(noisy, WIDTH / 2, WIDTH, 0.6) / 3);
+  }
+
+  @Test
+  public void testPreservesNormalEdge() {
+    BitmapImage denoised = new BitmapImage(WIDTH, HEIGHT);
+    new AtrousDenoiserFilter(new NoneFilter()).processFrame(WIDTH, HEIGHT, noisyImage(),
+        features(), denoised, 1, TaskTracker.Task.NONE);
+
+    // Columns next to the edge must not be blended with the other surface.
+    assertEquals(0.2, columnMean(denoised, WIDTH / 2 - 1), 0.05);
+    assertEquals(0.6, columnMean(denoised, WIDTH / 2), 0.05);
+  }
+
+  private static double columnMean(BitmapImage image, int x) {
+    double sum = 0;
+    for (int y = 0; y < HEIGHT; ++y) {
+      sum += value(image, x, y);
+    }
+    return sum / HEIGHT;
+  }
+
+  @Test
+  public void testWithoutFeatures() {
+    double[] samples = new double[WIDTH * HEIGHT * 3];
+    Arrays.fill(samples, 0.5);
+    BitmapImage output = new BitmapImage(WIDTH, HEIGHT);
+    new AtrousDenoiserFilter(new NoneFilter()).processFrame(WIDTH, HEIGHT, samples, output, 1,
+        TaskTracker.Task.NONE);
+    assertEquals(0.5, value(output, 10, 10), 1 / 255.0);
+  }
+}
@@ -0,0 +1,156 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.postprocessing;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.chunky.renderer.scene.Scene;
+import se.llbit.chunky.resources.BitmapImage;
+import se.llbit.math.ColorUtil;
+import se.llbit.util.TaskTracker;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SimplePixelPostProcessingFilterTest {
+  private static final int WIDTH = 37;
+  private static final int HEIGHT = 11;
+  private static final double EXPOSURE = 1.3;
+
+  private static double[] hdrImage() {
+    Random random = new Random(0);
+    double[] samples = new double[WIDTH * HEIGHT * 3];
+    for (int i = 0; i < samples.length; ++i) {
+      // Mostly dark values, some very bright and some black.
+      double value = random.nextDouble();
+      samples[i] = i % 17 == 0 ? 0 : value * value * value * 8;
+    }
+    return samples;
+  }
+
+  private static int[] processPixelByPixel(PixelPostProcessingFilter filter, double[] input) {
+    int[] output = new int[WIDTH * HEIGHT];
+    double[] pixel = new double[3];
+    for (int y = 0; y < HEIGHT; ++y) {
+      for (int x = 0; x < WIDTH; ++x) {
+        filter.processPixel(WIDTH, HEIGHT, input, x, y, EXPOSURE, pixel);
+        output[y * WIDTH + x] = ColorUtil.getRGBClamped(pixel[0], pixel[1], pixel[2]);
+      }
+    }
+    return output;
+  }
+
+  @Test
+  public void testSpansMatchSinglePixels() {
+    double[] input = hdrImage();
+    SimplePixelPostProcessingFilter[] filters = {
+        new NoneFilter(),
+        new GammaCorrectionFilter(),
+        new Tonemap1Filter(),
+        new ACESFilmicFilter(),
+        new HableToneMappingFilter(),
+        new UE4ToneMappingFilter(),
+        PreviewFilter.INSTANCE,
+    };
+    for (SimplePixelPostProcessingFilter filter : filters) {
+      int[] expected = processPixelByPixel(filter, input);
+
+      int[] rows = new int[WIDTH * HEIGHT];
+      for (int y = 0; y < HEIGHT; ++y) {
+        filter.processSpan(WIDTH, HEIGHT, input, y * WIDTH, WIDTH, EXPOSURE, rows);
+      }
+      assertArrayEquals(expected, rows, filter.getClass().getSimpleName());
+
+      // Spans that start and end in the middle of rows.
+      int[] spans = new int[WIDTH * HEIGHT];
+      for (int offset = 0; offset < WIDTH * HEIGHT; offset += 50) {
+        int count = Math.min(50, WIDTH * HEIGHT - offset);
+        filter.processSpan(WIDTH, HEIGHT, input, offset, count, EXPOSURE, spans);
+      }
+      assertArrayEquals(expected, spans, filter.getClass().getSimpleName());
+    }
+  }
+
+  @Test
+  public void testDefaultSpan() {
+    double[] input = hdrImage();
+    PixelPostProcessingFilter filter = new PixelPostProcessingFilter() {
+      @Override
+      public void processPixel(int width, int height, double[] samples, int x, int y,
+          double exposure, double[] output) {
+        for (int i = 0; i < 3; ++i) {
+          output[i] = samples[(y * width + x) * 3 + i] * exposure;
+        }
+      }
+
+      @Override
+      public void processFrame(int width, int height, double[] input, BitmapImage output,
+          double exposure, TaskTracker.Task task) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public String getName() {
+        return "Linear";
+      }
+
+      @Override
+      public String getId() {
+        return "LINEAR";
+      }
+    };
+    int[] spans = new int[WIDTH * HEIGHT];
+    filter.processSpan(WIDTH, HEIGHT, input, 0, 30, EXPOSURE, spans);
+    filter.processSpan(WIDTH, HEIGHT, input, 30, WIDTH * HEIGHT - 30, EXPOSURE, spans);
+    assertArrayEquals(processPixelByPixel(filter, input), spans);
+  }
+
+  @Test
+  public void testGammaTable() {
+    double exponent = 1 / Scene.DEFAULT_GAMMA;
+    for (int i = 0; i <= 100000; ++i) {
+      double value = i / 100000.0;
+      assertEquals(Math.pow(value, exponent), GammaTable.apply(value), 1e-6);
+    }
+    for (int i = 1; i <= 1000; ++i) {
+      double value = Math.pow(2, -i / 20.0);
+      assertEquals(Math.pow(value, exponent), GammaTable.apply(value), 1e-6);
+    }
+    assertEquals(0, GammaTable.apply(-1));
+    assertEquals(1, GammaTable.apply(1));
+    assertEquals(Math.pow(3, exponent), GammaTable.apply(3));
+
+    double[] values = { 0.5, 0.25, 2 };
+    GammaTable.apply(values, 2);
+    assertEquals(GammaTable.apply(0.5), values[0]);
+    assertEquals(GammaTable.apply(0.25), values[1]);
+    assertEquals(2, values[2]);
+  }
+
+  @Test
+  public void testGammaCorrectionKeepsHdrValues() {
+    // 32-bit TIFF export writes the filter output without clamping it.
+    double exponent = 1 / Scene.DEFAULT_GAMMA;
+    GammaCorrectionFilter filter = new GammaCorrectionFilter();
+    double[] pixel = { 1.5, 4, 100 };
+    filter.processPixel(pixel);
+    assertEquals(Math.pow(1.5, exponent), pixel[0], 1e-12);
+    assertEquals(Math.pow(4, exponent), pixel[1], 1e-12);
+    assertEquals(Math.pow(100, exponent), pixel[2], 1e-12);
+  }
+}
@@ -0,0 +1,98 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.sampler;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.chunky.renderer.RenderRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SobolSamplerTest {
+  @Test
+  public void testSobolPoints() {
+    double[][] expected = {{0, 0}, {0.5, 0.5}, {0.25, 0.75}, {0.75, 0.25}, {0.125, 0.625}};
+    for (int i = 0; i < expected.length; ++i) {
+      assertEquals(expected[i][0], fraction(SobolSampler.sobol(i, 0)));
+      assertEquals(expected[i][1], fraction(SobolSampler.sobol(i, 1)));
+    }
+  }
+
+  /**
+   * The first 2^m samples of a pixel should have one point in each elementary interval
+   * of area 2^-m, for each pair of dimensions in a group.
+   */
+  @Test
+  public void testStratification() {
+    Sampler sampler = new SobolSampler();
+    int m = 6;
+    int n = 1 << m;
+    for (long pixelKey = 1; pixelKey <= 20; ++pixelKey) {
+      for (int group = 0; group < 3; ++group) {
+        int dimension = group * 4;
+        for (int a = 0; a <= m; ++a) {
+          int b = m - a;
+          int[] cells = new int[n];
+          for (int i = 0; i < n; ++i) {
+            long x = sampler.sample(pixelKey, i, dimension) >>> (64 - a);
+            long y = b == 0 ? 0 : sampler.sample(pixelKey, i, dimension + 1) >>> (64 - b);
+            if (a == 0) {
+              x = 0;
+            }
+            cells[(int) (x << b | y)] += 1;
+          }
+          for (int count : cells) {
+            assertEquals(1, count);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLowerErrorThanRandom() {
+    // Estimate the area of a quarter disk with 64 samples per pixel.
+    double randomError = squaredError(Samplers.RANDOM, 64);
+    double sobolError = squaredError(Samplers.SOBOL, 64);
+    assertTrue(sobolError < randomError / 4,
+        String.format("random: %g, sobol: %g", randomError, sobolError));
+  }
+
+  private static double squaredError(Sampler sampler, int spp) {
+    RenderRandom random = new RenderRandom(1234);
+    double error = 0;
+    int pixels = 200;
+    for (int pixel = 0; pixel < pixels; ++pixel) {
+      int inside = 0;
+      for (int sample = 0; sample < spp; ++sample) {
+        random.startSample(sampler, pixel, 0, sample);
+        double x = random.nextDouble();
+        double y = random.nextDouble();
+        if (x * x + y * y < 1) {
+          inside += 1;
+        }
+      }
+      double estimate = inside / (double) spp;
+      error += (estimate - Math.PI / 4) * (estimate - Math.PI / 4);
+    }
+    return error / pixels;
+  }
+
+  private static double fraction(int bits) {
+    return Integer.toUnsignedLong(bits) / (double) (1L << 32);
+  }
+}
@@ -0,0 +1,140 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.scene.biome;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.chunky.world.ChunkPosition;
+import se.llbit.chunky.world.biome.ArrayBiomePalette;
+import se.llbit.chunky.world.biome.Biome;
+import se.llbit.chunky.world.biome.BiomePalette;
+import se.llbit.math.structures.Position3d2IntPackedArray;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BiomeBlendingUtilityTest {
+  private static final int MIN_Y = -4;
+  private static final int MAX_Y = 12;
+
+  private final BiomePalette palette;
+  private final Position3d2IntPackedArray biomeIdx = new Position3d2IntPackedArray();
+  private final Set<ChunkPosition> nonEmptyChunks = new HashSet<>();
+
+  public BiomeBlendingUtilityTest() {
+    List<Biome> biomes = new ArrayList<>();
+    Random random = new Random(0);
+    for (int i = 0; i < 4; ++i) {
+      biomes.add(Biome.create("test:biome" + i, "Biome " + i, 0.5, 0.5)
+          .defaultColors(random.nextInt(0xFFFFFF), random.nextInt(0xFFFFFF), random.nextInt(0xFFFFFF))
+          .waterColor(random.nextInt(0xFFFFFF))
+          .build());
+    }
+    palette = new ArrayBiomePalette(biomes);
+
+    // A 3x3 chunk area around chunk (0, -1), with one empty corner chunk.
+    for (int cx = -1; cx <= 1; ++cx) {
+      for (int cz = -2; cz <= 0; ++cz) {
+        if (cx == 1 && cz == 0) {
+          continue;
+        }
+        nonEmptyChunks.add(new ChunkPosition(cx, cz));
+        for (int x = 0; x < 16; ++x) {
+          for (int z = 0; z < 16; ++z) {
+            for (int y = MIN_Y; y < MAX_Y; ++y) {
+              biomeIdx.set(cx * 16 + x, y, cz * 16 + z, random.nextInt(biomes.size()));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBlur2D() {
+    ChunkPosition cp = new ChunkPosition(0, -1);
+    int radius = 5;
+    BiomeBlendingUtility.BlurredColors colors =
+        BiomeBlendingUtility.blur2D(cp, radius, 3, 4, biomeIdx, palette, nonEmptyChunks);
+    for (int x = 0; x < 16; ++x) {
+      for (int z = 0; z < 16; ++z) {
+        float[] expected = average(cp, x, 3, z, radius, 0);
+        for (int i = 0; i < 12; ++i) {
+          assertEquals(expected[i], colors.data[(x * 16 + z) * 12 + i], 1e-4);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBlur3D() {
+    ChunkPosition cp = new ChunkPosition(0, -1);
+    int radius = 2;
+    BiomeBlendingUtility.BlurredColors colors =
+        BiomeBlendingUtility.blur3D(cp, radius, MIN_Y, MAX_Y, biomeIdx, palette, nonEmptyChunks);
+    for (int y = MIN_Y; y < MAX_Y; ++y) {
+      for (int x = 0; x < 16; ++x) {
+        for (int z = 0; z < 16; ++z) {
+          float[] expected = average(cp, x, y, z, radius, radius);
+          for (int i = 0; i < 12; ++i) {
+            assertEquals(expected[i], colors.data[((y - MIN_Y) * 256 + x * 16 + z) * 12 + i], 1e-3);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Brute force box blur over the biome colors of the loaded blocks around a block.
+   */
+  private float[] average(ChunkPosition cp, int x, int y, int z, int radius, int yRadius) {
+    double[] sum = new double[12];
+    int n = 0;
+    for (int dy = -yRadius; dy <= yRadius; ++dy) {
+      for (int dx = -radius; dx <= radius; ++dx) {
+        for (int dz = -radius; dz <= radius; ++dz) {
+          int wx = cp.x * 16 + x + dx;
+          int wz = cp.z * 16 + z + dz;
+          if (!nonEmptyChunks.contains(new ChunkPosition(wx >> 4, wz >> 4))) {
+            continue;
+          }
+          int id = biomeIdx.get(wx, y + dy, wz);
+          if (id == -1) {
+            continue;
+          }
+          Biome biome = palette.get(id);
+          for (int i = 0; i < 3; ++i) {
+            sum[i] += biome.grassColorLinear[i];
+            sum[3 + i] += biome.foliageColorLinear[i];
+            sum[6 + i] += biome.waterColorLinear[i];
+            sum[9 + i] += biome.dryFoliageColorLinear[i];
+          }
+          n += 1;
+        }
+      }
+    }
+    float[] result = new float[12];
+    for (int i = 0; i < 12; ++i) {
+      result[i] = (float) (sum[i] / n);
+    }
+    return result;
+  }
+}
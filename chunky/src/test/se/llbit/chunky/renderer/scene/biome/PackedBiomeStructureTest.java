@@ -0,0 +1,112 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.renderer.scene.biome;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackedBiomeStructureTest {
+  private static float[] color(int x, int y, int z) {
+    return new float[] { (x & 31) / 32f, (z & 31) / 32f, (y & 7) / 8f };
+  }
+
+  private static void assertColor(PackedBiomeStructure structure, int x, int y, int z, float[] expected) {
+    float[] out = new float[3];
+    assertTrue(structure.get(x, y, z, out));
+    for (int i = 0; i < 3; ++i) {
+      assertEquals(expected[i], out[i], 1 / 256f);
+    }
+  }
+
+  @Test
+  public void test2d() throws IOException {
+    PackedBiomeStructure structure = new PackedBiomeStructure(false);
+    for (int x = -20; x < 600; x += 3) {
+      for (int z = -530; z < 20; z += 7) {
+        structure.set(x, 0, z, color(x, 0, z));
+      }
+    }
+    structure.endFinalization();
+    PackedBiomeStructure loaded = storeAndLoad(structure, false);
+    for (PackedBiomeStructure s : new PackedBiomeStructure[] { structure, loaded }) {
+      for (int x = -20; x < 600; x += 3) {
+        for (int z = -530; z < 20; z += 7) {
+          // 2D structures ignore the Y coordinate.
+          assertColor(s, x, 100, z, color(x, 0, z));
+        }
+      }
+      assertNull(s.get(-21, 0, 0));
+      assertNull(s.get(5000, 0, 0));
+      assertFalse(s.get(-20, 0, -529, new float[3]));
+    }
+  }
+
+  @Test
+  public void test3d() throws IOException {
+    PackedBiomeStructure structure = new PackedBiomeStructure(true);
+    for (int y = -16; y < 40; ++y) {
+      for (int x = 0; x < 32; ++x) {
+        for (int z = 0; z < 16; ++z) {
+          // The upper sections have equal layers and are compacted.
+          structure.set(x, y, z, color(x, y < 16 ? y : 0, z));
+        }
+      }
+    }
+    structure.compact();
+    // Writing to a compacted section expands it again.
+    structure.set(3, 20, 4, new float[] { 1, 1, 1 });
+    structure.endFinalization();
+
+    PackedBiomeStructure loaded = storeAndLoad(structure, true);
+    for (PackedBiomeStructure s : new PackedBiomeStructure[] { structure, loaded }) {
+      for (int y = -16; y < 40; ++y) {
+        for (int x = 0; x < 32; ++x) {
+          for (int z = 0; z < 16; ++z) {
+            if (x == 3 && y == 20 && z == 4) {
+              assertColor(s, x, y, z, new float[] { 1, 1, 1 });
+            } else {
+              assertColor(s, x, y, z, color(x, y < 16 ? y : 0, z));
+            }
+          }
+        }
+      }
+      assertNull(s.get(0, 40, 0));
+      assertNull(s.get(0, -17, 0));
+      assertNull(s.get(0, 0, 16));
+    }
+  }
+
+  private static PackedBiomeStructure storeAndLoad(PackedBiomeStructure structure, boolean is3d) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      structure.store(out);
+    }
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return PackedBiomeStructure.load(in, is3d);
+    }
+  }
+}
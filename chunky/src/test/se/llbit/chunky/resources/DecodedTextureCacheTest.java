@@ -0,0 +1,88 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.resources;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se.llbit.resources.ImageLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DecodedTextureCacheTest {
+  @Test
+  public void testImagesAreCachedPerPackVersion(@TempDir File directory) throws IOException {
+    File pack = new File(directory, "pack.zip");
+    File cacheFile = new File(directory, "pack.images");
+    Files.write(pack.toPath(), new byte[] {1, 2, 3});
+
+    BitmapImage image = new BitmapImage(2, 3);
+    for (int i = 0; i < image.data.length; ++i) {
+      image.data[i] = 0x80FF0000 | i;
+    }
+
+    DecodedTextureCache cache = DecodedTextureCache.open(pack, cacheFile);
+    assertNull(cache.get("/a.png"));
+    cache.put("/a.png", image);
+    cache.saveAndRelease();
+    assertTrue(cacheFile.isFile());
+
+    cache = DecodedTextureCache.open(pack, cacheFile);
+    assertEquals(1, cache.size());
+    BitmapImage cached = cache.get("/a.png");
+    assertEquals(2, cached.width);
+    assertEquals(3, cached.height);
+    assertArrayEquals(image.data, cached.data);
+
+    // The image loader uses the cached image instead of decoding the stream.
+    InputStream in = cache.wrap("/a.png", new ByteArrayInputStream(new byte[0]));
+    assertArrayEquals(image.data, ImageLoader.read(in).data);
+
+    // Changing the pack invalidates the cache.
+    Files.write(pack.toPath(), new byte[] {1, 2, 4});
+    cache = DecodedTextureCache.open(pack, cacheFile);
+    assertNull(cache.get("/a.png"));
+    assertNull(DecodedTextureCache.open(directory, cacheFile));
+  }
+
+  @Test
+  public void testOtherPackWithSameContentIsNotCached(@TempDir File directory)
+      throws IOException {
+    File pack = new File(directory, "pack.zip");
+    File other = new File(directory, "other.zip");
+    File cacheFile = new File(directory, "pack.images");
+    Files.write(pack.toPath(), new byte[] {1, 2, 3});
+    Files.write(other.toPath(), new byte[] {1, 2, 3});
+    assertTrue(other.setLastModified(pack.lastModified()));
+
+    DecodedTextureCache cache = DecodedTextureCache.open(pack, cacheFile);
+    cache.put("/a.png", new BitmapImage(1, 1));
+    cache.saveAndRelease();
+
+    // A cache file found through a hash collision is not used for another pack.
+    assertNull(DecodedTextureCache.open(other, cacheFile).get("/a.png"));
+    assertEquals(1, DecodedTextureCache.open(pack, cacheFile).size());
+  }
+}
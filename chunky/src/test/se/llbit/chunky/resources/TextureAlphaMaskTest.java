@@ -0,0 +1,75 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.resources;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.math.Ray;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TextureAlphaMaskTest {
+  private static BitmapImage cutoutImage(int width, int height, Random random) {
+    BitmapImage image = new BitmapImage(width, height);
+    for (int i = 0; i < image.data.length; ++i) {
+      int alpha = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(255);
+      image.data[i] = alpha << 24 | random.nextInt(0x1000000);
+    }
+    return image;
+  }
+
+  @Test
+  public void testMaskMatchesColorAlpha() {
+    Random random = new Random(5);
+    Texture texture = new Texture(cutoutImage(16, 16, random));
+    assertFalse(texture.isOpaque());
+    for (int i = 0; i < 10000; ++i) {
+      double u = random.nextDouble();
+      double v = random.nextDouble();
+      assertEquals(texture.getColor(u, v)[3] > Ray.EPSILON, texture.isOpaqueAt(u, v));
+    }
+  }
+
+  @Test
+  public void testOpaqueTexture() {
+    BitmapImage image = new BitmapImage(4, 4);
+    for (int i = 0; i < image.data.length; ++i) {
+      image.data[i] = 0x01000000 | i;
+    }
+    Texture texture = new Texture(image);
+    assertTrue(texture.isOpaque());
+    assertTrue(texture.isOpaqueAt(0.5, 0.5));
+  }
+
+  @Test
+  public void testAnimationFrames() {
+    Random random = new Random(6);
+    AnimatedTexture texture = new AnimatedTexture();
+    texture.setTexture(cutoutImage(8, 32, random));
+    assertEquals(4, texture.numFrames);
+    for (int i = 0; i < 10000; ++i) {
+      double u = random.nextDouble();
+      double v = random.nextDouble();
+      int frame = random.nextInt(10);
+      assertEquals(texture.getColor(u, v, frame)[3] > Ray.EPSILON,
+          texture.isOpaqueAt(u, v, frame));
+    }
+  }
+}
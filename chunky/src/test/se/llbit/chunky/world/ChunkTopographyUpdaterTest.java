@@ -0,0 +1,151 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.world;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The updater workers are not started, so the queue can be inspected.
+ */
+public class ChunkTopographyUpdaterTest {
+  /** Shows chunks -11 to 11 along both axes, including the preloaded border. */
+  private static final ChunkView VIEW = view(0.5, 0.5);
+
+  private static ChunkView view(double x, double z) {
+    return new ChunkView(x, z, 320, 320, 16, 0, 256);
+  }
+
+  private static Chunk chunk(int x, int z) {
+    return new Chunk(ChunkPosition.get(x, z), null);
+  }
+
+  @Test
+  public void testNearestChunksFirst() throws InterruptedException {
+    ChunkTopographyUpdater updater = new ChunkTopographyUpdater(1);
+    updater.setView(VIEW);
+    Chunk far = chunk(8, -8);
+    Chunk near = chunk(5, 5);
+    Chunk nearer = chunk(-3, 1);
+    Chunk center = chunk(0, 0);
+    updater.addChunk(far);
+    updater.addChunk(near);
+    updater.addChunk(center);
+    updater.addChunk(nearer);
+    assertSame(center, updater.getNext());
+    assertSame(nearer, updater.getNext());
+    assertSame(near, updater.getNext());
+    assertSame(far, updater.getNext());
+    assertFalse(updater.isWorking());
+  }
+
+  @Test
+  public void testOrderFollowsView() throws InterruptedException {
+    ChunkTopographyUpdater updater = new ChunkTopographyUpdater(1);
+    updater.setView(VIEW);
+    Chunk left = chunk(-5, 0);
+    Chunk right = chunk(5, 0);
+    updater.addChunk(left);
+    updater.addChunk(right);
+    updater.setView(view(4.5, 0.5));
+    assertSame(right, updater.getNext());
+    assertSame(left, updater.getNext());
+  }
+
+  @Test
+  public void testChunksOutsideViewArePutAside() throws InterruptedException {
+    ChunkTopographyUpdater updater = new ChunkTopographyUpdater(1);
+    updater.setView(VIEW);
+    Chunk outside = chunk(100, 100);
+    updater.addChunk(outside);
+    assertFalse(updater.isWorking());
+
+    updater.setView(view(100.5, 100.5));
+    assertTrue(updater.isWorking());
+    assertSame(outside, updater.getNext());
+  }
+
+  @Test
+  public void testManyChunksOutsideView() throws InterruptedException {
+    ChunkTopographyUpdater updater = new ChunkTopographyUpdater(1);
+    updater.setView(VIEW);
+    // More pending chunks than visible chunks.
+    Chunk first = chunk(100, 100);
+    updater.addChunk(first);
+    for (int x = 101; x < 700; ++x) {
+      updater.addChunk(chunk(x, 100));
+    }
+    assertFalse(updater.isWorking());
+
+    updater.setView(view(100.5, 100.5));
+    assertSame(first, updater.getNext());
+    int queued = 0;
+    while (updater.isWorking()) {
+      updater.getNext();
+      queued += 1;
+    }
+    assertEquals(11, queued);
+  }
+
+  @Test
+  public void testLeavingViewCancelsChunks() throws InterruptedException {
+    ChunkTopographyUpdater updater = new ChunkTopographyUpdater(1);
+    updater.setView(VIEW);
+    Chunk chunk = chunk(1, 2);
+    updater.addChunk(chunk);
+    assertTrue(updater.isWorking());
+
+    updater.setView(view(100.5, 100.5));
+    assertFalse(updater.isWorking());
+
+    updater.setView(VIEW);
+    assertSame(chunk, updater.getNext());
+    assertFalse(updater.isWorking());
+  }
+
+  @Test
+  public void testChunksAreQueuedOnce() throws InterruptedException {
+    ChunkTopographyUpdater updater = new ChunkTopographyUpdater(1);
+    updater.setView(VIEW);
+    Chunk chunk = chunk(1, 2);
+    updater.addChunk(chunk);
+    updater.addChunk(chunk);
+    assertSame(chunk, updater.getNext());
+    assertFalse(updater.isWorking());
+
+    // A rendered chunk is queued again when its topography changes.
+    updater.addChunk(chunk);
+    assertSame(chunk, updater.getNext());
+  }
+
+  @Test
+  public void testClearQueue() {
+    ChunkTopographyUpdater updater = new ChunkTopographyUpdater(1);
+    updater.setView(VIEW);
+    updater.addChunk(chunk(0, 0));
+    updater.addChunk(chunk(100, 100));
+    updater.clearQueue();
+    assertFalse(updater.isWorking());
+
+    updater.setView(view(100.5, 100.5));
+    assertFalse(updater.isWorking());
+  }
+}
@@ -0,0 +1,38 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.world;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RegionPositionTest {
+  @Test
+  public void testMcaNameRoundTrip() {
+    RegionPosition pos = new RegionPosition(-3, 12);
+    assertEquals(pos, RegionPosition.fromMcaName(pos.getMcaName()));
+  }
+
+  @Test
+  public void testOtherFilesAreNotRegions() {
+    assertNull(RegionPosition.fromMcaName("r.1.2.mca.tmp"));
+    assertNull(RegionPosition.fromMcaName("r.a.2.mca"));
+    assertNull(RegionPosition.fromMcaName("c.1.2.mcc"));
+    assertNull(RegionPosition.fromMcaName("session.lock"));
+  }
+}
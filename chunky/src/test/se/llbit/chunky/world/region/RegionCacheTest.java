@@ -0,0 +1,82 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.world.region;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.chunky.world.RegionPosition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RegionCacheTest {
+  private static long pos(int x, int z) {
+    return new RegionPosition(x, z).getLong();
+  }
+
+  @Test
+  public void testLeastRecentlyUsedRegionIsEvicted() {
+    RegionCache cache = new RegionCache(2);
+    cache.computeIfAbsent(pos(0, 0), p -> EmptyRegion.instance);
+    cache.computeIfAbsent(pos(1, 0), p -> EmptyRegion.instance);
+    cache.computeIfAbsent(pos(0, 0), p -> EmptyRegion.instance);
+    cache.computeIfAbsent(pos(2, 0), p -> EmptyRegion.instance);
+
+    assertTrue(cache.contains(pos(0, 0)));
+    assertFalse(cache.contains(pos(1, 0)));
+    assertTrue(cache.contains(pos(2, 0)));
+    assertEquals(1, cache.getHits());
+    assertEquals(3, cache.getMisses());
+    assertEquals(1, cache.getEvictions());
+  }
+
+  @Test
+  public void testPinnedRegionsAreKept() {
+    RegionCache cache = new RegionCache(2);
+    cache.setPinFilter(region -> region.x == 0);
+    for (int z = 0; z < 3; ++z) {
+      cache.computeIfAbsent(pos(0, z), p -> EmptyRegion.instance);
+    }
+    cache.computeIfAbsent(pos(1, 0), p -> EmptyRegion.instance);
+
+    // All pinned regions are kept, even though the capacity is exceeded.
+    for (int z = 0; z < 3; ++z) {
+      assertTrue(cache.contains(pos(0, z)));
+    }
+    assertFalse(cache.contains(pos(1, 0)));
+    assertEquals(1, cache.getEvictions());
+
+    // Unpinning lets the cache shrink back to its capacity.
+    cache.setPinFilter(region -> false);
+    cache.clear();
+    for (int x = 0; x < 4; ++x) {
+      cache.computeIfAbsent(pos(x, 0), p -> EmptyRegion.instance);
+    }
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testEvictedRegionIsCreatedAgain() {
+    RegionCache cache = new RegionCache(1);
+    int[] created = { 0 };
+    cache.computeIfAbsent(pos(0, 0), p -> { created[0] += 1; return EmptyRegion.instance; });
+    cache.computeIfAbsent(pos(1, 0), p -> { created[0] += 1; return EmptyRegion.instance; });
+    cache.computeIfAbsent(pos(0, 0), p -> { created[0] += 1; return EmptyRegion.instance; });
+    assertEquals(3, created[0]);
+    assertEquals(2, cache.getEvictions());
+  }
+}
@@ -0,0 +1,61 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.world.region;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se.llbit.chunky.world.ChunkPosition;
+import se.llbit.chunky.world.RegionPosition;
+import se.llbit.testutil.RegionFileBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RegionExportTest {
+  @Test
+  public void testExtractCompactsSelectedChunks(@TempDir File regionDirectory)
+      throws IOException {
+    byte[] small = new byte[4096];
+    small[0] = 1;
+    byte[] large = new byte[8192];
+    large[0] = 2;
+    large[8191] = 3;
+    RegionFileBuilder builder = new RegionFileBuilder()
+        .chunk(1, 0, 1234, small)
+        .chunk(31, 31, 5678, large);
+    builder.write(regionDirectory, 0, 0);
+    ByteBuffer region = ByteBuffer.wrap(builder.toByteArray());
+
+    ByteBuffer all = ByteBuffer.wrap(
+        MCRegion.extractRegion(regionDirectory, new RegionPosition(0, 0), null));
+    assertEquals(region.capacity(), all.capacity());
+    assertEquals(region, all);
+
+    ByteBuffer selected = ByteBuffer.wrap(MCRegion.extractRegion(regionDirectory,
+        new RegionPosition(0, 0), Collections.singleton(new ChunkPosition(31, 31))));
+    assertEquals(RegionIndex.HEADER_SIZE + 2 * 4096, selected.capacity());
+    assertEquals(0, selected.getInt(1 * 4));
+    assertEquals(2 << 8 | 2, selected.getInt(1023 * 4));
+    assertEquals(5678, selected.getInt(4096 + 1023 * 4));
+    assertEquals(2, selected.get(2 * 4096));
+    assertEquals(3, selected.get(4 * 4096 - 1));
+  }
+}
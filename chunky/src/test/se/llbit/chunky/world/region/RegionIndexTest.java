@@ -0,0 +1,64 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.chunky.world.region;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se.llbit.chunky.world.RegionPosition;
+import se.llbit.testutil.RegionFileBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RegionIndexTest {
+  @Test
+  public void testHeaderSummary(@TempDir File regionDirectory)
+      throws IOException, InterruptedException {
+    new RegionFileBuilder()
+        .chunk(1, 0, 1234, new byte[4096])
+        .chunk(31, 31, 5678, new byte[8192])
+        .write(regionDirectory, -1, 2);
+    Files.write(new File(regionDirectory, "r.0.0.mca").toPath(), new byte[0]);
+    Files.write(new File(regionDirectory, "level.dat").toPath(), new byte[10]);
+
+    RegionIndex index = RegionIndex.build(regionDirectory);
+    assertEquals(2, index.size());
+
+    RegionIndex.Entry entry = index.get(new RegionPosition(-1, 2));
+    assertEquals(2, entry.numChunks());
+    assertTrue(entry.hasChunk(1, 0));
+    assertTrue(entry.hasChunk(31, 31));
+    assertFalse(entry.hasChunk(0, 0));
+    assertEquals(1234, entry.chunkTimestamp(1, 0));
+    assertEquals(5678, entry.chunkTimestamp(31, 31));
+    assertEquals(0, entry.chunkTimestamp(5, 5));
+    assertEquals(4096, entry.chunkSize(1, 0));
+    assertEquals(8192, entry.chunkSize(31, 31));
+
+    RegionIndex.Entry empty = index.get(new RegionPosition(0, 0));
+    assertEquals(0, empty.numChunks());
+    assertEquals(0, empty.fileSize);
+
+    assertNull(index.get(new RegionPosition(5, 5)));
+  }
+}
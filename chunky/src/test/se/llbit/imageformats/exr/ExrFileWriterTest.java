@@ -0,0 +1,138 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.imageformats.exr;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.util.TaskTracker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExrFileWriterTest {
+  private static final int WIDTH = 37;
+  private static final int HEIGHT = 40;
+
+  private static float pixel(int x, int y, int channel) {
+    return channel == 3 ? x / (float) WIDTH : (x + y * channel) * 0.37f;
+  }
+
+  @Test
+  public void testFloatToHalf() {
+    float[] special = {
+        0, -0f, 1, -2.5f, 65504, 65520, 1e6f, 6.1e-5f, 5.96e-8f, 2.98e-8f, 1e-10f,
+        Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.MIN_VALUE,
+    };
+    for (float value : special) {
+      assertEquals(Float.floatToFloat16(value), ExrFileWriter.floatToHalf(value), "" + value);
+    }
+    Random random = new Random(0);
+    for (int i = 0; i < 100000; ++i) {
+      float value = Float.intBitsToFloat(random.nextInt());
+      if (!Float.isNaN(value)) {
+        assertEquals(Float.floatToFloat16(value), ExrFileWriter.floatToHalf(value), "" + value);
+      }
+    }
+    assertTrue(Float.isNaN(Float.float16ToFloat(ExrFileWriter.floatToHalf(Float.NaN))));
+  }
+
+  @Test
+  public void testWriteRgba() throws IOException, DataFormatException {
+    Path file = Files.createTempFile("chunky-test", ".exr");
+    try {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        new ExrFileWriter(channel).write((y, c, row) -> {
+          for (int x = 0; x < WIDTH; ++x) {
+            row[x] = pixel(x, y, c);
+          }
+        }, WIDTH, HEIGHT, true, TaskTracker.Task.NONE);
+      }
+
+      ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+      assertEquals(ExrFileWriter.MAGIC, data.getInt());
+      assertEquals(2, data.getInt());
+      // Skip the header attributes.
+      while (data.get(data.position()) != 0) {
+        while (data.get() != 0) ; // Name.
+        while (data.get() != 0) ; // Type.
+        int size = data.getInt();
+        data.position(data.position() + size);
+      }
+      data.get();
+
+      int blocks = (HEIGHT + ExrFileWriter.LINES_PER_BLOCK - 1) / ExrFileWriter.LINES_PER_BLOCK;
+      long[] offsets = new long[blocks];
+      for (int i = 0; i < blocks; ++i) {
+        offsets[i] = data.getLong();
+      }
+      int[] channels = { 3, 2, 1, 0 };
+      for (int i = 0; i < blocks; ++i) {
+        data.position((int) offsets[i]);
+        int firstRow = data.getInt();
+        int size = data.getInt();
+        assertEquals(i * ExrFileWriter.LINES_PER_BLOCK, firstRow);
+        int rows = Math.min(ExrFileWriter.LINES_PER_BLOCK, HEIGHT - firstRow);
+        byte[] raw = decompress(data, size, rows * channels.length * WIDTH * 2);
+        ByteBuffer pixels = ByteBuffer.wrap(raw).order(ByteOrder.LITTLE_ENDIAN);
+        for (int y = firstRow; y < firstRow + rows; ++y) {
+          for (int c : channels) {
+            for (int x = 0; x < WIDTH; ++x) {
+              assertEquals(Float.floatToFloat16(pixel(x, y, c)), pixels.getShort());
+            }
+          }
+        }
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Reverse the OpenEXR ZIP compression.
+   */
+  private static byte[] decompress(ByteBuffer data, int size, int rawSize)
+      throws DataFormatException {
+    byte[] compressed = new byte[size];
+    data.get(compressed);
+    if (size == rawSize) {
+      return compressed;
+    }
+    byte[] predicted = new byte[rawSize];
+    Inflater inflater = new Inflater();
+    inflater.setInput(compressed);
+    assertEquals(rawSize, inflater.inflate(predicted));
+    inflater.end();
+    for (int i = 1; i < rawSize; ++i) {
+      predicted[i] = (byte) (predicted[i - 1] + predicted[i] - 128);
+    }
+    byte[] raw = new byte[rawSize];
+    int half = (rawSize + 1) / 2;
+    for (int i = 0; i < rawSize; ++i) {
+      raw[i] = predicted[(i & 1) == 0 ? i / 2 : half + i / 2];
+    }
+    return raw;
+  }
+}
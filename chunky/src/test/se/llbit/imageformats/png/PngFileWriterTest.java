@@ -0,0 +1,127 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.imageformats.png;
+
+import org.junit.jupiter.api.Test;
+import se.llbit.util.TaskTracker;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.Adler32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PngFileWriterTest {
+  // Large enough to be split into several compressed bands.
+  private static final int WIDTH = 320;
+  private static final int HEIGHT = 1000;
+
+  private static int[] testImage() {
+    Random random = new Random(0);
+    int[] data = new int[WIDTH * HEIGHT];
+    for (int y = 0; y < HEIGHT; ++y) {
+      for (int x = 0; x < WIDTH; ++x) {
+        int r = (x * y) & 0xFF;
+        int g = (x + y) & 0xFF;
+        int b = (x / 3 + random.nextInt(4)) & 0xFF;
+        data[y * WIDTH + x] = 0xFF000000 | (r << 16) | (g << 8) | b;
+      }
+    }
+    return data;
+  }
+
+  @Test
+  public void testWriteRgb() throws IOException {
+    int[] data = testImage();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (PngFileWriter writer = new PngFileWriter(out)) {
+      writer.write(data, WIDTH, HEIGHT, TaskTracker.Task.NONE);
+    }
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(WIDTH, image.getWidth());
+    assertEquals(HEIGHT, image.getHeight());
+    for (int y = 0; y < HEIGHT; ++y) {
+      for (int x = 0; x < WIDTH; ++x) {
+        assertEquals(data[y * WIDTH + x], image.getRGB(x, y) | 0xFF000000);
+      }
+    }
+  }
+
+  @Test
+  public void testWriteRgba() throws IOException {
+    int[] data = testImage();
+    ByteBuffer alpha = ByteBuffer.allocate(WIDTH * HEIGHT);
+    for (int i = 0; i < WIDTH * HEIGHT; ++i) {
+      alpha.put(i, (byte) (i * 7));
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (PngFileWriter writer = new PngFileWriter(out)) {
+      writer.write(data, alpha, WIDTH, HEIGHT, TaskTracker.Task.NONE);
+    }
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    for (int y = 0; y < HEIGHT; ++y) {
+      for (int x = 0; x < WIDTH; ++x) {
+        int i = y * WIDTH + x;
+        assertEquals((data[i] & 0xFFFFFF) | ((i * 7) & 0xFF) << 24, image.getRGB(x, y));
+      }
+    }
+  }
+
+  @Test
+  public void testWrite16() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (PngFileWriter writer = new PngFileWriter(out)) {
+      writer.write16((y, row) -> {
+        for (int x = 0; x < WIDTH; ++x) {
+          int value = (x * 219 + y * 7) & 0xFFFF;
+          for (int c = 0; c < 3; ++c) {
+            row[(x * 3 + c) * 2] = (byte) (value >> 8);
+            row[(x * 3 + c) * 2 + 1] = (byte) value;
+          }
+        }
+      }, false, WIDTH, HEIGHT, TaskTracker.Task.NONE);
+    }
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(16, image.getColorModel().getComponentSize(0));
+    Raster raster = image.getRaster();
+    for (int y = 0; y < HEIGHT; ++y) {
+      for (int x = 0; x < WIDTH; ++x) {
+        assertEquals((x * 219 + y * 7) & 0xFFFF, raster.getSample(x, y, 0));
+      }
+    }
+  }
+
+  @Test
+  public void testAdler32Combine() {
+    byte[] data = new byte[100000];
+    new Random(1).nextBytes(data);
+    Adler32 first = new Adler32();
+    first.update(data, 0, 40000);
+    Adler32 second = new Adler32();
+    second.update(data, 40000, 60000);
+    Adler32 whole = new Adler32();
+    whole.update(data);
+    assertEquals((int) whole.getValue(), ParallelIDATWriter.adler32Combine(
+        (int) first.getValue(), (int) second.getValue(), 60000));
+  }
+}
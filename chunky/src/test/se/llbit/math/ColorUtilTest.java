@@ -2,7 +2,10 @@ package se.llbit.math;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ColorUtilTest {
@@ -39,4 +42,38 @@ class ColorUtilTest {
       ColorUtil.fromHexString("#badhex", color);
     });
   }
-}
\ No newline at end of file
+
+  @Test
+  void rgb9e5() {
+    float[] rgb = new float[3];
+    ColorUtil.unpackRgb9e5(ColorUtil.packRgb9e5(0, 0, 0), rgb);
+    assertEquals(0f, rgb[0]);
+    assertEquals(0f, rgb[1]);
+    assertEquals(0f, rgb[2]);
+
+    ColorUtil.unpackRgb9e5(ColorUtil.packRgb9e5(1, 0.5f, 0.25f), rgb);
+    assertEquals(1f, rgb[0]);
+    assertEquals(0.5f, rgb[1]);
+    assertEquals(0.25f, rgb[2]);
+
+    // Components share the exponent of the largest component.
+    Random random = new Random(0);
+    for (int i = 0; i < 10000; i++) {
+      float r = random.nextFloat();
+      float g = random.nextFloat() * r;
+      float b = random.nextFloat() * 4;
+      ColorUtil.unpackRgb9e5(ColorUtil.packRgb9e5(r, g, b), rgb);
+      float max = Math.max(r, Math.max(g, b));
+      assertEquals(r, rgb[0], max / 512);
+      assertEquals(g, rgb[1], max / 512);
+      assertEquals(b, rgb[2], max / 512);
+    }
+
+    // Out of range values are clamped, and -1 is never produced.
+    ColorUtil.unpackRgb9e5(ColorUtil.packRgb9e5(-1, Float.NaN, 1e9f), rgb);
+    assertEquals(0f, rgb[0]);
+    assertEquals(0f, rgb[1]);
+    assertEquals(ColorUtil.RGB9E5_MAX, rgb[2]);
+    assertNotEquals(-1, ColorUtil.packRgb9e5(1e9f, 1e9f, 1e9f));
+  }
+}
@@ -0,0 +1,117 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.math;
+
+import it.unimi.dsi.fastutil.ints.IntIntMutablePair;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedOctreeTest {
+  @Test
+  public void testSaveAndOpen() throws IOException {
+    Octree octree = new Octree(new PackedOctree(4));
+    octree.set(1, 0, 0, 0);
+    octree.set(2, 15, 3, 7);
+    octree.set(3, 8, 8, 8);
+    Octree water = new Octree(new PackedOctree(4));
+
+    File file = Files.createTempFile("chunky-test", ".octreemap").toFile();
+    try {
+      MappedOctree.save(file, octree, water);
+      Octree[] mapped = MappedOctree.open(file);
+      assertEquals(2, mapped.length);
+      assertTrue(mapped[0].getImplementation() instanceof MappedOctree);
+      assertEquals(octree.getImplementation().nodeCount(), mapped[0].getImplementation().nodeCount());
+      assertEquals(1, mapped[1].getImplementation().nodeCount());
+
+      IntIntMutablePair expected = new IntIntMutablePair(0, 0);
+      IntIntMutablePair actual = new IntIntMutablePair(0, 0);
+      for (int x = 0; x < 16; ++x) {
+        for (int y = 0; y < 16; ++y) {
+          for (int z = 0; z < 16; ++z) {
+            octree.getImplementation().getWithLevel(expected, x, y, z);
+            mapped[0].getImplementation().getWithLevel(actual, x, y, z);
+            assertEquals(expected, actual);
+          }
+        }
+      }
+
+      // Writing to a mapped octree converts it to a packed octree.
+      mapped[0].set(4, 1, 1, 1);
+      assertTrue(mapped[0].getImplementation() instanceof PackedOctree);
+      mapped[0].getImplementation().getWithLevel(actual, 1, 1, 1);
+      assertEquals(4, actual.leftInt());
+      mapped[0].getImplementation().getWithLevel(actual, 15, 3, 7);
+      assertEquals(2, actual.leftInt());
+    } finally {
+      if (!file.delete()) {
+        file.deleteOnExit();
+      }
+    }
+  }
+
+  @Test
+  public void testSourceStamp() throws IOException {
+    Octree octree = new Octree(new PackedOctree(4));
+    octree.set(1, 0, 0, 0);
+
+    File file = Files.createTempFile("chunky-test", ".octreemap").toFile();
+    try {
+      MappedOctree.save(file, 1234, 56, octree);
+      assertNotNull(MappedOctree.open(file, 1234, 56));
+      assertNull(MappedOctree.open(file, 1235, 56));
+      assertNull(MappedOctree.open(file, 1234, 57));
+    } finally {
+      if (!file.delete()) {
+        file.deleteOnExit();
+      }
+    }
+  }
+
+  @Test
+  public void testReplaceKeepsOldMapping() throws IOException {
+    Octree octree = new Octree(new PackedOctree(4));
+    octree.set(1, 15, 3, 7);
+    Octree other = new Octree(new PackedOctree(4));
+    other.set(2, 15, 3, 7);
+
+    File file = Files.createTempFile("chunky-test", ".octreemap").toFile();
+    try {
+      MappedOctree.save(file, octree);
+      Octree[] mapped = MappedOctree.open(file);
+      MappedOctree.save(file, other);
+
+      IntIntMutablePair actual = new IntIntMutablePair(0, 0);
+      mapped[0].getImplementation().getWithLevel(actual, 15, 3, 7);
+      assertEquals(1, actual.leftInt());
+      MappedOctree.open(file)[0].getImplementation().getWithLevel(actual, 15, 3, 7);
+      assertEquals(2, actual.leftInt());
+    } finally {
+      if (!file.delete()) {
+        file.deleteOnExit();
+      }
+    }
+  }
+}
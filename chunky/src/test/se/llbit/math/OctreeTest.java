@@ -1,7 +1,15 @@
 package se.llbit.math;
 
+import it.unimi.dsi.fastutil.ints.IntIntMutablePair;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static se.llbit.testutil.TestUtils.assertThrowsWithExpectedMessage;
 
 public class OctreeTest {
@@ -40,4 +48,57 @@ public class OctreeTest {
       "setCube position must not be negative (17,9,-32)");
 
   }
+
+  @Test
+  public void testBulkRoundTrip() throws IOException {
+    String[][] conversions = {
+        { "PACKED", "PACKED" },
+        { "PACKED", "BIGPACKED" },
+        { "BIGPACKED", "BIGPACKED" },
+        { "BIGPACKED", "PACKED" },
+        { "NODE", "BIGPACKED" },
+    };
+    for (String[] conversion : conversions) {
+      Octree octree = new Octree(conversion[0], 4);
+      octree.set(1, 0, 0, 0);
+      octree.set(2, 15, 3, 7);
+      octree.set(3, 8, 8, 8);
+      // Leaves a hole in the free list.
+      octree.set(0, 15, 3, 7);
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (DataOutputStream out = new DataOutputStream(bytes)) {
+        octree.storeBulk(out);
+        octree.storeBulk(out);
+      }
+      Octree loaded;
+      try (DataInputStream in =
+          new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+        Octree.skipBulk(in);
+        loaded = Octree.loadBulk(conversion[1], in);
+        assertEquals(-1, in.read());
+      }
+      assertEquals(conversion[1].equals("BIGPACKED"),
+          loaded.getImplementation() instanceof BigPackedOctree);
+
+      IntIntMutablePair expected = new IntIntMutablePair(0, 0);
+      IntIntMutablePair actual = new IntIntMutablePair(0, 0);
+      for (int x = 0; x < 16; ++x) {
+        for (int y = 0; y < 16; ++y) {
+          for (int z = 0; z < 16; ++z) {
+            octree.getImplementation().getWithLevel(expected, x, y, z);
+            loaded.getImplementation().getWithLevel(actual, x, y, z);
+            assertEquals(expected.leftInt(), actual.leftInt());
+          }
+        }
+      }
+
+      // The loaded free list must still work.
+      loaded.set(4, 1, 2, 3);
+      loaded.getImplementation().getWithLevel(actual, 1, 2, 3);
+      assertEquals(4, actual.leftInt());
+      loaded.getImplementation().getWithLevel(actual, 0, 0, 0);
+      assertEquals(1, actual.leftInt());
+    }
+  }
 }
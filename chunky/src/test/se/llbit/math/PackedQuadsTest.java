@@ -0,0 +1,83 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PackedQuadsTest {
+  private static Vector3 randomPoint(Random random) {
+    return new Vector3(random.nextDouble(), random.nextDouble(), random.nextDouble());
+  }
+
+  /**
+   * The packed traversal finds the same hit as testing all quads in order.
+   */
+  @Test
+  public void testSameHitsAsQuadIntersect() {
+    Random random = new Random(1234);
+    for (int model = 0; model < 50; ++model) {
+      Quad[] quads = new Quad[1 + random.nextInt(40)];
+      for (int i = 0; i < quads.length; ++i) {
+        Vector3 v0 = randomPoint(random);
+        Vector3 v1 = randomPoint(random);
+        Vector3 v2 = randomPoint(random);
+        if (i % 3 == 0) {
+          // Axis-aligned quad, like most block model quads.
+          v1.set(v0.x + random.nextDouble(), v0.y, v0.z);
+          v2.set(v0.x, v0.y, v0.z - random.nextDouble());
+        }
+        quads[i] = new Quad(v0, v1, v2, new Vector4(0, 1, 0, 1), random.nextBoolean());
+      }
+      PackedQuads packed = PackedQuads.pack(quads);
+      // Reject hits on the lower half of odd quads, like an alpha test would.
+      PackedQuads.HitFilter filter = (quad, u, v) -> (quad & 1) == 0 || v > 0.5;
+
+      for (int sample = 0; sample < 500; ++sample) {
+        Ray ray = new Ray();
+        ray.o.set(3 + random.nextDouble() * 1.2 - 0.1, 7 + random.nextDouble() * 1.2 - 0.1,
+            -5 + random.nextDouble() * 1.2 - 0.1);
+        ray.d.set(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        if (sample % 7 == 0) {
+          ray.d.x = 0;
+        }
+        ray.d.normalize();
+
+        ray.t = Double.POSITIVE_INFINITY;
+        int expected = -1;
+        double expectedT = 0;
+        for (int i = 0; i < quads.length; ++i) {
+          if (quads[i].intersect(ray) && filter.accept(i, ray.u, ray.v)) {
+            expected = i;
+            expectedT = ray.tNext;
+            ray.t = ray.tNext;
+          }
+        }
+
+        ray.t = Double.POSITIVE_INFINITY;
+        int actual = packed.closestHit(ray, filter);
+        assertEquals(expected, actual);
+        if (expected >= 0) {
+          assertEquals(expectedT, ray.tNext, 1e-12);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.math.structures;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Position3d2IntPackedArrayTest {
+  @Test
+  public void testSetGet() {
+    Position3d2IntPackedArray structure = new Position3d2IntPackedArray();
+    int[][] positions = {
+        { 0, 0, 0 }, { 15, 15, 15 }, { -1, -64, -1 }, { 16, 319, -17 },
+        { -30000000, 100, 30000000 }, { 30000000, -2000, -30000000 },
+    };
+    for (int i = 0; i < positions.length; ++i) {
+      structure.set(positions[i][0], positions[i][1], positions[i][2], i);
+    }
+    for (int i = 0; i < positions.length; ++i) {
+      assertEquals(i, structure.get(positions[i][0], positions[i][1], positions[i][2]));
+    }
+  }
+
+  @Test
+  public void testGetMissing() {
+    Position3d2IntPackedArray structure = new Position3d2IntPackedArray();
+    assertEquals(-1, structure.get(0, 0, 0));
+    structure.set(1, 2, 3, 7);
+    assertEquals(-1, structure.get(1, 2, 4));
+    assertEquals(-1, structure.get(1, 18, 3));
+    // Reads do not create sections.
+    assertEquals(1, structure.structure.size());
+  }
+}
@@ -0,0 +1,95 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.testutil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.zip.Deflater;
+
+/**
+ * Builds region files for tests. The chunks are stored one after the other in the order
+ * they are added, starting at the first sector after the header.
+ */
+public class RegionFileBuilder {
+  public static final int SECTOR_SIZE = 4096;
+  public static final int HEADER_SIZE = 2 * SECTOR_SIZE;
+
+  private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+  private final ByteArrayOutputStream sectors = new ByteArrayOutputStream();
+
+  /**
+   * Add a chunk with the given sector data, padded to whole sectors.
+   *
+   * @param x local chunk x position
+   * @param z local chunk z position
+   */
+  public RegionFileBuilder chunk(int x, int z, int timestamp, byte[] data) {
+    int sector = 2 + sectors.size() / SECTOR_SIZE;
+    int sectorCount = Math.max(1, (data.length + SECTOR_SIZE - 1) / SECTOR_SIZE);
+    int index = x + z * 32;
+    header.putInt(4 * index, sector << 8 | sectorCount);
+    header.putInt(SECTOR_SIZE + 4 * index, timestamp);
+    sectors.write(data, 0, data.length);
+    sectors.write(new byte[sectorCount * SECTOR_SIZE - data.length], 0,
+        sectorCount * SECTOR_SIZE - data.length);
+    return this;
+  }
+
+  /**
+   * Add a chunk with zlib compressed NBT data.
+   *
+   * @param nbt the uncompressed NBT data of the chunk
+   */
+  public RegionFileBuilder nbtChunk(int x, int z, byte[] nbt) {
+    Deflater deflater = new Deflater();
+    deflater.setInput(nbt);
+    deflater.finish();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    byte[] buffer = new byte[SECTOR_SIZE];
+    while (!deflater.finished()) {
+      compressed.write(buffer, 0, deflater.deflate(buffer));
+    }
+    deflater.end();
+
+    ByteBuffer data = ByteBuffer.allocate(5 + compressed.size());
+    data.putInt(compressed.size() + 1);
+    data.put((byte) 2); // Zlib compression.
+    data.put(compressed.toByteArray());
+    return chunk(x, z, 0, data.array());
+  }
+
+  public byte[] toByteArray() {
+    byte[] result = new byte[HEADER_SIZE + sectors.size()];
+    System.arraycopy(header.array(), 0, result, 0, HEADER_SIZE);
+    System.arraycopy(sectors.toByteArray(), 0, result, HEADER_SIZE, sectors.size());
+    return result;
+  }
+
+  /**
+   * Write the region file to the given region directory.
+   *
+   * @return the region file
+   */
+  public File write(File regionDirectory, int regionX, int regionZ) throws IOException {
+    File file = new File(regionDirectory, String.format("r.%d.%d.mca", regionX, regionZ));
+    Files.write(file.toPath(), toByteArray());
+    return file;
+  }
+}
@@ -0,0 +1,67 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.util.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BlockDeflaterOutputStreamTest {
+  @Test
+  public void testRoundTrip() throws IOException {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      // Enough data for several blocks, with a short last block.
+      byte[] data = new byte[5 * BlockDeflaterOutputStream.BLOCK_SIZE + 123];
+      Random random = new Random(1);
+      for (int i = 0; i < data.length; i += 4) {
+        data[i] = (byte) random.nextInt(4);
+      }
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      out.writeInt(9);
+      BlockDeflaterOutputStream blocks = new BlockDeflaterOutputStream(out, pool);
+      blocks.write(data, 0, 1000);
+      blocks.write(data[1000]);
+      blocks.write(data, 1001, data.length - 1001);
+      blocks.finish();
+      out.writeInt(42);
+
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+      assertEquals(9, in.readInt());
+      DataInputStream blockIn = new DataInputStream(new BlockInflaterInputStream(in, pool));
+      byte[] result = new byte[data.length];
+      blockIn.readFully(result);
+      assertArrayEquals(data, result);
+      assertEquals(-1, blockIn.read());
+      // The stream after the blocks is left intact.
+      assertEquals(42, in.readInt());
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/* Copyright (c) 2026 Chunky contributors
+ *
+ * This file is part of Chunky.
+ *
+ * Chunky is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Chunky is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with Chunky.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.llbit.util.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DiskCacheLimitTest {
+  private static File cacheFile(File directory, String name, long time) throws IOException {
+    File file = new File(directory, name);
+    Files.write(file.toPath(), new byte[1000]);
+    assertTrue(file.setLastModified(time));
+    return file;
+  }
+
+  @Test
+  public void testLeastRecentlyUsedFilesAreDeleted(@TempDir File directory) throws IOException {
+    File subdirectory = new File(directory, "a");
+    assertTrue(subdirectory.mkdir());
+    long now = System.currentTimeMillis();
+    File oldest = cacheFile(subdirectory, "oldest", now - 40000);
+    File old = cacheFile(directory, "old", now - 30000);
+    File used = cacheFile(directory, "used", now - 20000);
+    File recent = cacheFile(subdirectory, "recent", now - 10000);
+    DiskCacheLimit.used(used);
+
+    DiskCacheLimit limit = new DiskCacheLimit(directory, () -> 2500);
+    File written = cacheFile(directory, "written", now - 50000);
+    limit.written(written);
+
+    assertFalse(oldest.exists());
+    assertFalse(old.exists());
+    assertTrue(used.exists());
+    assertFalse(recent.exists());
+    // The file that was just written is kept even though it is the oldest.
+    assertTrue(written.exists());
+  }
+
+  @Test
+  public void testNoLimit(@TempDir File directory) throws IOException {
+    File old = cacheFile(directory, "old", 0);
+    new DiskCacheLimit(directory, () -> 0).written(cacheFile(directory, "new", 1000));
+    assertTrue(old.exists());
+  }
+}
@@ -460,6 +460,67 @@ public final class PersistentSettings {
     return settings.getInt("dimension", DEFAULT_DIMENSION);
   }
 
+  /**
+   * @return maximum number of regions kept in memory per dimension, in addition to the
+   * visible and selected regions. Zero means the limit is derived from the heap size.
+   */
+  public static int getRegionCacheSize() {
+    return settings.getInt("regionCacheSize", 0);
+  }
+
+  public static void setRegionCacheSize(int value) {
+    settings.setInt("regionCacheSize", value);
+    save();
+  }
+
+  /**
+   * @return {@code true} if rendered map tiles should be cached on disk
+   */
+  public static boolean getCacheMapTiles() {
+    return settings.getBool("cacheMapTiles", true);
+  }
+
+  public static void setCacheMapTiles(boolean value) {
+    settings.setBool("cacheMapTiles", value);
+    save();
+  }
+
+  /**
+   * @return maximum size of the map tile cache on disk, in MiB. Zero means no limit.
+   */
+  public static int getMapTileCacheSize() {
+    return settings.getInt("mapTileCacheSize", 1024);
+  }
+
+  public static void setMapTileCacheSize(int value) {
+    settings.setInt("mapTileCacheSize", value);
+    save();
+  }
+
+  /**
+   * @return {@code true} if decoded resource pack textures should be cached on disk
+   */
+  public static boolean getCacheDecodedTextures() {
+    return settings.getBool("cacheDecodedTextures", true);
+  }
+
+  public static void setCacheDecodedTextures(boolean value) {
+    settings.setBool("cacheDecodedTextures", value);
+    save();
+  }
+
+  /**
+   * @return maximum size of the decoded texture cache on disk, in MiB. Zero means no limit.
+   */
+  public static int getDecodedTextureCacheSize() {
+    return settings.getInt("decodedTextureCacheSize", 1024);
+  }
+
+  public static void setDecodedTextureCacheSize(int value) {
+    settings.setInt("decodedTextureCacheSize", value);
+    save();
+  }
+
   public static boolean getLoadPlayers() {
     return settings.getBool("loadPlayers", true);
   }